@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.littleredbook.entity.LikeNote;
+import com.example.littleredbook.utils.CFScoreUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 协同过滤打分基准（CFScoreUtils.calculateNoteScores）
+ *
+ * <p>样本规模：1个用户 + friends个好友，每人likesPerUser条点赞，
+ * 笔记ID在noteSpace范围内随机分布（固定随机种子）
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CFScoreBenchmark {
+    private static final int USER_ID = 0;
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Param({"10", "50"})
+    public int friends;
+
+    @Param({"200"})
+    public int likesPerUser;
+
+    @Param({"5000"})
+    public int noteSpace;
+
+    private long now;
+    private Map<Integer, List<LikeNote>> userLikesMap;
+    private Map<Integer, Double> friendWeights;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        now = System.currentTimeMillis();
+        userLikesMap = new HashMap<>();
+        friendWeights = new LinkedHashMap<>();
+        int likeId = 0;
+        for (int userId = 0; userId <= friends; userId++) {
+            List<LikeNote> likes = new ArrayList<>(likesPerUser);
+            for (int i = 0; i < likesPerUser; i++) {
+                Timestamp likeTime = new Timestamp(now - random.nextInt(180) * DAY_MILLIS);
+                likes.add(new LikeNote(likeId++, random.nextInt(noteSpace), userId, likeTime));
+            }
+            userLikesMap.put(userId, likes);
+            if (userId != USER_ID) {
+                friendWeights.put(userId, 0.7 + random.nextDouble() * 0.3);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Double> calculateNoteScores() {
+        return CFScoreUtils.calculateNoteScores(USER_ID, userLikesMap, friendWeights, now);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.benchmarks;
+
+import com.example.littleredbook.utils.SingleFlight;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 热点键缓存击穿基准：休眠轮询互斥重建 对比 SingleFlight合并重建
+ *
+ * <p>场景模拟：
+ * - 每隔windowMillis切换一次热点键，所有线程同时撞上同一个冷键<br>
+ * - 回源耗时dbMillis，分布式锁以本地ReentrantLock模拟<br>
+ * - legacy：复刻原queryWithMutex，tryLock(1s)失败休眠50ms后递归，拿到锁直接回源<br>
+ * - singleFlight：同键请求先在进程内合并，仅首个线程争锁并复查缓存<br>
+ *
+ * <p>运行方式（关注p0.99）：
+ * java -jar benchmarks/target/benchmarks.jar CacheStampedeBenchmark
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheStampedeBenchmark {
+    @Param({"100"})
+    public long windowMillis;
+
+    @Param({"5"})
+    public long dbMillis;
+
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        cache.clear();
+    }
+
+    @Benchmark
+    public String legacy() throws InterruptedException {
+        return legacyQuery(hotKey());
+    }
+
+    @Benchmark
+    public String singleFlight() throws InterruptedException {
+        String key = hotKey();
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return singleFlight.execute(key, () -> {
+            lock.lockInterruptibly();
+            try {
+                String rebuilt = cache.get(key);
+                return rebuilt != null ? rebuilt : load(key);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private String legacyQuery(String key) throws InterruptedException {
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (!lock.tryLock(1, TimeUnit.SECONDS)) {
+            Thread.sleep(50);
+            return legacyQuery(key);
+        }
+        try {
+            return load(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String load(String key) throws InterruptedException {
+        Thread.sleep(dbMillis);
+        cache.put(key, key);
+        return key;
+    }
+
+    private String hotKey() {
+        return "note:" + System.currentTimeMillis() / windowMillis;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.fixture.Fixtures;
+import com.example.littleredbook.utils.DateUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateUtils时间戳与字符串互转基准
+ *
+ * <p>对比三种实现：
+ * - legacy*：每次调用新建SimpleDateFormat（原实现）<br>
+ * - format/parse：缓存的DateTimeFormatter<br>
+ * - epoch*：缓存使用的epoch毫秒格式<br>
+ *
+ * <p>运行方式（gc.alloc.rate.norm即每次调用分配字节数）：
+ * java -jar benchmarks/target/benchmarks.jar DateUtilsBenchmark -prof gc
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+    private Timestamp timestamp;
+    private String formatted;
+    private String epoch;
+
+    @Setup
+    public void setUp() {
+        timestamp = Fixtures.NOW;
+        formatted = DateUtils.TimeStampToString(timestamp);
+        epoch = Long.toString(timestamp.getTime());
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return LegacyDateUtils.TimeStampToString(timestamp);
+    }
+
+    @Benchmark
+    public Timestamp legacyParse() throws ParseException {
+        return LegacyDateUtils.StringToTimeStamp(formatted);
+    }
+
+    @Benchmark
+    public String format() {
+        return DateUtils.TimeStampToString(timestamp);
+    }
+
+    @Benchmark
+    public Timestamp parse() throws ParseException {
+        return DateUtils.StringToTimeStamp(formatted);
+    }
+
+    @Benchmark
+    public String epochFormat() {
+        return Long.toString(timestamp.getTime());
+    }
+
+    @Benchmark
+    public Timestamp epochParse() throws ParseException {
+        return DateUtils.StringToTimeStamp(epoch);
+    }
+}
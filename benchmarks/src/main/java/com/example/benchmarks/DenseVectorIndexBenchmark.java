@@ -0,0 +1,65 @@
+package com.example.benchmarks;
+
+import com.example.littleredbook.utils.DenseVectorIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 笔记向量暴力检索基准（DenseVectorIndex.topK）
+ *
+ * <p>样本规模：notes篇随机笔记（20~200个中文字符，取自常见笔记用字），dimension维哈希TF-IDF向量；
+ * 查询向量取自已收录笔记（固定随机种子）。Throughput模式输出每秒查询数，对比不同语料规模
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DenseVectorIndexBenchmark {
+    private static final String HAN = "咖啡拿铁探店周末旅行攻略红烧肉火锅甜品护肤面膜穿搭通勤健身减脂早餐露营徒步拍照滤镜好物分享推荐平价学生党";
+    private static final int QUERIES = 256;
+
+    @Param({"10000", "100000"})
+    public int notes;
+
+    @Param({"256"})
+    public int dimension;
+
+    private DenseVectorIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        DenseVectorIndex.Builder builder = DenseVectorIndex.builder(dimension);
+        for (int id = 1; id <= notes; id++) {
+            builder.add(id, text(random));
+        }
+        index = builder.build();
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = index.vector(1 + random.nextInt(notes));
+        }
+    }
+
+    @Benchmark
+    public DenseVectorIndex.Hits topK() {
+        return index.topK(queries[next++ & (QUERIES - 1)], 20, -1);
+    }
+
+    private static String text(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 20 + random.nextInt(181);
+        for (int i = 0; i < length; i++) {
+            builder.append(HAN.charAt(random.nextInt(HAN.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.fixture.BenchNoteCommentDTO;
+import com.example.benchmarks.fixture.BenchNoteDTO;
+import com.example.benchmarks.fixture.Fixtures;
+import com.example.littleredbook.entity.LikeNote;
+import com.example.littleredbook.entity.Message;
+import com.example.littleredbook.utils.HashCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 哈希编解码基准：预编译HashCodec 对比 原反射+BeanUtil映射
+ *
+ * <p>运行方式：
+ * java -jar benchmarks/target/benchmarks.jar HashCodecBenchmark -prof gc
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashCodecBenchmark {
+
+    @Param({"NoteDTO", "NoteCommentDTO", "LikeNote", "Message"})
+    public String target;
+
+    private Class<?> type;
+    private Object bean;
+    private List<String> legacyValues;
+    private List<String> codecValues;
+
+    @Setup
+    public void setUp() {
+        switch (target) {
+            case "NoteDTO":
+                type = BenchNoteDTO.class;
+                bean = Fixtures.note(1);
+                break;
+            case "NoteCommentDTO":
+                type = BenchNoteCommentDTO.class;
+                bean = Fixtures.comment(1);
+                break;
+            case "LikeNote":
+                type = LikeNote.class;
+                bean = Fixtures.likeNote(1);
+                break;
+            default:
+                type = Message.class;
+                bean = Fixtures.message(1);
+        }
+        legacyValues = valuesOf(LegacyHashMapping.encode(bean), LegacyHashMapping.fieldNames(type));
+        codecValues = valuesOf(HashCodec.of(type).encode(bean), HashCodec.of(type).fieldNames());
+    }
+
+    @Benchmark
+    public Object decodeLegacy() throws ParseException {
+        return LegacyHashMapping.decode(type, legacyValues);
+    }
+
+    @Benchmark
+    public Object decodeCodec() throws ParseException {
+        return HashCodec.of(type).decode(codecValues);
+    }
+
+    @Benchmark
+    public Map<String, String> encodeLegacy() {
+        return LegacyHashMapping.encode(bean);
+    }
+
+    @Benchmark
+    public Map<String, String> encodeCodec() {
+        return HashCodec.of(type).encode(bean);
+    }
+
+    private static List<String> valuesOf(Map<String, String> hash, List<String> fieldNames) {
+        List<String> values = new ArrayList<>(fieldNames.size());
+        for (String fieldName : fieldNames) {
+            values.add(hash.get(fieldName));
+        }
+        return values;
+    }
+}
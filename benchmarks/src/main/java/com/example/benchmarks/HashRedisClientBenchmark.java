@@ -0,0 +1,60 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.fixture.BenchNoteDTO;
+import com.example.benchmarks.fixture.Fixtures;
+import com.example.benchmarks.redis.InMemoryStringRedisTemplate;
+import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.RedisConstants;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashRedisClient哈希读写基准（进程内Redis替身）
+ *
+ * <p>场景说明：
+ * - hMultiGetMapped：未注册一级缓存的键，衡量HMGET结果到对象的映射开销<br>
+ * - hMultiGetNearCache：笔记缓存键，衡量一级缓存命中路径<br>
+ * - hMultiSet：对象展开为哈希并写入<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashRedisClientBenchmark {
+    private static final String MAPPED_KEY = "benchmark:note:1";
+    private static final String NEAR_CACHE_KEY = RedisConstants.CACHE_NOTE_KEY + 1;
+
+    private HashRedisClient hashRedisClient;
+    private BenchNoteDTO note;
+
+    @Setup
+    public void setUp() throws ParseException {
+        hashRedisClient = new HashRedisClient(new InMemoryStringRedisTemplate(), null);
+        note = Fixtures.note(1);
+        hashRedisClient.hMultiSet(MAPPED_KEY, note);
+        hashRedisClient.hMultiSet(NEAR_CACHE_KEY, note);
+        hashRedisClient.hMultiGet(NEAR_CACHE_KEY, BenchNoteDTO.class);
+    }
+
+    @Benchmark
+    public BenchNoteDTO hMultiGetMapped() throws ParseException {
+        return hashRedisClient.hMultiGet(MAPPED_KEY, BenchNoteDTO.class);
+    }
+
+    @Benchmark
+    public BenchNoteDTO hMultiGetNearCache() throws ParseException {
+        return hashRedisClient.hMultiGet(NEAR_CACHE_KEY, BenchNoteDTO.class);
+    }
+
+    @Benchmark
+    public void hMultiSet() {
+        hashRedisClient.hMultiSet(MAPPED_KEY, note);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.benchmarks;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+/**
+ * 基于SimpleDateFormat的原DateUtils实现（原样保留，仅作基准对照）
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class LegacyDateUtils {
+
+    private LegacyDateUtils() {
+    }
+
+    public static String TimeStampToString(Timestamp timestamp) {
+        if (timestamp == null) return "null";
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return simpleDateFormat.format(timestamp);
+    }
+
+    public static Timestamp StringToTimeStamp(String time) throws ParseException {
+        if (time == null || time.equals("null")) return null;
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return new Timestamp(simpleDateFormat.parse(time).getTime());
+    }
+}
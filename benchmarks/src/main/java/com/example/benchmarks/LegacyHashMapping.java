@@ -0,0 +1,111 @@
+package com.example.benchmarks;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
+import cn.hutool.json.JSONUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * HashRedisClient引入HashCodec之前的反射映射实现（原样保留，仅作基准对照）
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class LegacyHashMapping {
+
+    private LegacyHashMapping() {
+    }
+
+    public static List<String> fieldNames(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields()).map(Field::getName).collect(Collectors.toList());
+    }
+
+    public static <T> T decode(Class<T> type, List<String> values) throws ParseException {
+        Field[] fields = type.getDeclaredFields();
+        List<String> fieldNames = Arrays.stream(fields).map(Field::getName).collect(Collectors.toList());
+        List<Type> fieldTypes = Arrays.stream(fields).map(Field::getGenericType).collect(Collectors.toList());
+        if (fieldNames.size() != values.size()) {
+            throw new IllegalStateException("字段和值数量不匹配");
+        }
+        Map<String, Object> fieldValueMap = new HashMap<>();
+        for (int i = 0; i < fieldNames.size(); i++) {
+            String field = fieldNames.get(i);
+            String value = values.get(i);
+            Class<?> types = getRawType(fieldTypes.get(i));
+            Object obj = null;
+            if (types == Timestamp.class) {
+                obj = LegacyDateUtils.StringToTimeStamp(value);
+            } else if (isSimpleType(types)) {
+                obj = toSimpleType(value, types);
+            } else if (types == List.class) {
+                ParameterizedType pType = (ParameterizedType) fields[i].getGenericType();
+                Type[] actualTypes = pType.getActualTypeArguments();
+                if (actualTypes.length > 0 && actualTypes[0] instanceof Class) {
+                    types = (Class<?>) actualTypes[0];
+                }
+                obj = JSONUtil.toList(value, types);
+            } else if (value != null && !value.equals("null")) {
+                obj = JSONUtil.toBean(value, types);
+            }
+            fieldValueMap.put(field, obj);
+        }
+        return BeanUtil.mapToBean(fieldValueMap, type, CopyOptions.create().setIgnoreError(true));
+    }
+
+    public static Map<String, String> encode(Object bean) {
+        Map<String, String> map = new HashMap<>();
+        for (Field field : bean.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            try {
+                Object obj = field.get(bean);
+                String str;
+                if (isSimpleType(obj)) {
+                    str = String.valueOf(obj);
+                } else if (obj.getClass() == Timestamp.class) {
+                    str = LegacyDateUtils.TimeStampToString((Timestamp) obj);
+                } else {
+                    str = JSONUtil.toJsonStr(obj);
+                }
+                map.put(field.getName(), str);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return map;
+    }
+
+    private static Class<?> getRawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        return (Class<?>) ((ParameterizedType) type).getRawType();
+    }
+
+    private static boolean isSimpleType(Object value) {
+        return value == null || value instanceof Number || value instanceof String
+                || value instanceof Boolean || value instanceof Character;
+    }
+
+    private static boolean isSimpleType(Class<?> type) {
+        return type == Integer.class || type == String.class || type == Long.class
+                || type == Boolean.class || type == Float.class || type == Double.class;
+    }
+
+    private static Object toSimpleType(String str, Class<?> type) {
+        if (str == null || str.equals("null")) return null;
+        if (type == Integer.class) return Integer.parseInt(str);
+        if (type == String.class) return str;
+        if (type == Long.class) return Long.parseLong(str);
+        if (type == Boolean.class) return Boolean.parseBoolean(str);
+        if (type == Float.class) return Float.parseFloat(str);
+        if (type == Double.class) return Double.parseDouble(str);
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.benchmarks;
+
+import com.example.littleredbook.entity.Note;
+import com.example.search.analysis.CjkBigramAnalyzer;
+import com.example.search.analysis.DictionaryAnalyzer;
+import com.example.search.analysis.NoteAnalyzers;
+import com.example.search.analysis.WordDictionary;
+import com.example.search.utils.NoteIndex;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 笔记全文检索基准（NoteIndex查询路径，不同分析器）
+ *
+ * <p>样本规模：corpusSize篇中英混排笔记，标题3词、正文40词，约八成为中文词，
+ * 中文词之间不加空格（固定随机种子）；每次调用轮换执行一条检索词取Top10
+ *
+ * <p>召回率与精确率在Setup中按“标题或正文包含检索词的全部片段”为基准计算并打印，
+ * 与耗时一起用于比较分析器
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteSearchBenchmark {
+    private static final String[] CHINESE_WORDS = {
+            "咖啡", "拿铁", "探店", "周末", "旅行", "攻略", "红烧肉", "火锅", "甜品", "护肤",
+            "面膜", "穿搭", "通勤", "健身", "减脂", "早餐", "露营", "徒步", "拍照", "滤镜",
+            "好物", "分享", "推荐", "平价", "学生党", "上海", "成都", "日料", "烘焙", "面包",
+            "读书", "笔记", "考研", "复习", "租房", "装修", "收纳", "宠物", "猫咪", "电影"};
+    private static final String[] ENGLISH_WORDS = {
+            "coffee", "latte", "vlog", "iPhone", "iPad", "citywalk", "OOTD", "brunch", "yoga", "camping",
+            "Switch", "Kindle", "MacBook", "Starbucks", "Uniqlo", "lipstick", "serum", "workout", "travel", "review"};
+    private static final String[] QUERIES = {
+            "咖啡", "红烧肉", "周末 旅行", "拿铁咖啡", "学生党", "iPhone", "coffee", "vlog 攻略", "护肤 serum", "烘焙面包"};
+    private static final int TOP_K = 10;
+
+    @Param({"standard", "cjk", "dictionary"})
+    public String analyzer;
+
+    @Param({"10000", "100000"})
+    public int corpusSize;
+
+    private NoteAnalyzers analyzers;
+    private ByteBuffersDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private String[] texts;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        analyzers = analyzers(analyzer);
+        directory = new ByteBuffersDirectory();
+        texts = new String[corpusSize];
+        Random random = new Random(42);
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzers.getIndexAnalyzer()))) {
+            for (int id = 0; id < corpusSize; id++) {
+                Note note = new Note();
+                note.setId(id);
+                note.setTitle(sentence(random, 3));
+                note.setContent(sentence(random, 40));
+                writer.addDocument(NoteIndex.toDocument(note));
+                texts[id] = (note.getTitle() + "\n" + note.getContent()).toLowerCase(Locale.ROOT);
+            }
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        this.printQuality();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public TopDocs search() throws IOException {
+        String keyword = QUERIES[next++ % QUERIES.length];
+        return searcher.search(NoteIndex.parseQuery(analyzers.getQueryAnalyzer(), keyword), TOP_K);
+    }
+
+    private void printQuality() throws IOException {
+        long relevant = 0;
+        long retrieved = 0;
+        long matched = 0;
+        for (String keyword : QUERIES) {
+            String[] parts = keyword.toLowerCase(Locale.ROOT).split(" ");
+            Set<Integer> expected = new HashSet<>();
+            for (int id = 0; id < texts.length; id++) {
+                boolean contains = true;
+                for (String part : parts) {
+                    contains &= texts[id].contains(part);
+                }
+                if (contains) {
+                    expected.add(id);
+                }
+            }
+            ScoreDoc[] scoreDocs = searcher.search(
+                    NoteIndex.parseQuery(analyzers.getQueryAnalyzer(), keyword), texts.length).scoreDocs;
+            for (ScoreDoc scoreDoc : scoreDocs) {
+                Document document = searcher.doc(scoreDoc.doc);
+                if (expected.contains(Integer.valueOf(document.get("id")))) {
+                    matched++;
+                }
+            }
+            relevant += expected.size();
+            retrieved += scoreDocs.length;
+        }
+        System.out.printf("%n[%s, corpus=%d] recall=%.4f precision=%.4f%n", analyzer, corpusSize,
+                relevant == 0 ? 1.0 : (double) matched / relevant,
+                retrieved == 0 ? 1.0 : (double) matched / retrieved);
+    }
+
+    private static NoteAnalyzers analyzers(String name) {
+        if ("standard".equals(name)) {
+            return new NoteAnalyzers(name, new StandardAnalyzer(), new StandardAnalyzer());
+        }
+        if ("cjk".equals(name)) {
+            return new NoteAnalyzers(name, new CjkBigramAnalyzer(true), new CjkBigramAnalyzer(false));
+        }
+        WordDictionary dictionary = new WordDictionary();
+        for (String word : CHINESE_WORDS) {
+            dictionary.add(word);
+        }
+        DictionaryAnalyzer dictionaryAnalyzer = new DictionaryAnalyzer(dictionary);
+        return new NoteAnalyzers(name, dictionaryAnalyzer, dictionaryAnalyzer);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        boolean lastEnglish = false;
+        for (int i = 0; i < words; i++) {
+            boolean english = random.nextInt(5) == 0;
+            if (english || lastEnglish) {
+                builder.append(' ');
+            }
+            builder.append(english ? ENGLISH_WORDS[random.nextInt(ENGLISH_WORDS.length)]
+                    : CHINESE_WORDS[random.nextInt(CHINESE_WORDS.length)]);
+            lastEnglish = english;
+        }
+        return builder.toString().trim();
+    }
+}
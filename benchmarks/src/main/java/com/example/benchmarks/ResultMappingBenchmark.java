@@ -0,0 +1,81 @@
+package com.example.benchmarks;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.example.benchmarks.fixture.Fixtures;
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.LikeNote;
+import com.example.littleredbook.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign Result负载转换基准
+ *
+ * <p>Feign经Jackson解码后Result.data为LinkedHashMap（或其列表），
+ * 各服务再通过BeanUtil.mapToBean/copyToList还原实体，本基准衡量该还原开销
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultMappingBenchmark {
+    @Param({"50"})
+    public int listSize;
+
+    private Result userResult;
+    private Result likeListResult;
+
+    @Setup
+    public void setUp() {
+        userResult = Result.ok(userPayload(Fixtures.user(1)));
+        List<Map<String, Object>> likes = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            LikeNote likeNote = Fixtures.likeNote(i);
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", likeNote.getId());
+            map.put("noteId", likeNote.getNoteId());
+            map.put("userId", likeNote.getUserId());
+            map.put("likeTime", likeNote.getLikeTime().getTime());
+            likes.add(map);
+        }
+        likeListResult = Result.ok(likes);
+    }
+
+    @Benchmark
+    public User mapToBeanUser() {
+        return BeanUtil.mapToBean((Map<?, ?>) userResult.getData(), User.class, true);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<LikeNote> mapToBeanLikeList() {
+        List<LikeNote> likes = new ArrayList<>();
+        ((List<Map<String, Object>>) likeListResult.getData())
+                .forEach(map -> likes.add(BeanUtil.mapToBean(map, LikeNote.class, true)));
+        return likes;
+    }
+
+    @Benchmark
+    public List<LikeNote> copyToListLikeList() {
+        return BeanUtil.copyToList((List<?>) likeListResult.getData(), LikeNote.class);
+    }
+
+    private static Map<String, Object> userPayload(User user) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", user.getId());
+        map.put("userName", user.getUserName());
+        map.put("icon", user.getIcon());
+        map.put("info", user.getInfo());
+        map.put("phone", user.getPhone());
+        map.put("userPassword", user.getUserPassword());
+        map.put("fansNum", user.getFansNum());
+        return map;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import cn.hutool.json.JSONUtil;
+import com.example.benchmarks.fixture.BenchNoteDTO;
+import com.example.benchmarks.fixture.Fixtures;
+import com.example.benchmarks.redis.InMemoryStringRedisTemplate;
+import com.example.littleredbook.utils.StringRedisClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StringRedisClient JSON序列化基准（进程内Redis替身）
+ *
+ * <p>场景说明：
+ * - 单对象与列表两种缓存形态的JSONUtil序列化/反序列化<br>
+ * - 经StringRedisClient的完整读写路径<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringRedisClientBenchmark {
+    private static final String KEY = "benchmark:string:note:1";
+
+    @Param({"20"})
+    public int listSize;
+
+    private StringRedisClient stringRedisClient;
+    private BenchNoteDTO note;
+    private String noteJson;
+    private String noteListJson;
+
+    @Setup
+    public void setUp() {
+        stringRedisClient = new StringRedisClient(new InMemoryStringRedisTemplate(), null);
+        note = Fixtures.note(1);
+        List<BenchNoteDTO> notes = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            notes.add(Fixtures.note(i));
+        }
+        noteJson = JSONUtil.toJsonStr(note);
+        noteListJson = JSONUtil.toJsonStr(notes);
+        stringRedisClient.set(KEY, note, 30L, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public String toJsonStr() {
+        return JSONUtil.toJsonStr(note);
+    }
+
+    @Benchmark
+    public BenchNoteDTO toBean() {
+        return JSONUtil.toBean(noteJson, BenchNoteDTO.class);
+    }
+
+    @Benchmark
+    public List<BenchNoteDTO> toList() {
+        return JSONUtil.toList(noteListJson, BenchNoteDTO.class);
+    }
+
+    @Benchmark
+    public void clientSet() {
+        stringRedisClient.set(KEY, note, 30L, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public BenchNoteDTO clientGet() {
+        return stringRedisClient.get(KEY, BenchNoteDTO.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.benchmarks;
+
+import com.example.search.utils.SuggestionTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索联想前缀树基准（SuggestionTrie.suggest）
+ *
+ * <p>样本规模：terms个随机候选词（中文2~6字、英文3~10字母各半），权重服从长尾分布；
+ * 查询前缀取自候选词前1~3个字符（固定随机种子）。SampleTime模式输出p99等分位耗时
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuggestionTrieBenchmark {
+    private static final String HAN = "咖啡拿铁探店周末旅行攻略红烧肉火锅甜品护肤面膜穿搭通勤健身减脂早餐露营徒步拍照滤镜好物分享推荐平价学生党";
+    private static final int PREFIXES = 1024;
+
+    @Param({"10000", "200000"})
+    public int terms;
+
+    private SuggestionTrie trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<String, Long> weights = new HashMap<>();
+        String[] sample = new String[terms];
+        int i = 0;
+        while (weights.size() < terms) {
+            String term = random.nextBoolean() ? han(random) : latin(random);
+            if (weights.put(term, (long) (1000 / (1 + random.nextInt(1000)))) == null) {
+                sample[i++] = term;
+            }
+        }
+        trie = SuggestionTrie.build(weights, 10);
+        prefixes = new String[PREFIXES];
+        for (int j = 0; j < PREFIXES; j++) {
+            String term = sample[random.nextInt(terms)];
+            prefixes[j] = term.substring(0, Math.min(term.length(), 1 + random.nextInt(3)));
+        }
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return trie.suggest(prefixes[next++ & (PREFIXES - 1)], 10);
+    }
+
+    private static String han(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 2 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            builder.append(HAN.charAt(random.nextInt(HAN.length())));
+        }
+        return builder.toString();
+    }
+
+    private static String latin(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 3 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.benchmarks.fixture;
+
+import com.example.littleredbook.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * 与notes模块NoteCommentDTO字段结构一致的基准测试样本
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BenchNoteCommentDTO {
+    private Integer id;
+    private Integer noteId;
+    private Integer likeNum;
+    private String innerComment;
+    private Timestamp commentTime;
+    private User user;
+}
@@ -0,0 +1,33 @@
+package com.example.benchmarks.fixture;
+
+import com.example.littleredbook.entity.Tag;
+import com.example.littleredbook.entity.User;
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 与notes模块NoteDTO字段结构一致的基准测试样本
+ *
+ * <p>notes模块以Spring Boot可执行包发布，无法作为普通依赖引入，
+ * 此处保持字段名称、类型与顺序一致，用于衡量哈希编解码开销
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Data
+public class BenchNoteDTO {
+    private Integer id;
+    private String title;
+    private Integer type;
+    private Integer isPublic;
+    private String resource;
+    private String content;
+    private Integer likeNum;
+    private Integer collectionsNum;
+    private Timestamp updateTime;
+    private Timestamp createTime;
+    private User user;
+    private List<Tag> tags;
+}
@@ -0,0 +1,56 @@
+package com.example.benchmarks.fixture;
+
+import com.example.littleredbook.entity.LikeNote;
+import com.example.littleredbook.entity.Message;
+import com.example.littleredbook.entity.Tag;
+import com.example.littleredbook.entity.User;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * 基准测试公共样本数据
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class Fixtures {
+    public static final Timestamp NOW = Timestamp.valueOf("2026-10-18 12:30:45");
+
+    private Fixtures() {
+    }
+
+    public static User user(int id) {
+        return new User(id, "user" + id, "https://cdn.example.com/icon/" + id + ".png",
+                "这个人很懒，什么都没有留下", "1380000" + id, "******", 1024);
+    }
+
+    public static BenchNoteDTO note(int id) {
+        BenchNoteDTO note = new BenchNoteDTO();
+        note.setId(id);
+        note.setTitle("周末去哪儿玩 第" + id + "期");
+        note.setType(0);
+        note.setIsPublic(1);
+        note.setResource("https://cdn.example.com/note/" + id + ".jpg");
+        note.setContent("今天去了一家很有意思的咖啡店，环境安静，适合看书和拍照。推荐给大家！");
+        note.setLikeNum(128 + id);
+        note.setCollectionsNum(32);
+        note.setUpdateTime(NOW);
+        note.setCreateTime(NOW);
+        note.setUser(user(id % 97));
+        note.setTags(Arrays.asList(new Tag(1, "探店"), new Tag(2, "咖啡"), new Tag(3, "周末")));
+        return note;
+    }
+
+    public static BenchNoteCommentDTO comment(int id) {
+        return new BenchNoteCommentDTO(id, id % 1000, 5, "写得真好，收藏了！", NOW, user(id % 97));
+    }
+
+    public static LikeNote likeNote(int id) {
+        return new LikeNote(id, id % 1000, id % 97, NOW);
+    }
+
+    public static Message message(int id) {
+        return new Message(id, id % 97, (id + 1) % 97, "你好，请问这家店在哪里？", NOW, Boolean.FALSE);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.benchmarks.redis;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 进程内Redis替身（仅供基准测试）
+ *
+ * <p>功能说明：
+ * 1. 以ConcurrentHashMap模拟String与Hash两类数据结构<br>
+ * 2. 覆盖HashRedisClient/StringRedisClient基准路径用到的命令<br>
+ * 3. 不模拟网络往返与过期，测得的是客户端自身的序列化与映射开销<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public class InMemoryStringRedisTemplate extends StringRedisTemplate {
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> hashes = new ConcurrentHashMap<>();
+    private final HashOperations<String, ?, ?> hashOperations = proxy(HashOperations.class, this::invokeHash);
+    private final ValueOperations<String, String> valueOperations = proxy(ValueOperations.class, this::invokeValue);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+        return (HashOperations<String, HK, HV>) hashOperations;
+    }
+
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public Boolean hasKey(String key) {
+        return strings.containsKey(key) || hashes.containsKey(key);
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        return strings.remove(key) != null | hashes.remove(key) != null;
+    }
+
+    @Override
+    public Boolean expire(String key, long timeout, TimeUnit unit) {
+        return hasKey(key);
+    }
+
+    @Override
+    public Long getExpire(String key) {
+        return hasKey(key) ? -1L : -2L;
+    }
+
+    private Object invokeHash(Method method, Object[] args) {
+        String key = (String) args[0];
+        switch (method.getName()) {
+            case "put":
+                hash(key).put((String) args[1], (String) args[2]);
+                return null;
+            case "putAll":
+                hash(key).putAll(castMap(args[1]));
+                return null;
+            case "putIfAbsent":
+                return hash(key).putIfAbsent((String) args[1], (String) args[2]) == null;
+            case "get":
+                return hashes.getOrDefault(key, Collections.emptyMap()).get(args[1]);
+            case "multiGet": {
+                Map<String, String> hash = hashes.getOrDefault(key, Collections.emptyMap());
+                Collection<?> fields = (Collection<?>) args[1];
+                List<String> values = new ArrayList<>(fields.size());
+                for (Object field : fields) {
+                    values.add(hash.get(field));
+                }
+                return values;
+            }
+            case "hasKey":
+                return hashes.getOrDefault(key, Collections.emptyMap()).containsKey(args[1]);
+            case "delete": {
+                Map<String, String> hash = hashes.getOrDefault(key, Collections.emptyMap());
+                long removed = 0;
+                for (Object field : (Object[]) args[1]) {
+                    removed += hash.remove(field) != null ? 1 : 0;
+                }
+                return removed;
+            }
+            case "increment": {
+                long delta = ((Number) args[2]).longValue();
+                return Long.parseLong(hash(key).merge((String) args[1], String.valueOf(delta),
+                        (old, d) -> String.valueOf(Long.parseLong(old) + Long.parseLong(d))));
+            }
+            case "keys":
+                return new LinkedHashSet<>(hashes.getOrDefault(key, Collections.emptyMap()).keySet());
+            case "values":
+                return new ArrayList<>(hashes.getOrDefault(key, Collections.emptyMap()).values());
+            case "entries":
+                return new HashMap<>(hashes.getOrDefault(key, Collections.emptyMap()));
+            case "size":
+                return (long) hashes.getOrDefault(key, Collections.emptyMap()).size();
+            default:
+                throw new UnsupportedOperationException("HashOperations." + method.getName());
+        }
+    }
+
+    private Object invokeValue(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "set":
+                strings.put((String) args[0], (String) args[1]);
+                return null;
+            case "setIfAbsent":
+                return strings.putIfAbsent((String) args[0], (String) args[1]) == null;
+            case "get":
+                return strings.get(args[0]);
+            case "multiGet": {
+                Collection<?> keys = (Collection<?>) args[0];
+                List<String> values = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    values.add(strings.get(key));
+                }
+                return values;
+            }
+            case "multiSet":
+                strings.putAll(castMap(args[0]));
+                return null;
+            case "increment":
+            case "decrement": {
+                long delta = args.length > 1 ? ((Number) args[1]).longValue() : 1L;
+                long signed = method.getName().equals("increment") ? delta : -delta;
+                return Long.parseLong(strings.merge((String) args[0], String.valueOf(signed),
+                        (old, d) -> String.valueOf(Long.parseLong(old) + Long.parseLong(d))));
+            }
+            default:
+                throw new UnsupportedOperationException("ValueOperations." + method.getName());
+        }
+    }
+
+    private Map<String, String> hash(String key) {
+        return hashes.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> castMap(Object map) {
+        return (Map<String, String>) map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return type.getSimpleName() + "@in-memory";
+                }
+            }
+            return handler.invoke(method, args == null ? new Object[0] : args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+}
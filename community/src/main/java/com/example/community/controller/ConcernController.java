@@ -96,6 +96,26 @@ public class ConcernController {
         return concernService.getFriends(userId);
     }
 
+    /**
+     * 获取需拉取发件箱的已关注大V列表
+     * @param fansId 粉丝用户唯一标识
+     * @return 包含作者ID集合的Result对象
+     */
+    @GetMapping("/fans/{fansId}/pull-authors")
+    public Result getPullAuthorIds(@PathVariable Integer fansId) {
+        return concernService.getPullAuthorIds(fansId);
+    }
+
+    /**
+     * 获取用户已关注的作者列表
+     * @param fansId 粉丝用户唯一标识
+     * @return 包含作者ID集合的Result对象
+     */
+    @GetMapping("/fans/{fansId}/followees")
+    public Result getFolloweeIds(@PathVariable Integer fansId) {
+        return concernService.getFolloweeIds(fansId);
+    }
+
 
     /**
      * 通过ID移除关注关系
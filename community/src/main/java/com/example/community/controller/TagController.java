@@ -7,6 +7,9 @@ import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 标签功能控制器
  *
@@ -19,8 +22,9 @@ import org.springframework.web.bind.annotation.*;
  *   - 标签单点查询<br>
  *   - 全量标签列表获取<br>
  *   - 新增标签操作<br>
- *   - 笔记关联标签查询<br>
+ *   - 笔记关联标签查询（单篇/批量）<br>
  *   - 标签与笔记关联关系创建<br>
+ *   - 多标签组合筛选笔记<br>
  *
  * @author Mike
  * @since 2025/2/23
@@ -76,6 +80,17 @@ public class TagController {
         return tagService.getTagsByNoteId(noteId);
     }
 
+    /**
+     * 批量获取多篇笔记关联的标签ID
+     *
+     * @param ids 笔记ID集合
+     * @return 包含笔记ID-标签ID列表映射的Result对象
+     */
+    @GetMapping("/notes/batch")
+    public Result getTagsByNoteIds(@RequestParam List<Integer> ids) {
+        return tagService.getTagsByNoteIds(ids);
+    }
+
     /**
      * 获取指定标签关联的所有笔记ID
      *
@@ -87,6 +102,24 @@ public class TagController {
         return tagService.getNoteIdByTagId(tagId);
     }
 
+    /**
+     * 多标签组合筛选笔记（按点赞数降序分页）
+     *
+     * @param all 须同时包含的标签ID
+     * @param any 至少包含其一的标签ID
+     * @param none 不得包含的标签ID
+     * @param current 页码（默认1）
+     * @return 包含当前页笔记ID列表与命中总数的Result对象
+     */
+    @GetMapping("/notes")
+    public Result queryNoteIdsByTags(@RequestParam(value = "all", required = false) List<Integer> all,
+                                     @RequestParam(value = "any", required = false) List<Integer> any,
+                                     @RequestParam(value = "none", required = false) List<Integer> none,
+                                     @RequestParam(value = "current", defaultValue = "1") Integer current) {
+        return tagService.queryNoteIdsByTags(all != null ? all : Collections.emptyList(),
+                any != null ? any : Collections.emptyList(), none != null ? none : Collections.emptyList(), current);
+    }
+
     /**
      * 创建标签与笔记的关联关系
      *
@@ -1,6 +1,7 @@
 package com.example.community.listener;
 
 import com.example.community.service.IConcernService;
+import com.example.littleredbook.dto.FeedMessage;
 import com.example.littleredbook.entity.Concern;
 import com.example.littleredbook.utils.HashRedisClient;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +36,15 @@ public class ConcernListener {
         concernService.addConcern(concern);
     }
 
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(name = COMMUNITY_FEED_PUSH_QUEUE, durable = "true"),
+            exchange = @Exchange(name = TOPIC_COMMUNITY_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_FEED_PUSH_QUEUE_ROUTING_KEY}
+    ))
+    public void listenFeedPush(FeedMessage feedMessage) {
+        concernService.fanOutNote(feedMessage);
+    }
+
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(name = COMMUNITY_CONRERN_CACHE_ADD_QUEUE, durable = "true"),
             exchange = @Exchange(name = TOPIC_COMMUNITY_EXCHANGE, type = ExchangeTypes.TOPIC),
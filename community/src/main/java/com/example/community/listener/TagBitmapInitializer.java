@@ -0,0 +1,38 @@
+package com.example.community.listener;
+
+import com.example.community.service.ITagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 标签位图索引启动加载
+ *
+ * <p>功能说明：
+ * 1. 应用就绪后在后台线程中加载标签位图索引，不阻塞启动<br>
+ * 2. 加载完成前组合筛选回源关联表，结果一致仅耗时较高<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagBitmapInitializer {
+    private final ITagService tagService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                tagService.loadTagBitmaps();
+            } catch (Exception e) {
+                log.error("标签位图索引加载失败", e);
+            }
+        });
+    }
+}
@@ -4,9 +4,11 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.Tag;
 import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 标签数据访问层接口
@@ -32,6 +34,16 @@ public interface TagMapper extends BaseMapper<Tag> {
     @Select("SELECT * FROM tag JOIN tag_note ON tag.id = tag_note.tag_id WHERE tag_note.note_id = #{noteId}")
     List<Tag> selectTagsByNoteId(Integer noteId);
 
+    /**
+     * 批量查询多篇笔记关联的标签ID（单次IN查询）
+     * @param noteIds 笔记ID列表
+     * @return 关联关系列表（note_id、tag_id）
+     */
+    @Select("<script>SELECT note_id, tag_id FROM tag_note WHERE note_id IN "
+            + "<foreach collection='noteIds' item='noteId' open='(' separator=',' close=')'>#{noteId}</foreach>"
+            + " ORDER BY id</script>")
+    List<Map<String, Object>> selectTagIdsByNoteIds(@Param("noteIds") List<Integer> noteIds);
+
     /**
      * 根据标签ID查询关联的笔记ID列表
      * @param tagId 标签ID
@@ -40,6 +52,15 @@ public interface TagMapper extends BaseMapper<Tag> {
     @Select("SELECT note_id FROM tag_note WHERE tag_id = #{tagId}")
     List<Integer> selectNoteIdByTagId(Integer tagId);
 
+    /**
+     * 按主键游标分页查询标签与笔记的关联关系
+     * @param lastId 上一页最大关联ID（首页为0）
+     * @param size 每页条数
+     * @return 关联关系列表（id、tag_id、note_id）
+     */
+    @Select("SELECT id, tag_id, note_id FROM tag_note WHERE id > #{lastId} ORDER BY id LIMIT #{size}")
+    List<Map<String, Object>> selectTagNotesAfterId(Integer lastId, Integer size);
+
     /**
      * 添加笔记和标签的关联关系
      * @param tagId 标签ID
@@ -1,6 +1,7 @@
 package com.example.community.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.littleredbook.dto.FeedMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.Concern;
 
@@ -62,6 +63,26 @@ public interface IConcernService extends IService<Concern> {
      */
     Result getFriends(Integer userId);
 
+    /**
+     * 获取需拉取发件箱的已关注大V列表
+     * @param fansId 粉丝用户ID
+     * @return 包含作者ID集合的Result对象
+     */
+    Result getPullAuthorIds(Integer fansId);
+
+    /**
+     * 获取用户已关注的作者列表
+     * @param fansId 粉丝用户ID
+     * @return 包含作者ID集合的Result对象
+     */
+    Result getFolloweeIds(Integer fansId);
+
+    /**
+     * 将新发布的笔记扇出到作者粉丝的关注流收件箱
+     * @param feedMessage 关注流推送消息
+     */
+    void fanOutNote(FeedMessage feedMessage);
+
     /**
      * 获取关注通知
      * @param userId 用户ID
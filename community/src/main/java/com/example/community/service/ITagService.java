@@ -3,6 +3,8 @@ package com.example.community.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.Tag;
+
+import java.util.List;
 /**
  * 标签服务接口
  *
@@ -17,8 +19,10 @@ import com.example.littleredbook.entity.Tag;
  * - 根据ID查询单个标签信息<br>
  * - 获取所有标签列表<br>
  * - 查询指定笔记关联的所有标签<br>
+ * - 批量查询多篇笔记关联的标签ID<br>
  * - 插入标签与笔记的关联关系<br>
  * - 新增标签实体记录<br>
+ * - 多标签组合筛选笔记（按点赞数分页）<br>
  *
  * @author Mike
  * @since 2025/2/23
@@ -49,6 +53,13 @@ public interface ITagService extends IService<Tag> {
      * @return 包含关联标签列表的Result对象
      */
     Result getTagsByNoteId(Integer noteId);
+    /**
+     * 批量查询多篇笔记关联的标签ID
+     * @param noteIds 笔记ID列表
+     * @return 包含Map<Integer, List<Integer>>（笔记ID-标签ID列表，无标签的笔记为空列表）的Result对象
+     */
+    Result getTagsByNoteIds(List<Integer> noteIds);
+
     /**
      * 查询指定标签关联的所有笔记
      * @param tagId 标签唯一标识
@@ -63,4 +74,19 @@ public interface ITagService extends IService<Tag> {
      * @return 关联关系操作结果的Result对象
      */
     Result addNoteTag(Integer tagId, Integer noteId);
+
+    /**
+     * 多标签组合筛选笔记：(全部allOf) ∩ (任一anyOf) − (任一noneOf)，按点赞数降序分页
+     * @param allOf 须同时包含的标签ID
+     * @param anyOf 至少包含其一的标签ID
+     * @param noneOf 不得包含的标签ID
+     * @param current 页码（从1开始）
+     * @return 包含当前页笔记ID列表与命中总数的Result对象
+     */
+    Result queryNoteIdsByTags(List<Integer> allOf, List<Integer> anyOf, List<Integer> noneOf, Integer current);
+
+    /**
+     * 加载标签位图索引（Redis中不存在时回源关联表构建）
+     */
+    void loadTagBitmaps();
 }
@@ -1,23 +1,26 @@
 package com.example.community.service.impl;
 
-import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.community.dto.ConcernNotice;
 import com.example.community.mapper.ConcernMapper;
 import com.example.community.service.IConcernService;
-import com.example.community.utils.UserCenterClient;
+import com.example.community.utils.UserLoader;
+import com.example.littleredbook.dto.FeedMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.Concern;
 import com.example.littleredbook.entity.LikeNote;
 import com.example.littleredbook.entity.User;
 import com.example.littleredbook.utils.HashRedisClient;
 import com.example.littleredbook.utils.MQClient;
+import com.example.littleredbook.utils.SortedSetRedisClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import jakarta.annotation.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -45,6 +48,8 @@ import static com.example.littleredbook.utils.RedisConstants.*;
  * - 关注量统计服务<br>
  * - 双删策略维护缓存一致性<br>
  * - 互斥锁解决缓存击穿问题<br>
+ * - 关注流推拉结合：普通作者写扩散到粉丝收件箱，大V读扩散<br>
+ * - 关注/取消关注提交后删除粉丝收件箱，由读取方按新关注列表重建<br>
  *
  * @author Mike
  * @since 2025/2/25
@@ -56,7 +61,9 @@ public class ConcernServiceImpl extends ServiceImpl<ConcernMapper, Concern> impl
     @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private SortedSetRedisClient sortedSetRedisClient;
+    @Resource
+    private UserLoader userLoader;
 
     /**
      * 根据关注记录ID查询详细信息
@@ -136,16 +143,82 @@ public class ConcernServiceImpl extends ServiceImpl<ConcernMapper, Concern> impl
                 .filter(followerIds::contains)
                 .collect(Collectors.toList());
 
+        Map<Integer, User> users = userLoader.loadMany(friendIds);
         List<User> friends = new ArrayList<>();
         for (Integer friendId : friendIds) {
-            Object userData = userCenterClient.getUserById(friendId).getData();
-            User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
-            friends.add(user);
+            friends.add(users.get(friendId));
         }
 
         return Result.ok(friends);
     }
 
+    /**
+     * 获取需拉取发件箱的已关注大V列表
+     * @param fansId 粉丝用户ID
+     * @return 包含作者ID集合的Result对象
+     * @implNote 大V集合为空时不查询关注表；否则单次查询关注列表并以ZMSCORE批量判定
+     */
+    @Override
+    public Result getPullAuthorIds(Integer fansId) {
+        Long bigAuthorNum = sortedSetRedisClient.zCard(FEED_BIG_AUTHOR_KEY);
+        if (bigAuthorNum == null || bigAuthorNum == 0) {
+            return Result.ok(Collections.emptyList());
+        }
+        List<Integer> followeeIds = listObjs(new QueryWrapper<Concern>().select("user_id").eq("fans_id", fansId),
+                obj -> (Integer) obj);
+        List<Double> scores = sortedSetRedisClient.scores(FEED_BIG_AUTHOR_KEY, followeeIds);
+        List<Integer> pullAuthorIds = new ArrayList<>();
+        for (int i = 0; i < scores.size(); i++) {
+            if (scores.get(i) != null) {
+                pullAuthorIds.add(followeeIds.get(i));
+            }
+        }
+        return Result.ok(pullAuthorIds);
+    }
+
+    /**
+     * 获取用户已关注的作者列表
+     * @param fansId 粉丝用户ID
+     * @return 包含作者ID集合的Result对象
+     */
+    @Override
+    public Result getFolloweeIds(Integer fansId) {
+        return Result.ok(listObjs(new QueryWrapper<Concern>().select("user_id").eq("fans_id", fansId),
+                obj -> (Integer) obj));
+    }
+
+    /**
+     * 将新发布的笔记扇出到作者粉丝的关注流收件箱
+     * @param feedMessage 关注流推送消息
+     * @implNote 1. 笔记写入作者发件箱 2. 粉丝数超过阈值的作者登记为大V，由读取方拉取发件箱
+     * 3. 其余作者按主键游标分批读取粉丝，每批一次脚本写入收件箱并裁剪
+     * 4. 仅写入已构建的发件箱/收件箱，已过期（不活跃用户）或未构建的由读取方从数据库完整构建
+     */
+    @Override
+    public void fanOutNote(FeedMessage feedMessage) {
+        Integer authorId = feedMessage.getAuthorId();
+        double score = feedMessage.getCreateTime();
+        sortedSetRedisClient.addToIndexes(Collections.singletonList(FEED_OUTBOX_KEY + authorId),
+                feedMessage.getNoteId(), score, FEED_OUTBOX_MAX_SIZE);
+        Long fansNum = baseMapper.selectCount(new QueryWrapper<Concern>().eq("user_id", authorId));
+        if (fansNum > FEED_FANOUT_THRESHOLD) {
+            sortedSetRedisClient.add(FEED_BIG_AUTHOR_KEY, authorId, fansNum);
+            return;
+        }
+        sortedSetRedisClient.remove(FEED_BIG_AUTHOR_KEY, authorId);
+        int lastId = 0;
+        while (true) {
+            List<Concern> fans = list(new QueryWrapper<Concern>().select("id", "fans_id").eq("user_id", authorId)
+                    .gt("id", lastId).orderByAsc("id").last("limit " + FEED_FANOUT_BATCH_SIZE));
+            List<String> inboxKeys = fans.stream().map(concern -> FEED_KEY + concern.getFansId())
+                    .collect(Collectors.toList());
+            sortedSetRedisClient.addToIndexes(inboxKeys, feedMessage.getNoteId(), score, FEED_INBOX_MAX_SIZE);
+            if (fans.size() < FEED_FANOUT_BATCH_SIZE) {
+                return;
+            }
+            lastId = fans.get(fans.size() - 1).getId();
+        }
+    }
 
     /**
      * 获取用户关注通知
@@ -156,9 +229,10 @@ public class ConcernServiceImpl extends ServiceImpl<ConcernMapper, Concern> impl
     public Result getConcernNotice(Integer userId) {
         List<Concern> concernList = list(query().getWrapper().eq("user_id", userId));
         List<ConcernNotice> concernNoticeList = new ArrayList<>();
+        Map<Integer, User> users = userLoader.loadMany(
+                concernList.stream().map(Concern::getFansId).collect(Collectors.toList()));
         for (Concern concern : concernList) {
-            Object userData = userCenterClient.getUserById(concern.getFansId()).getData();
-            User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
+            User user = users.get(concern.getFansId());
             ConcernNotice concernNotice = new ConcernNotice(user, concern.getLikeTime());
             concernNoticeList.add(concernNotice);
         }
@@ -173,9 +247,11 @@ public class ConcernServiceImpl extends ServiceImpl<ConcernMapper, Concern> impl
     @Override
     @Transactional
     public Result removeConcernById(Integer id) {
-        if (!removeById(id)) {
+        Concern concern = getById(id);
+        if (concern == null || !removeById(id)) {
             throw new RuntimeException("删除关注记录" + id + "失败");
         }
+        this.evictInboxAfterCommit(concern.getFansId());
         mqClient.sendMessage(TOPIC_COMMUNITY_EXCHANGE, TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_CONRERN_CACHE_DELETE_QUEUE_ROUTING_KEY, id);
         return Result.ok();
     }
@@ -195,6 +271,7 @@ public class ConcernServiceImpl extends ServiceImpl<ConcernMapper, Concern> impl
         if (!removeById(id)) {
             throw new RuntimeException("删除关注记录" + id + "失败");
         }
+        this.evictInboxAfterCommit(fansId);
         mqClient.sendMessage(TOPIC_COMMUNITY_EXCHANGE, TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_CONRERN_CACHE_DELETE_QUEUE_ROUTING_KEY, id);
         return Result.ok();
     }
@@ -210,10 +287,26 @@ public class ConcernServiceImpl extends ServiceImpl<ConcernMapper, Concern> impl
         if (!save(concern)) {
             throw new RuntimeException("添加新的关注记录失败");
         }
+        this.evictInboxAfterCommit(concern.getFansId());
         mqClient.sendMessage(TOPIC_COMMUNITY_EXCHANGE, TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_CONRERN_CACHE_ADD_QUEUE_ROUTING_KEY, concern);
         return Result.ok();
     }
 
+    /**
+     * 事务提交后删除粉丝的关注流收件箱
+     * @param fansId 粉丝用户ID
+     * @implNote 下次读取时按最新关注列表从数据库完整构建：新关注作者的已有笔记随之补入，
+     * 取消关注作者的笔记随之移除；事务回滚时不做处理
+     */
+    private void evictInboxAfterCommit(Integer fansId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sortedSetRedisClient.delete(FEED_KEY + fansId);
+            }
+        });
+    }
+
     /**
      * 从数据库查询用户关注列表（缓存回源方法）
      * @param userId 用户唯一标识
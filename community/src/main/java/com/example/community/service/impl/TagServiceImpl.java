@@ -5,16 +5,31 @@ import cn.hutool.json.JSONUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.community.mapper.TagMapper;
 import com.example.community.service.ITagService;
+import com.example.community.utils.TagBitmapIndex;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.Tag;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.SortedSetRedisClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import jakarta.annotation.Resource;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.example.littleredbook.utils.RedisConstants.*;
 
@@ -27,11 +42,13 @@ import static com.example.littleredbook.utils.RedisConstants.*;
  * 3. 使用Redis实现标签列表缓存机制<br>
  * 4. 包含标签查询、新增等基础服务<br>
  * 5. 事务注解控制数据库操作原子性<br>
+ * 6. 标签-笔记关联维护内存位图索引，多标签组合筛选按点赞排行榜分页<br>
  *
  * <p>关键方法：
  * - 标签查询（ID/全量）<br>
  * - 标签新增及缓存更新<br>
  * - 笔记关联标签待实现<br>
+ * - 多标签与/或/非组合筛选笔记<br>
  *
  * @author Mike
  * @since 2025/2/25
@@ -42,6 +59,10 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
     private StringRedisClient stringRedisClient;
     @Resource
     private HashRedisClient hashRedisClient;
+    @Resource
+    private SortedSetRedisClient sortedSetRedisClient;
+    @Resource
+    private TagBitmapIndex tagBitmapIndex;
     /**
      * 根据标签ID查询标签信息
      * @param id 标签唯一标识
@@ -86,6 +107,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
             throw new RuntimeException("添加新标签失败");
         }
         stringRedisClient.delete(CACHE_TAG_KEY + tag.getId());
+        stringRedisClient.delete(CACHE_TAGLIST_KEY);
         return Result.ok();
     }
 
@@ -99,20 +121,182 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagS
         return Result.ok(baseMapper.selectTagsByNoteId(noteId));
     }
 
+    /**
+     * 批量查询多篇笔记关联的标签ID
+     * @param noteIds 笔记ID列表
+     * @return 包含Map<Integer, List<Integer>>（笔记ID-标签ID列表，无标签的笔记为空列表）的Result对象
+     * @implNote 单次IN查询关联表，只返回标签ID，标签内容由调用方本地字典解析
+     */
+    @Override
+    public Result getTagsByNoteIds(List<Integer> noteIds) {
+        if (noteIds.size() > TAG_BATCH_MAX_SIZE) {
+            return Result.fail("批量查询的笔记数不能超过" + TAG_BATCH_MAX_SIZE + "篇!");
+        }
+        Map<Integer, List<Integer>> tagIds = new LinkedHashMap<>();
+        noteIds.forEach(noteId -> tagIds.put(noteId, new ArrayList<>()));
+        if (noteIds.isEmpty()) {
+            return Result.ok(tagIds);
+        }
+        for (Map<String, Object> row : baseMapper.selectTagIdsByNoteIds(noteIds)) {
+            tagIds.get(((Number) row.get("note_id")).intValue()).add(((Number) row.get("tag_id")).intValue());
+        }
+        return Result.ok(tagIds);
+    }
+
     @Override
     public Result getNoteIdByTagId(Integer tagId) {
+        if (tagBitmapIndex.isReady()) {
+            return Result.ok(Arrays.stream(tagBitmapIndex.noteIds(tagId)).boxed().collect(Collectors.toList()));
+        }
         return Result.ok(baseMapper.selectNoteIdByTagId(tagId));
     }
 
     /**
-     * 插入标签与笔记的关联关系（待实现）
+     * 插入标签与笔记的关联关系
      * @param tagId 标签ID
      * @param noteId 笔记ID
-     * @return 待实现的Result对象
+     * @return 包含是否新增关联的Result对象
+     * @implNote 位图索引在事务提交后更新并广播，事务回滚不会留下不存在的关联
      */
     @Override
     @Transactional
     public Result addNoteTag(Integer tagId, Integer noteId) {
-        return Result.ok(baseMapper.insertNoteTag(tagId, noteId));
+        boolean inserted = baseMapper.insertNoteTag(tagId, noteId);
+        if (inserted) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tagBitmapIndex.add(tagId, noteId);
+                }
+            });
+        }
+        return Result.ok(inserted);
+    }
+
+    /**
+     * 多标签组合筛选笔记：(全部allOf) ∩ (任一anyOf) − (任一noneOf)，按点赞数降序分页
+     * @param allOf 须同时包含的标签ID
+     * @param anyOf 至少包含其一的标签ID
+     * @param noneOf 不得包含的标签ID
+     * @param current 页码（从1开始）
+     * @return 包含当前页笔记ID列表与命中总数的Result对象
+     * @implNote 集合运算在内存位图上完成；命中数不超过阈值时批量取点赞分数排序，
+     * 否则沿点赞排行榜倒序分批扫描并以位图过滤，排行榜不存在时按笔记ID倒序
+     */
+    @Override
+    public Result queryNoteIdsByTags(List<Integer> allOf, List<Integer> anyOf, List<Integer> noneOf, Integer current) {
+        if (allOf.isEmpty() && anyOf.isEmpty()) {
+            return Result.fail("至少需要指定一个包含条件的标签!");
+        }
+        if (allOf.size() + anyOf.size() + noneOf.size() > TAG_QUERY_MAX_TAGS) {
+            return Result.fail("组合筛选的标签数不能超过" + TAG_QUERY_MAX_TAGS + "个!");
+        }
+        RoaringBitmap noteIds = tagBitmapIndex.isReady() ? tagBitmapIndex.query(allOf, anyOf, noneOf)
+                : TagBitmapIndex.combine(tagId -> RoaringBitmap.bitmapOf(baseMapper.selectNoteIdByTagId(tagId).stream()
+                        .mapToInt(Integer::intValue).toArray()), allOf, anyOf, noneOf);
+        long total = noteIds.getLongCardinality();
+        int offset = (Math.max(current, 1) - 1) * TAG_NOTE_PAGE_SIZE;
+        if (offset >= total) {
+            return Result.ok(Collections.emptyList(), total);
+        }
+        List<Integer> page;
+        if (!Boolean.TRUE.equals(sortedSetRedisClient.hasKey(RANK_NOTE_LIKE_KEY))) {
+            page = this.pageByIdDesc(noteIds, offset);
+        } else if (total <= TAG_QUERY_SCORE_THRESHOLD) {
+            page = this.pageByLikeScores(noteIds, offset);
+        } else {
+            page = this.pageByLikeRankScan(noteIds, offset);
+        }
+        return Result.ok(page, total);
+    }
+
+    /**
+     * 加载标签位图索引（Redis中不存在时回源关联表构建）
+     */
+    @Override
+    public void loadTagBitmaps() {
+        tagBitmapIndex.load(this::getTagBitmapsFromDB);
+    }
+
+    /**
+     * 按笔记ID倒序分页（排行榜不可用时的兜底顺序）
+     */
+    private List<Integer> pageByIdDesc(RoaringBitmap noteIds, int offset) {
+        List<Integer> page = new ArrayList<>(TAG_NOTE_PAGE_SIZE);
+        IntIterator iterator = noteIds.getReverseIntIterator();
+        for (int skipped = 0; iterator.hasNext() && page.size() < TAG_NOTE_PAGE_SIZE; ) {
+            int noteId = iterator.next();
+            if (skipped++ >= offset) {
+                page.add(noteId);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 一次批量读取全部命中笔记的点赞分数，按点赞数、笔记ID降序排序后分页
+     */
+    private List<Integer> pageByLikeScores(RoaringBitmap noteIds, int offset) {
+        int[] ids = noteIds.toArray();
+        List<Double> scores = sortedSetRedisClient.scores(RANK_NOTE_LIKE_KEY,
+                Arrays.stream(ids).boxed().collect(Collectors.toList()));
+        long[] packed = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Double score = i < scores.size() ? scores.get(i) : null;
+            long likeNum = score != null ? Math.max(score.longValue(), 0L) : 0L;
+            packed[i] = Math.min(likeNum, Integer.MAX_VALUE) << 32 | ids[i];
+        }
+        Arrays.sort(packed);
+        List<Integer> page = new ArrayList<>(TAG_NOTE_PAGE_SIZE);
+        for (int i = packed.length - 1 - offset; i >= 0 && page.size() < TAG_NOTE_PAGE_SIZE; i--) {
+            page.add((int) packed[i]);
+        }
+        return page;
+    }
+
+    /**
+     * 沿点赞排行榜倒序分批扫描，保留位图命中的笔记直至凑满一页
+     */
+    private List<Integer> pageByLikeRankScan(RoaringBitmap noteIds, int offset) {
+        List<Integer> page = new ArrayList<>(TAG_NOTE_PAGE_SIZE);
+        int skipped = 0;
+        for (long rankOffset = 0; page.size() < TAG_NOTE_PAGE_SIZE; rankOffset += TAG_QUERY_RANK_SCAN_BATCH) {
+            Set<ZSetOperations.TypedTuple<String>> tuples = sortedSetRedisClient.reverseRangeByScoreWithScores(
+                    RANK_NOTE_LIKE_KEY, 0, Double.POSITIVE_INFINITY, rankOffset, TAG_QUERY_RANK_SCAN_BATCH);
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                int noteId = Integer.parseInt(tuple.getValue());
+                if (!noteIds.contains(noteId) || skipped++ < offset) {
+                    continue;
+                }
+                page.add(noteId);
+                if (page.size() >= TAG_NOTE_PAGE_SIZE) {
+                    break;
+                }
+            }
+            if (tuples.size() < TAG_QUERY_RANK_SCAN_BATCH) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 按主键游标分页扫描关联表构建各标签位图
+     * @return 标签ID-笔记ID位图映射
+     */
+    private Map<Integer, RoaringBitmap> getTagBitmapsFromDB() {
+        Map<Integer, RoaringBitmap> bitmaps = new HashMap<>();
+        int lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = baseMapper.selectTagNotesAfterId(lastId, INDEX_REBUILD_BATCH_SIZE);
+            for (Map<String, Object> row : rows) {
+                bitmaps.computeIfAbsent(((Number) row.get("tag_id")).intValue(), tagId -> new RoaringBitmap())
+                        .add(((Number) row.get("note_id")).intValue());
+                lastId = ((Number) row.get("id")).intValue();
+            }
+            if (rows.size() < INDEX_REBUILD_BATCH_SIZE) {
+                return bitmaps;
+            }
+        }
     }
 }
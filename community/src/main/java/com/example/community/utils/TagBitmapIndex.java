@@ -0,0 +1,274 @@
+package com.example.community.utils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RSet;
+import org.redisson.api.RSetAsync;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 标签-笔记倒排位图索引
+ *
+ * <p>功能说明：
+ * 1. 每个标签对应一个笔记ID的RoaringBitmap，常驻内存，多标签组合查询为位图与/或/差运算<br>
+ * 2. Redis哈希按标签ID保存序列化位图，节点启动时整体加载；哈希不存在时由抢到锁的节点扫描关联表构建<br>
+ * 3. 新增关联时SADD到该标签的待合并集合，集合超过阈值后在标签级锁内合并进位图，单次新增不重写整个位图<br>
+ * 4. 新增关联通过广播通知各节点，内存位图原地追加<br>
+ *
+ * <p>使用约束：
+ * - 内存位图由读写锁保护，查询结果为新建位图或数组副本，锁外可自由使用<br>
+ * - 首次加载完成前isReady返回false，调用方应回源数据库<br>
+ * - 仅支持新增关联，解除关联需清空Redis哈希后重启或等待重建<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class TagBitmapIndex {
+    private static final String MESSAGE_SEPARATOR = ":";
+    private final RedissonClient redissonClient;
+    private final Map<Integer, RoaringBitmap> bitmaps = new HashMap<>();
+    private final ReadWriteLock bitmapsLock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private RTopic addTopic;
+
+    public TagBitmapIndex(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 订阅关联新增广播
+     */
+    @PostConstruct
+    public void subscribe() {
+        addTopic = redissonClient.getTopic(TAG_BITMAP_TOPIC, StringCodec.INSTANCE);
+        addTopic.addListener(String.class, (channel, message) -> {
+            String[] parts = message.split(MESSAGE_SEPARATOR);
+            this.addLocal(Integer.valueOf(parts[0]), Integer.valueOf(parts[1]));
+        });
+    }
+
+    /**
+     * 加载索引：优先读取Redis中的位图与待合并集合，不存在时在分布式锁内回源构建并写入Redis
+     * @param loader 全量回源函数（标签ID-笔记ID位图映射）
+     * @implNote 先读待合并集合再读位图：两次读取之间完成的合并已写入位图，不会遗漏
+     */
+    public void load(Supplier<Map<Integer, RoaringBitmap>> loader) {
+        RMap<String, byte[]> store = this.getStore();
+        if (!store.isExists()) {
+            RLock lock = redissonClient.getLock(LOCK_TAG_BITMAP_KEY);
+            lock.lock();
+            try {
+                if (!store.isExists()) {
+                    Map<String, byte[]> serialized = new HashMap<>();
+                    loader.get().forEach((tagId, bitmap) -> serialized.put(tagId.toString(), serialize(bitmap)));
+                    store.putAll(serialized);
+                }
+            } finally {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+        }
+        Map<Integer, RoaringBitmap> loaded = new HashMap<>();
+        List<String> tagIds = new ArrayList<>(store.readAllKeySet());
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        tagIds.forEach(tagId -> batch.getSet(TAG_BITMAP_PENDING_KEY + tagId, StringCodec.INSTANCE).readAllAsync());
+        List<?> pending = tagIds.isEmpty() ? new ArrayList<>() : batch.execute().getResponses();
+        store.readAllMap().forEach((tagId, bytes) -> loaded.put(Integer.valueOf(tagId), deserialize(bytes)));
+        for (int i = 0; i < tagIds.size(); i++) {
+            RoaringBitmap bitmap = loaded.computeIfAbsent(Integer.valueOf(tagIds.get(i)), key -> new RoaringBitmap());
+            for (Object noteId : (Set<?>) pending.get(i)) {
+                bitmap.add(Integer.parseInt(noteId.toString()));
+            }
+        }
+        bitmapsLock.writeLock().lock();
+        try {
+            bitmaps.keySet().retainAll(loaded.keySet());
+            loaded.forEach((tagId, bitmap) -> bitmaps.merge(tagId, bitmap, RoaringBitmap::or));
+        } finally {
+            bitmapsLock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("标签位图索引加载完成，共{}个标签", loaded.size());
+    }
+
+    /**
+     * 新增标签与笔记的关联
+     * @param tagId 标签ID
+     * @param noteId 笔记ID
+     * @implNote 一次管道完成登记标签与SADD待合并集合；待合并数达到阈值时尝试合并，其他节点正在合并时跳过
+     */
+    public void add(Integer tagId, Integer noteId) {
+        RMap<String, byte[]> store = this.getStore();
+        if (store.isExists()) {
+            RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+            batch.getMap(TAG_BITMAP_KEY, codec()).fastPutIfAbsentAsync(tagId.toString(), serialize(new RoaringBitmap()));
+            RSetAsync<String> pending = batch.getSet(TAG_BITMAP_PENDING_KEY + tagId, StringCodec.INSTANCE);
+            pending.addAsync(noteId.toString());
+            pending.sizeAsync();
+            List<?> responses = batch.execute().getResponses();
+            if (((Number) responses.get(responses.size() - 1)).intValue() >= TAG_BITMAP_COMPACT_THRESHOLD) {
+                this.compact(tagId);
+            }
+        }
+        this.addLocal(tagId, noteId);
+        addTopic.publish(tagId + MESSAGE_SEPARATOR + noteId);
+    }
+
+    /**
+     * @return true-索引已加载完成
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 获取标签关联的笔记ID
+     * @param tagId 标签ID
+     * @return 升序笔记ID数组副本，标签无关联笔记时返回空数组
+     */
+    public int[] noteIds(Integer tagId) {
+        bitmapsLock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = bitmaps.get(tagId);
+            return bitmap != null ? bitmap.toArray() : new int[0];
+        } finally {
+            bitmapsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 在内存位图上组合多个标签，语义同{@link #combine}
+     * @param allOf 须同时包含的标签
+     * @param anyOf 至少包含其一的标签
+     * @param noneOf 不得包含的标签
+     * @return 新建的结果位图
+     */
+    public RoaringBitmap query(List<Integer> allOf, List<Integer> anyOf, List<Integer> noneOf) {
+        bitmapsLock.readLock().lock();
+        try {
+            RoaringBitmap empty = new RoaringBitmap();
+            return combine(tagId -> bitmaps.getOrDefault(tagId, empty), allOf, anyOf, noneOf);
+        } finally {
+            bitmapsLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 组合多个标签的笔记位图：(全部allOf) ∩ (任一anyOf) − (任一noneOf)
+     * @param source 标签位图来源
+     * @param allOf 须同时包含的标签
+     * @param anyOf 至少包含其一的标签
+     * @param noneOf 不得包含的标签
+     * @return 新建的结果位图（不与来源位图共享），allOf与anyOf均为空时返回空位图
+     */
+    public static RoaringBitmap combine(Function<Integer, RoaringBitmap> source,
+                                        List<Integer> allOf, List<Integer> anyOf, List<Integer> noneOf) {
+        RoaringBitmap result = null;
+        if (!allOf.isEmpty()) {
+            result = FastAggregation.and(allOf.stream().map(source).toArray(RoaringBitmap[]::new));
+        }
+        if (!anyOf.isEmpty()) {
+            RoaringBitmap any = FastAggregation.or(anyOf.stream().map(source).toArray(RoaringBitmap[]::new));
+            result = result == null ? any : RoaringBitmap.and(result, any);
+        }
+        if (result == null) {
+            return new RoaringBitmap();
+        }
+        if (!noneOf.isEmpty()) {
+            result = RoaringBitmap.andNot(result,
+                    FastAggregation.or(noneOf.stream().map(source).toArray(RoaringBitmap[]::new)));
+        }
+        return result;
+    }
+
+    /**
+     * 将标签的待合并集合并入Redis位图（标签级锁，仅移除本次读到的成员，合并期间的新增保留到下次）
+     */
+    private void compact(Integer tagId) {
+        RLock lock = redissonClient.getLock(LOCK_TAG_BITMAP_KEY + MESSAGE_SEPARATOR + tagId);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            RSet<String> pending = redissonClient.getSet(TAG_BITMAP_PENDING_KEY + tagId, StringCodec.INSTANCE);
+            Set<String> noteIds = pending.readAll();
+            if (noteIds.isEmpty()) {
+                return;
+            }
+            RMap<String, byte[]> store = this.getStore();
+            byte[] bytes = store.get(tagId.toString());
+            RoaringBitmap bitmap = bytes != null ? deserialize(bytes) : new RoaringBitmap();
+            noteIds.forEach(noteId -> bitmap.add(Integer.parseInt(noteId)));
+            store.fastPut(tagId.toString(), serialize(bitmap));
+            pending.removeAll(noteIds);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void addLocal(Integer tagId, Integer noteId) {
+        bitmapsLock.writeLock().lock();
+        try {
+            bitmaps.computeIfAbsent(tagId, key -> new RoaringBitmap()).add(noteId);
+        } finally {
+            bitmapsLock.writeLock().unlock();
+        }
+    }
+
+    private RMap<String, byte[]> getStore() {
+        return redissonClient.getMap(TAG_BITMAP_KEY, codec());
+    }
+
+    private static CompositeCodec codec() {
+        return new CompositeCodec(StringCodec.INSTANCE, ByteArrayCodec.INSTANCE);
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+
+    private static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        try {
+            bitmap.deserialize(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new RuntimeException("标签位图反序列化失败", e);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.community.utils;
+
+import com.example.littleredbook.utils.UserBatchLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户信息批量加载器（基于UserCenterClient.getUsersByIds）
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Component
+public class UserLoader extends UserBatchLoader {
+    public UserLoader(UserCenterClient userCenterClient) {
+        super(userCenterClient::getUsersByIds);
+    }
+}
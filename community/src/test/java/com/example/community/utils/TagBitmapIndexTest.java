@@ -0,0 +1,81 @@
+package com.example.community.utils;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagBitmapIndexTest {
+
+    /**
+     * 标签1：笔记1~5；标签2：笔记4~8；标签3：笔记5、9；标签4：笔记2、5
+     */
+    private static Map<Integer, RoaringBitmap> tags() {
+        Map<Integer, RoaringBitmap> tags = new HashMap<>();
+        tags.put(1, RoaringBitmap.bitmapOf(1, 2, 3, 4, 5));
+        tags.put(2, RoaringBitmap.bitmapOf(4, 5, 6, 7, 8));
+        tags.put(3, RoaringBitmap.bitmapOf(5, 9));
+        tags.put(4, RoaringBitmap.bitmapOf(2, 5));
+        return tags;
+    }
+
+    private static Function<Integer, RoaringBitmap> source(Map<Integer, RoaringBitmap> tags) {
+        RoaringBitmap empty = new RoaringBitmap();
+        return tagId -> tags.getOrDefault(tagId, empty);
+    }
+
+    private static int[] combine(List<Integer> allOf, List<Integer> anyOf, List<Integer> noneOf) {
+        return TagBitmapIndex.combine(source(tags()), allOf, anyOf, noneOf).toArray();
+    }
+
+    @Test
+    void intersectsAllOf() {
+        assertArrayEquals(new int[]{4, 5}, combine(List.of(1, 2), List.of(), List.of()));
+        assertArrayEquals(new int[]{5}, combine(List.of(1, 2, 3), List.of(), List.of()));
+    }
+
+    @Test
+    void unionsAnyOf() {
+        assertArrayEquals(new int[]{2, 5, 9}, combine(List.of(), List.of(3, 4), List.of()));
+    }
+
+    @Test
+    void intersectsAllOfWithAnyOf() {
+        assertArrayEquals(new int[]{2, 5}, combine(List.of(1), List.of(3, 4), List.of()));
+    }
+
+    @Test
+    void subtractsNoneOf() {
+        assertArrayEquals(new int[]{1, 3, 4}, combine(List.of(1), List.of(), List.of(4)));
+        assertArrayEquals(new int[]{4}, combine(List.of(1, 2), List.of(), List.of(3)));
+        assertArrayEquals(new int[]{2, 9}, combine(List.of(), List.of(3, 4), List.of(2, 99)));
+    }
+
+    @Test
+    void emptyWithoutPositiveTerms() {
+        assertArrayEquals(new int[0], combine(List.of(), List.of(), List.of()));
+        assertArrayEquals(new int[0], combine(List.of(), List.of(), List.of(1)));
+    }
+
+    @Test
+    void unknownTagIsEmpty() {
+        assertArrayEquals(new int[0], combine(List.of(1, 99), List.of(), List.of()));
+        assertArrayEquals(new int[]{5, 9}, combine(List.of(), List.of(3, 99), List.of()));
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, combine(List.of(1), List.of(), List.of(99)));
+    }
+
+    @Test
+    void resultDoesNotShareSourceBitmaps() {
+        Map<Integer, RoaringBitmap> tags = tags();
+        Function<Integer, RoaringBitmap> source = source(tags);
+        TagBitmapIndex.combine(source, List.of(1), List.of(), List.of()).add(100);
+        TagBitmapIndex.combine(source, List.of(), List.of(3), List.of()).add(100);
+        TagBitmapIndex.combine(source, List.of(1), List.of(), List.of(4)).add(100);
+        assertEquals(tags(), tags);
+    }
+}
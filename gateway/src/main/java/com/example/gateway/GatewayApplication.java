@@ -6,7 +6,9 @@ import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @Import({com.example.littleredbook.config.RedissonConfig.class, com.example.littleredbook.utils.StringRedisClient.class,
-        com.example.littleredbook.utils.HashRedisClient.class})
+        com.example.littleredbook.utils.HashRedisClient.class, com.example.littleredbook.utils.ReactiveStringRedisClient.class,
+        com.example.littleredbook.utils.ReactiveHashRedisClient.class,
+        com.example.littleredbook.utils.ReactiveSortedSetRedisClient.class})
 public class GatewayApplication {
     public static void main(String[] args) {
         SpringApplication.run(GatewayApplication.class, args);
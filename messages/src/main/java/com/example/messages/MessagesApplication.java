@@ -11,7 +11,7 @@ import org.springframework.context.annotation.Import;
 @Import({com.example.littleredbook.config.RedissonConfig.class, com.example.littleredbook.utils.StringRedisClient.class,
         com.example.littleredbook.utils.HashRedisClient.class, com.example.littleredbook.config.MqConfig.class,
         com.example.littleredbook.config.ErrorMessageConfiguration.class, com.example.littleredbook.utils.MQClient.class,
-        com.example.littleredbook.config.WebConfig.class})
+        com.example.littleredbook.config.WebConfig.class, com.example.littleredbook.utils.IdBloomFilter.class})
 public class MessagesApplication {
     public static void main(String[] args) {
         SpringApplication.run(MessagesApplication.class, args);
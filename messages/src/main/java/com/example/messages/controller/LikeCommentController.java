@@ -55,6 +55,17 @@ public class LikeCommentController {
         return likeCommentService.getLikeCommentsByCommentId(commentId);
     }
 
+    /**
+     * 获取用户点赞过的评论ID集合
+     *
+     * @param userId 用户唯一标识
+     * @return 包含评论ID集合的Result对象
+     */
+    @GetMapping("/users/{userId}")
+    public Result getLikedCommentIdsByUserId(@PathVariable Integer userId) {
+        return likeCommentService.getLikedCommentIdsByUserId(userId);
+    }
+
     /**
      * 查询用户对指定评论的点赞状态
      *
@@ -7,6 +7,8 @@ import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 笔记点赞功能控制器
  *
@@ -77,6 +79,21 @@ public class LikeNoteController {
         return likeNoteService.getLikeNoteRecordsByUserId(userId);
     }
 
+    /**
+     * 批量获取多个用户的点赞历史
+     *
+     * @param userIds 用户ID列表（上限200）
+     * @param since 起始点赞时间（epoch毫秒，默认0）
+     * @param limit 总条数上限（默认5000，上限5000）
+     * @return 包含[用户ID, 笔记ID, 点赞时间epoch毫秒]数组集合（按点赞时间倒序）的Result对象
+     */
+    @GetMapping("/records")
+    public Result getLikeNoteRecordsByUserIds(@RequestParam List<Integer> userIds,
+                                              @RequestParam(value = "since", defaultValue = "0") Long since,
+                                              @RequestParam(value = "limit", defaultValue = "5000") Integer limit) {
+        return likeNoteService.getLikeNoteRecordsByUserIds(userIds, since, limit);
+    }
+
     /**
      * 查询用户对指定笔记的点赞状态
      *
@@ -91,6 +108,32 @@ public class LikeNoteController {
         return likeNoteService.getLikeNoteByNoteIdAndUserId(noteId, userId);
     }
 
+    /**
+     * 按主键游标分页扫描点赞关系
+     *
+     * @param lastId 上一页最大点赞记录ID（默认0）
+     * @param size 每页条数（默认5000，上限5000）
+     * @return 包含[点赞记录ID, 用户ID, 笔记ID]数组集合的Result对象
+     */
+    @GetMapping("/scan")
+    public Result getLikeNotePairsAfterId(@RequestParam(value = "lastId", defaultValue = "0") Integer lastId,
+                                          @RequestParam(value = "size", defaultValue = "5000") Integer size) {
+        return likeNoteService.getLikeNotePairsAfterId(lastId, size);
+    }
+
+    /**
+     * 获取用户最近点赞的笔记ID
+     *
+     * @param userId 用户ID
+     * @param limit 条数上限（默认50，上限50）
+     * @return 包含笔记ID集合（最近点赞在前）的Result对象
+     */
+    @GetMapping("/users/{userId}/recent")
+    public Result getRecentLikedNoteIds(@PathVariable Integer userId,
+                                        @RequestParam(value = "limit", defaultValue = "50") Integer limit) {
+        return likeNoteService.getRecentLikedNoteIds(userId, limit);
+    }
+
     @GetMapping("/notices/{userId}")
     public Result getLikeNotice(@PathVariable Integer userId) {
         return likeNoteService.getLikeNotice(userId);
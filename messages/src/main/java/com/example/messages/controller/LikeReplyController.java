@@ -55,6 +55,17 @@ public class LikeReplyController {
         return likeReplyService.getLikeRepliesByReplyId(replyId);
     }
 
+    /**
+     * 获取用户点赞过的回复ID集合
+     *
+     * @param userId 用户唯一标识
+     * @return 包含回复ID集合的Result对象
+     */
+    @GetMapping("/users/{userId}")
+    public Result getLikedReplyIdsByUserId(@PathVariable Integer userId) {
+        return likeReplyService.getLikedReplyIdsByUserId(userId);
+    }
+
     /**
      * 查询用户对指定回复的点赞状态
      *
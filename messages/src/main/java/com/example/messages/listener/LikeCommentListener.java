@@ -1,5 +1,6 @@
 package com.example.messages.listener;
 
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.entity.LikeComment;
 import com.example.littleredbook.utils.HashRedisClient;
 import com.example.messages.service.ILikeCommentService;
@@ -24,11 +25,19 @@ public class LikeCommentListener {
     private final HashRedisClient hashRedisClient;
 
     @RabbitListener(bindings = @QueueBinding(
-            value = @Queue(name = MESSAGES_LIKECOMMENT_LIKE_QUEUE, durable = "true"),
+            value = @Queue(name = MESSAGES_LIKECOMMENT_LIKE_STATE_QUEUE, durable = "true"),
             exchange = @Exchange(name = TOPIC_MESSAGES_EXCHANGE, type = ExchangeTypes.TOPIC),
-            key = {TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_QUEUE_ROUTING_KEY}
+            key = {TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_STATE_QUEUE_ROUTING_KEY}
     ))
-    public void listenLikeComment(LikeComment likeComment) {
+    public void listenLikeComment(LikeStateMessage likeStateMessage) {
+        likeCommentService.syncLikeState(likeStateMessage);
+    }
+
+    /**
+     * 排空升级前旧格式（LikeComment实体）的存量消息，旧队列已不再绑定路由键
+     */
+    @RabbitListener(queuesToDeclare = @Queue(name = MESSAGES_LIKECOMMENT_LIKE_QUEUE, durable = "true"))
+    public void listenLikeCommentLegacy(LikeComment likeComment) {
         if (likeComment.getId() != null) {
             likeCommentService.removeLikeComment(likeComment.getId());
             return;
@@ -1,7 +1,9 @@
 package com.example.messages.listener;
 
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.entity.LikeNote;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
 import com.example.messages.service.ILikeNoteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.ExchangeTypes;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Component;
 import java.util.concurrent.TimeUnit;
 
 import static com.example.littleredbook.utils.MQConstants.*;
+import static com.example.littleredbook.utils.RedisConstants.BLOOM_LIKENOTE_KEY;
 import static com.example.littleredbook.utils.RedisConstants.CACHE_LIKENOTE_KEY;
 import static com.example.littleredbook.utils.RedisConstants.CACHE_LIKENOTE_TTL;
 
@@ -22,13 +25,22 @@ import static com.example.littleredbook.utils.RedisConstants.CACHE_LIKENOTE_TTL;
 public class LikeNoteListener {
     private final ILikeNoteService likeNoteService;
     private final HashRedisClient hashRedisClient;
+    private final IdBloomFilter idBloomFilter;
 
     @RabbitListener(bindings = @QueueBinding(
-            value = @Queue(name = MESSAGES_LIKENOTE_LIKE_QUEUE, durable = "true"),
+            value = @Queue(name = MESSAGES_LIKENOTE_LIKE_STATE_QUEUE, durable = "true"),
             exchange = @Exchange(name = TOPIC_MESSAGES_EXCHANGE, type = ExchangeTypes.TOPIC),
-            key = {TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_QUEUE_ROUTING_KEY}
+            key = {TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_STATE_QUEUE_ROUTING_KEY}
     ))
-    public void listenLikeNote(LikeNote likeNote) {
+    public void listenLikeNote(LikeStateMessage likeStateMessage) {
+        likeNoteService.syncLikeState(likeStateMessage);
+    }
+
+    /**
+     * 排空升级前旧格式（LikeNote实体）的存量消息，旧队列已不再绑定路由键
+     */
+    @RabbitListener(queuesToDeclare = @Queue(name = MESSAGES_LIKENOTE_LIKE_QUEUE, durable = "true"))
+    public void listenLikeNoteLegacy(LikeNote likeNote) {
         if (likeNote.getId() != null) {
             likeNoteService.removeLikeNote(likeNote.getId());
             return;
@@ -43,6 +55,7 @@ public class LikeNoteListener {
     ))
     public void listenLikeNoteCacheAdd(LikeNote likeNote) {
         Integer id = likeNote.getId();
+        idBloomFilter.add(BLOOM_LIKENOTE_KEY, id);
         hashRedisClient.hMultiSet(CACHE_LIKENOTE_KEY + id, likeNote);
         hashRedisClient.expire(CACHE_LIKENOTE_KEY + id, CACHE_LIKENOTE_TTL, TimeUnit.MINUTES);
     }
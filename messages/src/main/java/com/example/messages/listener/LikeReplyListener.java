@@ -1,5 +1,6 @@
 package com.example.messages.listener;
 
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.entity.LikeReply;
 import com.example.littleredbook.utils.HashRedisClient;
 import com.example.messages.service.ILikeReplyService;
@@ -24,11 +25,19 @@ public class LikeReplyListener {
     private final HashRedisClient hashRedisClient;
 
     @RabbitListener(bindings = @QueueBinding(
-            value = @Queue(name = MESSAGES_LIKEREPLY_LIKE_QUEUE, durable = "true"),
+            value = @Queue(name = MESSAGES_LIKEREPLY_LIKE_STATE_QUEUE, durable = "true"),
             exchange = @Exchange(name = TOPIC_MESSAGES_EXCHANGE, type = ExchangeTypes.TOPIC),
-            key = {TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_QUEUE_ROUTING_KEY}
+            key = {TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_STATE_QUEUE_ROUTING_KEY}
     ))
-    public void listenLikeNote(LikeReply likeReply) {
+    public void listenLikeNote(LikeStateMessage likeStateMessage) {
+        likeReplyService.syncLikeState(likeStateMessage);
+    }
+
+    /**
+     * 排空升级前旧格式（LikeReply实体）的存量消息，旧队列已不再绑定路由键
+     */
+    @RabbitListener(queuesToDeclare = @Queue(name = MESSAGES_LIKEREPLY_LIKE_QUEUE, durable = "true"))
+    public void listenLikeReplyLegacy(LikeReply likeReply) {
         if (likeReply.getId() != null) {
             likeReplyService.removeLikeReply(likeReply.getId());
             return;
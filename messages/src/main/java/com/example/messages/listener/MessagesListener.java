@@ -2,6 +2,7 @@ package com.example.messages.listener;
 
 import com.example.littleredbook.entity.Message;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
 import com.example.messages.service.IMessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.ExchangeTypes;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 import java.util.concurrent.TimeUnit;
 
 import static com.example.littleredbook.utils.MQConstants.*;
+import static com.example.littleredbook.utils.RedisConstants.BLOOM_MESSAGE_KEY;
 import static com.example.littleredbook.utils.RedisConstants.CACHE_MESSAGE_KEY;
 import static com.example.littleredbook.utils.RedisConstants.CACHE_MESSAGE_TTL;
 
@@ -22,6 +24,7 @@ import static com.example.littleredbook.utils.RedisConstants.CACHE_MESSAGE_TTL;
 public class MessagesListener {
     private final IMessageService messageService;
     private final HashRedisClient hashRedisClient;
+    private final IdBloomFilter idBloomFilter;
 
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(name = MESSAGES_MESSAGE_CACHE_ADD_QUEUE, durable = "true"),
@@ -30,6 +33,7 @@ public class MessagesListener {
     ))
     public void listenMessageCacheAdd(Message message) {
         Integer id = message.getId();
+        idBloomFilter.add(BLOOM_MESSAGE_KEY, id);
         hashRedisClient.hMultiSet(CACHE_MESSAGE_KEY + id, message);
         hashRedisClient.expire(CACHE_MESSAGE_KEY + id, CACHE_MESSAGE_TTL, TimeUnit.MINUTES);
     }
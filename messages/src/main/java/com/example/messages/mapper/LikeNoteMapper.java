@@ -2,6 +2,14 @@ package com.example.messages.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.littleredbook.entity.LikeNote;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.sql.Timestamp;
+import java.util.List;
+
 /**
  * 点赞笔记数据访问层接口
  *
@@ -20,4 +28,25 @@ import com.example.littleredbook.entity.LikeNote;
  * @since 2025/3/9
  */
 public interface LikeNoteMapper extends BaseMapper<LikeNote> {
+    /**
+     * 批量查询多个用户指定时间之后的点赞记录（单次IN查询，依赖(user_id, like_time)索引）
+     * @param userIds 用户ID列表
+     * @param since 起始点赞时间（含）
+     * @param limit 总条数上限
+     * @return 点赞记录列表（仅user_id、note_id、like_time），按点赞时间倒序
+     */
+    @Select("<script>SELECT user_id, note_id, like_time FROM like_note WHERE user_id IN "
+            + "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach>"
+            + " AND like_time &gt;= #{since} ORDER BY like_time DESC LIMIT #{limit}</script>")
+    List<LikeNote> selectLikeHistoryByUserIds(@Param("userIds") List<Integer> userIds,
+                                              @Param("since") Timestamp since, @Param("limit") Integer limit);
+
+    /**
+     * 幂等插入点赞笔记记录（依赖like_note表(note_id, user_id)唯一索引，重复点赞被忽略）
+     * @param likeNote 点赞记录，插入成功时回填自增ID
+     * @return 实际插入行数，0表示记录已存在
+     */
+    @Insert("INSERT IGNORE INTO like_note(note_id, user_id, like_time) VALUES (#{noteId}, #{userId}, #{likeTime})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertIgnore(LikeNote likeNote);
 }
@@ -2,6 +2,9 @@ package com.example.messages.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.littleredbook.entity.LikeReply;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+
 /**
  * 点赞回复数据访问层接口
  *
@@ -20,4 +23,12 @@ import com.example.littleredbook.entity.LikeReply;
  * @since 2025/3/9
  */
 public interface LikeReplyMapper extends BaseMapper<LikeReply> {
+    /**
+     * 幂等插入点赞回复记录（依赖like_reply表(reply_id, user_id)唯一索引，重复点赞被忽略）
+     * @param likeReply 点赞记录，插入成功时回填自增ID
+     * @return 实际插入行数，0表示记录已存在
+     */
+    @Insert("INSERT IGNORE INTO like_reply(reply_id, user_id, like_time) VALUES (#{replyId}, #{userId}, #{likeTime})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertIgnore(LikeReply likeReply);
 }
@@ -1,6 +1,7 @@
 package com.example.messages.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.LikeComment;
 
@@ -67,4 +68,17 @@ public interface ILikeCommentService extends IService<LikeComment> {
      * @return 包含新增记录ID的Result对象
      */
     Result addLikeComment(LikeComment likeComment);
+
+    /**
+     * 获取用户点赞过的评论ID集合
+     * @param userId 用户唯一标识
+     * @return 包含评论ID集合的Result对象
+     */
+    Result getLikedCommentIdsByUserId(Integer userId);
+
+    /**
+     * 按点赞状态消息幂等地新增或删除点赞记录
+     * @param likeStateMessage 点赞状态同步消息
+     */
+    void syncLikeState(LikeStateMessage likeStateMessage);
 }
@@ -1,6 +1,7 @@
 package com.example.messages.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.LikeNote;
 
@@ -53,6 +54,31 @@ public interface ILikeNoteService extends IService<LikeNote> {
      */
     Result getLikeNoteRecordsByUserId(Integer userId);
 
+    /**
+     * 批量获取多个用户的点赞历史（推荐计算使用）
+     * @param userIds 用户ID列表
+     * @param since 起始点赞时间（epoch毫秒，含）
+     * @param limit 总条数上限
+     * @return 包含List<long[]>（[用户ID, 笔记ID, 点赞时间epoch毫秒]，按点赞时间倒序）的Result对象
+     */
+    Result getLikeNoteRecordsByUserIds(List<Integer> userIds, Long since, Integer limit);
+
+    /**
+     * 按主键游标分页扫描点赞关系（离线推荐模型训练使用）
+     * @param lastId 上一页最大点赞记录ID（首页为0）
+     * @param size 每页条数
+     * @return 包含List<int[]>（[点赞记录ID, 用户ID, 笔记ID]，按记录ID升序）的Result对象
+     */
+    Result getLikeNotePairsAfterId(Integer lastId, Integer size);
+
+    /**
+     * 获取用户最近点赞的笔记ID
+     * @param userId 用户ID
+     * @param limit 条数上限
+     * @return 包含List<Integer>（按点赞先后倒序的笔记ID）的Result对象
+     */
+    Result getRecentLikedNoteIds(Integer userId, Integer limit);
+
     /**
      * 查询用户对笔记的点赞状态
      * @param noteId 目标笔记ID
@@ -81,4 +107,10 @@ public interface ILikeNoteService extends IService<LikeNote> {
      * @return 包含新增记录ID的Result对象
      */
     Result addLikeNote(LikeNote likeNote);
+
+    /**
+     * 按点赞状态消息幂等地新增或删除点赞记录
+     * @param likeStateMessage 点赞状态同步消息
+     */
+    void syncLikeState(LikeStateMessage likeStateMessage);
 }
@@ -1,6 +1,7 @@
 package com.example.messages.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.LikeReply;
 
@@ -67,4 +68,17 @@ public interface ILikeReplyService extends IService<LikeReply> {
      * @return 包含新增记录ID的Result对象
      */
     Result addLikeReply(LikeReply likeReply);
+
+    /**
+     * 获取用户点赞过的回复ID集合
+     * @param userId 用户唯一标识
+     * @return 包含回复ID集合的Result对象
+     */
+    Result getLikedReplyIdsByUserId(Integer userId);
+
+    /**
+     * 按点赞状态消息幂等地新增或删除点赞记录
+     * @param likeStateMessage 点赞状态同步消息
+     */
+    void syncLikeState(LikeStateMessage likeStateMessage);
 }
@@ -1,9 +1,11 @@
 package com.example.messages.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.littleredbook.dto.NoteCommentDTO;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.LikeComment;
 import com.example.littleredbook.entity.NoteComment;
@@ -14,7 +16,7 @@ import com.example.messages.dto.LikeCommentNotice;
 import com.example.messages.mapper.LikeCommentMapper;
 import com.example.messages.service.ILikeCommentService;
 import com.example.messages.utils.NotesClient;
-import com.example.messages.utils.UserCenterClient;
+import com.example.messages.utils.UserLoader;
 import jakarta.annotation.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.example.littleredbook.utils.MQConstants.*;
 import static com.example.littleredbook.utils.RedisConstants.*;
@@ -58,7 +61,7 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
     @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private UserLoader userLoader;
     @Resource
     private NotesClient notesClient;
 
@@ -107,6 +110,39 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
         return Result.ok(likeCommentList);
     }
 
+    /**
+     * 获取用户点赞过的评论ID集合
+     * @param userId 用户唯一标识
+     * @return 包含评论ID集合的Result对象
+     */
+    @Override
+    public Result getLikedCommentIdsByUserId(Integer userId) {
+        return Result.ok(listObjs(new QueryWrapper<LikeComment>().select("comment_id").eq("user_id", userId), obj -> (Integer) obj));
+    }
+
+    /**
+     * 按点赞状态消息幂等地新增或删除点赞记录
+     * @param likeStateMessage 点赞状态同步消息
+     */
+    @Override
+    public void syncLikeState(LikeStateMessage likeStateMessage) {
+        Integer targetId = likeStateMessage.getTargetId();
+        Integer userId = likeStateMessage.getUserId();
+        LikeComment likeComment = getOne(new QueryWrapper<LikeComment>().eq("comment_id", targetId).eq("user_id", userId), false);
+        if (Boolean.TRUE.equals(likeStateMessage.getLiked())) {
+            if (likeComment != null) {
+                return;
+            }
+            likeComment = new LikeComment(null, targetId, userId, new Timestamp(System.currentTimeMillis()));
+            // 重复投递的消息可能同时通过上方检查，由唯一索引兜底，未插入即视为已处理
+            if (getBaseMapper().insertIgnore(likeComment) > 0) {
+                this.afterLikeCommentAdded(likeComment);
+            }
+        } else if (likeComment != null && this.removeById(likeComment.getId())) {
+            this.afterLikeCommentRemoved(likeComment);
+        }
+    }
+
     /**
      * 联合查询用户对评论的点赞状态
      * @param commentId 目标评论ID
@@ -118,26 +154,23 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
     @Override
     public Result getLikeCommentByCommentIdAndUserId(Integer commentId, Integer userId) {
         String key = CACHE_LIKECOMMENT_COMMENT_USER_KEY + commentId + ":" + userId;
-        try{
-            Integer id = hashRedisClient.hMultiGet(key, Integer.class);
-            LikeComment likeComment = null;
-            if (id != null) {
-                likeComment = (LikeComment) this.getLikeCommentById(id).getData();
-            }
-            if (likeComment == null) {
-                likeComment = query().eq("comment_id", commentId)
-                        .eq("user_id", userId).one();
-            }
-            if (likeComment == null) {
-                return Result.fail("该点赞评论记录不存在");
-            }
-            if (id == null) {
-                hashRedisClient.hSet(key,"id", likeComment.getId(), CACHE_LIKECOMMENT_COMMENT_USER_TTL, TimeUnit.MINUTES);
-            }
-            return Result.ok(likeComment);
-        } catch (ParseException e) {
-            return Result.fail("获取点赞记录失败");
+        String cachedId = hashRedisClient.hGet(key, "id");
+        Integer id = StrUtil.isNotBlank(cachedId) ? Integer.valueOf(cachedId) : null;
+        LikeComment likeComment = null;
+        if (id != null) {
+            likeComment = (LikeComment) this.getLikeCommentById(id).getData();
+        }
+        if (likeComment == null) {
+            likeComment = query().eq("comment_id", commentId)
+                    .eq("user_id", userId).one();
+        }
+        if (likeComment == null) {
+            return Result.fail("该点赞评论记录不存在");
         }
+        if (id == null) {
+            hashRedisClient.hSet(key,"id", likeComment.getId(), CACHE_LIKECOMMENT_COMMENT_USER_TTL, TimeUnit.MINUTES);
+        }
+        return Result.ok(likeComment);
     }
 
     /**
@@ -149,9 +182,10 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
     public Result getLikeNotice(Integer userId) {
         List<LikeComment> likeNoteList = list(query().getWrapper().eq("user_id", userId));
         List<LikeCommentNotice> noticeList = new ArrayList<>();
+        Map<Integer, User> users = userLoader.loadMany(
+                likeNoteList.stream().map(LikeComment::getUserId).collect(Collectors.toList()));
         for (LikeComment likeComment : likeNoteList) {
-            Object userData = userCenterClient.getUserById(likeComment.getUserId()).getData();
-            User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
+            User user = users.get(likeComment.getUserId());
             Object noteCommentData = notesClient.getNoteCommentById(likeComment.getCommentId()).getData();
             NoteCommentDTO noteComment = BeanUtil.mapToBean((Map<?, ?>) noteCommentData, NoteCommentDTO.class, true);
             noticeList.add(new LikeCommentNotice(noteComment, user, likeComment.getLikeTime()));
@@ -172,8 +206,7 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
         if (!this.removeById(id)) {
             throw new RuntimeException("删除点赞评论记录" + id + "失败");
         }
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_CACHE_DELETE_QUEUE_ROUTING_KEY, id);
-        hashRedisClient.delete(CACHE_LIKECOMMENT_COMMENT_USER_KEY + likeComment.getCommentId() + ":" + likeComment.getUserId());
+        this.afterLikeCommentRemoved(likeComment);
         return Result.ok();
     }
 
@@ -189,9 +222,7 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
         if (!this.save(likeComment)) {
             throw new RuntimeException("添加新的点赞评论记录失败");
         }
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_CACHE_ADD_QUEUE_ROUTING_KEY, likeComment);
-        hashRedisClient.hSet(CACHE_LIKECOMMENT_COMMENT_USER_KEY + likeComment.getCommentId() + ":" + likeComment.getUserId()
-                ,"id", likeComment.getId(), CACHE_LIKECOMMENT_COMMENT_USER_TTL, TimeUnit.MINUTES);
+        this.afterLikeCommentAdded(likeComment);
         return Result.ok();
     }
 
@@ -207,4 +238,23 @@ public class LikeCommentServiceImpl extends ServiceImpl<LikeCommentMapper, LikeC
         }
         return likeCommentList;
     }
+
+    /**
+     * 点赞记录写入后同步缓存与二级索引
+     * @param likeComment 已写入的点赞记录
+     */
+    private void afterLikeCommentAdded(LikeComment likeComment) {
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_CACHE_ADD_QUEUE_ROUTING_KEY, likeComment);
+        hashRedisClient.hSet(CACHE_LIKECOMMENT_COMMENT_USER_KEY + likeComment.getCommentId() + ":" + likeComment.getUserId()
+                ,"id", likeComment.getId(), CACHE_LIKECOMMENT_COMMENT_USER_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 点赞记录删除后清理缓存与二级索引
+     * @param likeComment 已删除的点赞记录
+     */
+    private void afterLikeCommentRemoved(LikeComment likeComment) {
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_CACHE_DELETE_QUEUE_ROUTING_KEY, likeComment.getId());
+        hashRedisClient.delete(CACHE_LIKECOMMENT_COMMENT_USER_KEY + likeComment.getCommentId() + ":" + likeComment.getUserId());
+    }
 }
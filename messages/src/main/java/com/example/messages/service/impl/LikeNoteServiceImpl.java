@@ -1,19 +1,22 @@
 package com.example.messages.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.littleredbook.dto.NoteDTO;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.*;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
 import com.example.littleredbook.utils.MQClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import com.example.messages.dto.LikeNoteNotice;
 import com.example.messages.mapper.LikeNoteMapper;
 import com.example.messages.service.ILikeNoteService;
 import com.example.messages.utils.NotesClient;
-import com.example.messages.utils.UserCenterClient;
+import com.example.messages.utils.UserLoader;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -52,9 +55,11 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
     @Resource
     private HashRedisClient hashRedisClient;
     @Resource
+    private IdBloomFilter idBloomFilter;
+    @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private UserLoader userLoader;
     @Resource
     private NotesClient notesClient;
 
@@ -65,6 +70,9 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
      */
     @Override
     public Result getLikeNoteById(Integer id) {
+        if (!idBloomFilter.mightContain(BLOOM_LIKENOTE_KEY, id)) {
+            return Result.fail("点赞笔记记录不存在");
+        }
         try {
             LikeNote likeNote = hashRedisClient.hMultiGet(CACHE_LIKENOTE_KEY + id, LikeNote.class);
             if (likeNote != null) {
@@ -129,6 +137,81 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
         return Result.ok(likeNoteList);
     }
 
+    /**
+     * 批量获取多个用户的点赞历史（推荐计算使用）
+     * @param userIds 用户ID列表
+     * @param since 起始点赞时间（epoch毫秒，含）
+     * @param limit 总条数上限
+     * @return 包含List<long[]>（[用户ID, 笔记ID, 点赞时间epoch毫秒]，按点赞时间倒序）的Result对象
+     * @implNote 单次IN查询只取三列，以长整型数组传输，不逐条回查缓存、不触发缓存补写消息
+     */
+    @Override
+    public Result getLikeNoteRecordsByUserIds(List<Integer> userIds, Long since, Integer limit) {
+        if (userIds.size() > LIKE_HISTORY_BATCH_MAX_USERS) {
+            return Result.fail("批量查询的用户数不能超过" + LIKE_HISTORY_BATCH_MAX_USERS + "个!");
+        }
+        if (userIds.isEmpty()) {
+            return Result.ok(Collections.emptyList());
+        }
+        List<long[]> records = baseMapper.selectLikeHistoryByUserIds(userIds, new Timestamp(since),
+                        Math.min(limit, LIKE_HISTORY_BATCH_MAX_SIZE))
+                .stream()
+                .map(likeNote -> new long[]{likeNote.getUserId(), likeNote.getNoteId(), likeNote.getLikeTime().getTime()})
+                .collect(Collectors.toList());
+        return Result.ok(records);
+    }
+
+    /**
+     * 按主键游标分页扫描点赞关系（离线推荐模型训练使用）
+     * @param lastId 上一页最大点赞记录ID（首页为0）
+     * @param size 每页条数
+     * @return 包含List<int[]>（[点赞记录ID, 用户ID, 笔记ID]，按记录ID升序）的Result对象
+     * @implNote 仅查询三列，以整型数组传输，避免逐条回查与实体序列化
+     */
+    @Override
+    public Result getLikeNotePairsAfterId(Integer lastId, Integer size) {
+        List<int[]> pairs = list(new QueryWrapper<LikeNote>().select("id", "user_id", "note_id")
+                .gt("id", lastId).orderByAsc("id").last("limit " + Math.min(size, ITEM_CF_SCAN_BATCH_SIZE)))
+                .stream()
+                .map(likeNote -> new int[]{likeNote.getId(), likeNote.getUserId(), likeNote.getNoteId()})
+                .collect(Collectors.toList());
+        return Result.ok(pairs);
+    }
+
+    /**
+     * 获取用户最近点赞的笔记ID
+     * @param userId 用户ID
+     * @param limit 条数上限
+     * @return 包含List<Integer>（按点赞先后倒序的笔记ID）的Result对象
+     */
+    @Override
+    public Result getRecentLikedNoteIds(Integer userId, Integer limit) {
+        return Result.ok(listObjs(new QueryWrapper<LikeNote>().select("note_id").eq("user_id", userId)
+                .orderByDesc("id").last("limit " + Math.min(limit, ITEM_CF_RECENT_LIKES)), obj -> (Integer) obj));
+    }
+
+    /**
+     * 按点赞状态消息幂等地新增或删除点赞记录
+     * @param likeStateMessage 点赞状态同步消息
+     */
+    @Override
+    public void syncLikeState(LikeStateMessage likeStateMessage) {
+        Integer targetId = likeStateMessage.getTargetId();
+        Integer userId = likeStateMessage.getUserId();
+        LikeNote likeNote = getOne(new QueryWrapper<LikeNote>().eq("note_id", targetId).eq("user_id", userId), false);
+        if (Boolean.TRUE.equals(likeStateMessage.getLiked())) {
+            if (likeNote != null) {
+                return;
+            }
+            likeNote = new LikeNote(null, targetId, userId, new Timestamp(System.currentTimeMillis()));
+            // 重复投递的消息可能同时通过上方检查，由唯一索引兜底，未插入即视为已处理
+            if (getBaseMapper().insertIgnore(likeNote) > 0) {
+                this.afterLikeNoteAdded(likeNote);
+            }
+        } else if (likeNote != null && this.removeById(likeNote.getId())) {
+            this.afterLikeNoteRemoved(likeNote);
+        }
+    }
 
     /**
      * 联合查询用户对笔记的点赞状态
@@ -141,26 +224,23 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
     @Override
     public Result getLikeNoteByNoteIdAndUserId(Integer noteId, Integer userId) {
         String key = CACHE_LIKENOTE_NOTE_USER_KEY + noteId + ":" + userId;
-        try{
-            Integer id = hashRedisClient.hMultiGet(key, Integer.class);
-            LikeNote likeNote = null;
-            if (id != null) {
-                likeNote = (LikeNote) this.getLikeNoteById(id).getData();
-            }
-            if (likeNote == null) {
-                likeNote = query().eq("note_id", noteId)
-                        .eq("user_id", userId).one();
-            }
-            if (likeNote == null) {
-                return Result.fail("该点赞笔记记录不存在");
-            }
-            if (id == null) {
-                hashRedisClient.hSet(key,"id", likeNote.getId(), CACHE_LIKENOTE_NOTE_USER_TTL, TimeUnit.MINUTES);
-            }
-            return Result.ok(likeNote);
-        } catch (ParseException e) {
-            return Result.fail("获取点赞记录失败");
+        String cachedId = hashRedisClient.hGet(key, "id");
+        Integer id = StrUtil.isNotBlank(cachedId) ? Integer.valueOf(cachedId) : null;
+        LikeNote likeNote = null;
+        if (id != null) {
+            likeNote = (LikeNote) this.getLikeNoteById(id).getData();
         }
+        if (likeNote == null) {
+            likeNote = query().eq("note_id", noteId)
+                    .eq("user_id", userId).one();
+        }
+        if (likeNote == null) {
+            return Result.fail("该点赞笔记记录不存在");
+        }
+        if (id == null) {
+            hashRedisClient.hSet(key,"id", likeNote.getId(), CACHE_LIKENOTE_NOTE_USER_TTL, TimeUnit.MINUTES);
+        }
+        return Result.ok(likeNote);
     }
 
     /**
@@ -172,9 +252,10 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
     public Result getLikeNotice(Integer userId) {
         List<LikeNote> likeNoteList = list(query().getWrapper().eq("user_id", userId));
         List<LikeNoteNotice> noticeList = new ArrayList<>();
+        Map<Integer, User> users = userLoader.loadMany(
+                likeNoteList.stream().map(LikeNote::getUserId).collect(Collectors.toList()));
         for (LikeNote likeNote : likeNoteList) {
-            Object userData = userCenterClient.getUserById(likeNote.getUserId()).getData();
-            User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
+            User user = users.get(likeNote.getUserId());
             Object noteCommentData = null;
             try {
                 noteCommentData = notesClient.getNoteById(likeNote.getNoteId()).getData();
@@ -201,8 +282,7 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
         if (!this.removeById(id)) {
             throw new RuntimeException("删除点赞笔记记录" + id + "失败");
         }
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_CACHE_DELETE_QUEUE_ROUTING_KEY, likeNote.getId());
-        hashRedisClient.delete(CACHE_LIKENOTE_NOTE_USER_KEY + likeNote.getNoteId() + ":" + likeNote.getUserId());
+        this.afterLikeNoteRemoved(likeNote);
         return Result.ok();
     }
 
@@ -218,9 +298,7 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
         if (!this.save(likeNote)) {
             throw new RuntimeException("添加新的点赞笔记记录失败");
         }
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_CACHE_ADD_QUEUE_ROUTING_KEY, likeNote);
-        hashRedisClient.hSet(CACHE_LIKENOTE_NOTE_USER_KEY + likeNote.getNoteId() + ":" + likeNote.getUserId()
-                ,"id", likeNote.getId(), CACHE_LIKENOTE_NOTE_USER_TTL, TimeUnit.MINUTES);
+        this.afterLikeNoteAdded(likeNote);
         return Result.ok();
     }
 
@@ -236,4 +314,24 @@ public class LikeNoteServiceImpl extends ServiceImpl<LikeNoteMapper, LikeNote> i
         }
         return likeNoteList;
     }
+
+    /**
+     * 点赞记录写入后同步布隆过滤器、缓存与二级索引
+     * @param likeNote 已写入的点赞记录
+     */
+    private void afterLikeNoteAdded(LikeNote likeNote) {
+        idBloomFilter.add(BLOOM_LIKENOTE_KEY, likeNote.getId());
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_CACHE_ADD_QUEUE_ROUTING_KEY, likeNote);
+        hashRedisClient.hSet(CACHE_LIKENOTE_NOTE_USER_KEY + likeNote.getNoteId() + ":" + likeNote.getUserId()
+                ,"id", likeNote.getId(), CACHE_LIKENOTE_NOTE_USER_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 点赞记录删除后清理缓存与二级索引
+     * @param likeNote 已删除的点赞记录
+     */
+    private void afterLikeNoteRemoved(LikeNote likeNote) {
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_CACHE_DELETE_QUEUE_ROUTING_KEY, likeNote.getId());
+        hashRedisClient.delete(CACHE_LIKENOTE_NOTE_USER_KEY + likeNote.getNoteId() + ":" + likeNote.getUserId());
+    }
 }
@@ -1,9 +1,11 @@
 package com.example.messages.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.littleredbook.dto.ReplyCommentDTO;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.LikeReply;
 import com.example.littleredbook.entity.ReplyComment;
@@ -14,7 +16,7 @@ import com.example.messages.dto.LikeReplyNotice;
 import com.example.messages.mapper.LikeReplyMapper;
 import com.example.messages.service.ILikeReplyService;
 import com.example.messages.utils.NotesClient;
-import com.example.messages.utils.UserCenterClient;
+import com.example.messages.utils.UserLoader;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -26,6 +28,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.example.littleredbook.utils.MQConstants.*;
 import static com.example.littleredbook.utils.RedisConstants.*;
@@ -55,7 +58,7 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
     @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private UserLoader userLoader;
     @Resource
     private NotesClient notesClient;
 
@@ -101,6 +104,39 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
         return Result.ok(likeReplyList);
     }
 
+    /**
+     * 获取用户点赞过的回复ID集合
+     * @param userId 用户唯一标识
+     * @return 包含回复ID集合的Result对象
+     */
+    @Override
+    public Result getLikedReplyIdsByUserId(Integer userId) {
+        return Result.ok(listObjs(new QueryWrapper<LikeReply>().select("reply_id").eq("user_id", userId), obj -> (Integer) obj));
+    }
+
+    /**
+     * 按点赞状态消息幂等地新增或删除点赞记录
+     * @param likeStateMessage 点赞状态同步消息
+     */
+    @Override
+    public void syncLikeState(LikeStateMessage likeStateMessage) {
+        Integer targetId = likeStateMessage.getTargetId();
+        Integer userId = likeStateMessage.getUserId();
+        LikeReply likeReply = getOne(new QueryWrapper<LikeReply>().eq("reply_id", targetId).eq("user_id", userId), false);
+        if (Boolean.TRUE.equals(likeStateMessage.getLiked())) {
+            if (likeReply != null) {
+                return;
+            }
+            likeReply = new LikeReply(null, targetId, userId, new Timestamp(System.currentTimeMillis()));
+            // 重复投递的消息可能同时通过上方检查，由唯一索引兜底，未插入即视为已处理
+            if (getBaseMapper().insertIgnore(likeReply) > 0) {
+                this.afterLikeReplyAdded(likeReply);
+            }
+        } else if (likeReply != null && this.removeById(likeReply.getId())) {
+            this.afterLikeReplyRemoved(likeReply);
+        }
+    }
+
     /**
      * 联合查询用户对回复的点赞状态
      * @param replyId 目标回复ID
@@ -112,26 +148,23 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
     @Override
     public Result getLikeReplyByReplyIdAndUserId(Integer replyId, Integer userId) {
         String key = CACHE_LIKEREPLY_REPLY_USER_KEY + replyId + ":" + userId;
-        try{
-            Integer id = hashRedisClient.hMultiGet(key, Integer.class);
-            LikeReply likeReply = null;
-            if (id != null) {
-                likeReply = (LikeReply) this.getLikeReplyById(id).getData();
-            }
-            if (likeReply == null) {
-                likeReply = query().eq("reply_id", replyId)
-                        .eq("user_id", userId).one();
-            }
-            if (likeReply == null) {
-                return Result.fail("该点赞回复评论记录不存在");
-            }
-            if (id == null) {
-                hashRedisClient.hSet(key,"id", likeReply.getId(), CACHE_LIKEREPLY_REPLY_USER_TTL, TimeUnit.MINUTES);
-            }
-            return Result.ok(likeReply);
-        } catch (ParseException e) {
-            return Result.fail("获取点赞记录失败");
+        String cachedId = hashRedisClient.hGet(key, "id");
+        Integer id = StrUtil.isNotBlank(cachedId) ? Integer.valueOf(cachedId) : null;
+        LikeReply likeReply = null;
+        if (id != null) {
+            likeReply = (LikeReply) this.getLikeReplyById(id).getData();
+        }
+        if (likeReply == null) {
+            likeReply = query().eq("reply_id", replyId)
+                    .eq("user_id", userId).one();
+        }
+        if (likeReply == null) {
+            return Result.fail("该点赞回复评论记录不存在");
         }
+        if (id == null) {
+            hashRedisClient.hSet(key,"id", likeReply.getId(), CACHE_LIKEREPLY_REPLY_USER_TTL, TimeUnit.MINUTES);
+        }
+        return Result.ok(likeReply);
     }
 
     /**
@@ -143,9 +176,10 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
     public Result getLikeNotice(Integer userId) {
         List<LikeReply> likeNoteList = list(query().getWrapper().eq("user_id", userId));
         List<LikeReplyNotice> noticeList = new ArrayList<>();
+        Map<Integer, User> users = userLoader.loadMany(
+                likeNoteList.stream().map(LikeReply::getUserId).collect(Collectors.toList()));
         for (LikeReply likeReply : likeNoteList) {
-            Object userData = userCenterClient.getUserById(likeReply.getUserId()).getData();
-            User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
+            User user = users.get(likeReply.getUserId());
             Object replyData = notesClient.getReplyCommentById(likeReply.getReplyId()).getData();
             ReplyCommentDTO reply = BeanUtil.mapToBean((Map<?, ?>) replyData, ReplyCommentDTO.class, true);
             noticeList.add(new LikeReplyNotice(reply, user, likeReply.getLikeTime()));
@@ -166,8 +200,7 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
         if (!this.removeById(id)) {
             throw new RuntimeException("删除点赞回复记录" + id + "失败");
         }
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_CACHE_DELETE_QUEUE_ROUTING_KEY, id);
-        hashRedisClient.delete(CACHE_LIKEREPLY_REPLY_USER_KEY + likeReply.getReplyId() + ":" + likeReply.getUserId());
+        this.afterLikeReplyRemoved(likeReply);
         return Result.ok();
     }
 
@@ -183,9 +216,7 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
         if (!this.save(likeReply)) {
             throw new RuntimeException("添加新的点赞回复记录失败");
         }
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_CACHE_ADD_QUEUE_ROUTING_KEY, likeReply);
-        hashRedisClient.hSet(CACHE_LIKEREPLY_REPLY_USER_KEY + likeReply.getReplyId() + ":" + likeReply.getUserId()
-                ,"id", likeReply.getId(), CACHE_LIKEREPLY_REPLY_USER_TTL, TimeUnit.MINUTES);
+        this.afterLikeReplyAdded(likeReply);
         return Result.ok();
     }
 
@@ -201,4 +232,23 @@ public class LikeReplyServiceImpl extends ServiceImpl<LikeReplyMapper, LikeReply
         }
         return likeReplyList;
     }
+
+    /**
+     * 点赞记录写入后同步缓存与二级索引
+     * @param likeReply 已写入的点赞记录
+     */
+    private void afterLikeReplyAdded(LikeReply likeReply) {
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_CACHE_ADD_QUEUE_ROUTING_KEY, likeReply);
+        hashRedisClient.hSet(CACHE_LIKEREPLY_REPLY_USER_KEY + likeReply.getReplyId() + ":" + likeReply.getUserId()
+                ,"id", likeReply.getId(), CACHE_LIKEREPLY_REPLY_USER_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 点赞记录删除后清理缓存与二级索引
+     * @param likeReply 已删除的点赞记录
+     */
+    private void afterLikeReplyRemoved(LikeReply likeReply) {
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_CACHE_DELETE_QUEUE_ROUTING_KEY, likeReply.getId());
+        hashRedisClient.delete(CACHE_LIKEREPLY_REPLY_USER_KEY + likeReply.getReplyId() + ":" + likeReply.getUserId());
+    }
 }
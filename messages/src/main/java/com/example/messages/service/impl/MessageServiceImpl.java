@@ -1,17 +1,17 @@
 package com.example.messages.service.impl;
 
-import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.Message;
 import com.example.littleredbook.entity.User;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
 import com.example.littleredbook.utils.MQClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import com.example.messages.dto.MessageNotice;
 import com.example.messages.mapper.MessageMapper;
 import com.example.messages.service.IMessageService;
-import com.example.messages.utils.UserCenterClient;
+import com.example.messages.utils.UserLoader;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +21,7 @@ import java.text.ParseException;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.example.littleredbook.utils.MQConstants.*;
 import static com.example.littleredbook.utils.RedisConstants.*;
@@ -51,9 +52,11 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message> impl
     @Resource
     private HashRedisClient hashRedisClient;
     @Resource
+    private IdBloomFilter idBloomFilter;
+    @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private UserLoader userLoader;
 
     /**
      * 根据ID查询私信详情
@@ -62,6 +65,9 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message> impl
      */
     @Override
     public Result getMessageById(Integer id) {
+        if (!idBloomFilter.mightContain(BLOOM_MESSAGE_KEY, id)) {
+            return Result.fail("私信记录不存在");
+        }
         try {
             Message message = hashRedisClient.hMultiGet(CACHE_MESSAGE_KEY + id, Message.class);
             if (message == null) {
@@ -135,9 +141,10 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message> impl
                 .eq("receiver_id", userId)
                 .eq("is_read", 0));
         List<MessageNotice> messageNotices = new ArrayList<>();
+        Map<Integer, User> senders = userLoader.loadMany(
+                messages.stream().map(Message::getSenderId).collect(Collectors.toList()));
         for (Message message : messages) {
-            Object sender = userCenterClient.getUserById(message.getSenderId()).getData();
-            User user = BeanUtil.mapToBean((Map<?,?>) sender, User.class, true);
+            User user = senders.get(message.getSenderId());
             messageNotices.add(new MessageNotice(user, message, message.getSendTime()));
         }
         messageNotices.sort(((o1, o2) -> o2.getSendTime().compareTo(o1.getSendTime())));
@@ -224,6 +231,7 @@ public class MessageServiceImpl extends ServiceImpl<MessageMapper, Message> impl
         if (!this.save(message)) {
             throw new RuntimeException("添加私信失败");
         }
+        idBloomFilter.add(BLOOM_MESSAGE_KEY, message.getId());
         mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_MESSAGE_CACHE_ADD_QUEUE_ROUTING_KEY, message);
         return Result.ok();
     }
@@ -5,6 +5,9 @@ import com.example.littleredbook.dto.Result;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 /**
  * 用户服务Feign客户端
@@ -32,4 +35,12 @@ public interface UserCenterClient {
      */
     @GetMapping("/users/{id}")
     Result getUserById(@PathVariable Integer id);
+
+    /**
+     * 批量查询用户信息
+     * @param ids 用户ID集合
+     * @return Result标准响应（包含List<UserDTO>或错误信息）
+     */
+    @GetMapping("/users/batch")
+    Result getUsersByIds(@RequestParam List<Integer> ids);
 }
@@ -0,0 +1,14 @@
+-- 点赞记录唯一索引：LikeNote/LikeComment/LikeReplyMapper.insertIgnore依赖(实体ID, 用户ID)唯一约束实现幂等落库
+-- 先清理历史重复记录（保留ID最小的一条），再添加唯一索引
+
+DELETE t1 FROM like_note t1 JOIN like_note t2
+    ON t1.note_id = t2.note_id AND t1.user_id = t2.user_id AND t1.id > t2.id;
+ALTER TABLE like_note ADD UNIQUE KEY uk_note_user (note_id, user_id);
+
+DELETE t1 FROM like_comment t1 JOIN like_comment t2
+    ON t1.comment_id = t2.comment_id AND t1.user_id = t2.user_id AND t1.id > t2.id;
+ALTER TABLE like_comment ADD UNIQUE KEY uk_comment_user (comment_id, user_id);
+
+DELETE t1 FROM like_reply t1 JOIN like_reply t2
+    ON t1.reply_id = t2.reply_id AND t1.user_id = t2.user_id AND t1.id > t2.id;
+ALTER TABLE like_reply ADD UNIQUE KEY uk_reply_user (reply_id, user_id);
@@ -6,6 +6,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+@EnableScheduling
 @EnableAspectJAutoProxy(exposeProxy = true)
 @EnableFeignClients
 @SpringBootApplication
@@ -13,7 +15,9 @@ import org.springframework.context.annotation.Import;
 @Import({com.example.littleredbook.config.RedissonConfig.class, com.example.littleredbook.utils.StringRedisClient.class,
         com.example.littleredbook.utils.HashRedisClient.class, com.example.littleredbook.config.MqConfig.class,
         com.example.littleredbook.config.ErrorMessageConfiguration.class, com.example.littleredbook.utils.MQClient.class,
-        com.example.littleredbook.config.WebConfig.class})
+        com.example.littleredbook.config.WebConfig.class, com.example.littleredbook.utils.IdBloomFilter.class,
+        com.example.littleredbook.utils.SortedSetRedisClient.class, com.example.littleredbook.utils.CounterDeltaBuffer.class,
+        com.example.littleredbook.utils.LikeStateStore.class})
 public class NotesApplication {
     public static void main(String[] args) {
         SpringApplication.run(NotesApplication.class, args);
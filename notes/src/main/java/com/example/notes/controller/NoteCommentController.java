@@ -7,6 +7,8 @@ import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 笔记评论功能控制器
  *
@@ -53,6 +55,19 @@ public class NoteCommentController {
         return noteCommentService.getNoteCommentsByNoteId(noteId);
     }
 
+    /**
+     * 滚动分页获取指定笔记下的评论
+     * @param noteId 笔记唯一标识
+     * @param max 上一页返回的最小时间戳（首页传当前时间戳）
+     * @param offset 上一页返回的偏移量（首页传0）
+     * @return 包含ScrollResult的Result对象（按时间倒序）
+     */
+    @GetMapping("/notes/{noteId}/scroll")
+    public Result scrollNoteCommentByNoteId(@PathVariable Integer noteId, @RequestParam("lastId") Long max,
+                                            @RequestParam(value = "offset", defaultValue = "0") Integer offset) {
+        return noteCommentService.scrollNoteCommentsByNoteId(noteId, max, offset);
+    }
+
     /**
      * 获取指定用户下的所有评论
      * @param userId 用户唯一标识
@@ -94,6 +109,17 @@ public class NoteCommentController {
         return noteCommentService.likeNoteComment(id, userId);
     }
 
+    /**
+     * 批量查询用户对评论的点赞状态
+     * @param userId 当前用户ID
+     * @param ids 评论ID集合
+     * @return Result对象，包含评论ID-是否已点赞映射
+     */
+    @GetMapping("/liked")
+    public Result getLikedStates(@RequestParam Integer userId, @RequestParam List<Integer> ids) {
+        return noteCommentService.getLikedStates(userId, ids);
+    }
+
     /**
      * 删除指定评论
      * @param id 评论唯一标识
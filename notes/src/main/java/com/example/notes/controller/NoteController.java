@@ -45,6 +45,16 @@ public class NoteController {
         return cfRecommendNotes.recommendNotes(userId);
     }
 
+    /**
+     * 获取与指定笔记内容相似的笔记
+     * @param id 笔记唯一标识
+     * @return Result对象，包含相似笔记列表
+     */
+    @GetMapping("/{id}/similar")
+    public Result getSimilarNotes(@PathVariable Integer id) {
+        return cfRecommendNotes.getSimilarNotes(id);
+    }
+
     /**
      * 根据笔记ID获取笔记详情
      * @param id 笔记唯一标识
@@ -86,41 +96,74 @@ public class NoteController {
     }
 
     /**
-     * 根据标题关键词搜索笔记
-     * @param title 笔记标题关键词
-     * @return Result对象，包含匹配的笔记列表或错误信息
+     * 根据关键词搜索笔记
+     * @param title 搜索关键词（匹配标题与正文）
+     * @param current 页码（从1开始，默认第1页）
+     * @return Result对象，包含按相关度排序的笔记列表或错误信息
      */
     @GetMapping("/search")
-    public Result getNotesByTitle(@RequestParam String title) {
-        return noteService.getNotesByTitle(title);
+    public Result getNotesByTitle(@RequestParam String title,
+                                  @RequestParam(value = "current", defaultValue = "1") Integer current) {
+        return noteService.getNotesByTitle(title, current);
+    }
+
+    /**
+     * 按主键游标分批获取公开笔记（供搜索服务构建索引）
+     * @param lastId 上一批最大笔记ID
+     * @param size 批大小
+     * @return Result对象，包含笔记列表
+     */
+    @GetMapping("/index-scan")
+    public Result getPublicNotesAfterId(@RequestParam("lastId") Integer lastId, @RequestParam("size") Integer size) {
+        return noteService.getPublicNotesAfterId(lastId, size);
     }
 
     /**
-     * 获取全站笔记按点赞量排序
+     * 分页获取全站笔记按点赞量排序
+     * @param current 页码（从1开始，默认第1页）
      * @return Result对象，包含排序后的笔记列表或错误信息
      */
     @GetMapping("/sorted-by-like-num")
-    public Result getAllNotesSortedByLikeNum() {
-        return noteService.getAllNotesSortedByLikeNum();
+    public Result getAllNotesSortedByLikeNum(@RequestParam(value = "current", defaultValue = "1") Integer current) {
+        return noteService.getAllNotesSortedByLikeNum(current);
     }
 
     /**
-     * 获取全站笔记按创建时间排序
-     * @return Result对象，包含按时间排序的笔记列表或错误信息
+     * 滚动分页获取全站笔记按创建时间排序
+     * @param max 上一页返回的minTime（首页可不传，默认当前时间戳）
+     * @param offset 上一页返回的offset（首页传0）
+     * @return Result对象，包含ScrollResult或错误信息
      */
     @GetMapping("/sorted-by-create-time")
-    public Result getAllNotesSortedByCreatTime() {
-        return noteService.getAllNotesSortedByCreatTime();
+    public Result getAllNotesSortedByCreatTime(@RequestParam(value = "lastId", required = false) Long max,
+                                               @RequestParam(value = "offset", defaultValue = "0") Integer offset) {
+        return noteService.getAllNotesSortedByCreatTime(max != null ? max : System.currentTimeMillis(), offset);
+    }
+
+    /**
+     * 滚动分页获取用户关注流
+     * @param userId 用户唯一标识
+     * @param max 上一页返回的minTime（首页可不传，默认当前时间戳）
+     * @param offset 上一页返回的offset（首页传0）
+     * @return Result对象，包含ScrollResult或错误信息
+     */
+    @GetMapping("/feed/{userId}")
+    public Result getFollowFeed(@PathVariable Integer userId,
+                                @RequestParam(value = "lastId", required = false) Long max,
+                                @RequestParam(value = "offset", defaultValue = "0") Integer offset) {
+        return noteService.getFollowFeed(userId, max != null ? max : System.currentTimeMillis(), offset);
     }
 
     /**
      * 根据标签ID查询关联笔记
      * @param tagId 标签唯一标识
-     * @return Result对象，包含该标签下的笔记集合或错误信息
+     * @param current 页码（默认1）
+     * @return Result对象，包含该标签下按点赞数降序的一页笔记或错误信息
      */
     @GetMapping("/tags/{tagId}")
-    public Result getNotesByTag(@PathVariable Integer tagId) {
-        return noteService.getNotesByTag(tagId);
+    public Result getNotesByTag(@PathVariable Integer tagId,
+                                @RequestParam(value = "current", defaultValue = "1") Integer current) {
+        return noteService.getNotesByTag(tagId, current);
     }
 
     /**
@@ -154,6 +197,17 @@ public class NoteController {
         return noteService.likeNote(id, userId);
     }
 
+    /**
+     * 批量查询用户对笔记的点赞状态
+     * @param userId 当前用户ID
+     * @param ids 笔记ID集合
+     * @return Result对象，包含笔记ID-是否已点赞映射
+     */
+    @GetMapping("/liked")
+    public Result getLikedStates(@RequestParam Integer userId, @RequestParam List<Integer> ids) {
+        return noteService.getLikedStates(userId, ids);
+    }
+
     /**
      * 收藏/取消收藏笔记
      * @param id 笔记ID（用于收藏记录）
@@ -7,6 +7,8 @@ import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 回复评论功能控制器
  *
@@ -84,6 +86,17 @@ public class ReplyCommentController {
         return replyCommentService.likeReplyComment(id, userId);
     }
 
+    /**
+     * 批量查询用户对回复的点赞状态
+     * @param userId 当前用户ID
+     * @param ids 回复ID集合
+     * @return Result对象，包含回复ID-是否已点赞映射
+     */
+    @GetMapping("/liked")
+    public Result getLikedStates(@RequestParam Integer userId, @RequestParam List<Integer> ids) {
+        return replyCommentService.getLikedStates(userId, ids);
+    }
+
     /**
      * 删除指定回复评论
      * @param id 回复评论唯一标识
@@ -0,0 +1,40 @@
+package com.example.notes.listener;
+
+import com.example.notes.utils.RecommendUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 笔记内容LSH索引启动构建
+ *
+ * <p>功能说明：
+ * 1. 应用就绪后在后台线程中检查并构建内容索引，不阻塞启动<br>
+ * 2. 索引已存在或其他节点正在构建时直接跳过<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentLSHInitializer {
+    private final RecommendUtils recommendUtils;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                if (recommendUtils.buildContentIndex()) {
+                    log.info("笔记内容LSH索引构建完成");
+                }
+            } catch (Exception e) {
+                log.error("笔记内容LSH索引构建失败", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.notes.listener;
+
+import com.example.littleredbook.entity.Note;
+import com.example.notes.utils.ContentLSHIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+import static com.example.littleredbook.utils.MQConstants.*;
+
+/**
+ * 笔记内容LSH索引增量维护
+ *
+ * <p>功能说明：
+ * 1. 与搜索索引共用笔记新增/修改消息，各自独立队列消费<br>
+ * 2. 公开笔记重新计算签名并调整桶归属，转为私密的笔记移出索引<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentLSHListener {
+    private final ContentLSHIndex contentLSHIndex;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(name = NOTES_NOTE_LSH_UPSERT_QUEUE, durable = "true"),
+            exchange = @Exchange(name = TOPIC_NOTES_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {TOPIC_NOTES_EXCHANGE_WITH_SEARCH_NOTE_INDEX_UPSERT_QUEUE_ROUTING_KEY}
+    ))
+    public void listenNoteLshUpsert(Note note) {
+        if (Integer.valueOf(0).equals(note.getIsPublic())) {
+            contentLSHIndex.remove(note.getId());
+            return;
+        }
+        contentLSHIndex.upsertAll(Collections.singletonMap(note.getId(), ContentLSHIndex.textOf(note)));
+    }
+}
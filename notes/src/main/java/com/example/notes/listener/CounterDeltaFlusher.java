@@ -0,0 +1,68 @@
+package com.example.notes.listener;
+
+import com.example.notes.mapper.CounterDeltaBatchMapper;
+import com.example.notes.service.INoteCommentService;
+import com.example.notes.service.INoteService;
+import com.example.notes.service.IReplyCommentService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 计数器增量定时刷新
+ *
+ * <p>功能说明：
+ * 1. 按固定窗口将笔记点赞/收藏、评论点赞、回复点赞的缓冲增量批量写回数据库<br>
+ * 2. 各计数器独立刷新，单个计数器失败不影响其余计数器<br>
+ * 3. 应用关闭前再刷新一次，缩短数据库计数的滞后<br>
+ * 4. 定时清理过期的已写批次登记<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounterDeltaFlusher {
+    private final INoteService noteService;
+    private final INoteCommentService noteCommentService;
+    private final IReplyCommentService replyCommentService;
+    private final CounterDeltaBatchMapper counterDeltaBatchMapper;
+
+    @Scheduled(initialDelay = COUNTER_FLUSH_INTERVAL, fixedDelay = COUNTER_FLUSH_INTERVAL)
+    public void flush() {
+        this.flush("笔记点赞/收藏", noteService::flushCounterDeltas);
+        this.flush("评论点赞", noteCommentService::flushLikeNumDeltas);
+        this.flush("回复点赞", replyCommentService::flushLikeNumDeltas);
+    }
+
+    @Scheduled(initialDelay = COUNTER_BATCH_PURGE_INTERVAL, fixedDelay = COUNTER_BATCH_PURGE_INTERVAL)
+    public void purgeAppliedBatches() {
+        try {
+            int purged = counterDeltaBatchMapper.deleteAppliedBefore(
+                    new Timestamp(System.currentTimeMillis() - COUNTER_BATCH_RETENTION));
+            log.info("清理过期计数器批次登记{}条", purged);
+        } catch (Exception e) {
+            log.error("清理计数器批次登记失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        this.flush();
+    }
+
+    private void flush(String counter, Runnable flusher) {
+        try {
+            flusher.run();
+        } catch (Exception e) {
+            log.error(counter + "计数增量刷新失败，未完成的批次将在下次刷新时重放", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.notes.listener;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.littleredbook.entity.Note;
+import com.example.littleredbook.entity.NoteComment;
+import com.example.littleredbook.entity.ReplyComment;
+import com.example.littleredbook.utils.IdBloomFilter;
+import com.example.notes.service.INoteCommentService;
+import com.example.notes.service.INoteService;
+import com.example.notes.service.IReplyCommentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记模块实体ID布隆过滤器启动重建
+ *
+ * <p>功能说明：
+ * 1. 应用就绪后在后台线程中重建笔记、评论、回复三类过滤器（Redis中已就绪的过滤器直接跳过），不阻塞启动<br>
+ * 2. 按主键游标分页（id > lastId order by id limit n）流式扫描，避免深分页与全表载入内存<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Component
+@RequiredArgsConstructor
+public class IdBloomFilterInitializer {
+    private final INoteService noteService;
+    private final INoteCommentService noteCommentService;
+    private final IReplyCommentService replyCommentService;
+    private final IdBloomFilter idBloomFilter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        CompletableFuture.runAsync(() -> {
+            idBloomFilter.rebuild(BLOOM_NOTE_KEY, lastId -> this.nextIdPage(noteService, new QueryWrapper<Note>(), lastId));
+            idBloomFilter.rebuild(BLOOM_COMMENT_KEY,
+                    lastId -> this.nextIdPage(noteCommentService, new QueryWrapper<NoteComment>(), lastId));
+            idBloomFilter.rebuild(BLOOM_REPLYCOMMENT_KEY,
+                    lastId -> this.nextIdPage(replyCommentService, new QueryWrapper<ReplyComment>(), lastId));
+        });
+    }
+
+    private <T> List<Integer> nextIdPage(IService<T> service, QueryWrapper<T> wrapper, Integer lastId) {
+        return service.listObjs(wrapper.select("id").gt("id", lastId).orderByAsc("id")
+                .last("limit " + BLOOM_REBUILD_BATCH_SIZE), obj -> (Integer) obj);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.notes.listener;
+
+import com.example.notes.utils.RecommendUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记相似邻居表定时构建
+ *
+ * <p>功能说明：
+ * 1. 启动后与每个周期离线训练基于物品的协同过滤模型，结果写入Redis供在线推荐读取<br>
+ * 2. 其他节点正在构建或本周期已构建时跳过本轮<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemCFModelBuilder {
+    private static final long INITIAL_DELAY = 60000L;
+    private final RecommendUtils recommendUtils;
+
+    @Scheduled(initialDelay = INITIAL_DELAY, fixedDelay = ITEM_CF_BUILD_INTERVAL)
+    public void build() {
+        try {
+            if (recommendUtils.rebuildItemNeighbors()) {
+                log.info("笔记相似邻居表构建完成");
+            }
+        } catch (Exception e) {
+            log.error("笔记相似邻居表构建失败", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.notes.listener;
 
 import com.example.littleredbook.entity.NoteComment;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
+import com.example.littleredbook.utils.SortedSetRedisClient;
 import com.example.notes.dto.LikeMessage;
 import com.example.notes.dto.NoteCommentDTO;
 import com.example.notes.service.INoteCommentService;
@@ -16,7 +18,10 @@ import org.springframework.stereotype.Component;
 import java.util.concurrent.TimeUnit;
 
 import static com.example.littleredbook.utils.MQConstants.*;
+import static com.example.littleredbook.utils.RedisConstants.BLOOM_COMMENT_KEY;
 import static com.example.littleredbook.utils.RedisConstants.CACHE_COMMENT_KEY;
+import static com.example.littleredbook.utils.RedisConstants.CACHE_COMMENT_NOTE_KEY;
+import static com.example.littleredbook.utils.RedisConstants.CACHE_COMMENT_NOTE_TTL;
 import static com.example.littleredbook.utils.RedisConstants.CACHE_COMMENT_TTL;
 
 @Component
@@ -24,6 +29,8 @@ import static com.example.littleredbook.utils.RedisConstants.CACHE_COMMENT_TTL;
 public class NoteCommentListener {
     private final INoteCommentService noteCommentService;
     private final HashRedisClient hashRedisClient;
+    private final IdBloomFilter idBloomFilter;
+    private final SortedSetRedisClient sortedSetRedisClient;
 
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(name = NOTES_COMMENT_CACHE_LIKE_QUEUE, durable = "true"),
@@ -42,8 +49,13 @@ public class NoteCommentListener {
     ))
     public void listenCommentCacheAdd(NoteCommentDTO noteComment) {
         Integer id = noteComment.getId();
+        idBloomFilter.add(BLOOM_COMMENT_KEY, id);
         hashRedisClient.hMultiSet(CACHE_COMMENT_KEY + id, noteComment);
         hashRedisClient.expire(CACHE_COMMENT_KEY + id, CACHE_COMMENT_TTL, TimeUnit.MINUTES);
+        long commentTime = noteComment.getCommentTime() != null
+                ? noteComment.getCommentTime().getTime() : System.currentTimeMillis();
+        sortedSetRedisClient.add(CACHE_COMMENT_NOTE_KEY + noteComment.getNoteId(), id, commentTime);
+        sortedSetRedisClient.expire(CACHE_COMMENT_NOTE_KEY + noteComment.getNoteId(), CACHE_COMMENT_NOTE_TTL, TimeUnit.MINUTES);
     }
 
     @RabbitListener(bindings = @QueueBinding(
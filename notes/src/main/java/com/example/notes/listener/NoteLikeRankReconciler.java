@@ -0,0 +1,38 @@
+package com.example.notes.listener;
+
+import com.example.notes.service.INoteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记点赞排行榜定时对账
+ *
+ * <p>功能说明：
+ * 1. 定时以数据库点赞数全量重建排行榜，修正消息丢失、重复消费及构建窗口内的增量偏差<br>
+ * 2. 同时清除已删除笔记的残留成员<br>
+ * 3. 排行榜尚未构建或其他节点正在重建时跳过本轮<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteLikeRankReconciler {
+    private final INoteService noteService;
+
+    @Scheduled(initialDelay = RANK_NOTE_LIKE_RECONCILE_INTERVAL, fixedDelay = RANK_NOTE_LIKE_RECONCILE_INTERVAL)
+    public void reconcile() {
+        try {
+            if (noteService.reconcileLikeRank()) {
+                log.info("笔记点赞排行榜对账完成");
+            }
+        } catch (Exception e) {
+            log.error("笔记点赞排行榜对账失败", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.notes.listener;
 
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.SortedSetRedisClient;
 import com.example.notes.dto.LikeMessage;
 import com.example.notes.service.INoteService;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ import static com.example.littleredbook.utils.RedisConstants.*;
 public class NoteListener {
     private final INoteService noteService;
     private final HashRedisClient hashRedisClient;
+    private final SortedSetRedisClient sortedSetRedisClient;
 
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(name = NOTES_NOTE_CACHE_LIKE_QUEUE, durable = "true"),
@@ -30,6 +32,7 @@ public class NoteListener {
     public void listenLikeNoteCacheLike(LikeMessage likeMessage) {
         hashRedisClient.hIncrement(CACHE_NOTE_KEY + likeMessage.getId(), "likeNum", likeMessage.getDelta());
         hashRedisClient.expire(CACHE_NOTE_KEY + likeMessage.getId(), CACHE_NOTE_TTL, TimeUnit.MINUTES);
+        sortedSetRedisClient.incrementScore(RANK_NOTE_LIKE_KEY, likeMessage.getId(), likeMessage.getDelta());
     }
 
     @RabbitListener(bindings = @QueueBinding(
@@ -0,0 +1,36 @@
+package com.example.notes.listener;
+
+import com.example.notes.utils.RecommendUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记向量索引定时重建
+ *
+ * <p>功能说明：
+ * 1. 启动后与每个周期各节点独立扫描公开笔记，重新统计文档频率并重建本地TF-IDF向量索引<br>
+ * 2. 周期内新增或修改的笔记在下一次重建后可被检索<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteVectorIndexBuilder {
+    private static final long INITIAL_DELAY = 30000L;
+    private final RecommendUtils recommendUtils;
+
+    @Scheduled(initialDelay = INITIAL_DELAY, fixedDelay = NOTE_VECTOR_REBUILD_INTERVAL)
+    public void rebuild() {
+        try {
+            log.info("笔记向量索引重建完成，共{}篇笔记", recommendUtils.rebuildVectorIndex());
+        } catch (Exception e) {
+            log.error("笔记向量索引重建失败", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.notes.listener;
 import com.example.littleredbook.entity.NoteComment;
 import com.example.littleredbook.entity.ReplyComment;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
 import com.example.notes.dto.LikeMessage;
 import com.example.notes.dto.ReplyCommentDTO;
 import com.example.notes.service.IReplyCommentService;
@@ -24,6 +25,7 @@ import static com.example.littleredbook.utils.RedisConstants.*;
 public class ReplyCommentListener {
     private final IReplyCommentService replyCommentService;
     private final HashRedisClient hashRedisClient;
+    private final IdBloomFilter idBloomFilter;
 
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(name = NOTES_REPLY_CACHE_LIKE_QUEUE, durable = "true"),
@@ -42,6 +44,7 @@ public class ReplyCommentListener {
     ))
     public void listenReplyCommentCacheAdd(ReplyCommentDTO replyComment) {
         Integer id = replyComment.getId();
+        idBloomFilter.add(BLOOM_REPLYCOMMENT_KEY, id);
         hashRedisClient.hMultiSet(CACHE_REPLYCOMMENT_KEY + id, replyComment);
         hashRedisClient.expire(CACHE_REPLYCOMMENT_KEY + id, CACHE_COMMENT_TTL, TimeUnit.MINUTES);
     }
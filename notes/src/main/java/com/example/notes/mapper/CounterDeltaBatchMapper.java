@@ -0,0 +1,37 @@
+package com.example.notes.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+
+import java.sql.Timestamp;
+
+/**
+ * 计数器增量已写批次登记表数据访问层接口
+ *
+ * <p>功能说明：
+ * 1. 计数器增量刷新时在更新计数的同一事务中登记批次ID，崩溃重放已登记的批次时跳过<br>
+ * 2. 定时清理过期登记，批次只会在下一轮刷新中被重放，短期保留即可<br>
+ *
+ * <p>使用规范：
+ * - 依赖counter_delta_batch表（batch_id主键，applied_time登记时间）<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public interface CounterDeltaBatchMapper {
+    /**
+     * 登记已写批次
+     * @param batchId 批次ID
+     * @return 实际插入行数，0表示该批次已登记过
+     */
+    @Insert("INSERT IGNORE INTO counter_delta_batch(batch_id, applied_time) VALUES (#{batchId}, NOW())")
+    int insertIgnore(String batchId);
+
+    /**
+     * 清理指定时间之前的批次登记
+     * @param before 截止时间（不含）
+     * @return 删除行数
+     */
+    @Delete("DELETE FROM counter_delta_batch WHERE applied_time < #{before}")
+    int deleteAppliedBefore(Timestamp before);
+}
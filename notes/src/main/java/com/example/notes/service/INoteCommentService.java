@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.NoteComment;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 笔记评论服务接口
  *
@@ -40,6 +43,15 @@ public interface INoteCommentService extends IService<NoteComment> {
      */
     Result getNoteCommentsByNoteId(Integer noteId);
 
+    /**
+     * 滚动分页查询指定笔记的评论（按时间倒序）
+     * @param noteId 关联笔记唯一标识
+     * @param max 上一页返回的最小时间戳（首页传当前时间戳）
+     * @param offset 上一页返回的偏移量（首页传0）
+     * @return 包含ScrollResult的Result对象
+     */
+    Result scrollNoteCommentsByNoteId(Integer noteId, Long max, Integer offset);
+
     /**
      * 获取指定用户的全部评论（按时间倒序）
      * @param userId 用户ID
@@ -76,6 +88,14 @@ public interface INoteCommentService extends IService<NoteComment> {
      */
     Result likeNoteComment(Integer id, Integer userId);
 
+    /**
+     * 批量查询用户对评论的点赞状态
+     * @param userId 用户唯一标识
+     * @param ids 评论ID集合
+     * @return 包含评论ID-是否已点赞映射的Result对象
+     */
+    Result getLikedStates(Integer userId, List<Integer> ids);
+
     /**
      * 更新评论点赞计数（内部调用）
      * @param id 评论唯一标识
@@ -83,4 +103,16 @@ public interface INoteCommentService extends IService<NoteComment> {
      * @return 包含最新点赞数量的Result对象
      */
     Result updateNoteCommentLikeNum(Integer id, boolean isLike);
+
+    /**
+     * 将缓冲的点赞增量批量刷新到数据库
+     */
+    void flushLikeNumDeltas();
+
+    /**
+     * 在同一事务中登记批次并累加点赞数（已登记的批次跳过）
+     * @param batchId 批次ID
+     * @param deltas 评论ID-增量映射
+     */
+    void applyLikeNumDeltas(String batchId, Map<Integer, Long> deltas);
 }
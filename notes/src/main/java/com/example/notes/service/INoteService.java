@@ -6,6 +6,7 @@ import com.example.littleredbook.entity.Note;
 
 import java.text.ParseException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 笔记业务服务接口
@@ -56,30 +57,58 @@ public interface INoteService extends IService<Note> {
     Result getNotesByUserId(Integer userId);
 
     /**
-     * 根据标题关键词模糊查询
-     * @param title 搜索关键词（支持模糊匹配）
-     * @return Result标准响应（匹配的笔记列表）
+     * 根据关键词全文检索笔记
+     * @param title 搜索关键词（匹配标题与正文）
+     * @param current 页码（从1开始）
+     * @return Result标准响应（按相关度排序的笔记列表）
      */
-    Result getNotesByTitle(String title);
+    Result getNotesByTitle(String title, Integer current);
 
     /**
-     * 获取全站笔记按点赞量排序
+     * 按主键游标分批获取公开笔记（供搜索服务构建索引）
+     * @param lastId 上一批最大笔记ID
+     * @param size 批大小
+     * @return Result标准响应（笔记列表）
+     */
+    Result getPublicNotesAfterId(Integer lastId, Integer size);
+
+    /**
+     * 分页获取全站笔记按点赞量排序
+     * @param current 页码（从1开始）
      * @return Result标准响应（点赞降序列表）
      */
-    Result getAllNotesSortedByLikeNum();
+    Result getAllNotesSortedByLikeNum(Integer current);
+
+    /**
+     * 以数据库点赞数全量重建点赞排行榜
+     * @return true-重建完成，false-排行榜尚未构建或其他节点正在重建
+     */
+    boolean reconcileLikeRank();
 
     /**
-     * 获取全站笔记按创建时间排序
-     * @return Result标准响应（时间倒序列表）
+     * 滚动分页获取全站笔记按创建时间排序
+     * @param max 上一页返回的最小时间戳（首页传当前时间戳）
+     * @param offset 上一页返回的偏移量（首页传0）
+     * @return Result标准响应（包含时间倒序的ScrollResult）
+     */
+    Result getAllNotesSortedByCreatTime(Long max, Integer offset);
+
+    /**
+     * 滚动分页获取用户关注流（关注作者发布的笔记，按时间倒序）
+     * @param userId 用户ID
+     * @param max 上一页返回的最小时间戳（首页传当前时间戳）
+     * @param offset 上一页返回的偏移量（首页传0）
+     * @return Result标准响应（包含ScrollResult）
      */
-    Result getAllNotesSortedByCreatTime();
+    Result getFollowFeed(Integer userId, Long max, Integer offset);
 
     /**
-     * 根据标签查询关联笔记
+     * 根据标签查询关联笔记（按点赞数降序分页）
      * @param tagId 标签唯一标识
-     * @return Result标准响应（标签关联笔记列表）
+     * @param current 页码（从1开始）
+     * @return Result标准响应（标签关联笔记列表与总数）
      */
-    Result getNotesByTag(Integer tagId);
+    Result getNotesByTag(Integer tagId, Integer current);
 
     /**
      * 创建新笔记（带缓存清理）
@@ -103,6 +132,14 @@ public interface INoteService extends IService<Note> {
      */
     Result likeNote(Integer id, Integer userId);
 
+    /**
+     * 批量查询用户对笔记的点赞状态
+     * @param userId 用户唯一标识
+     * @param ids 笔记ID集合
+     * @return 包含笔记ID-是否已点赞映射的Result对象
+     */
+    Result getLikedStates(Integer userId, List<Integer> ids);
+
     /**
      * 收藏笔记
      * @param id 笔记ID
@@ -126,4 +163,17 @@ public interface INoteService extends IService<Note> {
      * @return Result标准响应
      */
     Result updateNoteCollectionNum(Integer id, boolean isCollection);
+
+    /**
+     * 将缓冲的点赞/收藏增量批量刷新到数据库
+     */
+    void flushCounterDeltas();
+
+    /**
+     * 在同一事务中登记批次并累加计数列（已登记的批次跳过）
+     * @param column 计数列名
+     * @param batchId 批次ID
+     * @param deltas 笔记ID-增量映射
+     */
+    void applyCounterDeltas(String column, String batchId, Map<Integer, Long> deltas);
 }
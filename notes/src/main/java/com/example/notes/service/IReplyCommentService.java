@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.ReplyComment;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 回复评论服务接口
  *
@@ -69,6 +72,14 @@ public interface IReplyCommentService extends IService<ReplyComment> {
      */
     Result likeReplyComment(Integer id, Integer userId);
 
+    /**
+     * 批量查询用户对回复的点赞状态
+     * @param userId 用户唯一标识
+     * @param ids 回复ID集合
+     * @return 包含回复ID-是否已点赞映射的Result对象
+     */
+    Result getLikedStates(Integer userId, List<Integer> ids);
+
     /**
      * 更新回复评论点赞数（内部服务调用）
      * @param id 回复评论唯一标识
@@ -76,4 +87,16 @@ public interface IReplyCommentService extends IService<ReplyComment> {
      * @return 包含最新点赞数的Result对象
      */
     Result updateReplyCommentLikeNum(Integer id, boolean isLike);
+
+    /**
+     * 将缓冲的点赞增量批量刷新到数据库
+     */
+    void flushLikeNumDeltas();
+
+    /**
+     * 在同一事务中登记批次并累加点赞数（已登记的批次跳过）
+     * @param batchId 批次ID
+     * @param deltas 回复ID-增量映射
+     */
+    void applyLikeNumDeltas(String batchId, Map<Integer, Long> deltas);
 }
@@ -1,49 +1,70 @@
 package com.example.notes.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.text.TextSimilarity;
-import com.example.littleredbook.dto.NoteDTO;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.LikeNote;
+import com.example.littleredbook.entity.Note;
 import com.example.littleredbook.entity.User;
+import com.example.littleredbook.utils.CFScoreUtils;
+import com.example.littleredbook.utils.DenseVectorIndex;
 import com.example.notes.service.INoteService;
 import com.example.notes.utils.CommunityClient;
+import com.example.notes.utils.ContentLSHIndex;
+import com.example.notes.utils.ItemCFNeighborStore;
+import com.example.notes.utils.ItemCFTrainer;
 import com.example.notes.utils.MessagesClient;
+import com.example.notes.utils.MinHasher;
 import com.example.notes.utils.RecommendUtils;
 import jakarta.annotation.Resource;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
 @Service
 public class CFRecommendNotesImpl implements RecommendUtils {
     // 最大邻居数
     private final int MAX_NEIGHBORS = 10;
-    // 时间衰减系数(半衰期30天)
-    private final double DECAY_RATE = Math.log(2) / 30.0;
     @Resource
     private MessagesClient messagesClient;
 
+    @Resource
+    private ItemCFNeighborStore itemCFNeighborStore;
+
+    @Resource
+    private ContentLSHIndex contentLSHIndex;
+
     @Resource
     private CommunityClient communityClient;
 
     @Resource
     private INoteService noteService;
 
+    // 笔记TF-IDF向量索引快照，定时整体重建后替换
+    private volatile DenseVectorIndex vectorIndex = DenseVectorIndex.builder(NOTE_VECTOR_DIMENSION).build();
+
     @Override
     public Result recommendNotes(Integer userId) {
         try {
+            // 0. 优先使用离线预计算的笔记相似邻居，无结果（冷启动或模型未构建）时回退到社交协同过滤
+            Map<Integer, Double> itemScores = getItemNeighborScores(userId);
+            if (!itemScores.isEmpty()) {
+                return getRecommendedNotes(itemScores);
+            }
+
             // 1. 获取用户社交关系数据
             Map<Integer, Double> friendWeights = getFriendWeights(userId);
 
             // 2. 获取用户和好友的点赞记录
-            Map<Integer, List<LikeNote>> userLikesMap = getUserAndFriendLikes(userId, friendWeights.keySet());
+            Map<Integer, List<LikeNote>> userLikesMap = getUserAndFriendLikes(userId, friendWeights);
 
             // 3. 计算笔记推荐得分
-            Map<Integer, Double> noteScores = calculateNoteScores(userId, userLikesMap, friendWeights);
+            Map<Integer, Double> noteScores = CFScoreUtils.calculateNoteScores(userId, userLikesMap, friendWeights);
 
             // 4. 获取推荐笔记详情
             return getRecommendedNotes(noteScores);
@@ -57,11 +78,11 @@ public class CFRecommendNotesImpl implements RecommendUtils {
     public Result recommendNotesByContent(Integer userId, String content) {
         try {
 
-            // 1. 获取用户历史点赞的笔记内容
-            List<NoteDTO> userLikedNotes = getUserLikedNotes(userId);
+            // 1. 获取用户最近点赞的笔记
+            List<Integer> likedNoteIds = getRecentLikedNoteIds(userId, CONTENT_LSH_QUERY_LIKED_NOTES);
 
             // 2. 计算内容相似度得分
-            Map<Integer, Double> contentScores = calculateContentScores(userLikedNotes, content);
+            Map<Integer, Double> contentScores = calculateContentScores(likedNoteIds, content);
 
             // 3. 获取协同过滤推荐结果
             Map<Integer, Double> cfScores = getCollaborativeFilteringScores(userId);
@@ -77,6 +98,156 @@ public class CFRecommendNotesImpl implements RecommendUtils {
         }
     }
 
+    /**
+     * 重建笔记相似邻居表
+     * <p>
+     * 按主键游标分页扫描全量点赞关系，并行计算每篇笔记的topK相似笔记后整体写入Redis
+     * </p>
+     * @return true-重建完成，false-其他节点正在构建或距上次构建时间过短
+     */
+    @Override
+    public boolean rebuildItemNeighbors() {
+        return itemCFNeighborStore.rebuild(() -> {
+            ItemCFTrainer trainer = new ItemCFTrainer();
+            int lastId = 0;
+            while (true) {
+                Result result = messagesClient.getLikeNotePairsAfterId(lastId, ITEM_CF_SCAN_BATCH_SIZE);
+                if (!Boolean.TRUE.equals(result.getSuccess())) {
+                    throw new RuntimeException("扫描点赞关系失败");
+                }
+                List<List<Number>> pairs = (List<List<Number>>) result.getData();
+                for (List<Number> pair : pairs) {
+                    trainer.add(pair.get(1).intValue(), pair.get(2).intValue());
+                }
+                if (pairs.size() < ITEM_CF_SCAN_BATCH_SIZE) {
+                    break;
+                }
+                lastId = pairs.get(pairs.size() - 1).get(0).intValue();
+            }
+            // 独立线程池不与CompletableFuture等共享公共线程池，训练结束后关闭，工作线程的累加器随线程回收
+            ForkJoinPool pool = new ForkJoinPool();
+            try {
+                return trainer.train(ITEM_CF_TOP_K, ITEM_CF_MAX_USER_LIKES, pool);
+            } finally {
+                pool.shutdown();
+            }
+        });
+    }
+
+    /**
+     * 构建笔记内容LSH索引
+     * <p>
+     * 按主键游标分批扫描公开笔记计算签名写入索引，索引已存在或其他节点正在构建时跳过
+     * </p>
+     * @return true-本节点完成构建
+     */
+    @Override
+    public boolean buildContentIndex() {
+        return contentLSHIndex.build(() -> {
+            int lastId = 0;
+            while (true) {
+                List<Note> notes = (List<Note>) noteService.getPublicNotesAfterId(lastId, CONTENT_LSH_SCAN_BATCH_SIZE)
+                        .getData();
+                Map<Integer, String> texts = new HashMap<>();
+                notes.forEach(note -> texts.put(note.getId(), ContentLSHIndex.textOf(note)));
+                contentLSHIndex.upsertAll(texts);
+                if (notes.size() < CONTENT_LSH_SCAN_BATCH_SIZE) {
+                    break;
+                }
+                lastId = notes.get(notes.size() - 1).getId();
+            }
+        });
+    }
+
+    /**
+     * 获取与指定笔记内容相似的笔记（相似推荐）
+     * <p>
+     * 以笔记TF-IDF向量在内存向量索引中暴力检索余弦相似度最高的笔记
+     * </p>
+     * @param noteId 笔记ID
+     * @return 包含相似笔记列表的Result对象，笔记未收录时返回空列表
+     */
+    @Override
+    public Result getSimilarNotes(Integer noteId) {
+        DenseVectorIndex index = vectorIndex;
+        float[] vector = index.vector(noteId);
+        if (vector == null) {
+            return Result.ok(new ArrayList<>());
+        }
+        DenseVectorIndex.Hits hits = index.topK(vector, NOTE_VECTOR_SIMILAR_SIZE, noteId);
+        Map<Integer, Double> scores = new LinkedHashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            scores.put(hits.id(i), (double) hits.score(i));
+        }
+        return getRecommendedNotes(scores);
+    }
+
+    /**
+     * 重建笔记向量索引
+     * <p>
+     * 按主键游标分批扫描公开笔记，统计文档频率生成TF-IDF向量后整体替换本节点的索引快照
+     * </p>
+     * @return 收录的笔记数
+     */
+    @Override
+    public int rebuildVectorIndex() {
+        DenseVectorIndex.Builder builder = DenseVectorIndex.builder(NOTE_VECTOR_DIMENSION);
+        int lastId = 0;
+        while (true) {
+            List<Note> notes = (List<Note>) noteService.getPublicNotesAfterId(lastId, NOTE_VECTOR_SCAN_BATCH_SIZE)
+                    .getData();
+            notes.forEach(note -> builder.add(note.getId(), ContentLSHIndex.textOf(note)));
+            if (notes.size() < NOTE_VECTOR_SCAN_BATCH_SIZE) {
+                break;
+            }
+            lastId = notes.get(notes.size() - 1).getId();
+        }
+        vectorIndex = builder.build();
+        return vectorIndex.size();
+    }
+
+    /**
+     * 基于笔记相似邻居计算推荐得分
+     * <p>
+     * 取用户最近点赞的笔记，一次批量读取其邻居，按点赞先后衰减加权累加相似度，排除已点赞笔记后保留得分最高的部分
+     * </p>
+     * @return 按得分降序的笔记ID-得分映射
+     */
+    private Map<Integer, Double> getItemNeighborScores(Integer userId) {
+        List<Integer> recentNoteIds = getRecentLikedNoteIds(userId, ITEM_CF_RECENT_LIKES);
+        Map<Integer, ItemCFNeighborStore.Neighbors> neighbors = itemCFNeighborStore.getNeighbors(recentNoteIds);
+        Set<Integer> liked = new HashSet<>(recentNoteIds);
+        Map<Integer, Double> scores = new HashMap<>();
+        double recency = 1.0;
+        for (Integer noteId : recentNoteIds) {
+            ItemCFNeighborStore.Neighbors noteNeighbors = neighbors.get(noteId);
+            if (noteNeighbors != null) {
+                for (int i = 0; i < noteNeighbors.size(); i++) {
+                    if (!liked.contains(noteNeighbors.noteId(i))) {
+                        scores.merge(noteNeighbors.noteId(i), recency * noteNeighbors.score(i), Double::sum);
+                    }
+                }
+            }
+            recency *= ITEM_CF_RECENCY_DECAY;
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(ITEM_CF_RECOMMEND_SIZE)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * 获取用户最近点赞的笔记ID
+     * @return 按点赞先后倒序的笔记ID，消息服务不可用时返回空列表
+     */
+    private List<Integer> getRecentLikedNoteIds(Integer userId, Integer limit) {
+        Result result = messagesClient.getRecentLikedNoteIds(userId, limit);
+        if (!Boolean.TRUE.equals(result.getSuccess()) || result.getData() == null) {
+            return new ArrayList<>();
+        }
+        return (List<Integer>) result.getData();
+    }
+
     /**
      * 获取好友权重
      */
@@ -104,91 +275,44 @@ public class CFRecommendNotesImpl implements RecommendUtils {
 
     /**
      * 获取用户和好友的点赞记录
+     * <p>
+     * 好友点赞历史以一次批量请求取回时间窗口内的记录，好友超出批量上限时保留权重最高的部分；
+     * 用户自身的点赞只用于排除已点赞笔记，单独全量获取，不受时间窗口与总条数上限影响
+     * </p>
      */
-    private Map<Integer, List<LikeNote>> getUserAndFriendLikes(Integer userId, Set<Integer> friendIds) {
+    private Map<Integer, List<LikeNote>> getUserAndFriendLikes(Integer userId, Map<Integer, Double> friendWeights) {
         Map<Integer, List<LikeNote>> likesMap = new HashMap<>();
-
-        // 获取用户自身点赞记录
-        ArrayList<Map<String, Object>> selfLikesResultData = (ArrayList<Map<String, Object>>)
-                messagesClient.getLikeNoteRecordsByUserId(userId).getData();
-        List<LikeNote> selfLikesResult = new ArrayList<>();
-        selfLikesResultData.forEach(map -> {
-            LikeNote likeNote = BeanUtil.mapToBean(map, LikeNote.class, true);
-            selfLikesResult.add(likeNote);
-        });
-        likesMap.put(userId, selfLikesResult);
-
-        // 获取好友点赞记录
-        for (Integer friendId : friendIds) {
-            ArrayList<Map<String, Object>> friendLikesResultData =  (ArrayList<Map<String, Object>>)
-                    messagesClient.getLikeNoteRecordsByUserId(friendId).getData();
-            List<LikeNote> friendLikesResult = new ArrayList<>();
-            friendLikesResultData.forEach(map -> {
-                LikeNote likeNote = BeanUtil.mapToBean(map, LikeNote.class, true);
-                friendLikesResult.add(likeNote);
-            });
-            likesMap.put(friendId, friendLikesResult);
-        }
-
-        return likesMap;
-    }
-
-    /**
-     * 计算笔记推荐得分
-     */
-    private Map<Integer, Double> calculateNoteScores(Integer userId,
-                                                     Map<Integer, List<LikeNote>> userLikesMap,
-                                                     Map<Integer, Double> friendWeights) {
-        // 使用HashMap存储未排序的得分
-        Map<Integer, Double> noteScores = new HashMap<>();
-
-        // 获取用户已点赞的笔记ID(用于去重)
-        Set<Integer> userLikedNoteIds = userLikesMap.getOrDefault(userId, Collections.emptyList())
-                .stream()
-                .map(LikeNote::getNoteId)
-                .collect(Collectors.toSet());
-
-        // 处理每个用户的点赞记录
-        for (Map.Entry<Integer, List<LikeNote>> entry : userLikesMap.entrySet()) {
-            Integer currentUserId = entry.getKey();
-            List<LikeNote> likes = entry.getValue();
-
-            // 确定当前用户的权重(自身权重为1，好友权重按亲密度)
-            double weight = currentUserId.equals(userId) ? 1.0 :
-                    friendWeights.getOrDefault(currentUserId, 0.5);
-
-            // 处理每条点赞记录
-            for (LikeNote like : likes) {
-                int noteId = like.getNoteId();
-
-                // 跳过用户已经点赞过的笔记
-                if (userLikedNoteIds.contains(noteId)) {
-                    continue;
-                }
-
-                // 计算时间衰减因子
-                double timeDecay = calculateTimeDecay(like.getLikeTime());
-
-                // 计算当前得分 = 用户权重 × 时间衰减因子
-                double currentScore = weight * timeDecay;
-
-                // 累加到总得分
-                noteScores.merge(noteId, currentScore, Double::sum);
+        friendWeights.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(userId))
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(LIKE_HISTORY_BATCH_MAX_USERS)
+                .forEach(entry -> likesMap.put(entry.getKey(), new ArrayList<>()));
+
+        if (!likesMap.isEmpty()) {
+            long since = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(LIKE_HISTORY_WINDOW_DAYS);
+            Result result = messagesClient.getLikeNoteRecordsByUserIds(new ArrayList<>(likesMap.keySet()), since,
+                    LIKE_HISTORY_BATCH_MAX_SIZE);
+            if (!result.getSuccess()) {
+                throw new RuntimeException("获取好友点赞记录失败");
+            }
+            for (List<Number> record : (List<List<Number>>) result.getData()) {
+                likesMap.get(record.get(0).intValue()).add(new LikeNote(null, record.get(1).intValue(),
+                        record.get(0).intValue(), new Timestamp(record.get(2).longValue())));
             }
         }
 
-        // 按得分降序排序
-        return noteScores.entrySet().stream()
-                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
+        Result result = messagesClient.getLikedNoteIdsByUserId(userId);
+        if (!result.getSuccess()) {
+            throw new RuntimeException("获取用户" + userId + "点赞笔记记录失败");
+        }
+        List<LikeNote> userLikes = new ArrayList<>();
+        for (Integer noteId : (List<Integer>) result.getData()) {
+            userLikes.add(new LikeNote(null, noteId, userId, null));
+        }
+        likesMap.put(userId, userLikes);
+        return likesMap;
     }
 
-
     /**
      * 获取推荐笔记详情
      */
@@ -199,80 +323,48 @@ public class CFRecommendNotesImpl implements RecommendUtils {
         return noteService.getNotesByIds(recommendedNoteIds);
     }
 
-    /**
-     * 计算时间衰减因子(指数衰减)
-     */
-    private double calculateTimeDecay(Timestamp likeTime) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime likeDateTime = likeTime.toLocalDateTime();
-        long daysPassed = now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() -
-                likeDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-        daysPassed = daysPassed / (1000 * 60 * 60 * 24);
-
-        return Math.exp(-DECAY_RATE * daysPassed);
-    }
-
-    /**
-     * 获取用户点赞过的笔记
-    */
-    private List<NoteDTO> getUserLikedNotes(Integer userId) {
-        ArrayList<Map<String, Object>> likesResultData = (ArrayList<Map<String, Object>>)
-                messagesClient.getLikeNoteRecordsByUserId(userId).getData();
-        List<LikeNote> likes = new ArrayList<>();
-        likesResultData.forEach(map -> {
-            LikeNote likeNote = BeanUtil.mapToBean(map, LikeNote.class, true);
-            likes.add(likeNote);
-        });
-        List<Integer> noteIds = likes.stream().map(LikeNote::getNoteId).collect(Collectors.toList());
-        return (List<NoteDTO>) noteService.getNotesByIds(noteIds).getData();
-    }
-
     /**
     * 计算内容相似度得分
+    * <p>
+    * 以已点赞笔记与查询内容的MinHash签名检索LSH桶得到有限候选集，仅对候选按签名估计的Jaccard相似度重排
+    * </p>
     */
-    private Map<Integer, Double> calculateContentScores(List<NoteDTO> userLikedNotes, String queryContent) {
-        // 获取所有候选笔记(简化处理，实际应该有限制条件)
-        List<NoteDTO> allNotes = (List<NoteDTO>) noteService.getAllNotesSortedByLikeNum().getData();
+    private Map<Integer, Double> calculateContentScores(List<Integer> likedNoteIds, String queryContent) {
+        Collection<int[]> likedSignatures = contentLSHIndex.getSignatures(likedNoteIds).values();
+        int[] querySignature = contentLSHIndex.signature(queryContent);
+        List<int[]> signatures = new ArrayList<>(likedSignatures);
+        signatures.add(querySignature);
+        List<Integer> candidateIds = contentLSHIndex.candidates(signatures, CONTENT_LSH_MAX_CANDIDATES);
+        candidateIds.removeAll(likedNoteIds);
 
         Map<Integer, Double> scores = new HashMap<>();
 
-        // 计算每个笔记与用户历史喜欢内容和当前查询的相似度
-        for (NoteDTO note : allNotes) {
+        // 计算每个候选笔记与用户历史喜欢内容和当前查询的相似度
+        contentLSHIndex.getSignatures(candidateIds).forEach((noteId, signature) -> {
             double maxSimilarity = 0;
 
             // 与用户历史喜欢笔记的相似度
-            for (NoteDTO likedNote : userLikedNotes) {
-                double similarity = calculateTextSimilarity(note.getContent(), likedNote.getContent());
-                maxSimilarity = Math.max(maxSimilarity, similarity);
+            for (int[] likedSignature : likedSignatures) {
+                maxSimilarity = Math.max(maxSimilarity, MinHasher.similarity(signature, likedSignature));
             }
 
             // 与当前查询内容的相似度
-            double querySimilarity = calculateTextSimilarity(note.getContent(), queryContent);
+            double querySimilarity = MinHasher.similarity(signature, querySignature);
 
             // 综合得分
-            scores.put(note.getId(), 0.7 * maxSimilarity + 0.3 * querySimilarity);
-        }
+            scores.put(noteId, 0.7 * maxSimilarity + 0.3 * querySimilarity);
+        });
 
         return scores;
     }
 
-    /**
-     * 文本相似度计算(使用Hutool工具)
-    */
-    private double calculateTextSimilarity(String text1, String text2) {
-        if (text1 == null || text2 == null || text1.isEmpty() || text2.isEmpty()) {
-            return 0;
-        }
-        return TextSimilarity.similar(text1, text2);
-    }
-
     /**
      * 获取协同过滤推荐得分
     */
     private Map<Integer, Double> getCollaborativeFilteringScores(Integer userId) {
         Map<Integer, Double> friendWeights = getFriendWeights(userId);
-        Map<Integer, List<LikeNote>> userLikesMap = getUserAndFriendLikes(userId, friendWeights.keySet());
-        return calculateNoteScores(userId, userLikesMap, friendWeights);
+        Map<Integer, List<LikeNote>> userLikesMap = getUserAndFriendLikes(userId, friendWeights);
+        return CFScoreUtils.calculateNoteScores(userId, userLikesMap, friendWeights);
     }
 
     /**
@@ -2,35 +2,40 @@ package com.example.notes.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
-import com.example.littleredbook.entity.LikeComment;
+import com.example.littleredbook.dto.ScrollResult;
 import com.example.littleredbook.entity.Note;
 import com.example.littleredbook.entity.NoteComment;
 import com.example.littleredbook.entity.User;
+import com.example.littleredbook.utils.CounterDeltaBuffer;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
+import com.example.littleredbook.utils.LikeStateStore;
 import com.example.littleredbook.utils.MQClient;
+import com.example.littleredbook.utils.SortedSetRedisClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import com.example.notes.dto.CommentNotice;
 import com.example.notes.dto.LikeMessage;
 import com.example.notes.dto.NoteCommentDTO;
 import com.example.notes.dto.NoteDTO;
+import com.example.notes.mapper.CounterDeltaBatchMapper;
 import com.example.notes.mapper.NoteCommentMapper;
 import com.example.notes.service.INoteCommentService;
 import com.example.notes.service.INoteService;
 import com.example.notes.utils.MessagesClient;
-import com.example.notes.utils.UserCenterClient;
+import com.example.notes.utils.UserLoader;
 import jakarta.annotation.Resource;
 import org.springframework.aop.framework.AopContext;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 import static com.example.littleredbook.utils.MQConstants.*;
@@ -45,6 +50,7 @@ import static com.example.littleredbook.utils.RedisConstants.*;
  * 3. 使用Redis Hash结构缓存单条评论数据<br>
  * 4. 提供评论查询、新增、删除及点赞功能<br>
  * 5. 事务注解保障数据库操作原子性<br>
+ * 6. 使用Redis ZSet按评论时间维护笔记评论索引，支持滚动分页<br>
  *
  * <p>关键方法：
  * - ID/笔记维度评论查询<br>
@@ -60,11 +66,21 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
     @Resource
     private HashRedisClient hashRedisClient;
     @Resource
+    private SortedSetRedisClient sortedSetRedisClient;
+    @Resource
+    private IdBloomFilter idBloomFilter;
+    @Resource
+    private CounterDeltaBuffer counterDeltaBuffer;
+    @Resource
+    private CounterDeltaBatchMapper counterDeltaBatchMapper;
+    @Resource
     private MessagesClient messagesClient;
     @Resource
+    private LikeStateStore likeStateStore;
+    @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private UserLoader userLoader;
     @Resource
     private INoteService noteService;
 
@@ -75,6 +91,9 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
      */
     @Override
     public Result getNoteCommentById(Integer id) {
+        if (!idBloomFilter.mightContain(BLOOM_COMMENT_KEY, id)) {
+            return Result.fail("评论不存在");
+        }
         try {
             NoteCommentDTO noteCommentDTO = hashRedisClient.hMultiGet(CACHE_COMMENT_KEY + id, NoteCommentDTO.class);
             if (noteCommentDTO != null) {
@@ -95,19 +114,42 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
     /**
      * 获取指定笔记的评论列表
      * @param noteId 笔记唯一标识
-     * @return 包含评论集合的Result对象
+     * @return 包含评论集合的Result对象（按时间倒序）
      */
     @Override
     public Result getNoteCommentsByNoteId(Integer noteId) {
-        List<Integer> ids = listObjs(query().getWrapper().eq("note_id", noteId));
-        List<NoteCommentDTO> comments = new ArrayList<>();
-        for (Integer id : ids) {
-            comments.add((NoteCommentDTO) this.getNoteCommentById(id).getData());
+        String key = CACHE_COMMENT_NOTE_KEY + noteId;
+        List<Integer> ids = new ArrayList<>();
+        if (this.ensureCommentIndex(noteId)) {
+            for (String member : sortedSetRedisClient.reverseRangeByScore(key, 0, Double.POSITIVE_INFINITY)) {
+                ids.add(Integer.valueOf(member));
+            }
+        } else {
+            ids.addAll(this.getCommentTimesFromDB(noteId, Long.MAX_VALUE, 0, Integer.MAX_VALUE).keySet());
         }
-        if (comments == null) {
-            return Result.fail("获取评论列表失败");
+        return Result.ok(this.hydrateComments(key, ids));
+    }
+
+    /**
+     * 滚动分页查询指定笔记的评论
+     * @param noteId 笔记唯一标识
+     * @param max 上一页返回的minTime（首页传当前时间戳）
+     * @param offset 上一页返回的offset（首页传0）
+     * @return 包含ScrollResult的Result对象（按时间倒序）
+     */
+    @Override
+    public Result scrollNoteCommentsByNoteId(Integer noteId, Long max, Integer offset) {
+        String key = CACHE_COMMENT_NOTE_KEY + noteId;
+        Map<Integer, Long> page = new LinkedHashMap<>();
+        if (this.ensureCommentIndex(noteId)) {
+            for (ZSetOperations.TypedTuple<String> tuple : sortedSetRedisClient.reverseRangeByScoreWithScores(
+                    key, 0, max, offset, COMMENT_SCROLL_PAGE_SIZE)) {
+                page.put(Integer.valueOf(tuple.getValue()), tuple.getScore().longValue());
+            }
+        } else {
+            page = this.getCommentTimesFromDB(noteId, max, offset, COMMENT_SCROLL_PAGE_SIZE);
         }
-        return Result.ok(comments);
+        return Result.ok(ScrollResult.of(page, max, offset, ids -> this.hydrateComments(key, ids)));
     }
 
     /**
@@ -137,18 +179,27 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
     public Result getNoteCommentNotice(Integer userId) {
         List<CommentNotice> commentNotices = new ArrayList<>();
         List<NoteDTO> notes = (List<NoteDTO>) noteService.getNotesByUserId(userId).getData();
+        Map<NoteDTO, List<NoteCommentDTO>> commentsByNote = new LinkedHashMap<>();
+        List<Integer> commenterIds = new ArrayList<>();
         for (NoteDTO note : notes) {
             List<NoteCommentDTO> noteComments = (List<NoteCommentDTO>) this.getNoteCommentsByNoteId(note.getId()).getData();
+            commentsByNote.put(note, noteComments);
+            for (NoteCommentDTO noteComment : noteComments) {
+                if (noteComment.getUser() != null) {
+                    commenterIds.add(noteComment.getUser().getId());
+                }
+            }
+        }
+        Map<Integer, User> users = userLoader.loadMany(commenterIds);
+        commentsByNote.forEach((note, noteComments) -> {
             for (NoteCommentDTO noteComment : noteComments) {
-                Object userData = userCenterClient.getUserById(noteComment.getUser().getId()).getData();
-                User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
                 commentNotices.add(new CommentNotice(
                         noteComment,
                         note,
-                        user
+                        noteComment.getUser() != null ? users.get(noteComment.getUser().getId()) : null
                 ));
             }
-        }
+        });
         commentNotices.sort((o1, o2) -> o2.getNoteComment().getCommentTime().compareTo(o1.getNoteComment().getCommentTime()));
         return Result.ok(commentNotices);
     }
@@ -164,6 +215,7 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
         if (!this.save(noteComment)) {
             throw new RuntimeException("添加评论失败");
         }
+        idBloomFilter.add(BLOOM_COMMENT_KEY, noteComment.getId());
         NoteCommentDTO noteCommentDTO = convertToDTO(noteComment);
         mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_COMMENT_CACHE_ADD_QUEUE_ROUTING_KEY, noteCommentDTO);
         return Result.ok();
@@ -177,9 +229,11 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
     @Override
     @Transactional
     public Result removeNoteComment(Integer id) {
-        if (!this.removeById(id)) {
+        NoteComment noteComment = getById(id);
+        if (noteComment == null || !this.removeById(id)) {
             throw new RuntimeException("删除评论失败");
         }
+        sortedSetRedisClient.remove(CACHE_COMMENT_NOTE_KEY + noteComment.getNoteId(), id);
         mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_COMMENT_CACHE_DELETE_QUEUE_ROUTING_KEY, id);
         return Result.ok();
     }
@@ -192,24 +246,41 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
      */
     @Override
     public Result likeNoteComment(Integer id, Integer userId) {
-        Object likeCommentData =  messagesClient.getLikeCommentByCommentIdAndUserId(
-                id, userId).getData();
-        LikeComment likeComment = BeanUtil.mapToBean((Map<?, ?>) likeCommentData, LikeComment.class, true);
-        boolean isLike = likeComment.getId() != null;
+        boolean liked = likeStateStore.toggle(LIKE_STATE_COMMENT_KEY + userId, id, () -> this.loadLikedCommentIds(userId));
         INoteCommentService noteCommentService = (INoteCommentService) AopContext.currentProxy();
-        noteCommentService.updateNoteCommentLikeNum(id, isLike);
-        if (isLike) {
-            mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_QUEUE_ROUTING_KEY, likeComment);
-            mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_COMMENT_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, -1));
-            return Result.ok();
-        }
-        likeComment.setCommentId(id);
-        likeComment.setUserId(userId);
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_QUEUE_ROUTING_KEY, likeComment);
-        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_COMMENT_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, 1));
+        noteCommentService.updateNoteCommentLikeNum(id, !liked);
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_STATE_QUEUE_ROUTING_KEY, new LikeStateMessage(id, userId, liked));
+        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_COMMENT_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, liked ? 1 : -1));
         return Result.ok();
     }
 
+    /**
+     * 批量查询用户对评论的点赞状态
+     * @param userId 用户唯一标识
+     * @param ids 评论ID集合
+     * @return 包含评论ID-是否已点赞映射的Result对象
+     */
+    @Override
+    public Result getLikedStates(Integer userId, List<Integer> ids) {
+        if (ids.size() > LIKE_STATE_BATCH_MAX_SIZE) {
+            return Result.fail("单次最多查询" + LIKE_STATE_BATCH_MAX_SIZE + "条点赞状态");
+        }
+        return Result.ok(likeStateStore.isLiked(LIKE_STATE_COMMENT_KEY + userId, ids, () -> this.loadLikedCommentIds(userId)));
+    }
+
+    /**
+     * 从消息服务回源用户点赞过的评论ID集合
+     * @param userId 用户唯一标识
+     * @return 评论ID集合
+     */
+    private Collection<Integer> loadLikedCommentIds(Integer userId) {
+        Result result = messagesClient.getLikedCommentIdsByUserId(userId);
+        if (!result.getSuccess()) {
+            throw new RuntimeException("获取用户" + userId + "点赞评论记录失败");
+        }
+        return (List<Integer>) result.getData();
+    }
+
     /**
      * 更新评论点赞计数器
      * @param id 评论唯一标识
@@ -217,17 +288,39 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
      * @return 操作结果的Result对象
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Result updateNoteCommentLikeNum(Integer id, boolean isLike) {
-        String sql = isLike ? "like_num = like_num - 1" : "like_num = like_num + 1";
-        if (!update(new LambdaUpdateWrapper<NoteComment>()
-                .eq(NoteComment::getId, id)
-                .setSql(sql))) {
-            throw new RuntimeException("更新评论点赞数失败");
-        }
+        counterDeltaBuffer.increment(COUNTER_COMMENT_LIKE_KEY, id, isLike ? -1 : 1);
         return Result.ok();
     }
 
+    /**
+     * 将缓冲的点赞增量批量刷新到数据库（每批一条UPDATE ... CASE）
+     */
+    @Override
+    public void flushLikeNumDeltas() {
+        INoteCommentService noteCommentService = (INoteCommentService) AopContext.currentProxy();
+        counterDeltaBuffer.flush(COUNTER_COMMENT_LIKE_KEY, noteCommentService::applyLikeNumDeltas);
+    }
+
+    /**
+     * 在同一事务中登记批次并累加点赞数（每批一条UPDATE ... CASE）
+     * @param batchId 批次ID
+     * @param deltas 评论ID-增量映射
+     */
+    @Override
+    @Transactional
+    public void applyLikeNumDeltas(String batchId, Map<Integer, Long> deltas) {
+        if (counterDeltaBatchMapper.insertIgnore(batchId) == 0) {
+            log.warn("评论点赞数批次已写入，跳过重放: batchId={" + batchId + "}");
+            return;
+        }
+        if (!update(new UpdateWrapper<NoteComment>()
+                .setSql(CounterDeltaBuffer.caseIncrement("like_num", deltas))
+                .in("id", deltas.keySet()))) {
+            log.warn("评论点赞数刷新未命中任何记录: ids={" + deltas.keySet() + "}");
+        }
+    }
+
     /**
      * 从数据库查询指定笔记的评论列表
      * @param noteId 笔记唯一标识
@@ -247,6 +340,97 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
         return noteCommentDTOS;
     }
 
+    /**
+     * 确保笔记评论索引完整存在，索引不存在时全量回源构建
+     * @param noteId 笔记唯一标识
+     * @return true-索引可用，false-构建锁等待超时
+     */
+    private boolean ensureCommentIndex(Integer noteId) {
+        return sortedSetRedisClient.ensureIndex(CACHE_COMMENT_NOTE_KEY + noteId, () -> {
+            Map<String, Double> members = new HashMap<>();
+            this.getCommentTimesFromDB(noteId, Long.MAX_VALUE, 0, Integer.MAX_VALUE)
+                    .forEach((id, time) -> members.put(id.toString(), time.doubleValue()));
+            return members;
+        }, CACHE_COMMENT_NOTE_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 从数据库按评论时间倒序读取评论ID与时间（仅查询两列）
+     * @param noteId 笔记唯一标识
+     * @param max 最大评论时间戳（包含）
+     * @param offset 跳过的记录数
+     * @param count 返回的最大记录数
+     * @return 评论ID-评论时间戳映射，保持倒序
+     */
+    private Map<Integer, Long> getCommentTimesFromDB(Integer noteId, Long max, Integer offset, Integer count) {
+        QueryWrapper<NoteComment> wrapper = new QueryWrapper<NoteComment>()
+                .select("id", "comment_time")
+                .eq("note_id", noteId)
+                .orderByDesc("comment_time");
+        if (max != Long.MAX_VALUE) {
+            wrapper.le("comment_time", new Timestamp(max));
+        }
+        if (count != Integer.MAX_VALUE) {
+            wrapper.last("limit " + offset + ", " + count);
+        }
+        Map<Integer, Long> times = new LinkedHashMap<>();
+        for (NoteComment comment : list(wrapper)) {
+            times.put(comment.getId(), comment.getCommentTime() != null ? comment.getCommentTime().getTime() : 0L);
+        }
+        return times;
+    }
+
+    /**
+     * 以单次管道读取评论哈希，未命中部分合并为一次数据库查询；经数据库确认已删除的评论从索引中移除
+     * @param key 笔记评论索引键
+     * @param ids 评论ID列表（保持顺序）
+     * @return 评论DTO列表
+     */
+    private List<NoteCommentDTO> hydrateComments(String key, List<Integer> ids) {
+        List<NoteCommentDTO> comments;
+        try {
+            comments = hashRedisClient.queryManyWithMutex(CACHE_COMMENT_KEY, ids, NoteCommentDTO.class,
+                    this::getNoteCommentDTOsFromDB, CACHE_COMMENT_TTL, TimeUnit.MINUTES);
+        } catch (ParseException e) {
+            throw new RuntimeException("获取评论列表失败", e);
+        }
+        if (comments.size() < ids.size()) {
+            Set<Integer> missing = new HashSet<>(ids);
+            comments.forEach(comment -> missing.remove(comment.getId()));
+            // 未取到可能只是本次回源失败，仅移除数据库中确已不存在的ID，其余仅在本次响应中跳过
+            listObjs(new QueryWrapper<NoteComment>().select("id").in("id", missing), id -> (Integer) id)
+                    .forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                sortedSetRedisClient.remove(key, missing.toArray());
+            }
+        }
+        return comments;
+    }
+
+    /**
+     * 数据库回源方法：批量组装评论DTO
+     * @param ids 评论ID列表
+     * @return 评论ID-DTO映射（不存在的评论不放入）
+     */
+    private Map<Integer, NoteCommentDTO> getNoteCommentDTOsFromDB(List<Integer> ids) {
+        List<NoteComment> commentList = listByIds(ids);
+        List<Integer> userIds = new ArrayList<>(commentList.size());
+        commentList.forEach(comment -> userIds.add(comment.getUserId()));
+        Map<Integer, User> users = userLoader.loadMany(userIds);
+        Map<Integer, NoteCommentDTO> commentDTOMap = new HashMap<>();
+        for (NoteComment comment : commentList) {
+            NoteCommentDTO commentDTO = BeanUtil.copyProperties(comment, NoteCommentDTO.class);
+            commentDTO.setUser(users.get(comment.getUserId()));
+            commentDTOMap.put(comment.getId(), commentDTO);
+        }
+        Map<Integer, Long> likeDeltas = counterDeltaBuffer.pendingDeltas(COUNTER_COMMENT_LIKE_KEY, commentDTOMap.keySet());
+        likeDeltas.forEach((id, delta) -> {
+            NoteCommentDTO commentDTO = commentDTOMap.get(id);
+            commentDTO.setLikeNum((commentDTO.getLikeNum() != null ? commentDTO.getLikeNum() : 0) + delta.intValue());
+        });
+        return commentDTOMap;
+    }
+
     /**
      * 将NoteComment转换为NoteCommentDTO，并填充User信息
      * @param comment NoteComment对象
@@ -255,12 +439,16 @@ public class NoteCommentServiceImpl extends ServiceImpl<NoteCommentMapper, NoteC
     private NoteCommentDTO convertToDTO(NoteComment comment) {
         NoteCommentDTO commentDTO = BeanUtil.copyProperties(comment, NoteCommentDTO.class);
         Integer userId = comment.getUserId();
-        Object userData = userCenterClient.getUserById(userId).getData();
-        User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
+        User user = userLoader.load(userId);
         if (user == null) {
             log.error("用户服务调用失败: commentId={" + comment.getId() + "}, userId={" + userId + "}");
         }
         commentDTO.setUser(user);
+        Long likeDelta = counterDeltaBuffer.pendingDeltas(COUNTER_COMMENT_LIKE_KEY,
+                Collections.singletonList(comment.getId())).get(comment.getId());
+        if (likeDelta != null) {
+            commentDTO.setLikeNum((commentDTO.getLikeNum() != null ? commentDTO.getLikeNum() : 0) + likeDelta.intValue());
+        }
         return commentDTO;
     }
 }
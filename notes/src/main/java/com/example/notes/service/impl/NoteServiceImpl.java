@@ -2,31 +2,49 @@ package com.example.notes.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.littleredbook.dto.FeedMessage;
+import com.example.littleredbook.dto.NoteSearchHit;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.dto.ScrollResult;
 import com.example.littleredbook.entity.*;
+import com.example.littleredbook.utils.CounterDeltaBuffer;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
+import com.example.littleredbook.utils.LikeStateStore;
 import com.example.littleredbook.utils.MQClient;
+import com.example.littleredbook.utils.SortedSetRedisClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import com.example.notes.dto.LikeMessage;
 import com.example.notes.dto.NoteDTO;
+import com.example.notes.mapper.CounterDeltaBatchMapper;
 import com.example.notes.mapper.NoteMapper;
 import com.example.notes.service.INoteService;
 import com.example.notes.utils.MessagesClient;
+import com.example.notes.utils.SearchClient;
 import com.example.notes.utils.UserCenterClient;
+import com.example.notes.utils.TagLoader;
+import com.example.notes.utils.UserLoader;
 import com.example.notes.utils.CommunityClient;
 import jakarta.annotation.Resource;
 import org.springframework.aop.framework.AopContext;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.example.littleredbook.utils.MQConstants.*;
 import static com.example.littleredbook.utils.MQConstants.TOPIC_USER_EXCHANGE_WITH_USERCENTER_USER_CACHE_LIKE_QUEUE_ROUTING_KEY;
@@ -47,6 +65,7 @@ import static com.example.littleredbook.utils.RedisConstants.CACHE_NOTELIST_TTL;
  * - 采用互斥锁解决缓存击穿问题<br>
  * - 使用Hutool BeanUtil实现安全对象转换<br>
  * - 支持多种排序规则的内存排序<br>
+ * - 点赞排行榜由增量消息维护ZSet并定时与数据库对账<br>
  * - 缓存更新采用延迟双删策略<br>
  *
  * @author Mike
@@ -57,14 +76,30 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
     @Resource
     private UserCenterClient userCenterClient;
     @Resource
+    private UserLoader userLoader;
+    @Resource
+    private TagLoader tagLoader;
+    @Resource
     private CommunityClient communityClient;
     @Resource
     private StringRedisClient stringRedisClient;
     @Resource
     private HashRedisClient hashRedisClient;
     @Resource
+    private IdBloomFilter idBloomFilter;
+    @Resource
+    private SortedSetRedisClient sortedSetRedisClient;
+    @Resource
+    private CounterDeltaBuffer counterDeltaBuffer;
+    @Resource
+    private CounterDeltaBatchMapper counterDeltaBatchMapper;
+    @Resource
     private MessagesClient messagesClient;
     @Resource
+    private SearchClient searchClient;
+    @Resource
+    private LikeStateStore likeStateStore;
+    @Resource
     private MQClient mqClient;
     /**
      * 根据笔记ID查询完整笔记信息
@@ -74,6 +109,9 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
      */
     @Override
     public Result getNoteById(Integer id) throws ParseException {
+        if (!idBloomFilter.mightContain(BLOOM_NOTE_KEY, id)) {
+            return Result.fail("该笔记不存在!");
+        }
         NoteDTO noteDTO = hashRedisClient.queryWithMutex(
                 CACHE_NOTE_KEY,
                 id,
@@ -112,21 +150,7 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
         if (ids == null || ids.isEmpty()) {
             return Result.ok(java.util.Collections.emptyList());
         }
-        List<NoteDTO> noteDTOS = new ArrayList<>();
-        for (Integer id : ids) {
-            try {
-                noteDTOS.add(hashRedisClient.queryWithMutex(
-                        CACHE_NOTE_KEY,
-                        id,
-                        NoteDTO.class,
-                        this::getNoteDTOFromDB,
-                        CACHE_NOTE_TTL,
-                        TimeUnit.MINUTES
-                ));
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        List<NoteDTO> noteDTOS = queryNoteDTOs(ids);
         if (noteDTOS.isEmpty()) {
             return Result.ok(java.util.Collections.emptyList());
         }
@@ -187,121 +211,175 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
     }
 
     /**
-     * 根据标题关键词模糊查询笔记
+     * 根据关键词全文检索笔记
      * @param title 搜索关键词
-     * @return Result标准响应，包含匹配的笔记列表
+     * @param current 页码（从1开始）
+     * @return Result标准响应，包含按相关度排序的笔记列表
+     * @implNote 优先走搜索服务的全文索引，搜索服务不可用时回退为数据库标题模糊匹配
      */
     @Override
-    public Result getNotesByTitle(String title) {
-        List<Integer> noteIds = listObjs(new QueryWrapper<Note>().select("id").like("title", title), obj -> (Integer) obj);
-        List<NoteDTO> noteDTOS = new ArrayList<>();
+    public Result getNotesByTitle(String title, Integer current) {
+        List<Integer> noteIds = new ArrayList<>();
+        Result searchResult;
+        try {
+            searchResult = searchClient.searchNotes(title, current);
+        } catch (Exception e) {
+            log.warn("搜索服务调用失败，回退数据库查询: " + e.getMessage());
+            searchResult = Result.fail("搜索服务不可用");
+        }
+        if (searchResult.getSuccess()) {
+            for (NoteSearchHit hit : BeanUtil.copyToList((List<?>) searchResult.getData(), NoteSearchHit.class)) {
+                noteIds.add(hit.getNoteId());
+            }
+        } else {
+            int offset = (Math.max(current, 1) - 1) * NOTE_SCROLL_PAGE_SIZE;
+            noteIds = listObjs(new QueryWrapper<Note>().select("id").like("title", title).orderByDesc("id")
+                    .last("limit " + offset + ", " + NOTE_SCROLL_PAGE_SIZE), obj -> (Integer) obj);
+        }
         if (noteIds.isEmpty()) {
             return Result.fail("没有找到相关笔记!");
         }
-        noteIds.forEach(id -> {
-            try {
-                noteDTOS.add(hashRedisClient.queryWithMutex(
-                        CACHE_NOTE_KEY,
-                        id,
-                        NoteDTO.class,
-                        this::getNoteDTOFromDB,
-                        CACHE_NOTE_TTL,
-                        TimeUnit.MINUTES
-                ));
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            }
-        });
+        List<NoteDTO> noteDTOS = queryNoteDTOs(noteIds);
         return Result.ok(noteDTOS);
     }
 
     /**
-     * 获取全站笔记并按点赞数降序排列
+     * 按主键游标分批获取公开笔记（供搜索服务构建索引）
+     * @param lastId 上一批最大笔记ID
+     * @param size 批大小
+     * @return Result标准响应，包含笔记列表
+     */
+    @Override
+    public Result getPublicNotesAfterId(Integer lastId, Integer size) {
+        return Result.ok(list(new QueryWrapper<Note>().select("id", "title", "content", "is_public")
+                .gt("id", lastId).ne("is_public", 0).orderByAsc("id").last("limit " + size)));
+    }
+
+    /**
+     * 分页获取全站笔记并按点赞数降序排列
+     * @param current 页码（从1开始）
      * @return Result标准响应，包含排序后的笔记列表
+     * @implNote 排行榜由点赞增量消息维护，单页读取为一次ZREVRANGEBYSCORE加一次管道批量取笔记
      */
     @Override
-    public Result getAllNotesSortedByLikeNum() {
-        List<Integer> noteIds = listObjs(new QueryWrapper<Note>().select("id"), obj -> (Integer) obj);
-        List<NoteDTO> noteDTOS = new ArrayList<>();
+    public Result getAllNotesSortedByLikeNum(Integer current) {
+        int offset = (Math.max(current, 1) - 1) * RANK_NOTE_LIKE_PAGE_SIZE;
+        List<Integer> noteIds = new ArrayList<>();
+        if (this.ensureLikeRank()) {
+            for (ZSetOperations.TypedTuple<String> tuple : sortedSetRedisClient.reverseRangeByScoreWithScores(
+                    RANK_NOTE_LIKE_KEY, 0, Double.POSITIVE_INFINITY, offset, RANK_NOTE_LIKE_PAGE_SIZE)) {
+                noteIds.add(Integer.valueOf(tuple.getValue()));
+            }
+        } else {
+            noteIds = listObjs(new QueryWrapper<Note>().select("id").orderByDesc("like_num").orderByDesc("id")
+                    .last("limit " + offset + ", " + RANK_NOTE_LIKE_PAGE_SIZE), obj -> (Integer) obj);
+        }
         if (noteIds.isEmpty()) {
             return Result.fail("没有找到相关笔记!");
         }
-        noteIds.forEach(id -> {
-            try {
-                noteDTOS.add(hashRedisClient.queryWithMutex(
-                        CACHE_NOTE_KEY,
-                        id,
-                        NoteDTO.class,
-                        this::getNoteDTOFromDB,
-                        CACHE_NOTE_TTL,
-                        TimeUnit.MINUTES
-                ));
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
+        return Result.ok(queryNoteDTOs(noteIds));
+    }
+
+    /**
+     * 以数据库点赞数全量重建点赞排行榜
+     * @return true-重建完成，false-排行榜尚未构建或其他节点正在重建
+     */
+    @Override
+    public boolean reconcileLikeRank() {
+        return sortedSetRedisClient.rebuildIndex(RANK_NOTE_LIKE_KEY, this::getLikeNumsFromDB,
+                RANK_NOTE_LIKE_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 滚动分页获取全站笔记并按创建时间倒序排列
+     * @param max 上一页返回的minTime（首页传当前时间戳）
+     * @param offset 上一页返回的offset（首页传0）
+     * @return Result标准响应，包含ScrollResult（时间倒序的笔记列表）
+     * @implNote 最新的TIMELINE_NOTE_MAX_SIZE条笔记由ZSet时间线承载，游标越过时间线后
+     * 以create_time <= max的键集查询回源，深分页与首页开销相同
+     */
+    @Override
+    public Result getAllNotesSortedByCreatTime(Long max, Integer offset) {
+        Map<Integer, Long> page = new LinkedHashMap<>();
+        boolean indexed = this.ensureTimeline();
+        if (indexed) {
+            for (ZSetOperations.TypedTuple<String> tuple : sortedSetRedisClient.reverseRangeByScoreWithScores(
+                    TIMELINE_NOTE_KEY, 0, max, offset, NOTE_SCROLL_PAGE_SIZE)) {
+                page.put(Integer.valueOf(tuple.getValue()), tuple.getScore().longValue());
             }
-        });
-        noteDTOS.sort((o1, o2) -> (int) (o2.getLikeNum() - o1.getLikeNum()));
-        return Result.ok(noteDTOS);
+        }
+        if (!indexed || (page.size() < NOTE_SCROLL_PAGE_SIZE && this.isTimelineTruncated())) {
+            page = this.getCreateTimesFromDB(max, offset, NOTE_SCROLL_PAGE_SIZE);
+        }
+        return Result.ok(ScrollResult.of(page, max, offset, this::queryNoteDTOs));
     }
 
     /**
-     * 获取全站笔记并按创建时间倒序排列
-     * @return Result标准响应，包含时间排序的笔记列表
+     * 滚动分页获取用户关注流
+     * @param userId 用户ID
+     * @param max 上一页返回的minTime（首页传当前时间戳）
+     * @param offset 上一页返回的offset（首页传0）
+     * @return Result标准响应，包含ScrollResult（时间倒序的笔记列表）
+     * @implNote 普通作者的笔记已扇出到收件箱，单次ZREVRANGEBYSCORE即可取页；
+     * 关注了大V时与其发件箱管道读取后按时间归并；
+     * 收件箱/发件箱过期或因关注变更被删除时从数据库完整构建，读取时续期收件箱，不活跃用户的收件箱自然过期
      */
     @Override
-    public Result getAllNotesSortedByCreatTime() {
-        List<Integer> noteIds = listObjs(new QueryWrapper<Note>().select("id"), obj -> (Integer) obj);
-        List<NoteDTO> noteDTOS = new ArrayList<>();
-        if (noteIds.isEmpty()) {
-            return Result.fail("没有找到相关笔记!");
+    public Result getFollowFeed(Integer userId, Long max, Integer offset) {
+        List<String> keys = new ArrayList<>();
+        String inboxKey = FEED_KEY + userId;
+        sortedSetRedisClient.ensureIndex(inboxKey, () -> this.getInboxFromDB(userId), FEED_INBOX_TTL, TimeUnit.MINUTES);
+        sortedSetRedisClient.expire(inboxKey, FEED_INBOX_TTL, TimeUnit.MINUTES);
+        keys.add(inboxKey);
+        for (Integer authorId : this.getPullAuthorIds(userId)) {
+            String outboxKey = FEED_OUTBOX_KEY + authorId;
+            sortedSetRedisClient.ensureIndex(outboxKey, () -> this.getOutboxFromDB(authorId),
+                    FEED_OUTBOX_TTL, TimeUnit.MINUTES);
+            keys.add(outboxKey);
         }
-        noteIds.forEach(id -> {
-            try {
-                noteDTOS.add(hashRedisClient.queryWithMutex(
-                        CACHE_NOTE_KEY,
-                        id,
-                        NoteDTO.class,
-                        this::getNoteDTOFromDB,
-                        CACHE_NOTE_TTL,
-                        TimeUnit.MINUTES
-                ));
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
+        Map<Integer, Long> page = new LinkedHashMap<>();
+        if (keys.size() == 1) {
+            for (ZSetOperations.TypedTuple<String> tuple : sortedSetRedisClient.reverseRangeByScoreWithScores(
+                    keys.get(0), 0, max, offset, FEED_SCROLL_PAGE_SIZE)) {
+                page.put(Integer.valueOf(tuple.getValue()), tuple.getScore().longValue());
             }
+            return Result.ok(ScrollResult.of(page, max, offset, this::queryNoteDTOs));
+        }
+        Map<String, Double> merged = new HashMap<>();
+        for (Set<ZSetOperations.TypedTuple<String>> tuples : sortedSetRedisClient.reverseRangeByScoreWithScores(
+                keys, 0, max, 0, offset + FEED_SCROLL_PAGE_SIZE)) {
+            tuples.forEach(tuple -> merged.put(tuple.getValue(), tuple.getScore()));
+        }
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort((o1, o2) -> {
+            int byScore = o2.getValue().compareTo(o1.getValue());
+            return byScore != 0 ? byScore : o2.getKey().compareTo(o1.getKey());
         });
-        noteDTOS.sort((o1, o2) -> o2.getCreateTime().compareTo(o1.getCreateTime()));
-        return Result.ok(noteDTOS);
+        int end = Math.min(offset + FEED_SCROLL_PAGE_SIZE, entries.size());
+        for (Map.Entry<String, Double> entry : entries.subList(Math.min(offset, end), end)) {
+            page.put(Integer.valueOf(entry.getKey()), entry.getValue().longValue());
+        }
+        return Result.ok(ScrollResult.of(page, max, offset, this::queryNoteDTOs));
     }
 
     /**
-     * 根据标签查询关联笔记
+     * 根据标签查询关联笔记（按点赞数降序分页）
      * @param tagId 标签ID
-     * @return Result标准响应，包含标签关联的笔记列表
+     * @param current 页码（从1开始）
+     * @return Result标准响应，包含标签关联的一页笔记与总数
+     * @implNote 社区服务在标签位图上按点赞排行榜完成排序分页，本地只加载当前页笔记
      */
     @Override
-    public Result getNotesByTag(Integer tagId) {
-        Object tagData = communityClient.getNoteIdByTagId(tagId).getData();
-        List<Integer> noteIds = (List<Integer>) tagData;
-        List<NoteDTO> noteDTOS = new ArrayList<>();
-        if (noteIds.isEmpty()) {
+    public Result getNotesByTag(Integer tagId, Integer current) {
+        Result tagResult = communityClient.queryNoteIdsByTags(List.of(tagId), null, null, current);
+        if (!Boolean.TRUE.equals(tagResult.getSuccess())) {
+            return Result.fail(tagResult.getErrorMsg());
+        }
+        List<Integer> noteIds = (List<Integer>) tagResult.getData();
+        if (noteIds == null || noteIds.isEmpty()) {
             return Result.fail("没有找到相关笔记!");
         }
-        noteIds.forEach(id -> {
-            try {
-                noteDTOS.add(hashRedisClient.queryWithMutex(
-                        CACHE_NOTE_KEY,
-                        id,
-                        NoteDTO.class,
-                        this::getNoteDTOFromDB,
-                        CACHE_NOTE_TTL,
-                        TimeUnit.MINUTES
-                ));
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            }
-        });
-        noteDTOS.sort((o1, o2) -> (int) (o2.getLikeNum() - o1.getLikeNum()));
-        return Result.ok(noteDTOS);
+        return Result.ok(queryNoteDTOs(noteIds), tagResult.getTotal());
     }
 
     /**
@@ -312,9 +390,21 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
     @Override
     @Transactional
     public Result addNote(Note note) {
+        if (note.getCreateTime() == null) {
+            note.setCreateTime(new Timestamp(System.currentTimeMillis()));
+        }
         if (!this.save(note)) {
             throw new RuntimeException("添加新笔记失败");
         }
+        idBloomFilter.add(BLOOM_NOTE_KEY, note.getId());
+        sortedSetRedisClient.add(RANK_NOTE_LIKE_KEY, note.getId(), 0);
+        sortedSetRedisClient.add(TIMELINE_NOTE_KEY, note.getId(), note.getCreateTime().getTime());
+        sortedSetRedisClient.trimIndex(TIMELINE_NOTE_KEY, TIMELINE_NOTE_MAX_SIZE);
+        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_SEARCH_NOTE_INDEX_UPSERT_QUEUE_ROUTING_KEY, note);
+        if (!Integer.valueOf(0).equals(note.getIsPublic())) {
+            mqClient.sendMessage(TOPIC_COMMUNITY_EXCHANGE, TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_FEED_PUSH_QUEUE_ROUTING_KEY,
+                    new FeedMessage(note.getId(), note.getUserId(), note.getCreateTime().getTime()));
+        }
         return Result.ok(note.getId());
     }
 
@@ -334,6 +424,7 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
             throw new RuntimeException("修改笔记失败");
         }
         hashRedisClient.delete(CACHE_NOTE_KEY + id);
+        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_SEARCH_NOTE_INDEX_UPSERT_QUEUE_ROUTING_KEY, getById(id));
         return Result.ok();
     }
 
@@ -345,24 +436,41 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
      */
     @Override
     public Result likeNote(Integer id, Integer userId) {
-        Object likeNoteData =  messagesClient.getLikeNoteByNoteIdAndUserId(
-                id, userId).getData();
-        LikeNote likeNote = BeanUtil.mapToBean((Map<?, ?>) likeNoteData, LikeNote.class, true);
-        boolean isLike = likeNote.getId() != null;
+        boolean liked = likeStateStore.toggle(LIKE_STATE_NOTE_KEY + userId, id, () -> this.loadLikedNoteIds(userId));
         INoteService noteService = (INoteService) AopContext.currentProxy();
-        noteService.updateNoteLikeNum(id, isLike);
-        if (isLike) {
-            mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_QUEUE_ROUTING_KEY, likeNote);
-            mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_NOTE_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, -1));
-            return Result.ok();
-        }
-        likeNote.setNoteId(id);
-        likeNote.setUserId(userId);
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_QUEUE_ROUTING_KEY, likeNote);
-        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_NOTE_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, 1));
+        noteService.updateNoteLikeNum(id, !liked);
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_STATE_QUEUE_ROUTING_KEY, new LikeStateMessage(id, userId, liked));
+        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_NOTE_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, liked ? 1 : -1));
         return Result.ok();
     }
 
+    /**
+     * 批量查询用户对笔记的点赞状态
+     * @param userId 用户唯一标识
+     * @param ids 笔记ID集合
+     * @return 包含笔记ID-是否已点赞映射的Result对象
+     */
+    @Override
+    public Result getLikedStates(Integer userId, List<Integer> ids) {
+        if (ids.size() > LIKE_STATE_BATCH_MAX_SIZE) {
+            return Result.fail("单次最多查询" + LIKE_STATE_BATCH_MAX_SIZE + "条点赞状态");
+        }
+        return Result.ok(likeStateStore.isLiked(LIKE_STATE_NOTE_KEY + userId, ids, () -> this.loadLikedNoteIds(userId)));
+    }
+
+    /**
+     * 从消息服务回源用户点赞过的笔记ID集合
+     * @param userId 用户唯一标识
+     * @return 笔记ID集合
+     */
+    private Collection<Integer> loadLikedNoteIds(Integer userId) {
+        Result result = messagesClient.getLikedNoteIdsByUserId(userId);
+        if (!result.getSuccess()) {
+            throw new RuntimeException("获取用户" + userId + "点赞笔记记录失败");
+        }
+        return (List<Integer>) result.getData();
+    }
+
     /**
      * 收藏笔记（带缓存失效）
      * @param id 笔记ID
@@ -390,41 +498,248 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
     }
 
     /**
-     * 更新笔记点赞数（带缓存失效）
+     * 更新笔记点赞数（增量写入Redis缓冲，定时批量刷新到数据库）
      * @param id 笔记ID
      * @param isLike 是否点赞
      * @return Result标准响应，包含操作结果
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Result updateNoteLikeNum(Integer id, boolean isLike) {
-        String sql = isLike ? "like_num = like_num - 1" : "like_num = like_num + 1";
-        if (!update(new LambdaUpdateWrapper<Note>()
-                .eq(Note::getId, id)
-                .setSql(sql))) {
-            throw new RuntimeException("更新笔记点赞数失败");
-        }
+        counterDeltaBuffer.increment(COUNTER_NOTE_LIKE_KEY, id, isLike ? -1 : 1);
         return Result.ok();
     }
 
     /**
-     * 更新笔记收藏数（带缓存失效）
+     * 更新笔记收藏数（增量写入Redis缓冲，定时批量刷新到数据库）
      * @param id 笔记ID
      * @param isCollection 是否收藏
      * @return Result标准响应，包含操作结果
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Result updateNoteCollectionNum(Integer id, boolean isCollection) {
-        String sql = isCollection ? "collections_num = collections_num - 1" : "collections_num = collections_num + 1";
-        if (!update(new LambdaUpdateWrapper<Note>()
-                .eq(Note::getId, id)
-                .setSql(sql))) {
-            throw new RuntimeException("更新笔记收藏数失败");
-        }
+        counterDeltaBuffer.increment(COUNTER_NOTE_COLLECTION_KEY, id, isCollection ? -1 : 1);
         return Result.ok();
     }
 
+    /**
+     * 将缓冲的点赞/收藏增量批量刷新到数据库（每批一条UPDATE ... CASE）
+     */
+    @Override
+    public void flushCounterDeltas() {
+        INoteService noteService = (INoteService) AopContext.currentProxy();
+        counterDeltaBuffer.flush(COUNTER_NOTE_LIKE_KEY,
+                (batchId, deltas) -> noteService.applyCounterDeltas("like_num", batchId, deltas));
+        counterDeltaBuffer.flush(COUNTER_NOTE_COLLECTION_KEY,
+                (batchId, deltas) -> noteService.applyCounterDeltas("collections_num", batchId, deltas));
+    }
+
+    /**
+     * 批量查询笔记DTO：单次管道读取缓存，未命中部分合并回源
+     * @param ids 笔记ID列表
+     * @return 按ids顺序排列的笔记DTO列表（不存在的笔记被跳过）
+     */
+    private List<NoteDTO> queryNoteDTOs(List<Integer> ids) {
+        try {
+            return hashRedisClient.queryManyWithMutex(
+                    CACHE_NOTE_KEY,
+                    ids,
+                    NoteDTO.class,
+                    this::getNoteDTOsFromDB,
+                    CACHE_NOTE_TTL,
+                    TimeUnit.MINUTES
+            );
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 在同一事务中登记批次并按ID批量累加计数列
+     * @param column 计数列名
+     * @param batchId 批次ID
+     * @param deltas 笔记ID-增量映射
+     */
+    @Override
+    @Transactional
+    public void applyCounterDeltas(String column, String batchId, Map<Integer, Long> deltas) {
+        if (counterDeltaBatchMapper.insertIgnore(batchId) == 0) {
+            log.warn("笔记计数批次已写入，跳过重放: batchId={" + batchId + "}");
+            return;
+        }
+        if (!update(new UpdateWrapper<Note>()
+                .setSql(CounterDeltaBuffer.caseIncrement(column, deltas))
+                .in("id", deltas.keySet()))) {
+            log.warn("笔记计数刷新未命中任何记录: column={" + column + "}, ids={" + deltas.keySet() + "}");
+        }
+    }
+
+    /**
+     * 为回源组装的笔记DTO叠加尚未刷新到数据库的点赞/收藏增量
+     * @param noteDTOs 笔记DTO集合
+     */
+    private void applyPendingDeltas(Collection<NoteDTO> noteDTOs) {
+        if (noteDTOs.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = noteDTOs.stream().map(NoteDTO::getId).collect(Collectors.toList());
+        Map<Integer, Long> likeDeltas = counterDeltaBuffer.pendingDeltas(COUNTER_NOTE_LIKE_KEY, ids);
+        Map<Integer, Long> collectionDeltas = counterDeltaBuffer.pendingDeltas(COUNTER_NOTE_COLLECTION_KEY, ids);
+        for (NoteDTO noteDTO : noteDTOs) {
+            Long likeDelta = likeDeltas.get(noteDTO.getId());
+            if (likeDelta != null) {
+                noteDTO.setLikeNum((noteDTO.getLikeNum() != null ? noteDTO.getLikeNum() : 0) + likeDelta.intValue());
+            }
+            Long collectionDelta = collectionDeltas.get(noteDTO.getId());
+            if (collectionDelta != null) {
+                noteDTO.setCollectionsNum((noteDTO.getCollectionsNum() != null ? noteDTO.getCollectionsNum() : 0)
+                        + collectionDelta.intValue());
+            }
+        }
+    }
+
+    /**
+     * 确保点赞排行榜已完整构建
+     * @return true-排行榜可用，false-等待其他节点构建超时
+     */
+    private boolean ensureLikeRank() {
+        return sortedSetRedisClient.ensureIndex(RANK_NOTE_LIKE_KEY, this::getLikeNumsFromDB,
+                RANK_NOTE_LIKE_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 按主键游标分页读取全部笔记的点赞数（仅查询两列）
+     * @return 笔记ID-点赞数映射
+     */
+    private Map<String, Double> getLikeNumsFromDB() {
+        Map<String, Double> likeNums = new HashMap<>();
+        int lastId = 0;
+        while (true) {
+            List<Note> notes = list(new QueryWrapper<Note>().select("id", "like_num").gt("id", lastId)
+                    .orderByAsc("id").last("limit " + INDEX_REBUILD_BATCH_SIZE));
+            for (Note note : notes) {
+                int likeNum = note.getLikeNum() != null ? note.getLikeNum() : 0;
+                likeNums.put(note.getId().toString(), (double) Math.max(likeNum, 0));
+            }
+            if (notes.size() < INDEX_REBUILD_BATCH_SIZE) {
+                counterDeltaBuffer.pendingDeltas(COUNTER_NOTE_LIKE_KEY).forEach((id, delta) ->
+                        likeNums.computeIfPresent(id.toString(), (member, likeNum) -> Math.max(likeNum + delta, 0)));
+                return likeNums;
+            }
+            lastId = notes.get(notes.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 获取用户已关注且需拉取发件箱的大V
+     * @param userId 用户ID
+     * @return 作者ID列表（无大V或关注服务不可用时为空，退化为仅读收件箱）
+     */
+    private List<Integer> getPullAuthorIds(Integer userId) {
+        Long bigAuthorNum = sortedSetRedisClient.zCard(FEED_BIG_AUTHOR_KEY);
+        if (bigAuthorNum == null || bigAuthorNum == 0) {
+            return List.of();
+        }
+        Result result = communityClient.getPullAuthorIds(userId);
+        if (!result.getSuccess() || result.getData() == null) {
+            log.error("关注服务调用失败: userId={" + userId + "}");
+            return List.of();
+        }
+        return (List<Integer>) result.getData();
+    }
+
+    /**
+     * 从数据库构建关注流收件箱（已关注的非大V作者的最新公开笔记）
+     * @param userId 用户ID
+     * @return 笔记ID-发布时间映射，最多FEED_INBOX_MAX_SIZE条
+     */
+    private Map<String, Double> getInboxFromDB(Integer userId) {
+        Result result = communityClient.getFolloweeIds(userId);
+        if (!result.getSuccess() || result.getData() == null) {
+            throw new RuntimeException("获取用户" + userId + "关注列表失败");
+        }
+        List<Integer> followeeIds = (List<Integer>) result.getData();
+        List<Double> bigAuthorScores = sortedSetRedisClient.scores(FEED_BIG_AUTHOR_KEY, followeeIds);
+        List<Integer> pushAuthorIds = new ArrayList<>();
+        for (int i = 0; i < followeeIds.size(); i++) {
+            if (bigAuthorScores.isEmpty() || bigAuthorScores.get(i) == null) {
+                pushAuthorIds.add(followeeIds.get(i));
+            }
+        }
+        List<Note> notes = new ArrayList<>();
+        for (int from = 0; from < pushAuthorIds.size(); from += FEED_FANOUT_BATCH_SIZE) {
+            notes.addAll(list(new QueryWrapper<Note>().select("id", "create_time")
+                    .in("user_id", pushAuthorIds.subList(from, Math.min(from + FEED_FANOUT_BATCH_SIZE, pushAuthorIds.size())))
+                    .ne("is_public", 0).orderByDesc("create_time").last("limit " + FEED_INBOX_MAX_SIZE)));
+        }
+        return notes.stream()
+                .filter(note -> note.getCreateTime() != null)
+                .sorted((o1, o2) -> o2.getCreateTime().compareTo(o1.getCreateTime()))
+                .limit(FEED_INBOX_MAX_SIZE)
+                .collect(Collectors.toMap(note -> note.getId().toString(),
+                        note -> (double) note.getCreateTime().getTime()));
+    }
+
+    /**
+     * 从数据库构建作者发件箱（最新公开笔记）
+     * @param authorId 作者ID
+     * @return 笔记ID-发布时间映射，最多FEED_OUTBOX_MAX_SIZE条
+     */
+    private Map<String, Double> getOutboxFromDB(Integer authorId) {
+        Map<String, Double> members = new HashMap<>();
+        for (Note note : list(new QueryWrapper<Note>().select("id", "create_time").eq("user_id", authorId)
+                .ne("is_public", 0).orderByDesc("create_time").last("limit " + FEED_OUTBOX_MAX_SIZE))) {
+            if (note.getCreateTime() != null) {
+                members.put(note.getId().toString(), (double) note.getCreateTime().getTime());
+            }
+        }
+        return members;
+    }
+
+    /**
+     * 确保最新笔记时间线已构建（仅载入最新的TIMELINE_NOTE_MAX_SIZE条）
+     * @return true-时间线可用，false-等待其他节点构建超时
+     */
+    private boolean ensureTimeline() {
+        return sortedSetRedisClient.ensureIndex(TIMELINE_NOTE_KEY, () -> {
+            Map<String, Double> members = new HashMap<>();
+            this.getCreateTimesFromDB(Long.MAX_VALUE, 0, TIMELINE_NOTE_MAX_SIZE)
+                    .forEach((id, time) -> members.put(id.toString(), time.doubleValue()));
+            return members;
+        }, TIMELINE_NOTE_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 判断时间线是否因容量上限未包含全部笔记
+     * @return true-更早的笔记需回源数据库
+     */
+    private boolean isTimelineTruncated() {
+        Long size = sortedSetRedisClient.zCard(TIMELINE_NOTE_KEY);
+        return size == null || size > TIMELINE_NOTE_MAX_SIZE;
+    }
+
+    /**
+     * 从数据库按创建时间倒序键集读取笔记ID与创建时间（仅查询两列）
+     * @param max 最大创建时间戳（包含）
+     * @param offset 与max时间戳相同且已返回的记录数
+     * @param count 返回的最大记录数
+     * @return 笔记ID-创建时间戳映射，保持倒序
+     */
+    private Map<Integer, Long> getCreateTimesFromDB(Long max, Integer offset, Integer count) {
+        QueryWrapper<Note> wrapper = new QueryWrapper<Note>()
+                .select("id", "create_time")
+                .orderByDesc("create_time")
+                .orderByDesc("id");
+        if (max != Long.MAX_VALUE) {
+            wrapper.le("create_time", new Timestamp(max));
+        }
+        wrapper.last("limit " + offset + ", " + count);
+        Map<Integer, Long> times = new LinkedHashMap<>();
+        for (Note note : list(wrapper)) {
+            times.put(note.getId(), note.getCreateTime() != null ? note.getCreateTime().getTime() : 0L);
+        }
+        return times;
+    }
+
     /**
      * 数据库回源方法：组装完整笔记DTO
      * @param id 笔记ID
@@ -436,10 +751,43 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
         if (note == null) {
             return null;
         }
-        Object userData = userCenterClient.getUserById(note.getUserId()).getData();
-        Object tagData = communityClient.getTagsByNoteId(id).getData();
-        User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
-        List<Tag> tags = BeanUtil.copyToList((List<?>) tagData, Tag.class);
+        NoteDTO noteDTO = toNoteDTO(note, userLoader.load(note.getUserId()), tagLoader.load(id));
+        if (noteDTO != null) {
+            this.applyPendingDeltas(List.of(noteDTO));
+        }
+        return noteDTO;
+    }
+
+    /**
+     * 数据库回源方法：批量组装笔记DTO
+     * @param ids 笔记ID列表
+     * @return 笔记ID-完整DTO映射（不存在或组装失败的笔记不放入）
+     * @implNote 通过listByIds单次查询笔记表，作者信息经UserLoader、标签经TagLoader各单次批量获取
+     */
+    private Map<Integer, NoteDTO> getNoteDTOsFromDB(List<Integer> ids) {
+        Map<Integer, NoteDTO> noteDTOMap = new HashMap<>();
+        List<Note> notes = listByIds(ids);
+        Map<Integer, User> users = userLoader.loadMany(notes.stream().map(Note::getUserId).collect(Collectors.toList()));
+        Map<Integer, List<Tag>> tags = tagLoader.loadMany(notes.stream().map(Note::getId).collect(Collectors.toList()));
+        for (Note note : notes) {
+            NoteDTO noteDTO = toNoteDTO(note, users.get(note.getUserId()), tags.get(note.getId()));
+            if (noteDTO != null) {
+                noteDTOMap.put(note.getId(), noteDTO);
+            }
+        }
+        this.applyPendingDeltas(noteDTOMap.values());
+        return noteDTOMap;
+    }
+
+    /**
+     * 为笔记填充用户信息和标签
+     * @param note 笔记实体
+     * @param user 作者信息
+     * @param tags 笔记标签
+     * @return 完整DTO对象，依赖服务调用失败时返回null
+     */
+    private NoteDTO toNoteDTO(Note note, User user, List<Tag> tags) {
+        Integer id = note.getId();
         if (user == null) {
             log.error("用户服务调用失败: noteId={" + id + "}, userId={" + note.getUserId() + "}");
             return null;
@@ -465,22 +813,22 @@ public class NoteServiceImpl extends ServiceImpl<NoteMapper, Note> implements IN
         if (notes.isEmpty()) {
             return java.util.Collections.emptyList();
         }
-        Object data = userCenterClient.getUserById(userId).getData();
-        User user = BeanUtil.mapToBean((Map<?, ?>) data, User.class, true);
+        User user = userLoader.load(userId);
         if (user == null) {
             log.error("用户服务调用失败");
             return null;
         }
         List<NoteDTO> noteDTOs = BeanUtil.copyToList(notes, NoteDTO.class);
         noteDTOs.forEach(noteDTO -> noteDTO.setUser(user));
+        Map<Integer, List<Tag>> tags = tagLoader.loadMany(notes.stream().map(Note::getId).collect(Collectors.toList()));
         noteDTOs.forEach(noteDTO -> {
-          Object tagData = communityClient.getTagsByNoteId(noteDTO.getId()).getData();
-          List<Tag> tags = BeanUtil.copyToList((List<?>) tagData, Tag.class);
-          if (tags == null) {
+          List<Tag> noteTags = tags.get(noteDTO.getId());
+          if (noteTags == null) {
               log.error("标签服务调用失败: noteId={" + noteDTO.getId() + "}");
           }
-          noteDTO.setTags(tags);
+          noteDTO.setTags(noteTags);
         });
+        this.applyPendingDeltas(noteDTOs);
         return noteDTOs;
     }
 }
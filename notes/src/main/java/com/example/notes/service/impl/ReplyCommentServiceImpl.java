@@ -1,33 +1,38 @@
 package com.example.notes.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
-import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.littleredbook.dto.LikeStateMessage;
 import com.example.littleredbook.dto.Result;
-import com.example.littleredbook.entity.LikeReply;
 import com.example.littleredbook.entity.NoteComment;
 import com.example.littleredbook.entity.ReplyComment;
 import com.example.littleredbook.entity.User;
+import com.example.littleredbook.utils.CounterDeltaBuffer;
 import com.example.littleredbook.utils.HashRedisClient;
+import com.example.littleredbook.utils.IdBloomFilter;
+import com.example.littleredbook.utils.LikeStateStore;
 import com.example.littleredbook.utils.MQClient;
 import com.example.littleredbook.utils.StringRedisClient;
 import com.example.notes.dto.LikeMessage;
 import com.example.notes.dto.NoteCommentDTO;
 import com.example.notes.dto.ReplyCommentDTO;
 import com.example.notes.dto.ReplyNotice;
+import com.example.notes.mapper.CounterDeltaBatchMapper;
 import com.example.notes.mapper.ReplyCommentMapper;
 import com.example.notes.service.INoteCommentService;
 import com.example.notes.service.IReplyCommentService;
 import com.example.notes.utils.MessagesClient;
-import com.example.notes.utils.UserCenterClient;
+import com.example.notes.utils.UserLoader;
 import jakarta.annotation.Resource;
 import org.springframework.aop.framework.AopContext;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -61,11 +66,19 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
     @Resource
     private HashRedisClient hashRedisClient;
     @Resource
+    private IdBloomFilter idBloomFilter;
+    @Resource
+    private CounterDeltaBuffer counterDeltaBuffer;
+    @Resource
+    private CounterDeltaBatchMapper counterDeltaBatchMapper;
+    @Resource
     private MessagesClient messagesClient;
     @Resource
+    private LikeStateStore likeStateStore;
+    @Resource
     private MQClient mqClient;
     @Resource
-    private UserCenterClient userCenterClient;
+    private UserLoader userLoader;
     @Resource
     private INoteCommentService noteCommentService;
 
@@ -76,6 +89,9 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
      */
     @Override
     public Result getReplyCommentById(Integer id) {
+        if (!idBloomFilter.mightContain(BLOOM_REPLYCOMMENT_KEY, id)) {
+            return Result.fail("回复评论不存在");
+        }
         try {
             ReplyCommentDTO replyCommentDTO = hashRedisClient.hMultiGet(CACHE_REPLYCOMMENT_KEY + id, ReplyCommentDTO.class);
             if (replyCommentDTO != null) {
@@ -127,18 +143,27 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
     public Result getReplyCommentNotice(Integer userId) {
         List<ReplyNotice> replyNotices = new ArrayList<>();
         List<NoteCommentDTO> noteComments = (List<NoteCommentDTO>) noteCommentService.getNoteCommentsByUserId(userId).getData();
+        Map<NoteCommentDTO, List<ReplyCommentDTO>> repliesByComment = new LinkedHashMap<>();
+        List<Integer> replierIds = new ArrayList<>();
         for (NoteCommentDTO noteComment : noteComments) {
             List<ReplyCommentDTO> replyComments = (List<ReplyCommentDTO>) this.getReplyCommentsByCommentId(noteComment.getId()).getData();
+            repliesByComment.put(noteComment, replyComments);
+            for (ReplyCommentDTO replyComment : replyComments) {
+                if (replyComment.getUser() != null) {
+                    replierIds.add(replyComment.getUser().getId());
+                }
+            }
+        }
+        Map<Integer, User> users = userLoader.loadMany(replierIds);
+        repliesByComment.forEach((noteComment, replyComments) -> {
             for (ReplyCommentDTO replyComment : replyComments) {
-                Object userData = userCenterClient.getUserById(replyComment.getUser().getId()).getData();
-                User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
                 replyNotices.add(new ReplyNotice(
                         replyComment,
                         noteComment,
-                        user
+                        replyComment.getUser() != null ? users.get(replyComment.getUser().getId()) : null
                 ));
             }
-        }
+        });
         replyNotices.sort((o1, o2) -> o2.getReplyComment().getReplyTime().compareTo(o1.getReplyComment().getReplyTime()));
         return Result.ok(replyNotices);
     }
@@ -154,6 +179,7 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
         if (!this.save(replyComment)) {
             throw new RuntimeException("添加回复评论失败");
         }
+        idBloomFilter.add(BLOOM_REPLYCOMMENT_KEY, replyComment.getId());
         ReplyCommentDTO replyCommentDTO = convertToDTO(replyComment);
         mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_REPLY_CACHE_ADD_QUEUE_ROUTING_KEY, replyCommentDTO);
         return Result.ok();
@@ -182,24 +208,41 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
      */
     @Override
     public Result likeReplyComment(Integer id, Integer userId) {
-        Object likeReplyData =  messagesClient.getLikeReplyByReplyIdAndUserId(
-                id, userId).getData();
-        LikeReply likeReply = BeanUtil.mapToBean((Map<?, ?>) likeReplyData, LikeReply.class, true);
-        boolean isLike = likeReply.getId() != null;
+        boolean liked = likeStateStore.toggle(LIKE_STATE_REPLYCOMMENT_KEY + userId, id, () -> this.loadLikedReplyIds(userId));
         IReplyCommentService replyCommentService = (IReplyCommentService) AopContext.currentProxy();
-        replyCommentService.updateReplyCommentLikeNum(id, isLike);
-        if (isLike) {
-            mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_QUEUE_ROUTING_KEY, likeReply);
-            mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_REPLY_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, -1));
-            return Result.ok();
-        }
-        likeReply.setReplyId(id);
-        likeReply.setUserId(userId);
-        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_QUEUE_ROUTING_KEY, likeReply);
-        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_REPLY_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, 1));
+        replyCommentService.updateReplyCommentLikeNum(id, !liked);
+        mqClient.sendMessage(TOPIC_MESSAGES_EXCHANGE, TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_STATE_QUEUE_ROUTING_KEY, new LikeStateMessage(id, userId, liked));
+        mqClient.sendMessage(TOPIC_NOTES_EXCHANGE, TOPIC_NOTES_EXCHANGE_WITH_NOTES_REPLY_CACHE_LIKE_QUEUE_ROUTING_KEY, new LikeMessage(id, liked ? 1 : -1));
         return Result.ok();
     }
 
+    /**
+     * 批量查询用户对回复的点赞状态
+     * @param userId 用户唯一标识
+     * @param ids 回复ID集合
+     * @return 包含回复ID-是否已点赞映射的Result对象
+     */
+    @Override
+    public Result getLikedStates(Integer userId, List<Integer> ids) {
+        if (ids.size() > LIKE_STATE_BATCH_MAX_SIZE) {
+            return Result.fail("单次最多查询" + LIKE_STATE_BATCH_MAX_SIZE + "条点赞状态");
+        }
+        return Result.ok(likeStateStore.isLiked(LIKE_STATE_REPLYCOMMENT_KEY + userId, ids, () -> this.loadLikedReplyIds(userId)));
+    }
+
+    /**
+     * 从消息服务回源用户点赞过的回复ID集合
+     * @param userId 用户唯一标识
+     * @return 回复ID集合
+     */
+    private Collection<Integer> loadLikedReplyIds(Integer userId) {
+        Result result = messagesClient.getLikedReplyIdsByUserId(userId);
+        if (!result.getSuccess()) {
+            throw new RuntimeException("获取用户" + userId + "点赞回复记录失败");
+        }
+        return (List<Integer>) result.getData();
+    }
+
     /**
      * 更新回复点赞计数器
      * @param id 回复记录唯一标识
@@ -207,17 +250,39 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
      * @return 操作结果的Result对象
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Result updateReplyCommentLikeNum(Integer id, boolean isLike) {
-        String sql = isLike ? "like_num = like_num - 1" : "like_num = like_num + 1";
-        if (!update(new LambdaUpdateWrapper<ReplyComment>()
-                .eq(ReplyComment::getId, id)
-                .setSql(sql))) {
-            throw new RuntimeException("更新回复点赞数失败");
-        }
+        counterDeltaBuffer.increment(COUNTER_REPLYCOMMENT_LIKE_KEY, id, isLike ? -1 : 1);
         return Result.ok();
     }
 
+    /**
+     * 将缓冲的点赞增量批量刷新到数据库（每批一条UPDATE ... CASE）
+     */
+    @Override
+    public void flushLikeNumDeltas() {
+        IReplyCommentService replyCommentService = (IReplyCommentService) AopContext.currentProxy();
+        counterDeltaBuffer.flush(COUNTER_REPLYCOMMENT_LIKE_KEY, replyCommentService::applyLikeNumDeltas);
+    }
+
+    /**
+     * 在同一事务中登记批次并累加点赞数（每批一条UPDATE ... CASE）
+     * @param batchId 批次ID
+     * @param deltas 回复ID-增量映射
+     */
+    @Override
+    @Transactional
+    public void applyLikeNumDeltas(String batchId, Map<Integer, Long> deltas) {
+        if (counterDeltaBatchMapper.insertIgnore(batchId) == 0) {
+            log.warn("回复点赞数批次已写入，跳过重放: batchId={" + batchId + "}");
+            return;
+        }
+        if (!update(new UpdateWrapper<ReplyComment>()
+                .setSql(CounterDeltaBuffer.caseIncrement("like_num", deltas))
+                .in("id", deltas.keySet()))) {
+            log.warn("回复点赞数刷新未命中任何记录: ids={" + deltas.keySet() + "}");
+        }
+    }
+
     /**
      * 从数据库查询评论回复列表
      * @param commentId 父评论唯一标识
@@ -241,12 +306,17 @@ public class ReplyCommentServiceImpl extends ServiceImpl<ReplyCommentMapper, Rep
     private ReplyCommentDTO convertToDTO(ReplyComment replyComment) {
         ReplyCommentDTO replyCommentDTO = BeanUtil.copyProperties(replyComment, ReplyCommentDTO.class);
         Integer userId = replyComment.getUserId();
-        Object userData = userCenterClient.getUserById(userId).getData();
-        User user = BeanUtil.mapToBean((Map<?, ?>) userData, User.class, true);
+        User user = userLoader.load(userId);
         if (user == null) {
             log.error("用户服务调用失败: ReplycommentId={" + replyComment.getId() + "}, userId={" + userId + "}");
         }
         replyCommentDTO.setUser(user);
+        Long likeDelta = counterDeltaBuffer.pendingDeltas(COUNTER_REPLYCOMMENT_LIKE_KEY,
+                java.util.Collections.singletonList(replyComment.getId())).get(replyComment.getId());
+        if (likeDelta != null) {
+            replyCommentDTO.setLikeNum((replyCommentDTO.getLikeNum() != null ? replyCommentDTO.getLikeNum() : 0)
+                    + likeDelta.intValue());
+        }
         return replyCommentDTO;
     }
 }
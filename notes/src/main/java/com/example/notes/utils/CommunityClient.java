@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 /**
  * 标签服务Feign客户端
  *
@@ -34,6 +36,21 @@ public interface CommunityClient {
     @GetMapping("/tags/notes/{noteId}")
     Result getTagsByNoteId(@PathVariable Integer noteId);
 
+    /**
+     * 批量查询多篇笔记关联的标签ID
+     * @param ids 笔记ID集合
+     * @return Result标准响应（包含Map<Integer, List<Integer>>笔记ID-标签ID列表）
+     */
+    @GetMapping("/tags/notes/batch")
+    Result getTagsByNoteIds(@RequestParam List<Integer> ids);
+
+    /**
+     * 查询全部标签
+     * @return Result标准响应（包含List<Tag>）
+     */
+    @GetMapping("/tags")
+    Result getAllTags();
+
     /**
      * 查询标签关联笔记
      * @param tagId 标签唯一标识
@@ -42,6 +59,36 @@ public interface CommunityClient {
     @GetMapping("/tags/{tagId}/notes")
     Result getNoteIdByTagId(@PathVariable Integer tagId);
 
+    /**
+     * 多标签组合筛选笔记（按点赞数降序分页）
+     * @param all 须同时包含的标签ID
+     * @param any 至少包含其一的标签ID
+     * @param none 不得包含的标签ID
+     * @param current 页码
+     * @return Result标准响应（包含List<Integer>当前页笔记ID与命中总数）
+     */
+    @GetMapping("/tags/notes")
+    Result queryNoteIdsByTags(@RequestParam(value = "all", required = false) List<Integer> all,
+                              @RequestParam(value = "any", required = false) List<Integer> any,
+                              @RequestParam(value = "none", required = false) List<Integer> none,
+                              @RequestParam("current") Integer current);
+
     @GetMapping("/concern/user/{userId}/friends")
     Result getFriends(@PathVariable Integer userId);
+
+    /**
+     * 查询需拉取发件箱的已关注大V
+     * @param fansId 粉丝用户唯一标识
+     * @return Result标准响应（包含List<Integer>作者ID集合）
+     */
+    @GetMapping("/concern/fans/{fansId}/pull-authors")
+    Result getPullAuthorIds(@PathVariable Integer fansId);
+
+    /**
+     * 查询用户已关注的作者
+     * @param fansId 粉丝用户唯一标识
+     * @return Result标准响应（包含List<Integer>作者ID集合）
+     */
+    @GetMapping("/concern/fans/{fansId}/followees")
+    Result getFolloweeIds(@PathVariable Integer fansId);
 }
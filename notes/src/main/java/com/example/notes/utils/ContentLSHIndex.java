@@ -0,0 +1,239 @@
+package com.example.notes.utils;
+
+import com.example.littleredbook.entity.Note;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记内容MinHash/LSH近邻索引
+ *
+ * <p>功能说明：
+ * 1. 笔记写入时计算标题与正文的MinHash签名，Redis哈希按笔记ID保存签名<br>
+ * 2. 签名按段切分（128个哈希分32段、每段4行，Jaccard约0.42以上的笔记大概率同桶），每段哈希对应一个Redis集合桶<br>
+ * 3. 查询时以一次管道读取全部签名所在的桶，按命中段数取有限候选集，由调用方基于签名相似度重排<br>
+ * 4. 首次启动由抢到锁的节点分批扫描公开笔记构建，之后随笔记新增/修改增量维护<br>
+ *
+ * <p>关键特性：
+ * - 候选检索只读取与查询签名相同的桶，每桶以SRANDMEMBER最多取固定数量成员，热门桶不会拖慢查询<br>
+ * - 更新时仅调整签名发生变化的段所在的桶<br>
+ * - 签名哈希与桶、构建标记同属一个分段布局版本命名空间，已保存签名即表示对应桶已写入；调整分段后从空签名重建，所有桶都会写入<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Component
+public class ContentLSHIndex {
+    private static final int SIGNATURE_BYTES = CONTENT_LSH_HASHES * Integer.BYTES;
+    private final RedissonClient redissonClient;
+    private final MinHasher minHasher = new MinHasher(CONTENT_LSH_HASHES);
+
+    public ContentLSHIndex(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 计算文本签名
+     * @param text 文本
+     * @return MinHash签名，无有效字符时返回空数组
+     */
+    public int[] signature(String text) {
+        return minHasher.signature(text);
+    }
+
+    /**
+     * 参与签名计算的笔记文本
+     * @param note 笔记实体
+     * @return 标题与正文拼接
+     */
+    public static String textOf(Note note) {
+        return Objects.toString(note.getTitle(), "") + " " + Objects.toString(note.getContent(), "");
+    }
+
+    /**
+     * 首次构建索引（已构建或其他节点正在构建时跳过）
+     * @param loader 全量加载函数，内部分批调用{@link #upsertAll(Map)}
+     * @return true-本节点完成构建
+     */
+    public boolean build(Runnable loader) {
+        if (redissonClient.getBucket(CONTENT_LSH_BUILT_KEY, StringCodec.INSTANCE).isExists()) {
+            return false;
+        }
+        RLock lock = redissonClient.getLock(LOCK_CONTENT_LSH_KEY);
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (redissonClient.getBucket(CONTENT_LSH_BUILT_KEY, StringCodec.INSTANCE).isExists()) {
+                return false;
+            }
+            loader.run();
+            redissonClient.getBucket(CONTENT_LSH_BUILT_KEY, StringCodec.INSTANCE)
+                    .set(Long.toString(System.currentTimeMillis()));
+            return true;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 批量新增或更新笔记签名及桶归属
+     * @param texts 笔记ID-文本映射，文本无有效字符时移出索引
+     */
+    public void upsertAll(Map<Integer, String> texts) {
+        if (texts.isEmpty()) {
+            return;
+        }
+        Map<Integer, int[]> previous = this.getSignatures(texts.keySet());
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RMapAsync<String, byte[]> signatures = batch.getMap(CONTENT_LSH_SIGNATURE_KEY, codec());
+        texts.forEach((noteId, text) -> {
+            int[] signature = minHasher.signature(text);
+            this.moveBuckets(batch, noteId, previous.get(noteId), signature);
+            if (signature.length == 0) {
+                signatures.fastRemoveAsync(noteId.toString());
+            } else {
+                signatures.fastPutAsync(noteId.toString(), serialize(signature));
+            }
+        });
+        batch.execute();
+    }
+
+    /**
+     * 将笔记移出索引
+     * @param noteId 笔记ID
+     */
+    public void remove(Integer noteId) {
+        int[] previous = this.getSignatures(List.of(noteId)).get(noteId);
+        if (previous == null) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        this.moveBuckets(batch, noteId, previous, new int[0]);
+        batch.getMap(CONTENT_LSH_SIGNATURE_KEY, codec()).fastRemoveAsync(noteId.toString());
+        batch.execute();
+    }
+
+    /**
+     * 批量获取笔记签名
+     * @param noteIds 笔记ID集合
+     * @return 笔记ID-签名映射，未收录的笔记不放入
+     */
+    public Map<Integer, int[]> getSignatures(Collection<Integer> noteIds) {
+        Set<String> fields = new HashSet<>();
+        noteIds.forEach(noteId -> fields.add(noteId.toString()));
+        Map<Integer, int[]> signatures = new HashMap<>();
+        if (fields.isEmpty()) {
+            return signatures;
+        }
+        this.getStore().getAll(fields)
+                .forEach((noteId, bytes) -> signatures.put(Integer.valueOf(noteId), deserialize(bytes)));
+        return signatures;
+    }
+
+    /**
+     * 检索与任一签名落入相同桶的候选笔记
+     * @param signatures 查询签名集合
+     * @param limit 候选数上限
+     * @return 按命中段数降序的候选笔记ID
+     */
+    public List<Integer> candidates(Collection<int[]> signatures, int limit) {
+        Set<String> bucketKeys = new LinkedHashSet<>();
+        signatures.forEach(signature -> bucketKeys.addAll(bucketKeys(signature)));
+        if (bucketKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        // 桶大小不超过上限时SRANDMEMBER返回全部成员，超过时随机抽样，单次查询读取量有界
+        bucketKeys.forEach(key -> batch.getSet(key, StringCodec.INSTANCE).randomAsync(CONTENT_LSH_BUCKET_SAMPLE_SIZE));
+        Map<Integer, Integer> hits = new HashMap<>();
+        for (Object members : batch.execute().getResponses()) {
+            for (Object noteId : (Set<?>) members) {
+                hits.merge(Integer.valueOf(noteId.toString()), 1, Integer::sum);
+            }
+        }
+        return hits.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 仅调整签名发生变化的段所在的桶
+     */
+    private void moveBuckets(RBatch batch, Integer noteId, int[] previous, int[] current) {
+        List<String> previousKeys = previous != null ? bucketKeys(previous) : new ArrayList<>();
+        List<String> currentKeys = bucketKeys(current);
+        for (int band = 0; band < Math.max(previousKeys.size(), currentKeys.size()); band++) {
+            String previousKey = band < previousKeys.size() ? previousKeys.get(band) : null;
+            String currentKey = band < currentKeys.size() ? currentKeys.get(band) : null;
+            if (previousKey != null && previousKey.equals(currentKey)) {
+                continue;
+            }
+            if (previousKey != null) {
+                batch.getSet(previousKey, StringCodec.INSTANCE).removeAsync(noteId.toString());
+            }
+            if (currentKey != null) {
+                batch.getSet(currentKey, StringCodec.INSTANCE).addAsync(noteId.toString());
+            }
+        }
+    }
+
+    private static List<String> bucketKeys(int[] signature) {
+        long[] hashes = MinHasher.bandHashes(signature, CONTENT_LSH_BANDS);
+        List<String> keys = new ArrayList<>(hashes.length);
+        for (int band = 0; band < hashes.length; band++) {
+            keys.add(CONTENT_LSH_BUCKET_KEY + band + ":" + Long.toHexString(hashes[band]));
+        }
+        return keys;
+    }
+
+    private RMap<String, byte[]> getStore() {
+        return redissonClient.getMap(CONTENT_LSH_SIGNATURE_KEY, codec());
+    }
+
+    private static CompositeCodec codec() {
+        return new CompositeCodec(StringCodec.INSTANCE, ByteArrayCodec.INSTANCE);
+    }
+
+    private static byte[] serialize(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        for (int hash : signature) {
+            buffer.putInt(hash);
+        }
+        return buffer.array();
+    }
+
+    private static int[] deserialize(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.notes.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记相似邻居表存储
+ *
+ * <p>功能说明：
+ * 1. Redis哈希按笔记ID保存离线训练得到的topK邻居，值为[邻居ID(int), 相似度(float)]定长二进制序列<br>
+ * 2. 重建在分布式锁内执行，写入临时键后RENAME覆盖，读取方始终看到完整的上一版或新一版<br>
+ * 3. 记录构建时间，距上次构建不足半个周期时跳过，多节点定时任务只有一个生效<br>
+ * 4. 在线查询以一次HMGET取回多篇笔记的邻居<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class ItemCFNeighborStore {
+    private static final String REBUILD_SUFFIX = ":rebuilding";
+    private static final int WRITE_BATCH_SIZE = 1000;
+    private static final int ENTRY_BYTES = Integer.BYTES + Float.BYTES;
+    private final RedissonClient redissonClient;
+
+    public ItemCFNeighborStore(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 训练并整体替换邻居表
+     * @param trainer 训练函数
+     * @return true-重建完成，false-其他节点正在构建或距上次构建时间过短
+     */
+    public boolean rebuild(Supplier<ItemCFTrainer.Model> trainer) {
+        RLock lock = redissonClient.getLock(LOCK_ITEM_CF_KEY);
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            RBucket<String> builtAt = redissonClient.getBucket(ITEM_CF_BUILT_AT_KEY, StringCodec.INSTANCE);
+            String last = builtAt.get();
+            if (last != null && System.currentTimeMillis() - Long.parseLong(last) < ITEM_CF_BUILD_INTERVAL / 2) {
+                return false;
+            }
+            ItemCFTrainer.Model model = trainer.get();
+            RMap<String, byte[]> rebuilding = this.getMap(ITEM_CF_NEIGHBORS_KEY + REBUILD_SUFFIX);
+            rebuilding.delete();
+            Map<String, byte[]> batch = new HashMap<>();
+            for (int i = 0; i < model.size(); i++) {
+                if (model.neighborIds(i).length == 0) {
+                    continue;
+                }
+                batch.put(Integer.toString(model.itemId(i)), serialize(model.neighborIds(i), model.scores(i)));
+                if (batch.size() >= WRITE_BATCH_SIZE) {
+                    rebuilding.putAll(batch);
+                    batch.clear();
+                }
+            }
+            rebuilding.putAll(batch);
+            if (rebuilding.isExists()) {
+                rebuilding.rename(ITEM_CF_NEIGHBORS_KEY);
+                this.getMap(ITEM_CF_NEIGHBORS_KEY).expire(ITEM_CF_NEIGHBORS_TTL, TimeUnit.MINUTES);
+            } else {
+                this.getMap(ITEM_CF_NEIGHBORS_KEY).delete();
+            }
+            builtAt.set(Long.toString(System.currentTimeMillis()));
+            log.info("笔记相似邻居表重建完成，共{}篇笔记", model.size());
+            return true;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 批量获取笔记邻居
+     * @param noteIds 笔记ID集合
+     * @return 笔记ID-邻居映射，无邻居的笔记不放入
+     */
+    public Map<Integer, Neighbors> getNeighbors(Collection<Integer> noteIds) {
+        Set<String> fields = new HashSet<>();
+        noteIds.forEach(noteId -> fields.add(noteId.toString()));
+        Map<Integer, Neighbors> neighbors = new HashMap<>();
+        if (fields.isEmpty()) {
+            return neighbors;
+        }
+        this.getMap(ITEM_CF_NEIGHBORS_KEY).getAll(fields)
+                .forEach((noteId, bytes) -> neighbors.put(Integer.valueOf(noteId), deserialize(bytes)));
+        return neighbors;
+    }
+
+    private RMap<String, byte[]> getMap(String key) {
+        return redissonClient.getMap(key, new CompositeCodec(StringCodec.INSTANCE, ByteArrayCodec.INSTANCE));
+    }
+
+    private static byte[] serialize(int[] neighborIds, float[] scores) {
+        ByteBuffer buffer = ByteBuffer.allocate(neighborIds.length * ENTRY_BYTES);
+        for (int i = 0; i < neighborIds.length; i++) {
+            buffer.putInt(neighborIds[i]).putFloat(scores[i]);
+        }
+        return buffer.array();
+    }
+
+    private static Neighbors deserialize(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = bytes.length / ENTRY_BYTES;
+        int[] neighborIds = new int[count];
+        float[] scores = new float[count];
+        for (int i = 0; i < count; i++) {
+            neighborIds[i] = buffer.getInt();
+            scores[i] = buffer.getFloat();
+        }
+        return new Neighbors(neighborIds, scores);
+    }
+
+    /**
+     * 单篇笔记的相似邻居（按相似度降序）
+     */
+    public static final class Neighbors {
+        private final int[] noteIds;
+        private final float[] scores;
+
+        private Neighbors(int[] noteIds, float[] scores) {
+            this.noteIds = noteIds;
+            this.scores = scores;
+        }
+
+        public int size() {
+            return noteIds.length;
+        }
+
+        public int noteId(int index) {
+            return noteIds[index];
+        }
+
+        public float score(int index) {
+            return scores[index];
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.notes.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 基于物品的协同过滤离线训练器
+ *
+ * <p>功能说明：
+ * 1. 输入全量(用户, 笔记)点赞对，构建用户→笔记、笔记→用户两份CSR邻接数组<br>
+ * 2. 对每篇笔记累加与其共同被点赞的笔记得分，用户贡献按1/ln(2+点赞数)降权（抑制重度用户）<br>
+ * 3. 共现得分除以两篇笔记点赞人数几何平均得到余弦相似度，每篇笔记保留topK个邻居<br>
+ * 4. 笔记按区间拆分为ForkJoin任务在调用方提供的线程池中并行计算，累加器按线程复用<br>
+ *
+ * <p>关键特性：
+ * - 全程使用int/float/long原始数组，不创建装箱对象与哈希表<br>
+ * - 每个用户只取最近maxUserLikes次点赞参与计算，单篇笔记计算量有界<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class ItemCFTrainer {
+    private static final int TASK_THRESHOLD = 64;
+    private static final int INITIAL_CAPACITY = 1024;
+    private int[] users = new int[INITIAL_CAPACITY];
+    private int[] notes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * 追加一条点赞对（按点赞先后顺序追加）
+     * @param userId 用户ID
+     * @param noteId 笔记ID
+     */
+    public void add(int userId, int noteId) {
+        if (size == users.length) {
+            users = Arrays.copyOf(users, size * 2);
+            notes = Arrays.copyOf(notes, size * 2);
+        }
+        users[size] = userId;
+        notes[size] = noteId;
+        size++;
+    }
+
+    /**
+     * @return 已追加的点赞对数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 训练相似度模型
+     * @param topK 每篇笔记保留的邻居数
+     * @param maxUserLikes 每个用户参与计算的最近点赞数上限
+     * @param pool 并行计算线程池，排序与相似度计算都在其中执行
+     * @return 笔记邻居表
+     */
+    public Model train(int topK, int maxUserLikes, ForkJoinPool pool) {
+        // parallelSort与子任务在当前工作线程所属的线程池中派生，不占用公共线程池
+        return pool.invoke(ForkJoinTask.adapt(() -> this.build(topK, maxUserLikes)));
+    }
+
+    private Model build(int topK, int maxUserLikes) {
+        int[] itemIds = distinct(Arrays.copyOf(notes, size));
+        int itemCount = itemIds.length;
+        // 用户 -> 笔记下标（CSR），同一用户按点赞先后排列后截取最近部分并去重
+        long[] byUser = new long[size];
+        for (int i = 0; i < size; i++) {
+            byUser[i] = (long) users[i] << 32 | i;
+        }
+        Arrays.parallelSort(byUser);
+        int[] userStart = new int[size + 1];
+        int[] userItems = new int[size];
+        int userCount = 0;
+        int itemCursor = 0;
+        for (int from = 0; from < size; ) {
+            int user = (int) (byUser[from] >>> 32);
+            int to = from;
+            while (to < size && (int) (byUser[to] >>> 32) == user) {
+                to++;
+            }
+            int runStart = itemCursor;
+            for (int k = Math.max(from, to - maxUserLikes); k < to; k++) {
+                userItems[itemCursor++] = Arrays.binarySearch(itemIds, notes[(int) byUser[k]]);
+            }
+            Arrays.sort(userItems, runStart, itemCursor);
+            itemCursor = runStart + dedupe(userItems, runStart, itemCursor);
+            userStart[userCount++] = runStart;
+            userStart[userCount] = itemCursor;
+            from = to;
+        }
+        // 笔记 -> 用户下标（CSR）
+        int[] itemStart = new int[itemCount + 1];
+        for (int k = 0; k < itemCursor; k++) {
+            itemStart[userItems[k] + 1]++;
+        }
+        for (int i = 0; i < itemCount; i++) {
+            itemStart[i + 1] += itemStart[i];
+        }
+        int[] itemUsers = new int[itemCursor];
+        int[] fill = Arrays.copyOf(itemStart, itemCount);
+        float[] userWeights = new float[userCount];
+        for (int u = 0; u < userCount; u++) {
+            userWeights[u] = (float) (1.0 / Math.log(2 + userStart[u + 1] - userStart[u]));
+            for (int k = userStart[u]; k < userStart[u + 1]; k++) {
+                itemUsers[fill[userItems[k]]++] = u;
+            }
+        }
+        Model model = new Model(itemIds, new int[itemCount][], new float[itemCount][]);
+        new SimilarityTask(new Graph(userStart, userItems, userWeights, itemStart, itemUsers), model,
+                topK, 0, itemCount).invoke();
+        return model;
+    }
+
+    private static int[] distinct(int[] values) {
+        Arrays.parallelSort(values);
+        return Arrays.copyOf(values, dedupe(values, 0, values.length));
+    }
+
+    /**
+     * 有序区间原地去重
+     * @return 去重后的元素数
+     */
+    private static int dedupe(int[] values, int from, int to) {
+        int count = 0;
+        for (int k = from; k < to; k++) {
+            if (count == 0 || values[from + count - 1] != values[k]) {
+                values[from + count++] = values[k];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 笔记邻居表：neighborIds[i]/scores[i]为itemIds[i]的邻居笔记ID与相似度（降序）
+     */
+    public static final class Model {
+        private final int[] itemIds;
+        private final int[][] neighborIds;
+        private final float[][] scores;
+
+        private Model(int[] itemIds, int[][] neighborIds, float[][] scores) {
+            this.itemIds = itemIds;
+            this.neighborIds = neighborIds;
+            this.scores = scores;
+        }
+
+        public int size() {
+            return itemIds.length;
+        }
+
+        public int itemId(int index) {
+            return itemIds[index];
+        }
+
+        public int[] neighborIds(int index) {
+            return neighborIds[index];
+        }
+
+        public float[] scores(int index) {
+            return scores[index];
+        }
+    }
+
+    private static final class Graph {
+        private final int[] userStart;
+        private final int[] userItems;
+        private final float[] userWeights;
+        private final int[] itemStart;
+        private final int[] itemUsers;
+        private final ThreadLocal<float[]> accumulators;
+        private final ThreadLocal<int[]> touched;
+        private final ThreadLocal<long[]> candidates;
+
+        private Graph(int[] userStart, int[] userItems, float[] userWeights, int[] itemStart, int[] itemUsers) {
+            int itemCount = itemStart.length - 1;
+            this.userStart = userStart;
+            this.userItems = userItems;
+            this.userWeights = userWeights;
+            this.itemStart = itemStart;
+            this.itemUsers = itemUsers;
+            this.accumulators = ThreadLocal.withInitial(() -> new float[itemCount]);
+            this.touched = ThreadLocal.withInitial(() -> new int[itemCount]);
+            this.candidates = ThreadLocal.withInitial(() -> new long[itemCount]);
+        }
+
+        private int likeCount(int item) {
+            return itemStart[item + 1] - itemStart[item];
+        }
+    }
+
+    private static final class SimilarityTask extends RecursiveAction {
+        private final Graph graph;
+        private final Model model;
+        private final int topK;
+        private final int from;
+        private final int to;
+
+        private SimilarityTask(Graph graph, Model model, int topK, int from, int to) {
+            this.graph = graph;
+            this.model = model;
+            this.topK = topK;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TASK_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SimilarityTask(graph, model, topK, from, middle),
+                        new SimilarityTask(graph, model, topK, middle, to));
+                return;
+            }
+            float[] accumulator = graph.accumulators.get();
+            int[] touched = graph.touched.get();
+            long[] candidates = graph.candidates.get();
+            for (int item = from; item < to; item++) {
+                int touchedCount = 0;
+                for (int k = graph.itemStart[item]; k < graph.itemStart[item + 1]; k++) {
+                    int user = graph.itemUsers[k];
+                    float weight = graph.userWeights[user];
+                    for (int m = graph.userStart[user]; m < graph.userStart[user + 1]; m++) {
+                        int other = graph.userItems[m];
+                        if (other == item) {
+                            continue;
+                        }
+                        if (accumulator[other] == 0f) {
+                            touched[touchedCount++] = other;
+                        }
+                        accumulator[other] += weight;
+                    }
+                }
+                double itemNorm = graph.likeCount(item);
+                for (int k = 0; k < touchedCount; k++) {
+                    int other = touched[k];
+                    float similarity = (float) (accumulator[other] / Math.sqrt(itemNorm * graph.likeCount(other)));
+                    // 正浮点数的位模式与数值同序，高32位放相似度、低32位放笔记下标
+                    candidates[k] = (long) Float.floatToIntBits(similarity) << 32 | other;
+                    accumulator[other] = 0f;
+                }
+                Arrays.sort(candidates, 0, touchedCount);
+                int count = Math.min(topK, touchedCount);
+                int[] neighborIds = new int[count];
+                float[] scores = new float[count];
+                for (int k = 0; k < count; k++) {
+                    long candidate = candidates[touchedCount - 1 - k];
+                    neighborIds[k] = model.itemIds[(int) candidate];
+                    scores[k] = Float.intBitsToFloat((int) (candidate >>> 32));
+                }
+                model.neighborIds[item] = neighborIds;
+                model.scores[item] = scores;
+            }
+        }
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 消息服务Feign客户端
  *
@@ -121,4 +123,57 @@ public interface MessagesClient {
      */
     @PostMapping("/like-replies")
     Result addLikeReply(@RequestBody LikeReply likeReply);
+
+    /**
+     * 查询用户点赞过的笔记ID集合
+     * @param userId 用户唯一标识
+     * @return Result标准响应（包含List<Integer>笔记ID集合）
+     */
+    @GetMapping("/like-notes/users/{userId}")
+    Result getLikedNoteIdsByUserId(@PathVariable Integer userId);
+
+    /**
+     * 查询用户点赞过的评论ID集合
+     * @param userId 用户唯一标识
+     * @return Result标准响应（包含List<Integer>评论ID集合）
+     */
+    @GetMapping("/like-comments/users/{userId}")
+    Result getLikedCommentIdsByUserId(@PathVariable Integer userId);
+
+    /**
+     * 查询用户点赞过的回复ID集合
+     * @param userId 用户唯一标识
+     * @return Result标准响应（包含List<Integer>回复ID集合）
+     */
+    @GetMapping("/like-replies/users/{userId}")
+    Result getLikedReplyIdsByUserId(@PathVariable Integer userId);
+
+    /**
+     * 批量查询多个用户的点赞历史
+     * @param userIds 用户ID列表
+     * @param since 起始点赞时间（epoch毫秒）
+     * @param limit 总条数上限
+     * @return Result标准响应（包含List<long[]>，元素为[用户ID, 笔记ID, 点赞时间epoch毫秒]，按点赞时间倒序）
+     */
+    @GetMapping("/like-notes/records")
+    Result getLikeNoteRecordsByUserIds(@RequestParam("userIds") List<Integer> userIds,
+                                       @RequestParam("since") Long since, @RequestParam("limit") Integer limit);
+
+    /**
+     * 按主键游标分页扫描点赞关系
+     * @param lastId 上一页最大点赞记录ID
+     * @param size 每页条数
+     * @return Result标准响应（包含List<int[]>，元素为[点赞记录ID, 用户ID, 笔记ID]）
+     */
+    @GetMapping("/like-notes/scan")
+    Result getLikeNotePairsAfterId(@RequestParam("lastId") Integer lastId, @RequestParam("size") Integer size);
+
+    /**
+     * 查询用户最近点赞的笔记ID
+     * @param userId 用户唯一标识
+     * @param limit 条数上限
+     * @return Result标准响应（包含List<Integer>笔记ID集合，最近点赞在前）
+     */
+    @GetMapping("/like-notes/users/{userId}/recent")
+    Result getRecentLikedNoteIds(@PathVariable Integer userId, @RequestParam("limit") Integer limit);
 }
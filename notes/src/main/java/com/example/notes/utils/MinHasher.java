@@ -0,0 +1,147 @@
+package com.example.notes.utils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash签名计算器
+ *
+ * <p>功能说明：
+ * 1. 文本归一化（仅保留字母数字、转小写）后切分为字符3-gram集合<br>
+ * 2. 对每个3-gram哈希取numHashes个独立哈希函数下的最小值，组成定长签名<br>
+ * 3. 两段文本签名中相同位置相等的比例即其3-gram集合Jaccard相似度的无偏估计<br>
+ * 4. 签名按bands段切分计算分段哈希，作为局部敏感哈希（LSH）的桶键<br>
+ *
+ * <p>使用约束：
+ * - 哈希种子由固定常量生成，各节点、各次重启计算出的签名一致，可直接持久化共享<br>
+ * - 有效字符不足3个时整段文本作为唯一分片，无有效字符时返回空签名<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class MinHasher {
+    private static final int SHINGLE_SIZE = 3;
+    private static final long SEED = 0x5DEECE66DL;
+    private static final int[] NO_SIGNATURE = new int[0];
+    private final int[] seeds;
+
+    /**
+     * @param numHashes 签名长度（哈希函数个数）
+     */
+    public MinHasher(int numHashes) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.seeds = new int[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextInt();
+        }
+    }
+
+    /**
+     * 计算文本签名
+     * @param text 文本
+     * @return MinHash签名，无有效字符时返回空数组
+     */
+    public int[] signature(String text) {
+        int[] shingles = shingles(text);
+        if (shingles.length == 0) {
+            return NO_SIGNATURE;
+        }
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                int hash = mix(shingle ^ seeds[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 计算签名各段的桶哈希
+     * @param signature MinHash签名
+     * @param bands 分段数（需整除签名长度）
+     * @return 每段一个桶哈希，空签名返回空数组
+     */
+    public static long[] bandHashes(int[] signature, int bands) {
+        if (signature.length == 0) {
+            return new long[0];
+        }
+        int rows = signature.length / bands;
+        long[] hashes = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long hash = band;
+            for (int row = band * rows; row < (band + 1) * rows; row++) {
+                hash = hash * 0x9E3779B97F4A7C15L + signature[row];
+            }
+            hashes[band] = hash ^ (hash >>> 31);
+        }
+        return hashes;
+    }
+
+    /**
+     * 估计两个签名对应文本的Jaccard相似度
+     * @return 相等位置比例，任一签名为空或长度不一致时返回0
+     */
+    public static double similarity(int[] a, int[] b) {
+        if (a.length == 0 || a.length != b.length) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    /**
+     * 切分去重后的3-gram哈希集合
+     */
+    private static int[] shingles(String text) {
+        if (text == null) {
+            return NO_SIGNATURE;
+        }
+        char[] chars = new char[text.length()];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                chars[length++] = Character.toLowerCase(c);
+            }
+        }
+        if (length == 0) {
+            return NO_SIGNATURE;
+        }
+        if (length < SHINGLE_SIZE) {
+            return new int[]{mix(new String(chars, 0, length).hashCode())};
+        }
+        int[] shingles = new int[length - SHINGLE_SIZE + 1];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = mix((chars[i] << 16 | chars[i + 1]) ^ mix(chars[i + 2]));
+        }
+        Arrays.sort(shingles);
+        int count = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (count == 0 || shingles[count - 1] != shingles[i]) {
+                shingles[count++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, count);
+    }
+
+    /**
+     * 32位整数混洗（MurmurHash3 fmix32）
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -8,4 +8,8 @@ import java.util.List;
 public interface RecommendUtils {
     Result recommendNotes(Integer userId);
     Result recommendNotesByContent(Integer userId, String content);
+    boolean rebuildItemNeighbors();
+    boolean buildContentIndex();
+    Result getSimilarNotes(Integer noteId);
+    int rebuildVectorIndex();
 }
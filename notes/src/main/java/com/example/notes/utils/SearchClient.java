@@ -0,0 +1,33 @@
+package com.example.notes.utils;
+
+import com.example.littleredbook.config.FeignConfiguration;
+import com.example.littleredbook.dto.Result;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * 搜索服务Feign客户端
+ *
+ * <p>功能说明：
+ * 1. 对接搜索服务笔记全文检索接口<br>
+ * 2. 返回按相关度排序的命中笔记ID及高亮片段<br>
+ *
+ * <p>配置说明：
+ * - 服务名称：search（对应注册中心服务ID）<br>
+ * - 默认直连地址：http://localhost:8105<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@FeignClient(name = "search", url = "http://localhost:8105", configuration = FeignConfiguration.class)
+public interface SearchClient {
+    /**
+     * 全文检索笔记
+     * @param keyword 检索词
+     * @param current 页码（从1开始）
+     * @return Result标准响应（包含List<NoteSearchHit>）
+     */
+    @GetMapping("/note-search")
+    Result searchNotes(@RequestParam("keyword") String keyword, @RequestParam("current") Integer current);
+}
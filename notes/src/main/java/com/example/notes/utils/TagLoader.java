@@ -0,0 +1,138 @@
+package com.example.notes.utils;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 笔记标签批量加载器（基于CommunityClient.getTagsByNoteIds）
+ *
+ * <p>功能说明：
+ * 1. 调用方先收集本次组装涉及的全部笔记ID，经loadMany一次远程调用取回笔记-标签ID映射（超出批大小时分段）<br>
+ * 2. 标签ID经进程内标签字典解析为标签实体，远程只传输ID<br>
+ * 3. 标签字典整表加载，到期或遇到未知标签ID时重载，两次重载之间保持最小间隔<br>
+ *
+ * <p>使用约束：
+ * - 返回的Tag对象在调用方之间共享，调用方不应修改<br>
+ * - 字典中不存在的标签ID（重载后仍未知）直接丢弃<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class TagLoader {
+    private final CommunityClient communityClient;
+    private volatile Map<Integer, Tag> dictionary = Collections.emptyMap();
+    private volatile long dictionaryLoadedAt;
+
+    public TagLoader(CommunityClient communityClient) {
+        this.communityClient = communityClient;
+    }
+
+    /**
+     * 加载单篇笔记的标签
+     * @param noteId 笔记ID
+     * @return 标签列表，服务调用失败时返回null
+     */
+    public List<Tag> load(Integer noteId) {
+        return this.loadMany(Collections.singletonList(noteId)).get(noteId);
+    }
+
+    /**
+     * 批量加载笔记标签
+     * @param noteIds 笔记ID集合（允许重复与null）
+     * @return 笔记ID-标签列表映射，服务调用失败的笔记不放入
+     */
+    public Map<Integer, List<Tag>> loadMany(Collection<Integer> noteIds) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(noteIds));
+        ids.remove(null);
+        Map<Integer, List<Integer>> tagIds = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += TAG_BATCH_MAX_SIZE) {
+            tagIds.putAll(this.fetch(ids.subList(from, Math.min(from + TAG_BATCH_MAX_SIZE, ids.size()))));
+        }
+        Map<Integer, Tag> tags = this.getDictionary(tagIds.values());
+        Map<Integer, List<Tag>> noteTags = new HashMap<>();
+        tagIds.forEach((noteId, noteTagIds) -> {
+            List<Tag> resolved = new ArrayList<>(noteTagIds.size());
+            for (Integer tagId : noteTagIds) {
+                Tag tag = tags.get(tagId);
+                if (tag != null) {
+                    resolved.add(tag);
+                }
+            }
+            noteTags.put(noteId, resolved);
+        });
+        return noteTags;
+    }
+
+    /**
+     * 获取标签字典，已过期或含未知标签ID时重载
+     */
+    private Map<Integer, Tag> getDictionary(Collection<List<Integer>> tagIds) {
+        Map<Integer, Tag> current = dictionary;
+        long age = System.currentTimeMillis() - dictionaryLoadedAt;
+        boolean expired = age > TimeUnit.SECONDS.toMillis(LOCAL_TAG_DICTIONARY_TTL);
+        boolean unknown = tagIds.stream().flatMap(List::stream).anyMatch(tagId -> !current.containsKey(tagId));
+        if (expired || unknown && age > TimeUnit.SECONDS.toMillis(LOCAL_TAG_DICTIONARY_MIN_RELOAD_INTERVAL)) {
+            return this.reloadDictionary(current);
+        }
+        return current;
+    }
+
+    private synchronized Map<Integer, Tag> reloadDictionary(Map<Integer, Tag> stale) {
+        if (dictionary != stale) {
+            return dictionary;
+        }
+        dictionaryLoadedAt = System.currentTimeMillis();
+        try {
+            Result result = communityClient.getAllTags();
+            if (result != null && result.getData() instanceof List) {
+                Map<Integer, Tag> loaded = new HashMap<>();
+                for (Tag tag : BeanUtil.copyToList((List<?>) result.getData(), Tag.class)) {
+                    loaded.put(tag.getId(), tag);
+                }
+                dictionary = loaded;
+            }
+        } catch (Exception e) {
+            log.error("标签字典加载失败，沿用旧字典", e);
+        }
+        return dictionary;
+    }
+
+    private Map<Integer, List<Integer>> fetch(List<Integer> noteIds) {
+        Result result;
+        try {
+            result = communityClient.getTagsByNoteIds(new ArrayList<>(noteIds));
+        } catch (Exception e) {
+            log.error("标签服务批量调用失败: noteIds={}", noteIds, e);
+            return Collections.emptyMap();
+        }
+        if (result == null || !(result.getData() instanceof Map)) {
+            log.error("标签服务批量调用失败: noteIds={}, errorMsg={}", noteIds, result != null ? result.getErrorMsg() : null);
+            return Collections.emptyMap();
+        }
+        Map<Integer, List<Integer>> tagIds = new HashMap<>();
+        ((Map<?, ?>) result.getData()).forEach((noteId, ids) -> {
+            List<Integer> noteTagIds = new ArrayList<>();
+            for (Object id : (List<?>) ids) {
+                noteTagIds.add(((Number) id).intValue());
+            }
+            tagIds.put(Integer.valueOf(noteId.toString()), noteTagIds);
+        });
+        return tagIds;
+    }
+}
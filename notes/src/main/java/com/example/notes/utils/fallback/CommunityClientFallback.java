@@ -3,6 +3,8 @@ package com.example.notes.utils.fallback;
 import com.example.littleredbook.dto.Result;
 import com.example.notes.utils.CommunityClient;
 
+import java.util.List;
+
 /**
  * 标签服务熔断降级处理类
  *
@@ -31,6 +33,25 @@ public class CommunityClientFallback implements CommunityClient {
         return Result.fail("标签服务不可用");
     }
 
+    /**
+     * 笔记标签批量查询降级处理
+     * @param ids 笔记ID集合
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getTagsByNoteIds(List<Integer> ids) {
+        return Result.fail("标签服务不可用");
+    }
+
+    /**
+     * 全部标签查询降级处理
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getAllTags() {
+        return Result.fail("标签服务不可用");
+    }
+
     /**
      * 标签笔记关联查询降级处理
      * @param tagId 标签唯一标识
@@ -41,8 +62,31 @@ public class CommunityClientFallback implements CommunityClient {
         return Result.fail("标签服务不可用");
     }
 
+    /**
+     * 多标签组合筛选降级处理
+     * @param all 须同时包含的标签ID
+     * @param any 至少包含其一的标签ID
+     * @param none 不得包含的标签ID
+     * @param current 页码
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result queryNoteIdsByTags(List<Integer> all, List<Integer> any, List<Integer> none, Integer current) {
+        return Result.fail("标签服务不可用");
+    }
+
     @Override
     public Result getFriends(Integer userId) {
         return Result.fail("标签服务不可用");
     }
+
+    /**
+     * 大V关注查询降级处理
+     * @param fansId 粉丝用户唯一标识
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getPullAuthorIds(Integer fansId) {
+        return Result.fail("关注服务不可用");
+    }
 }
@@ -7,6 +7,8 @@ import com.example.littleredbook.entity.LikeNote;
 import com.example.littleredbook.entity.LikeReply;
 import com.example.notes.utils.MessagesClient;
 
+import java.util.List;
+
 /**
  * 消息服务熔断降级处理类
  *
@@ -123,4 +125,68 @@ public class MessagesClientFallback implements MessagesClient {
     public Result addLikeReply(LikeReply likeReply) {
         return Result.fail("消息服务不可用");
     }
+
+    /**
+     * 用户点赞笔记ID集合查询降级处理
+     * @param userId 用户唯一标识
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getLikedNoteIdsByUserId(Integer userId) {
+        return Result.fail("消息服务不可用");
+    }
+
+    /**
+     * 用户点赞评论ID集合查询降级处理
+     * @param userId 用户唯一标识
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getLikedCommentIdsByUserId(Integer userId) {
+        return Result.fail("消息服务不可用");
+    }
+
+    /**
+     * 用户点赞回复ID集合查询降级处理
+     * @param userId 用户唯一标识
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getLikedReplyIdsByUserId(Integer userId) {
+        return Result.fail("消息服务不可用");
+    }
+
+    /**
+     * 批量点赞历史查询降级处理
+     * @param userIds 用户ID列表
+     * @param since 起始点赞时间（epoch毫秒）
+     * @param limit 总条数上限
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getLikeNoteRecordsByUserIds(List<Integer> userIds, Long since, Integer limit) {
+        return Result.fail("消息服务不可用");
+    }
+
+    /**
+     * 点赞关系扫描降级处理
+     * @param lastId 上一页最大点赞记录ID
+     * @param size 每页条数
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getLikeNotePairsAfterId(Integer lastId, Integer size) {
+        return Result.fail("消息服务不可用");
+    }
+
+    /**
+     * 最近点赞笔记查询降级处理
+     * @param userId 用户唯一标识
+     * @param limit 条数上限
+     * @return 固定错误响应（服务不可用提示）
+     */
+    @Override
+    public Result getRecentLikedNoteIds(Integer userId, Integer limit) {
+        return Result.fail("消息服务不可用");
+    }
 }
@@ -0,0 +1,10 @@
+-- 计数器增量已写批次登记表（CounterDeltaBatchMapper）
+-- 刷新计数时在同一事务中登记批次ID，崩溃后重放已登记的批次时跳过；CounterDeltaFlusher每小时清理一天前的登记
+CREATE TABLE IF NOT EXISTS counter_delta_batch
+(
+    batch_id     VARCHAR(64) NOT NULL COMMENT '批次ID（flushId:起始实体ID）',
+    applied_time DATETIME    NOT NULL COMMENT '登记时间',
+    PRIMARY KEY (batch_id),
+    KEY idx_applied_time (applied_time)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='计数器增量已写批次';
@@ -0,0 +1,82 @@
+package com.example.notes.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCFTrainerTest {
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    /**
+     * 用户1、2点赞10和11，用户3点赞10和12，用户4只点赞12
+     */
+    private static ItemCFTrainer tinyGraph() {
+        ItemCFTrainer trainer = new ItemCFTrainer();
+        trainer.add(1, 10);
+        trainer.add(1, 11);
+        trainer.add(2, 10);
+        trainer.add(2, 11);
+        trainer.add(3, 10);
+        trainer.add(3, 12);
+        trainer.add(4, 12);
+        return trainer;
+    }
+
+    private static int indexOf(ItemCFTrainer.Model model, int itemId) {
+        for (int i = 0; i < model.size(); i++) {
+            if (model.itemId(i) == itemId) {
+                return i;
+            }
+        }
+        return fail("missing item " + itemId);
+    }
+
+    @Test
+    void computesWeightedCosine() {
+        ItemCFTrainer.Model model = tinyGraph().train(10, 100, POOL);
+        assertEquals(3, model.size());
+        // 用户1~3各点赞2篇，贡献1/ln4；10有3个点赞人，11、12各2个
+        double weight = 1 / Math.log(4);
+        int item = indexOf(model, 10);
+        assertArrayEquals(new int[]{11, 12}, model.neighborIds(item));
+        assertEquals(2 * weight / Math.sqrt(6), model.scores(item)[0], 1e-5);
+        assertEquals(weight / Math.sqrt(6), model.scores(item)[1], 1e-5);
+
+        item = indexOf(model, 11);
+        assertArrayEquals(new int[]{10}, model.neighborIds(item));
+        assertEquals(2 * weight / Math.sqrt(6), model.scores(item)[0], 1e-5);
+
+        item = indexOf(model, 12);
+        assertArrayEquals(new int[]{10}, model.neighborIds(item));
+        assertEquals(weight / Math.sqrt(6), model.scores(item)[0], 1e-5);
+    }
+
+    @Test
+    void keepsTopKNeighbors() {
+        ItemCFTrainer.Model model = tinyGraph().train(1, 100, POOL);
+        assertArrayEquals(new int[]{11}, model.neighborIds(indexOf(model, 10)));
+    }
+
+    @Test
+    void limitsToRecentLikesPerUser() {
+        ItemCFTrainer trainer = new ItemCFTrainer();
+        trainer.add(1, 20);
+        trainer.add(1, 21);
+        trainer.add(1, 22);
+        ItemCFTrainer.Model model = trainer.train(10, 2, POOL);
+        assertEquals(0, model.neighborIds(indexOf(model, 20)).length);
+        assertArrayEquals(new int[]{22}, model.neighborIds(indexOf(model, 21)));
+        assertArrayEquals(new int[]{21}, model.neighborIds(indexOf(model, 22)));
+    }
+
+    @Test
+    void ignoresRepeatedLikes() {
+        ItemCFTrainer trainer = tinyGraph();
+        trainer.add(1, 10);
+        ItemCFTrainer.Model model = trainer.train(10, 100, POOL);
+        float[] expected = tinyGraph().train(10, 100, POOL).scores(indexOf(model, 10));
+        assertArrayEquals(expected, model.scores(indexOf(model, 10)), 1e-6f);
+    }
+}
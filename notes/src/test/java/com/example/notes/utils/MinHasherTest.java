@@ -0,0 +1,77 @@
+package com.example.notes.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHasherTest {
+    private final MinHasher minHasher = new MinHasher(128);
+
+    @Test
+    void identicalTextsAreFullySimilar() {
+        String text = "周末去山里露营，带上帐篷和烧烤架，晚上看星星";
+        int[] signature = minHasher.signature(text);
+        assertEquals(128, signature.length);
+        assertArrayEquals(signature, minHasher.signature(text));
+        assertEquals(1.0, MinHasher.similarity(signature, minHasher.signature(text)), 1e-9);
+    }
+
+    @Test
+    void normalizationIgnoresCaseAndPunctuation() {
+        assertArrayEquals(minHasher.signature("Hello, World!"), minHasher.signature("hello world"));
+    }
+
+    @Test
+    void disjointTextsAreNearlyDissimilar() {
+        int[] a = minHasher.signature("周末去山里露营，带上帐篷和烧烤架，晚上看星星");
+        int[] b = minHasher.signature("abcdefghijklmnopqrstuvwxyz0123456789");
+        assertTrue(MinHasher.similarity(a, b) < 0.05);
+    }
+
+    @Test
+    void estimatesJaccardOfOverlappingTexts() {
+        String a = "abcdefghijklmnopqrstuvwxyz0123456789";
+        String b = "abcdefghijklmnopqrstuvwxyz9876543210";
+        double similarity = MinHasher.similarity(minHasher.signature(a), minHasher.signature(b));
+        assertEquals(jaccard(shingles(a), shingles(b)), similarity, 0.15);
+    }
+
+    @Test
+    void emptyTextHasEmptySignature() {
+        assertEquals(0, minHasher.signature("，。！ ").length);
+        assertEquals(0.0, MinHasher.similarity(new int[0], minHasher.signature("露营")), 1e-9);
+    }
+
+    @Test
+    void bandHashesAgreeOnlyForEqualBands() {
+        int[] signature = minHasher.signature("周末去山里露营，带上帐篷和烧烤架");
+        int[] changed = signature.clone();
+        changed[0]++;
+        long[] bands = MinHasher.bandHashes(signature, 32);
+        long[] changedBands = MinHasher.bandHashes(changed, 32);
+        assertEquals(32, bands.length);
+        assertNotEquals(bands[0], changedBands[0]);
+        for (int band = 1; band < 32; band++) {
+            assertEquals(bands[band], changedBands[band]);
+        }
+        assertEquals(0, MinHasher.bandHashes(new int[0], 32).length);
+    }
+
+    private static Set<String> shingles(String text) {
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            shingles.add(text.substring(i, i + 3));
+        }
+        return shingles;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        long intersection = a.stream().filter(b::contains).count();
+        return (double) intersection / union.size();
+    }
+}
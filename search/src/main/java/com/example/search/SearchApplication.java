@@ -6,13 +6,16 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableAspectJAutoProxy(exposeProxy = true)
 @EnableFeignClients
+@EnableScheduling
 @SpringBootApplication
 @MapperScan("com.example.search.mapper")
 @Import({com.example.littleredbook.config.RedissonConfig.class, com.example.littleredbook.utils.StringRedisClient.class,
-        com.example.littleredbook.utils.HashRedisClient.class, com.example.littleredbook.config.MqConfig.class,
+        com.example.littleredbook.utils.HashRedisClient.class, com.example.littleredbook.utils.SortedSetRedisClient.class,
+        com.example.littleredbook.config.MqConfig.class,
         com.example.littleredbook.config.ErrorMessageConfiguration.class, com.example.littleredbook.utils.MQClient.class,
         com.example.littleredbook.config.WebConfig.class})
 public class SearchApplication {
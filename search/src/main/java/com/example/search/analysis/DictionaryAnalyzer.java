@@ -0,0 +1,37 @@
+package com.example.search.analysis;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+
+/**
+ * 词典分词分析器
+ *
+ * <p>功能说明：
+ * 1. 汉字按词典正向最大匹配切词，未登录字单独成词<br>
+ * 2. 拉丁字母与数字按词切分，统一全角转半角并转小写<br>
+ * 3. 索引端与查询端共用同一切分规则<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public class DictionaryAnalyzer extends Analyzer {
+    private final WordDictionary dictionary;
+
+    public DictionaryAnalyzer(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = new DictionaryTokenizer(dictionary);
+        return new TokenStreamComponents(source, new LowerCaseFilter(new CJKWidthFilter(source)));
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new LowerCaseFilter(new CJKWidthFilter(in));
+    }
+}
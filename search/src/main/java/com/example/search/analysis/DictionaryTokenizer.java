@@ -0,0 +1,105 @@
+package com.example.search.analysis;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.util.ArrayUtil;
+
+import java.io.IOException;
+
+/**
+ * 词典分词器
+ *
+ * <p>功能说明：
+ * 1. 连续汉字按词典正向最大匹配切词，未登录字单独输出<br>
+ * 2. 连续的非汉字字母、数字作为一个词输出<br>
+ * 3. 标点、空白等其余字符作为分隔符丢弃<br>
+ *
+ * <p>关键特性：
+ * - 输入读入实例内复用的字符缓冲区，Analyzer按线程复用分词器，稳态下不产生额外分配<br>
+ * - 按码点判断字符类别，扩展区汉字等代理对字符不会被拆开或当作分隔符丢弃<br>
+ * - 记录原文偏移量，供高亮使用<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class DictionaryTokenizer extends Tokenizer {
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
+    private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
+    private final WordDictionary dictionary;
+    private char[] buffer = new char[INITIAL_BUFFER_SIZE];
+    private int length;
+    private int position;
+    private boolean filled;
+
+    public DictionaryTokenizer(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public boolean incrementToken() throws IOException {
+        clearAttributes();
+        if (!filled) {
+            this.fill();
+        }
+        int codePoint;
+        while (position < length && !Character.isLetterOrDigit(codePoint = this.codePointAt(position))) {
+            position += Character.charCount(codePoint);
+        }
+        if (position >= length) {
+            return false;
+        }
+        int start = position;
+        int first = this.codePointAt(start);
+        if (isHan(first)) {
+            int runEnd = start + Character.charCount(first);
+            while (runEnd < length && isHan(codePoint = this.codePointAt(runEnd))) {
+                runEnd += Character.charCount(codePoint);
+            }
+            position = start + Math.max(dictionary.longestMatch(buffer, start, runEnd), Character.charCount(first));
+        } else {
+            while (position < length && Character.isLetterOrDigit(codePoint = this.codePointAt(position))
+                    && !isHan(codePoint)) {
+                position += Character.charCount(codePoint);
+            }
+        }
+        termAtt.copyBuffer(buffer, start, position - start);
+        offsetAtt.setOffset(correctOffset(start), correctOffset(position));
+        return true;
+    }
+
+    @Override
+    public void end() throws IOException {
+        super.end();
+        int finalOffset = correctOffset(length);
+        offsetAtt.setOffset(finalOffset, finalOffset);
+    }
+
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        length = 0;
+        position = 0;
+        filled = false;
+    }
+
+    private void fill() throws IOException {
+        int read;
+        while ((read = input.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = ArrayUtil.grow(buffer, length + 1);
+            }
+        }
+        filled = true;
+    }
+
+    private int codePointAt(int index) {
+        return Character.codePointAt(buffer, index, length);
+    }
+
+    private static boolean isHan(int codePoint) {
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN;
+    }
+}
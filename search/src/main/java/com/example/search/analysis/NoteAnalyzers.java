@@ -0,0 +1,26 @@
+package com.example.search.analysis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.lucene.analysis.Analyzer;
+
+/**
+ * 笔记索引分析器组合
+ *
+ * <p>功能说明：
+ * 1. 索引写入与查询解析可使用不同分析器（如索引端额外输出单字以支持单字检索）<br>
+ * 2. name写入索引提交元数据，分析器切换后旧索引自动作废并重建<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Getter
+@AllArgsConstructor
+public class NoteAnalyzers {
+    /** 分析器标识 */
+    private final String name;
+    /** 索引端分析器（同时用于高亮） */
+    private final Analyzer indexAnalyzer;
+    /** 查询端分析器 */
+    private final Analyzer queryAnalyzer;
+}
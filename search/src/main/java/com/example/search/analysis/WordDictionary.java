@@ -0,0 +1,134 @@
+package com.example.search.analysis;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 分词词典
+ *
+ * <p>功能说明：
+ * 1. 以字符前缀树存储词条，每个节点的子节点按字符有序排列并二分查找；代理对字符占两层节点<br>
+ * 2. 最长匹配直接在调用方字符缓冲区上推进，匹配过程不创建任何对象<br>
+ * 3. 从本地文本文件加载：UTF-8编码、每行一词，仅取首列，#开头为注释<br>
+ *
+ * <p>使用约束：
+ * - 加载完成后只读，可被多个分词器线程共享<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class WordDictionary {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * 从本地文件加载词典
+     * @param path 词典文件路径
+     * @return 词典实例
+     */
+    public static WordDictionary load(Path path) throws IOException {
+        WordDictionary dictionary = new WordDictionary();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                int end = 0;
+                while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+                    end++;
+                }
+                dictionary.add(line.substring(0, end));
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * 添加词条
+     * @param word 词条
+     */
+    public void add(CharSequence word) {
+        if (word.length() == 0) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.getOrAddChild(word.charAt(i));
+        }
+        if (!node.word) {
+            node.word = true;
+            size++;
+        }
+    }
+
+    /**
+     * 从start起在[start, end)内查找最长词条
+     * @param buffer 字符缓冲区
+     * @param start 起始下标
+     * @param end 结束下标（不含）
+     * @return 最长匹配词条长度（按码点推进，不会止于代理对中间），无匹配返回0
+     */
+    public int longestMatch(char[] buffer, int start, int end) {
+        Node node = root;
+        int longest = 0;
+        for (int i = start; i < end; ) {
+            int next = i + Character.charCount(Character.codePointAt(buffer, i, end));
+            for (; i < next; i++) {
+                node = node.child(buffer[i]);
+                if (node == null) {
+                    return longest;
+                }
+            }
+            if (node.word) {
+                longest = next - start;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * @return 词条数
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private boolean word;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrAddChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.search.config;
+
+import com.example.search.analysis.CjkBigramAnalyzer;
+import com.example.search.analysis.DictionaryAnalyzer;
+import com.example.search.analysis.NoteAnalyzers;
+import com.example.search.analysis.WordDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * 笔记索引分析器配置类
+ *
+ * <p>功能说明：
+ * 1. 按search.analyzer.type选择分析器，默认cjk（二元切分）<br>
+ * 2. dictionary模式从search.analyzer.dictionary-path加载本地词典做最大匹配分词<br>
+ *
+ * <p>使用约束：
+ * - 切换分析器后本地索引自动清空并从笔记服务重建<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class NoteAnalysisConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "search.analyzer.type", havingValue = "cjk", matchIfMissing = true)
+    public NoteAnalyzers cjkBigramAnalyzers() {
+        return new NoteAnalyzers("cjk", new CjkBigramAnalyzer(true), new CjkBigramAnalyzer(false));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "search.analyzer.type", havingValue = "dictionary")
+    public NoteAnalyzers dictionaryAnalyzers(@Value("${search.analyzer.dictionary-path}") String dictionaryPath)
+            throws IOException {
+        WordDictionary dictionary = WordDictionary.load(Paths.get(dictionaryPath));
+        log.info("分词词典已加载，路径：{}，词条数：{}", dictionaryPath, dictionary.size());
+        DictionaryAnalyzer analyzer = new DictionaryAnalyzer(dictionary);
+        return new NoteAnalyzers("dictionary:" + dictionaryPath, analyzer, analyzer);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.search.controller;
+
+import com.example.littleredbook.dto.Result;
+import com.example.search.service.INoteSearchService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 笔记全文检索控制器
+ *
+ * <p>功能说明：
+ * 1. 提供笔记标题与正文的相关度检索入口<br>
+ * 2. 支持分页与命中词高亮<br>
+ * 3. 支持跨域访问（@CrossOrigin）<br>
+ * 4. 统一返回Result标准响应格式<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@CrossOrigin
+@RestController
+@RequestMapping("note-search")
+public class NoteSearchController {
+    @Resource
+    private INoteSearchService noteSearchService;
+
+    /**
+     * 按关键词检索笔记
+     * @param keyword 检索词
+     * @param current 页码（从1开始，默认第1页）
+     * @return 包含List<NoteSearchHit>的Result对象
+     */
+    @GetMapping
+    public Result searchNotes(@RequestParam String keyword,
+                              @RequestParam(value = "current", defaultValue = "1") Integer current) {
+        return noteSearchService.searchNotes(keyword, current);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.search.controller;
 import com.example.littleredbook.dto.Result;
 import com.example.littleredbook.entity.SearchRecord;
 import com.example.search.service.ISearchRecordService;
+import com.example.search.service.ITrendingSearchService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
  *   - 单条记录删除操作<br>
  *   - 用户全部搜索记录清除<br>
  *   - 新增搜索记录创建<br>
+ *   - 近1小时/24小时热门检索词<br>
  *
  * @author Mike
  * @since 2025/3/15
@@ -32,6 +34,20 @@ import org.springframework.web.bind.annotation.*;
 public class SearchRecordController {
     @Resource
     private ISearchRecordService searchRecordService;
+    @Resource
+    private ITrendingSearchService trendingSearchService;
+
+    /**
+     * 获取窗口内热门检索词
+     * @param window 窗口（1h或24h，默认1h）
+     * @param size 返回条数（默认10，上限50）
+     * @return 包含检索词-次数映射（按次数降序）的Result对象
+     */
+    @GetMapping("/trending")
+    public Result getTrending(@RequestParam(value = "window", defaultValue = "1h") String window,
+                              @RequestParam(value = "size", defaultValue = "10") Integer size) {
+        return trendingSearchService.getTrending(window, size);
+    }
 
     /**
      * 获取指定ID的搜索记录
@@ -0,0 +1,39 @@
+package com.example.search.controller;
+
+import com.example.littleredbook.dto.Result;
+import com.example.search.service.ISuggestionService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 搜索联想控制器
+ *
+ * <p>功能说明：
+ * 1. 提供输入即搜的前缀联想入口<br>
+ * 2. 支持跨域访问（@CrossOrigin）<br>
+ * 3. 统一返回Result标准响应格式<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@CrossOrigin
+@RestController
+@RequestMapping("suggestions")
+public class SuggestionController {
+    @Resource
+    private ISuggestionService suggestionService;
+
+    /**
+     * 前缀联想
+     * @param prefix 输入前缀
+     * @param size 返回条数（默认10，上限10）
+     * @return 包含List<String>候选词的Result对象
+     */
+    @GetMapping
+    public Result suggest(@RequestParam String prefix,
+                          @RequestParam(value = "size", defaultValue = "10") Integer size) {
+        return suggestionService.suggest(prefix, size);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.search.listener;
+
+import com.example.littleredbook.entity.Note;
+import com.example.search.service.INoteSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import static com.example.littleredbook.utils.MQConstants.*;
+
+@Component
+@RequiredArgsConstructor
+public class NoteIndexListener {
+    private final INoteSearchService noteSearchService;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(name = SEARCH_NOTE_INDEX_UPSERT_QUEUE, durable = "true"),
+            exchange = @Exchange(name = TOPIC_NOTES_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {TOPIC_NOTES_EXCHANGE_WITH_SEARCH_NOTE_INDEX_UPSERT_QUEUE_ROUTING_KEY}
+    ))
+    public void listenNoteIndexUpsert(Note note) {
+        noteSearchService.indexNote(note);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.search.listener;
+
+import com.example.search.service.INoteSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 笔记全文索引定时维护
+ *
+ * <p>功能说明：
+ * 1. 启动完成后若本地索引为空，从笔记服务全量构建<br>
+ * 2. 每秒刷新检索视图，使增量写入近实时可见<br>
+ * 3. 每分钟提交一次，将索引快照落盘<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteIndexMaintainer {
+    private static final long REFRESH_INTERVAL = 1000L;
+    private static final long COMMIT_INTERVAL = 60000L;
+    private final INoteSearchService noteSearchService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!noteSearchService.isIndexEmpty()) {
+            return;
+        }
+        try {
+            log.info("笔记索引为空，全量构建完成，共{}条", noteSearchService.rebuildIndex());
+        } catch (Exception e) {
+            log.error("笔记索引全量构建失败", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = REFRESH_INTERVAL)
+    public void refresh() {
+        try {
+            noteSearchService.refreshIndex();
+        } catch (Exception e) {
+            log.error("笔记索引刷新失败", e);
+        }
+    }
+
+    @Scheduled(initialDelay = COMMIT_INTERVAL, fixedDelay = COMMIT_INTERVAL)
+    public void commit() {
+        try {
+            noteSearchService.commitIndex();
+        } catch (Exception e) {
+            log.error("笔记索引提交失败", e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.example.search.listener;
 import com.example.littleredbook.entity.SearchRecord;
 import com.example.littleredbook.utils.HashRedisClient;
 import com.example.search.service.ISearchRecordService;
+import com.example.search.service.ISuggestionService;
+import com.example.search.service.ITrendingSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.ExchangeTypes;
 import org.springframework.amqp.rabbit.annotation.Exchange;
@@ -21,6 +23,8 @@ import static com.example.littleredbook.utils.RedisConstants.CACHE_SEARCH_TTL;
 @RequiredArgsConstructor
 public class SearchRecordListener {
     private final ISearchRecordService searchRecordService;
+    private final ISuggestionService suggestionService;
+    private final ITrendingSearchService trendingSearchService;
     private final HashRedisClient hashRedisClient;
 
     @RabbitListener(bindings = @QueueBinding(
@@ -34,6 +38,24 @@ public class SearchRecordListener {
         hashRedisClient.expire(CACHE_SEARCH_KEY + id, CACHE_SEARCH_TTL, TimeUnit.MINUTES);
     }
 
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue,
+            exchange = @Exchange(name = TOPIC_SEARCH_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {TOPIC_SEARCH_EXCHANGE_WITH_SEARCH_SEARCHRECORD_CACHE_ADD_QUEUE_ROUTING_KEY}
+    ))
+    public void listenSearchRecordSuggest(SearchRecord searchRecord) {
+        suggestionService.recordSearch(searchRecord);
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(name = SEARCH_SEARCHRECORD_TRENDING_QUEUE, durable = "true"),
+            exchange = @Exchange(name = TOPIC_SEARCH_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {TOPIC_SEARCH_EXCHANGE_WITH_SEARCH_SEARCHRECORD_CACHE_ADD_QUEUE_ROUTING_KEY}
+    ))
+    public void listenSearchRecordTrending(SearchRecord searchRecord) {
+        trendingSearchService.recordSearch(searchRecord);
+    }
+
     @RabbitListener(bindings = @QueueBinding(
             value = @Queue(name = SEARCH_SEARCHRECORD_CACHE_DELETE_QUEUE, durable = "true"),
             exchange = @Exchange(name = TOPIC_SEARCH_EXCHANGE, type = ExchangeTypes.TOPIC),
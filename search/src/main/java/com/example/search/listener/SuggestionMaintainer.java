@@ -0,0 +1,44 @@
+package com.example.search.listener;
+
+import com.example.search.service.ISuggestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索联想快照定时维护
+ *
+ * <p>功能说明：
+ * 1. 每10秒检查权重变更，有变更则重建快照，新搜索词10秒内可见，高频搜索时不会每秒全量重建<br>
+ * 2. 启动时及每小时全量重载一次，纳入新笔记标题；搜索记录经广播队列到达每个节点，增量已精确累加，无需频繁全表聚合<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionMaintainer {
+    private static final long REFRESH_INTERVAL = 10000L;
+    private static final long RELOAD_INTERVAL = 3600000L;
+    private final ISuggestionService suggestionService;
+
+    @Scheduled(fixedDelay = REFRESH_INTERVAL)
+    public void refresh() {
+        try {
+            suggestionService.refresh();
+        } catch (Exception e) {
+            log.error("搜索联想快照重建失败", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = RELOAD_INTERVAL)
+    public void reload() {
+        try {
+            suggestionService.reload();
+        } catch (Exception e) {
+            log.error("搜索联想全量重载失败", e);
+        }
+    }
+}
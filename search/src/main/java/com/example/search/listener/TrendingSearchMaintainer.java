@@ -0,0 +1,41 @@
+package com.example.search.listener;
+
+import com.example.search.service.ITrendingSearchService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.example.littleredbook.utils.RedisConstants.TRENDING_SEARCH_FLUSH_INTERVAL;
+
+/**
+ * 热门搜索时间桶定时维护
+ *
+ * <p>功能说明：
+ * 1. 定时检查时间桶是否关闭，无新检索时也能及时上报已关闭的桶<br>
+ * 2. 停机前上报当前未关闭时间桶，避免本节点计数丢失<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingSearchMaintainer {
+    private final ITrendingSearchService trendingSearchService;
+
+    @Scheduled(fixedDelay = TRENDING_SEARCH_FLUSH_INTERVAL)
+    public void rollOver() {
+        try {
+            trendingSearchService.rollOver();
+        } catch (Exception e) {
+            log.error("热门搜索时间桶切换失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        trendingSearchService.flush();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.search.service;
+
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.Note;
+
+/**
+ * 笔记全文检索服务接口
+ *
+ * <p>功能说明：
+ * 1. 提供基于本地全文索引的笔记相关度检索<br>
+ * 2. 消费笔记变更消息增量维护索引<br>
+ * 3. 索引为空时从笔记服务全量构建<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public interface INoteSearchService {
+    /**
+     * 按关键词分页检索笔记
+     * @param keyword 检索词
+     * @param current 页码（从1开始）
+     * @return 包含List<NoteSearchHit>的Result对象
+     */
+    Result searchNotes(String keyword, Integer current);
+
+    /**
+     * 写入或更新笔记索引（非公开笔记从索引移除）
+     * @param note 笔记实体
+     */
+    void indexNote(Note note);
+
+    /**
+     * 从笔记服务全量重建索引
+     * @return 写入的笔记数
+     */
+    int rebuildIndex();
+
+    /**
+     * 刷新检索视图
+     */
+    void refreshIndex();
+
+    /**
+     * 提交索引快照
+     */
+    void commitIndex();
+
+    /**
+     * @return 索引是否为空
+     */
+    boolean isIndexEmpty();
+}
@@ -0,0 +1,41 @@
+package com.example.search.service;
+
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.SearchRecord;
+
+/**
+ * 搜索联想服务接口
+ *
+ * <p>功能说明：
+ * 1. 按输入前缀返回权重最高的候选检索词<br>
+ * 2. 候选词来源于历史搜索记录（按次数加权）与笔记标题<br>
+ * 3. 新增搜索记录增量累加权重，定时重建只读快照并原子替换<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public interface ISuggestionService {
+    /**
+     * 前缀联想
+     * @param prefix 输入前缀
+     * @param size 返回条数
+     * @return 包含List<String>候选词的Result对象
+     */
+    Result suggest(String prefix, Integer size);
+
+    /**
+     * 累加一次搜索记录的权重（同一记录只计一次）
+     * @param searchRecord 搜索记录
+     */
+    void recordSearch(SearchRecord searchRecord);
+
+    /**
+     * 权重有变化时重建联想快照
+     */
+    void refresh();
+
+    /**
+     * 从数据库与笔记索引全量重载权重并重建快照
+     */
+    void reload();
+}
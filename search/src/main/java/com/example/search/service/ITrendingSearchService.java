@@ -0,0 +1,41 @@
+package com.example.search.service;
+
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.SearchRecord;
+
+/**
+ * 热门搜索服务接口
+ *
+ * <p>功能说明：
+ * 1. 按5分钟时间桶统计检索词的近似频次，每桶仅保留高频候选<br>
+ * 2. 各节点关闭的时间桶写入Redis按桶有序集合，查询时按窗口合并<br>
+ * 3. 支持近1小时与近24小时两个窗口<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public interface ITrendingSearchService {
+    /**
+     * 记录一次检索
+     * @param searchRecord 搜索记录
+     */
+    void recordSearch(SearchRecord searchRecord);
+
+    /**
+     * 当前时间桶已关闭时将其高频候选写入Redis并开启新桶
+     */
+    void rollOver();
+
+    /**
+     * 将当前未关闭时间桶的高频候选写入Redis（停机前调用）
+     */
+    void flush();
+
+    /**
+     * 获取窗口内热门检索词
+     * @param window 窗口（1h或24h）
+     * @param size 返回条数
+     * @return 包含Map<String, Long>（检索词-次数，按次数降序）的Result对象
+     */
+    Result getTrending(String window, Integer size);
+}
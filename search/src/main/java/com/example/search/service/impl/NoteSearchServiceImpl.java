@@ -0,0 +1,153 @@
+package com.example.search.service.impl;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
+import com.example.littleredbook.dto.NoteSearchHit;
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.Note;
+import com.example.search.service.INoteSearchService;
+import com.example.search.utils.NoteIndex;
+import com.example.search.utils.NotesClient;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 笔记全文检索服务实现类
+ *
+ * <p>功能说明：
+ * 1. 检索直接读取进程内索引，不访问数据库<br>
+ * 2. 笔记新增、修改消息触发单文档覆盖写，非公开笔记同步从索引移除<br>
+ * 3. 全量重建按主键游标分批拉取并覆盖写，结束后清理已失效文档，重建期间检索始终可见完整的旧版或新版文档<br>
+ *
+ * <p>关键特性：
+ * - 索引写入失败抛出异常，由消息重试与错误队列兜底<br>
+ * - 检索失败返回失败响应，调用方可回退到数据库查询<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Service
+public class NoteSearchServiceImpl implements INoteSearchService {
+    private static final int SEARCH_PAGE_SIZE = 10;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    @Resource
+    private NoteIndex noteIndex;
+    @Resource
+    private NotesClient notesClient;
+
+    /**
+     * 按关键词分页检索笔记
+     * @param keyword 检索词
+     * @param current 页码（从1开始）
+     * @return 包含List<NoteSearchHit>的Result对象
+     */
+    @Override
+    public Result searchNotes(String keyword, Integer current) {
+        if (StrUtil.isBlank(keyword)) {
+            return Result.fail("检索词不能为空!");
+        }
+        int offset = (Math.max(current, 1) - 1) * SEARCH_PAGE_SIZE;
+        try {
+            List<NoteSearchHit> hits = noteIndex.search(keyword, offset, SEARCH_PAGE_SIZE);
+            return Result.ok(hits);
+        } catch (IOException e) {
+            log.error("检索笔记失败，keyword={}", keyword, e);
+            return Result.fail("检索笔记失败");
+        }
+    }
+
+    /**
+     * 写入或更新笔记索引（非公开笔记从索引移除）
+     * @param note 笔记实体
+     */
+    @Override
+    public void indexNote(Note note) {
+        try {
+            if (Integer.valueOf(0).equals(note.getIsPublic())) {
+                noteIndex.delete(note.getId());
+                return;
+            }
+            noteIndex.upsert(note);
+        } catch (IOException e) {
+            throw new RuntimeException("更新笔记" + note.getId() + "索引失败", e);
+        }
+    }
+
+    /**
+     * 从笔记服务全量重建索引
+     * <p>
+     * 不清空现有索引，逐篇覆盖写后删除本次未拉取到的文档；中途失败时索引保持可用，仅部分文档已更新
+     * </p>
+     * @return 写入的笔记数
+     */
+    @Override
+    public int rebuildIndex() {
+        Set<Integer> indexedIds = new HashSet<>();
+        int lastId = 0;
+        try {
+            while (true) {
+                Result result = notesClient.getPublicNotesAfterId(lastId, REBUILD_BATCH_SIZE);
+                if (!result.getSuccess()) {
+                    throw new RuntimeException("拉取笔记失败：" + result.getErrorMsg());
+                }
+                List<Note> notes = BeanUtil.copyToList((List<?>) result.getData(), Note.class);
+                for (Note note : notes) {
+                    noteIndex.upsert(note);
+                    indexedIds.add(note.getId());
+                    lastId = Math.max(lastId, note.getId());
+                }
+                if (notes.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+            }
+            int removed = noteIndex.retainOnly(indexedIds, lastId);
+            if (removed > 0) {
+                log.info("笔记索引重建清理失效文档{}条", removed);
+            }
+            noteIndex.commit();
+            noteIndex.refresh();
+        } catch (IOException e) {
+            throw new RuntimeException("重建笔记索引失败", e);
+        }
+        return indexedIds.size();
+    }
+
+    /**
+     * 刷新检索视图
+     */
+    @Override
+    public void refreshIndex() {
+        try {
+            noteIndex.refresh();
+        } catch (IOException e) {
+            throw new RuntimeException("刷新笔记索引失败", e);
+        }
+    }
+
+    /**
+     * 提交索引快照
+     */
+    @Override
+    public void commitIndex() {
+        try {
+            noteIndex.commit();
+        } catch (IOException e) {
+            throw new RuntimeException("提交笔记索引失败", e);
+        }
+    }
+
+    /**
+     * @return 索引是否为空
+     */
+    @Override
+    public boolean isIndexEmpty() {
+        return noteIndex.size() == 0;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.search.service.impl;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.SearchRecord;
+import com.example.search.mapper.SearchRecordMapper;
+import com.example.search.service.ISuggestionService;
+import com.example.search.utils.NoteIndex;
+import com.example.search.utils.SuggestionTrie;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索联想服务实现类
+ *
+ * <p>功能说明：
+ * 1. 权重表常驻内存，读路径只访问不可变前缀树快照，单次联想为前缀长度次二分查找<br>
+ * 2. 搜索记录消息到达时累加权重并标记变更，定时任务按需重建快照后替换volatile引用<br>
+ * 3. 定时全量重载：历史搜索按关键词聚合计数，叠加索引内笔记标题（权重1）<br>
+ *
+ * <p>关键特性：
+ * - 以全量重载时的最大记录ID为水位，水位之上的记录按ID去重计数，避免缓存回填消息重复累加<br>
+ * - 全量重载在锁外构建新权重表，替换时补入水位之上已计数的记录后整体替换引用，重载期间的增量不丢失<br>
+ * - 候选词数超过上限时仅保留权重最高的部分，内存占用有界<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Service
+public class SuggestionServiceImpl implements ISuggestionService {
+    private static final int SUGGEST_TOP_K = 10;
+    private static final int MAX_TERM_LENGTH = 32;
+    private static final int MAX_TERMS = 200000;
+    private final Object weightsLock = new Object();
+    private final Map<Integer, String> countedRecords = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile Map<String, Long> weights = new ConcurrentHashMap<>();
+    private volatile int recordWatermark;
+    private volatile SuggestionTrie trie = SuggestionTrie.empty();
+    @Resource
+    private SearchRecordMapper searchRecordMapper;
+    @Resource
+    private NoteIndex noteIndex;
+
+    /**
+     * 前缀联想
+     * @param prefix 输入前缀
+     * @param size 返回条数
+     * @return 包含List<String>候选词的Result对象
+     */
+    @Override
+    public Result suggest(String prefix, Integer size) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return Result.fail("联想前缀不能为空!");
+        }
+        return Result.ok(trie.suggest(normalized, Math.max(1, Math.min(size, SUGGEST_TOP_K))));
+    }
+
+    /**
+     * 累加一次搜索记录的权重（同一记录只计一次）
+     * @param searchRecord 搜索记录
+     */
+    @Override
+    public void recordSearch(SearchRecord searchRecord) {
+        Integer id = searchRecord.getId();
+        if (id == null) {
+            return;
+        }
+        String keyword = StrUtil.nullToEmpty(searchRecord.getKeyword());
+        synchronized (weightsLock) {
+            if (id <= recordWatermark || countedRecords.putIfAbsent(id, keyword) != null) {
+                return;
+            }
+            this.addWeight(weights, keyword, 1L);
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * 权重有变化时重建联想快照
+     */
+    @Override
+    public synchronized void refresh() {
+        if (dirty.compareAndSet(true, false)) {
+            trie = SuggestionTrie.build(new HashMap<>(weights), SUGGEST_TOP_K);
+        }
+    }
+
+    /**
+     * 从数据库与笔记索引全量重载权重并重建快照
+     */
+    @Override
+    public synchronized void reload() {
+        List<Object> maxIds = searchRecordMapper.selectObjs(new QueryWrapper<SearchRecord>().select("MAX(id)"));
+        int watermark = maxIds.isEmpty() || maxIds.get(0) == null ? 0 : ((Number) maxIds.get(0)).intValue();
+        Map<String, Long> loaded = new HashMap<>();
+        for (Map<String, Object> row : searchRecordMapper.selectMaps(new QueryWrapper<SearchRecord>()
+                .select("keyword", "COUNT(*) AS cnt").le("id", watermark).groupBy("keyword"))) {
+            this.addWeight(loaded, (String) row.get("keyword"), ((Number) row.get("cnt")).longValue());
+        }
+        try {
+            noteIndex.forEachTitle(title -> this.addWeight(loaded, title, 1L));
+        } catch (IOException e) {
+            log.error("读取笔记标题失败，本轮联想词仅含搜索记录", e);
+        }
+        Map<String, Long> kept;
+        synchronized (weightsLock) {
+            countedRecords.forEach((id, keyword) -> {
+                if (id > watermark) {
+                    this.addWeight(loaded, keyword, 1L);
+                }
+            });
+            kept = loaded;
+            if (loaded.size() > MAX_TERMS) {
+                kept = loaded.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                        .limit(MAX_TERMS)
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            }
+            weights = new ConcurrentHashMap<>(kept);
+            recordWatermark = watermark;
+            countedRecords.keySet().removeIf(id -> id <= watermark);
+            dirty.set(false);
+        }
+        trie = SuggestionTrie.build(kept, SUGGEST_TOP_K);
+        log.info("搜索联想词已重载，共{}条", trie.size());
+    }
+
+    private void addWeight(Map<String, Long> target, String term, long weight) {
+        String normalized = normalize(term);
+        if (normalized.isEmpty() || normalized.length() > MAX_TERM_LENGTH) {
+            return;
+        }
+        target.merge(normalized, weight, Long::sum);
+    }
+
+    private static String normalize(String term) {
+        return term == null ? "" : StrUtil.trim(term).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.search.service.impl;
+
+import cn.hutool.core.util.StrUtil;
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.SearchRecord;
+import com.example.littleredbook.utils.SortedSetRedisClient;
+import com.example.search.service.ITrendingSearchService;
+import com.example.search.utils.CountMinSketch;
+import com.example.search.utils.HeavyHitters;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.littleredbook.utils.RedisConstants.*;
+
+/**
+ * 热门搜索服务实现类
+ *
+ * <p>功能说明：
+ * 1. 当前时间桶内检索词先累加到Count-Min草图，再以估计值更新定长高频候选堆<br>
+ * 2. 时间桶关闭后将候选堆写入该桶的Redis有序集合（多节点各自累加同一键），随后清零草图与堆复用<br>
+ * 3. 查询时对窗口内全部时间桶键做并集求和，结果短暂缓存，多次查询共享一次合并<br>
+ *
+ * <p>关键特性：
+ * - 节点内存固定为草图矩阵加候选堆容量，与不同检索词数量无关；另按记录ID去重当前桶内的回填消息，桶关闭时清空<br>
+ * - 每桶写入Redis的成员数不超过候选堆容量，桶键过期时间覆盖最大窗口<br>
+ *
+ * <p>使用约束：
+ * - 未关闭的当前时间桶在关闭前不计入查询结果，热门榜最多滞后一个桶长<br>
+ * - 各节点只上报本地高频候选，在各节点间均匀分散的检索词可能被低估<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Service
+public class TrendingSearchServiceImpl implements ITrendingSearchService {
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 16384;
+    private static final int HEAVY_HITTERS_CAPACITY = 100;
+    private static final int MAX_KEYWORD_LENGTH = 32;
+    private static final Map<String, Integer> WINDOW_BUCKETS = new HashMap<>();
+    static {
+        WINDOW_BUCKETS.put("1h", (int) (60 / TRENDING_SEARCH_BUCKET_MINUTES));
+        WINDOW_BUCKETS.put("24h", (int) (24 * 60 / TRENDING_SEARCH_BUCKET_MINUTES));
+    }
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+    private final HeavyHitters heavyHitters = new HeavyHitters(HEAVY_HITTERS_CAPACITY);
+    private final Set<Integer> countedRecordIds = new HashSet<>();
+    private long currentBucket = bucketOf(System.currentTimeMillis());
+    @Resource
+    private SortedSetRedisClient sortedSetRedisClient;
+
+    /**
+     * 记录一次检索
+     * @param searchRecord 搜索记录（与缓存回填共用消息，仅计入检索时间落在当前时间桶且本桶未计过的记录）
+     */
+    @Override
+    public synchronized void recordSearch(SearchRecord searchRecord) {
+        String keyword = searchRecord.getKeyword();
+        String normalized = keyword == null ? "" : StrUtil.trim(keyword).toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > MAX_KEYWORD_LENGTH
+                || searchRecord.getId() == null || searchRecord.getSearchTime() == null) {
+            return;
+        }
+        this.rollOver();
+        if (bucketOf(searchRecord.getSearchTime().getTime()) != currentBucket
+                || !countedRecordIds.add(searchRecord.getId())) {
+            return;
+        }
+        heavyHitters.offer(normalized, sketch.add(normalized, 1L));
+    }
+
+    /**
+     * 当前时间桶已关闭时将其高频候选写入Redis并开启新桶
+     */
+    @Override
+    public synchronized void rollOver() {
+        long bucket = bucketOf(System.currentTimeMillis());
+        if (bucket == currentBucket) {
+            return;
+        }
+        this.flush();
+        sketch.clear();
+        heavyHitters.clear();
+        countedRecordIds.clear();
+        currentBucket = bucket;
+    }
+
+    /**
+     * 将当前未关闭时间桶的高频候选写入Redis（停机前调用）
+     */
+    @Override
+    public synchronized void flush() {
+        if (heavyHitters.size() == 0) {
+            return;
+        }
+        Map<String, Double> deltas = new HashMap<>();
+        for (Map.Entry<String, Long> entry : heavyHitters.snapshot().entrySet()) {
+            deltas.put(entry.getKey(), entry.getValue().doubleValue());
+        }
+        try {
+            sortedSetRedisClient.incrementScores(TRENDING_SEARCH_BUCKET_KEY + currentBucket, deltas,
+                    TRENDING_SEARCH_BUCKET_TTL, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            log.error("热门搜索时间桶{}写入失败，丢弃{}条候选", currentBucket, deltas.size(), e);
+        }
+        heavyHitters.clear();
+        sketch.clear();
+    }
+
+    /**
+     * 获取窗口内热门检索词
+     * @param window 窗口（1h或24h）
+     * @param size 返回条数
+     * @return 包含Map<String, Long>（检索词-次数，按次数降序）的Result对象
+     */
+    @Override
+    public Result getTrending(String window, Integer size) {
+        Integer buckets = WINDOW_BUCKETS.get(window);
+        if (buckets == null) {
+            return Result.fail("热门搜索窗口仅支持1h或24h!");
+        }
+        String windowKey = TRENDING_SEARCH_WINDOW_KEY + window;
+        if (!Boolean.TRUE.equals(sortedSetRedisClient.hasKey(windowKey))) {
+            long lastBucket = bucketOf(System.currentTimeMillis());
+            List<String> keys = new ArrayList<>(buckets);
+            for (int i = 0; i < buckets; i++) {
+                keys.add(TRENDING_SEARCH_BUCKET_KEY + (lastBucket - i));
+            }
+            sortedSetRedisClient.unionAndStore(keys, windowKey, TRENDING_SEARCH_WINDOW_TTL, TimeUnit.MINUTES);
+        }
+        Map<String, Long> trending = new LinkedHashMap<>();
+        for (ZSetOperations.TypedTuple<String> tuple : sortedSetRedisClient.reverseRangeByScoreWithScores(
+                windowKey, 0, Double.MAX_VALUE, 0, Math.max(1, Math.min(size, TRENDING_SEARCH_MAX_SIZE)))) {
+            trending.put(tuple.getValue(), tuple.getScore() == null ? 0L : tuple.getScore().longValue());
+        }
+        return Result.ok(trending);
+    }
+
+    private static long bucketOf(long timeMillis) {
+        return timeMillis / TimeUnit.MINUTES.toMillis(TRENDING_SEARCH_BUCKET_MINUTES);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.search.utils;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min计数草图
+ *
+ * <p>功能说明：
+ * 1. depth行×width列计数矩阵，每行用独立哈希定位一列，累加时各行对应列同时加一<br>
+ * 2. 估计值取各行对应列的最小值，只会高估不会低估，误差上界约为总计数/width<br>
+ * 3. 各行下标由一次64位哈希拆成两个32位值线性组合得到，单次累加只遍历一遍字符串<br>
+ *
+ * <p>使用约束：
+ * - 内存固定为depth×width个long，与不同元素数量无关<br>
+ * - 非线程安全，由调用方加锁<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class CountMinSketch {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final int depth;
+    private final int mask;
+    private final long[] counts;
+
+    /**
+     * @param depth 行数（哈希函数个数）
+     * @param width 列数，向上取整为2的幂
+     */
+    public CountMinSketch(int depth, int width) {
+        int columns = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.depth = depth;
+        this.mask = columns - 1;
+        this.counts = new long[depth * columns];
+    }
+
+    /**
+     * 累加计数
+     * @param item 元素
+     * @param count 增量
+     * @return 累加后的估计值
+     */
+    public long add(String item, long count) {
+        long hash = hash(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * (mask + 1) + ((h1 + row * h2) & mask);
+            counts[index] += count;
+            estimate = Math.min(estimate, counts[index]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 估计计数
+     * @param item 元素
+     * @return 估计值（不低于真实值）
+     */
+    public long estimate(String item) {
+        long hash = hash(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row * (mask + 1) + ((h1 + row * h2) & mask)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 清零全部计数（复用数组，不重新分配）
+     */
+    public void clear() {
+        Arrays.fill(counts, 0L);
+    }
+
+    /**
+     * FNV-1a按字符累乘后做一次64位混淆，保证高低32位都充分散列；
+     * 高32位最低位置1，使各行步长为奇数，与2的幂列数互素
+     */
+    private static long hash(String item) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < item.length(); i++) {
+            hash ^= item.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash | 1L << 32;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.search.utils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 高频元素候选集合（定长小顶堆）
+ *
+ * <p>功能说明：
+ * 1. 最多保留capacity个元素及其估计计数，堆顶为当前最小计数<br>
+ * 2. 已在集合内的元素直接更新计数并调整堆位置<br>
+ * 3. 新元素估计计数超过堆顶时替换堆顶，否则丢弃<br>
+ *
+ * <p>使用约束：
+ * - 与CountMinSketch配合使用，计数由草图估计后传入<br>
+ * - 非线程安全，由调用方加锁<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class HeavyHitters {
+    private final int capacity;
+    private final PriorityQueue<Entry> heap;
+    private final Map<String, Entry> entries;
+
+    public HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity, (a, b) -> Long.compare(a.count, b.count));
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * 提交元素的最新估计计数
+     * @param item 元素
+     * @param count 估计计数
+     */
+    public void offer(String item, long count) {
+        Entry entry = entries.get(item);
+        if (entry != null) {
+            heap.remove(entry);
+            entry.count = count;
+            heap.add(entry);
+            return;
+        }
+        if (entries.size() >= capacity) {
+            if (count <= heap.peek().count) {
+                return;
+            }
+            entries.remove(heap.poll().item);
+        }
+        entry = new Entry(item, count);
+        entries.put(item, entry);
+        heap.add(entry);
+    }
+
+    /**
+     * @return 按计数降序的元素-计数快照
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        entries.values().stream()
+                .sorted((a, b) -> Long.compare(b.count, a.count))
+                .forEach(entry -> snapshot.put(entry.item, entry.count));
+        return snapshot;
+    }
+
+    /**
+     * @return 当前元素数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 清空集合
+     */
+    public void clear() {
+        heap.clear();
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final String item;
+        private long count;
+
+        private Entry(String item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+    }
+}
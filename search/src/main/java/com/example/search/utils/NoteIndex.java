@@ -0,0 +1,282 @@
+package com.example.search.utils;
+
+import com.example.littleredbook.dto.NoteSearchHit;
+import com.example.littleredbook.entity.Note;
+import com.example.search.analysis.NoteAnalyzers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.NullFragmenter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 笔记全文索引
+ *
+ * <p>功能说明：
+ * 1. 进程内嵌Lucene索引，覆盖笔记标题与正文，替代数据库LIKE全表扫描<br>
+ * 2. 以笔记ID为主键增量更新或删除文档<br>
+ * 3. 查询按BM25相关度排序分页，标题权重高于正文，并返回高亮片段<br>
+ * 4. 索引落地本地磁盘，定时提交形成快照，重启后直接加载<br>
+ * 5. 分析器可插拔，提交元数据记录分析器标识，与当前配置不一致时清空索引等待重建<br>
+ *
+ * <p>使用约束：
+ * - 写入后需refresh才对查询可见（近实时），提交前的写入在进程崩溃时丢失，由重放消息或全量重建补齐<br>
+ * - 检索词按分析器切分后各词须同时命中<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class NoteIndex {
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final float TITLE_BOOST = 2.0f;
+    private static final int CONTENT_FRAGMENT_SIZE = 100;
+    private static final String HIGHLIGHT_PRE_TAG = "<em>";
+    private static final String HIGHLIGHT_POST_TAG = "</em>";
+    private static final String COMMIT_ANALYZER_KEY = "analyzer";
+    private static final Set<String> TITLE_FIELDS = Collections.singleton(FIELD_TITLE);
+    private static final Set<String> ID_FIELDS = Collections.singleton(FIELD_ID);
+    private final NoteAnalyzers analyzers;
+    @Value("${search.index.path:data/note-index}")
+    private String indexPath;
+    private FSDirectory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    public NoteIndex(NoteAnalyzers analyzers) {
+        this.analyzers = analyzers;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexPath));
+        String committedAnalyzer = null;
+        if (DirectoryReader.indexExists(directory)) {
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                committedAnalyzer = reader.getIndexCommit().getUserData().get(COMMIT_ANALYZER_KEY);
+            }
+        }
+        IndexWriterConfig config = new IndexWriterConfig(analyzers.getIndexAnalyzer());
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        indexWriter = new IndexWriter(directory, config);
+        if (committedAnalyzer != null && !committedAnalyzer.equals(analyzers.getName())) {
+            log.warn("笔记索引分析器由{}切换为{}，清空索引等待重建", committedAnalyzer, analyzers.getName());
+            indexWriter.deleteAll();
+        }
+        indexWriter.setLiveCommitData(Collections.singletonMap(COMMIT_ANALYZER_KEY, analyzers.getName()).entrySet());
+        searcherManager = new SearcherManager(indexWriter, null);
+        log.info("笔记索引已加载，路径：{}，文档数：{}", indexPath, indexWriter.getDocStats().numDocs);
+    }
+
+    /**
+     * 新增或覆盖笔记文档
+     * @param note 笔记实体
+     */
+    public void upsert(Note note) throws IOException {
+        indexWriter.updateDocument(new Term(FIELD_ID, note.getId().toString()), toDocument(note));
+    }
+
+    /**
+     * 删除笔记文档
+     * @param id 笔记ID
+     */
+    public void delete(Integer id) throws IOException {
+        indexWriter.deleteDocuments(new Term(FIELD_ID, id.toString()));
+    }
+
+    /**
+     * 删除不在保留集合中的文档（全量重建覆盖写完成后清理已失效的笔记）
+     * @param ids 保留的笔记ID集合
+     * @param maxId 清理范围上限，ID更大的文档为重建期间新增的笔记，由增量消息维护，不做清理
+     * @return 删除的文档数
+     */
+    public int retainOnly(Set<Integer> ids, int maxId) throws IOException {
+        Set<Integer> staleIds = new HashSet<>();
+        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
+            for (LeafReaderContext leaf : reader.leaves()) {
+                LeafReader leafReader = leaf.reader();
+                Bits liveDocs = leafReader.getLiveDocs();
+                for (int doc = 0; doc < leafReader.maxDoc(); doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    Integer id = Integer.valueOf(leafReader.document(doc, ID_FIELDS).get(FIELD_ID));
+                    if (id <= maxId && !ids.contains(id)) {
+                        staleIds.add(id);
+                    }
+                }
+            }
+        }
+        for (Integer id : staleIds) {
+            this.delete(id);
+        }
+        return staleIds.size();
+    }
+
+    /**
+     * 相关度排序分页检索
+     * @param keyword 检索词
+     * @param offset 偏移量
+     * @param count 条数
+     * @return 命中结果（含高亮）
+     */
+    public List<NoteSearchHit> search(String keyword, int offset, int count) throws IOException {
+        Query query = parseQuery(analyzers.getQueryAnalyzer(), keyword);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            ScoreDoc[] scoreDocs = searcher.search(query, offset + count).scoreDocs;
+            if (scoreDocs.length <= offset) {
+                return Collections.emptyList();
+            }
+            QueryScorer scorer = new QueryScorer(query);
+            SimpleHTMLFormatter formatter = new SimpleHTMLFormatter(HIGHLIGHT_PRE_TAG, HIGHLIGHT_POST_TAG);
+            Highlighter titleHighlighter = new Highlighter(formatter, scorer);
+            titleHighlighter.setTextFragmenter(new NullFragmenter());
+            Highlighter contentHighlighter = new Highlighter(formatter, scorer);
+            contentHighlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, CONTENT_FRAGMENT_SIZE));
+            List<NoteSearchHit> hits = new ArrayList<>(scoreDocs.length - offset);
+            for (int i = offset; i < scoreDocs.length; i++) {
+                Document document = searcher.doc(scoreDocs[i].doc);
+                String title = document.get(FIELD_TITLE);
+                String content = document.get(FIELD_CONTENT);
+                hits.add(new NoteSearchHit(Integer.valueOf(document.get(FIELD_ID)), scoreDocs[i].score,
+                        this.highlight(titleHighlighter, FIELD_TITLE, title, title),
+                        this.highlight(contentHighlighter, FIELD_CONTENT, content,
+                                content.substring(0, Math.min(content.length(), CONTENT_FRAGMENT_SIZE)))));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 遍历当前检索视图中全部笔记标题
+     * @param consumer 标题处理函数
+     */
+    public void forEachTitle(Consumer<String> consumer) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                LeafReader leafReader = leaf.reader();
+                Bits liveDocs = leafReader.getLiveDocs();
+                for (int doc = 0; doc < leafReader.maxDoc(); doc++) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        consumer.accept(leafReader.document(doc, TITLE_FIELDS).get(FIELD_TITLE));
+                    }
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 刷新检索视图，使已写入文档对查询可见
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 提交写入，生成磁盘快照
+     */
+    public void commit() throws IOException {
+        if (indexWriter.hasUncommittedChanges()) {
+            indexWriter.commit();
+        }
+    }
+
+    /**
+     * @return 索引内文档数
+     */
+    public int size() {
+        return indexWriter.getDocStats().numDocs;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * 构建笔记文档
+     * @param note 笔记实体
+     * @return 以笔记ID为主键、标题与正文分词并存储的文档
+     */
+    public static Document toDocument(Note note) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, note.getId().toString(), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, note.getTitle() != null ? note.getTitle() : "", Field.Store.YES));
+        document.add(new TextField(FIELD_CONTENT, note.getContent() != null ? note.getContent() : "", Field.Store.YES));
+        return document;
+    }
+
+    /**
+     * 解析检索词（标题加权、各词须同时命中）
+     * @param analyzer 查询端分析器
+     * @param keyword 检索词
+     * @return 查询对象，检索词分析后为空时返回null
+     */
+    public static Query parseQuery(Analyzer analyzer, String keyword) {
+        Map<String, Float> weights = new HashMap<>();
+        weights.put(FIELD_TITLE, TITLE_BOOST);
+        weights.put(FIELD_CONTENT, 1.0f);
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, weights);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(keyword);
+    }
+
+    private String highlight(Highlighter highlighter, String field, String text, String fallback) throws IOException {
+        try {
+            String fragment = highlighter.getBestFragment(analyzers.getIndexAnalyzer(), field, text);
+            return fragment != null ? fragment : fallback;
+        } catch (InvalidTokenOffsetsException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.search.utils;
+
+import com.example.littleredbook.config.FeignConfiguration;
+import com.example.littleredbook.dto.Result;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * 笔记服务Feign客户端
+ *
+ * <p>功能说明：
+ * 1. 全文索引为空时按主键游标分批拉取公开笔记完成全量构建<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@FeignClient(name = "notes", url = "http://localhost:8103", configuration = FeignConfiguration.class)
+public interface NotesClient {
+    /**
+     * 按主键游标分批获取公开笔记
+     * @param lastId 上一批最大笔记ID
+     * @param size 批大小
+     * @return Result标准响应（包含List<Note>）
+     */
+    @GetMapping("/note/index-scan")
+    Result getPublicNotesAfterId(@RequestParam("lastId") Integer lastId, @RequestParam("size") Integer size);
+}
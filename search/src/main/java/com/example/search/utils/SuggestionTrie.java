@@ -0,0 +1,163 @@
+package com.example.search.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索联想前缀树（只读快照）
+ *
+ * <p>功能说明：
+ * 1. 以字符前缀树存储候选词，子节点按字符有序排列并二分查找<br>
+ * 2. 构建时自底向上为每个节点预计算权重最高的topK个候选词<br>
+ * 3. 查询只需沿前缀走到对应节点直接返回，耗时与候选总数无关，仅与前缀长度相关<br>
+ *
+ * <p>使用约束：
+ * - 构建完成后不可变，更新时整体重建并替换引用，读路径无需加锁<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class SuggestionTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_TOP = new int[0];
+    private static final SuggestionTrie EMPTY = new SuggestionTrie(new String[0], new Node());
+    private final String[] terms;
+    private final Node root;
+
+    private SuggestionTrie(String[] terms, Node root) {
+        this.terms = terms;
+        this.root = root;
+    }
+
+    /**
+     * @return 空前缀树
+     */
+    public static SuggestionTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 构建前缀树
+     * @param weights 候选词-权重映射（候选词需已归一化）
+     * @param topK 每个节点保留的候选数
+     * @return 前缀树快照
+     */
+    public static SuggestionTrie build(Map<String, Long> weights, int topK) {
+        String[] terms = new String[weights.size()];
+        long[] termWeights = new long[weights.size()];
+        Node root = new Node();
+        int termId = 0;
+        for (Map.Entry<String, Long> entry : weights.entrySet()) {
+            String term = entry.getKey();
+            terms[termId] = term;
+            termWeights[termId] = entry.getValue();
+            Node node = root;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.getOrAddChild(term.charAt(i));
+            }
+            node.termId = termId++;
+        }
+        computeTop(root, termWeights, topK);
+        return new SuggestionTrie(terms, root);
+    }
+
+    /**
+     * 前缀联想
+     * @param prefix 归一化后的前缀
+     * @param size 返回条数上限（不超过构建时的topK）
+     * @return 按权重降序的候选词
+     */
+    public List<String> suggest(String prefix, int size) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || node.top.length == 0) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(size, node.top.length);
+        List<String> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(terms[node.top[i]]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * @return 候选词数
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    private static void computeTop(Node node, long[] termWeights, int topK) {
+        int candidateCount = node.termId >= 0 ? 1 : 0;
+        for (Node child : node.children) {
+            computeTop(child, termWeights, topK);
+            candidateCount += child.top.length;
+        }
+        if (candidateCount == 0) {
+            node.top = NO_TOP;
+            return;
+        }
+        long[] candidates = new long[candidateCount];
+        int i = 0;
+        if (node.termId >= 0) {
+            candidates[i++] = pack(termWeights[node.termId], node.termId);
+        }
+        for (Node child : node.children) {
+            for (int childTermId : child.top) {
+                candidates[i++] = pack(termWeights[childTermId], childTermId);
+            }
+        }
+        Arrays.sort(candidates);
+        int count = Math.min(topK, candidateCount);
+        node.top = new int[count];
+        for (int j = 0; j < count; j++) {
+            node.top[j] = (int) candidates[candidateCount - 1 - j];
+        }
+    }
+
+    /**
+     * 权重放高32位、候选词ID放低32位，按long升序即按权重升序
+     */
+    private static long pack(long weight, int termId) {
+        return (Math.min(weight, Integer.MAX_VALUE) << 32) | termId;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int[] top = NO_TOP;
+        private int termId = -1;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrAddChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.search.analysis;
+
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryTokenizerTest {
+    /** 扩展B区汉字，UTF-16下为一个代理对 */
+    private static final String JI = "𠮷";
+
+    private static WordDictionary dictionary(String... words) {
+        WordDictionary dictionary = new WordDictionary();
+        for (String word : words) {
+            dictionary.add(word);
+        }
+        return dictionary;
+    }
+
+    /**
+     * 输出"词@起始-结束"列表，末尾追加end()后的最终偏移量
+     */
+    private static List<String> tokenize(DictionaryTokenizer tokenizer, String text) throws IOException {
+        CharTermAttribute termAtt = tokenizer.getAttribute(CharTermAttribute.class);
+        OffsetAttribute offsetAtt = tokenizer.getAttribute(OffsetAttribute.class);
+        List<String> tokens = new ArrayList<>();
+        tokenizer.setReader(new StringReader(text));
+        tokenizer.reset();
+        while (tokenizer.incrementToken()) {
+            tokens.add(termAtt + "@" + offsetAtt.startOffset() + "-" + offsetAtt.endOffset());
+        }
+        tokenizer.end();
+        tokens.add("end@" + offsetAtt.endOffset());
+        tokenizer.close();
+        return tokens;
+    }
+
+    private static List<String> tokenize(WordDictionary dictionary, String text) throws IOException {
+        return tokenize(new DictionaryTokenizer(dictionary), text);
+    }
+
+    @Test
+    void prefersLongestDictionaryWord() throws IOException {
+        assertEquals(Arrays.asList("小红书@0-3", "笔记@3-5", "end@5"),
+                tokenize(dictionary("小红", "小红书", "红书", "笔记"), "小红书笔记"));
+    }
+
+    @Test
+    void emitsUnknownHanCharactersSingly() throws IOException {
+        assertEquals(Arrays.asList("你@0-1", "好@1-2", "end@2"), tokenize(dictionary(), "你好"));
+    }
+
+    @Test
+    void keepsLetterAndDigitRunsTogether() throws IOException {
+        assertEquals(Arrays.asList("iPhone15@0-8", "测评@8-10", "end@10"),
+                tokenize(dictionary("测评"), "iPhone15测评"));
+    }
+
+    @Test
+    void dropsPunctuationAndWhitespace() throws IOException {
+        assertEquals(Arrays.asList("咖啡@0-2", "探店@3-5", "vlog@7-11", "end@12"),
+                tokenize(dictionary("咖啡", "探店"), "咖啡，探店! vlog。"));
+        assertEquals(Arrays.asList("end@3"), tokenize(dictionary(), " ，!"));
+    }
+
+    @Test
+    void matchesSupplementaryHanWords() throws IOException {
+        assertEquals(Arrays.asList(JI + "野家@0-4", "end@4"), tokenize(dictionary(JI + "野家"), JI + "野家"));
+    }
+
+    @Test
+    void emitsUnknownSupplementaryHanAsWholeCodePoint() throws IOException {
+        assertEquals(Arrays.asList(JI + "@0-2", "野@2-3", "end@3"), tokenize(dictionary(), JI + "野"));
+    }
+
+    @Test
+    void treatsSupplementaryLettersAsWordCharacters() throws IOException {
+        String bold = new String(Character.toChars(0x1D400)) + new String(Character.toChars(0x1D401));
+        assertEquals(Arrays.asList(bold + "c@0-5", "end@5"), tokenize(dictionary(), bold + "c"));
+    }
+
+    @Test
+    void emojiSeparatesWords() throws IOException {
+        String emoji = new String(Character.toChars(0x1F600));
+        assertEquals(Arrays.asList("咖啡@0-2", "探店@4-6", "end@6"),
+                tokenize(dictionary("咖啡", "探店"), "咖啡" + emoji + "探店"));
+    }
+
+    @Test
+    void neverSplitsSurrogatePair() throws IOException {
+        // 词典中只有高位代理单元的畸形词条不能匹配半个字符
+        WordDictionary dictionary = dictionary(JI.substring(0, 1));
+        char[] buffer = JI.toCharArray();
+        assertEquals(0, dictionary.longestMatch(buffer, 0, buffer.length));
+        assertEquals(Arrays.asList(JI + "@0-2", "end@2"), tokenize(dictionary, JI));
+    }
+
+    @Test
+    void reusesTokenizerAcrossInputs() throws IOException {
+        DictionaryTokenizer tokenizer = new DictionaryTokenizer(dictionary("露营"));
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            longText.append("露营 ");
+        }
+        List<String> tokens = tokenize(tokenizer, longText.toString());
+        assertEquals(601, tokens.size());
+        assertEquals("露营@1797-1799", tokens.get(599));
+        assertEquals(Arrays.asList("露营@0-2", "end@2"), tokenize(tokenizer, "露营"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.search.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        Map<String, Long> actual = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String item = "keyword" + (int) Math.abs(random.nextGaussian() * 300);
+            long count = 1 + random.nextInt(3);
+            actual.merge(item, count, Long::sum);
+            assertTrue(sketch.add(item, count) >= actual.get(item));
+        }
+        actual.forEach((item, count) -> assertTrue(sketch.estimate(item) >= count, item));
+    }
+
+    @Test
+    void isExactWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 1 << 16);
+        sketch.add("火锅", 3);
+        sketch.add("火锅", 2);
+        sketch.add("露营", 1);
+        assertEquals(5, sketch.estimate("火锅"));
+        assertEquals(1, sketch.estimate("露营"));
+        assertEquals(0, sketch.estimate("滑雪"));
+    }
+
+    @Test
+    void clearResetsCounts() {
+        CountMinSketch sketch = new CountMinSketch(2, 16);
+        sketch.add("火锅", 7);
+        sketch.clear();
+        assertEquals(0, sketch.estimate("火锅"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.search.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void evictsSmallestCountFirst() {
+        HeavyHitters heavyHitters = new HeavyHitters(3);
+        heavyHitters.offer("a", 5);
+        heavyHitters.offer("b", 1);
+        heavyHitters.offer("c", 3);
+        heavyHitters.offer("d", 4);
+        assertEquals(Arrays.asList("a", "d", "c"), new ArrayList<>(heavyHitters.snapshot().keySet()));
+        heavyHitters.offer("e", 6);
+        assertEquals(Arrays.asList("e", "a", "d"), new ArrayList<>(heavyHitters.snapshot().keySet()));
+    }
+
+    @Test
+    void dropsNewItemNotAboveMinimum() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        heavyHitters.offer("a", 5);
+        heavyHitters.offer("b", 3);
+        heavyHitters.offer("c", 3);
+        heavyHitters.offer("d", 2);
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(heavyHitters.snapshot().keySet()));
+    }
+
+    @Test
+    void updatesExistingItemInPlace() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        heavyHitters.offer("a", 5);
+        heavyHitters.offer("b", 3);
+        heavyHitters.offer("b", 8);
+        heavyHitters.offer("c", 4);
+        Map<String, Long> snapshot = heavyHitters.snapshot();
+        assertEquals(2, heavyHitters.size());
+        assertEquals(Arrays.asList("b", "a"), new ArrayList<>(snapshot.keySet()));
+        assertEquals(Long.valueOf(8), snapshot.get("b"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.search.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    @Test
+    void returnsTopKByWeightPerPrefix() {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        weights.put("火锅", 50L);
+        weights.put("火锅底料", 80L);
+        weights.put("火锅推荐", 30L);
+        weights.put("火车票", 60L);
+        weights.put("露营", 90L);
+        SuggestionTrie trie = SuggestionTrie.build(weights, 3);
+        assertEquals(Arrays.asList("火锅底料", "火车票", "火锅"), trie.suggest("火", 10));
+        assertEquals(Arrays.asList("火锅底料", "火锅", "火锅推荐"), trie.suggest("火锅", 10));
+        assertEquals(Arrays.asList("露营", "火锅底料"), trie.suggest("", 2));
+        assertEquals(Collections.emptyList(), trie.suggest("滑雪", 10));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void matchesBruteForceOnRandomTerms() {
+        Random random = new Random(7);
+        Map<String, Long> weights = new HashMap<>();
+        long weight = 1;
+        while (weights.size() < 2000) {
+            StringBuilder term = new StringBuilder();
+            for (int i = 0, length = 1 + random.nextInt(6); i < length; i++) {
+                term.append((char) ('a' + random.nextInt(4)));
+            }
+            if (weights.putIfAbsent(term.toString(), weight) == null) {
+                weight += 1 + random.nextInt(5);
+            }
+        }
+        int topK = 5;
+        SuggestionTrie trie = SuggestionTrie.build(weights, topK);
+        for (String prefix : Arrays.asList("", "a", "b", "ab", "cd", "dca", "aaaa", "bcda")) {
+            List<String> expected = weights.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(topK)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            assertEquals(expected, trie.suggest(prefix, topK), prefix);
+        }
+    }
+
+    @Test
+    void emptyTrieSuggestsNothing() {
+        assertEquals(Collections.emptyList(), SuggestionTrie.empty().suggest("", 10));
+        assertEquals(0, SuggestionTrie.empty().size());
+    }
+}
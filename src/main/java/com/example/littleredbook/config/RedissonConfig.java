@@ -2,9 +2,11 @@ package com.example.littleredbook.config;
 
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
 import org.redisson.config.Config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * Redisson 客户端配置类
@@ -51,6 +53,25 @@ public class RedissonConfig {
      */
     @Bean
     public RedissonClient redissonClient() {
+        return Redisson.create(this.buildConfig());
+    }
+
+    /**
+     * 创建Redisson响应式客户端实例
+     *
+     * <p>与redissonClient使用相同连接配置，供Reactive*Client在非阻塞链路中获取分布式锁，
+     * 锁数据结构与阻塞客户端一致，两类客户端之间互斥有效<br>
+     * 响应式客户端持有独立连接池，延迟到首次注入时创建，仅引入Reactive*Client的服务（网关）会建立连接
+     *
+     * @return 配置完成的Redisson响应式客户端实例
+     */
+    @Bean
+    @Lazy
+    public RedissonReactiveClient redissonReactiveClient() {
+        return Redisson.createReactive(this.buildConfig());
+    }
+
+    private Config buildConfig() {
         Config config = new Config();
         config.useSingleServer()
                 .setAddress("redis://113.45.16.146:6379")
@@ -60,6 +81,6 @@ public class RedissonConfig {
                 .setConnectTimeout(3000)
                 .setIdleConnectionTimeout(60000)
                 .setRetryAttempts(3);
-        return Redisson.create(config);
+        return config;
     }
 }
@@ -0,0 +1,27 @@
+package com.example.littleredbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 关注流推送消息
+ *
+ * <p>功能说明：
+ * 1. 笔记发布后由笔记服务投递，社区服务据关注关系写入粉丝收件箱<br>
+ * 2. createTime作为收件箱ZSet分数，与滚动分页游标一致<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedMessage {
+    /** 笔记ID */
+    private Integer noteId;
+    /** 作者ID */
+    private Integer authorId;
+    /** 发布时间戳（毫秒） */
+    private Long createTime;
+}
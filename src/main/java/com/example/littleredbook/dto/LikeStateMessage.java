@@ -0,0 +1,27 @@
+package com.example.littleredbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 点赞状态同步消息
+ *
+ * <p>功能说明：
+ * 1. 笔记服务在Redis中翻转点赞状态后投递，消息服务据此幂等地新增或删除点赞记录<br>
+ * 2. 携带翻转后的最终状态而非记录ID，发送方无需先查询点赞记录<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeStateMessage {
+    /** 被点赞实体ID（笔记/评论/回复） */
+    private Integer targetId;
+    /** 点赞用户ID */
+    private Integer userId;
+    /** 翻转后是否为已点赞 */
+    private Boolean liked;
+}
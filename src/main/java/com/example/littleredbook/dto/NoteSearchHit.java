@@ -0,0 +1,29 @@
+package com.example.littleredbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 笔记全文检索命中结果
+ *
+ * <p>功能说明：
+ * 1. 搜索服务按相关度排序返回，笔记服务据noteId批量装配完整笔记<br>
+ * 2. 标题与正文片段中的命中词已以&lt;em&gt;标签包裹<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSearchHit {
+    /** 笔记ID */
+    private Integer noteId;
+    /** 相关度得分 */
+    private Float score;
+    /** 高亮后的标题 */
+    private String title;
+    /** 高亮后的正文摘要 */
+    private String content;
+}
@@ -2,7 +2,11 @@ package com.example.littleredbook.dto;
 
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 滚动分页查询结果封装类
@@ -11,6 +15,7 @@ import java.util.List;
  * 1. 用于支持基于时间戳的滚动分页查询<br>
  * 2. 适用于社交媒体动态、聊天记录等需要持续加载的场景<br>
  * 3. 提供下次查询的定位参数<br>
+ * 4. 由按时间倒序排列的ID-时间戳页统一组装，计算下次查询的minTime与offset<br>
  *
  * @author Mike
  * @since 2025/2/23
@@ -25,4 +30,37 @@ public class ScrollResult {
 
     /** 数据偏移量 */
     private Integer offset;
+
+    /**
+     * 组装滚动分页结果：计算本页最小时间戳及与其相同的记录数
+     * @param page 实体ID-时间戳映射（时间倒序）
+     * @param max 本次查询的最大时间戳
+     * @param offset 本次查询的偏移量
+     * @param loader 按ID列表（保持顺序）批量加载本页数据的函数
+     * @return 滚动分页结果，空页沿用本次查询的max与offset
+     */
+    public static ScrollResult of(Map<Integer, Long> page, Long max, Integer offset,
+                                  Function<List<Integer>, List<?>> loader) {
+        ScrollResult scrollResult = new ScrollResult();
+        if (page.isEmpty()) {
+            scrollResult.setList(Collections.emptyList());
+            scrollResult.setMinTime(max);
+            scrollResult.setOffset(offset);
+            return scrollResult;
+        }
+        long minTime = 0;
+        int sameTimeCount = 0;
+        for (Long time : page.values()) {
+            if (time == minTime) {
+                sameTimeCount++;
+            } else {
+                minTime = time;
+                sameTimeCount = 1;
+            }
+        }
+        scrollResult.setList(loader.apply(new ArrayList<>(page.keySet())));
+        scrollResult.setMinTime(minTime);
+        scrollResult.setOffset(minTime == max ? sameTimeCount + offset : sameTimeCount);
+        return scrollResult;
+    }
 }
@@ -0,0 +1,110 @@
+package com.example.littleredbook.utils;
+
+import com.example.littleredbook.entity.LikeNote;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 基于社交关系的协同过滤打分工具类
+ *
+ * <p>功能说明：
+ * 1. 按用户/好友权重与点赞时间衰减累加笔记得分<br>
+ * 2. 过滤用户自身已点赞的笔记<br>
+ * 3. 结果按得分降序排列<br>
+ *
+ * <p>设计要点：
+ * - 纯函数实现，不依赖远程服务，便于复用与基准测试<br>
+ * - 时间衰减采用指数衰减，半衰期30天<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public class CFScoreUtils {
+    /** 时间衰减系数(半衰期30天) */
+    public static final double DECAY_RATE = Math.log(2) / 30.0;
+    private static final long MILLIS_PER_DAY = 1000L * 60 * 60 * 24;
+
+    /**
+     * 计算笔记推荐得分
+     * @param userId 当前用户ID
+     * @param userLikesMap 用户ID-点赞记录映射（包含当前用户与好友）
+     * @param friendWeights 好友ID-权重映射
+     * @return 笔记ID-得分映射，按得分降序排列
+     */
+    public static Map<Integer, Double> calculateNoteScores(Integer userId,
+                                                           Map<Integer, List<LikeNote>> userLikesMap,
+                                                           Map<Integer, Double> friendWeights) {
+        return calculateNoteScores(userId, userLikesMap, friendWeights, System.currentTimeMillis());
+    }
+
+    /**
+     * 计算笔记推荐得分（指定当前时间）
+     * @param userId 当前用户ID
+     * @param userLikesMap 用户ID-点赞记录映射（包含当前用户与好友）
+     * @param friendWeights 好友ID-权重映射
+     * @param nowMillis 当前时间（epoch毫秒）
+     * @return 笔记ID-得分映射，按得分降序排列
+     */
+    public static Map<Integer, Double> calculateNoteScores(Integer userId,
+                                                           Map<Integer, List<LikeNote>> userLikesMap,
+                                                           Map<Integer, Double> friendWeights,
+                                                           long nowMillis) {
+        // 使用HashMap存储未排序的得分
+        Map<Integer, Double> noteScores = new HashMap<>();
+
+        // 获取用户已点赞的笔记ID(用于去重)
+        Set<Integer> userLikedNoteIds = userLikesMap.getOrDefault(userId, Collections.emptyList())
+                .stream()
+                .map(LikeNote::getNoteId)
+                .collect(Collectors.toSet());
+
+        // 处理每个用户的点赞记录
+        for (Map.Entry<Integer, List<LikeNote>> entry : userLikesMap.entrySet()) {
+            Integer currentUserId = entry.getKey();
+            List<LikeNote> likes = entry.getValue();
+
+            // 确定当前用户的权重(自身权重为1，好友权重按亲密度)
+            double weight = currentUserId.equals(userId) ? 1.0 :
+                    friendWeights.getOrDefault(currentUserId, 0.5);
+
+            // 处理每条点赞记录
+            for (LikeNote like : likes) {
+                int noteId = like.getNoteId();
+
+                // 跳过用户已经点赞过的笔记
+                if (userLikedNoteIds.contains(noteId)) {
+                    continue;
+                }
+
+                // 当前得分 = 用户权重 × 时间衰减因子
+                double currentScore = weight * calculateTimeDecay(like.getLikeTime(), nowMillis);
+
+                // 累加到总得分
+                noteScores.merge(noteId, currentScore, Double::sum);
+            }
+        }
+
+        // 按得分降序排序
+        return noteScores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
+                        (e1, e2) -> e1,
+                        LinkedHashMap::new
+                ));
+    }
+
+    /**
+     * 计算时间衰减因子(指数衰减，按整天计)
+     * @param likeTime 点赞时间
+     * @param nowMillis 当前时间（epoch毫秒）
+     * @return 衰减因子，范围(0, 1]
+     */
+    public static double calculateTimeDecay(Timestamp likeTime, long nowMillis) {
+        long daysPassed = (nowMillis - likeTime.getTime()) / MILLIS_PER_DAY;
+        return Math.exp(-DECAY_RATE * daysPassed);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.littleredbook.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 缓存重建协调器
+ *
+ * <p>功能说明：
+ * 1. 进程内先经SingleFlight合并同键请求，每个节点只有一个线程参与争锁<br>
+ * 2. 争锁失败的线程订阅“重建完成”广播等待，不再休眠轮询与递归<br>
+ * 3. 拿到锁后先复查缓存，避免重复回源<br>
+ * 4. 等待次数有上限，超过后直接回源，保证调用栈与耗时有界<br>
+ *
+ * <p>使用约束：
+ * - cacheReader未命中时须返回MISS，命中空值占位时返回null<br>
+ * - dbLoader负责回源并写入缓存（包括空值占位）<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+public class CacheRebuildCoordinator {
+    /** 缓存未命中标记 */
+    public static final Object MISS = new Object();
+
+    private final RedissonClient redissonClient;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final Map<String, CompletableFuture<Void>> waiters = new ConcurrentHashMap<>();
+    private volatile RTopic topic;
+
+    public CacheRebuildCoordinator(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 订阅重建完成广播（由持有方在Bean初始化时调用）
+     */
+    public void subscribe() {
+        RTopic rebuiltTopic = redissonClient.getTopic(RedisConstants.CACHE_REBUILT_TOPIC, StringCodec.INSTANCE);
+        rebuiltTopic.addListener(String.class, (channel, key) -> this.signal(key));
+        this.topic = rebuiltTopic;
+    }
+
+    /**
+     * 在互斥锁保护下重建缓存
+     * @param key 缓存键（同时作为合并键与广播内容）
+     * @param lockKey 分布式锁键
+     * @param cacheReader 缓存读取函数，未命中返回MISS
+     * @param dbLoader 回源并写缓存的函数
+     * @return 缓存或回源结果
+     */
+    public <T, E extends Exception> T rebuild(String key, String lockKey,
+                                              SingleFlight.Loader<Object, E> cacheReader,
+                                              SingleFlight.Loader<T, E> dbLoader) throws E {
+        return singleFlight.execute(key, () -> this.rebuildWithLock(key, lockKey, cacheReader, dbLoader));
+    }
+
+    /**
+     * 通知所有节点该键已重建
+     * @param key 缓存键
+     */
+    public void notifyRebuilt(String key) {
+        this.signal(key);
+        RTopic rebuiltTopic = this.topic;
+        if (rebuiltTopic != null) {
+            rebuiltTopic.publish(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T rebuildWithLock(String key, String lockKey,
+                                                       SingleFlight.Loader<Object, E> cacheReader,
+                                                       SingleFlight.Loader<T, E> dbLoader) throws E {
+        RLock lock = redissonClient.getLock(lockKey);
+        for (int attempt = 0; attempt < RedisConstants.CACHE_REBUILD_MAX_ATTEMPTS; attempt++) {
+            CompletableFuture<Void> rebuilt = waiters.computeIfAbsent(key, k -> new CompletableFuture<>());
+            boolean isLock = false;
+            try {
+                isLock = lock.tryLock(0, RedisConstants.CACHE_REBUILD_LOCK_TTL, TimeUnit.SECONDS);
+                if (isLock) {
+                    Object cached = cacheReader.load();
+                    if (cached != MISS) {
+                        return (T) cached;
+                    }
+                    T result = dbLoader.load();
+                    this.notifyRebuilt(key);
+                    return result;
+                }
+                this.awaitRebuilt(key, rebuilt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                if (isLock && lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+            Object cached = cacheReader.load();
+            if (cached != MISS) {
+                return (T) cached;
+            }
+        }
+        log.warn("缓存重建等待超过上限，直接回源: key={}", key);
+        return dbLoader.load();
+    }
+
+    private void awaitRebuilt(String key, CompletableFuture<Void> rebuilt) throws InterruptedException {
+        try {
+            rebuilt.get(RedisConstants.CACHE_REBUILD_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ignored) {
+            // 超时后由调用方复查缓存并重新争锁
+        } finally {
+            waiters.remove(key, rebuilt);
+        }
+    }
+
+    private void signal(String key) {
+        CompletableFuture<Void> rebuilt = waiters.remove(key);
+        if (rebuilt != null) {
+            rebuilt.complete(null);
+        }
+    }
+}
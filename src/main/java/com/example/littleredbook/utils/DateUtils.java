@@ -3,7 +3,10 @@ package com.example.littleredbook.utils;
 
 import java.sql.Timestamp;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * 日期格式转换工具类
@@ -13,6 +16,7 @@ import java.text.SimpleDateFormat;
  * 2. 支持数据库时间字段格式化输出<br>
  * 3. 实现空值安全处理机制<br>
  * 4. 统一系统时间格式标准<br>
+ * 5. 提供缓存写入用的紧凑epoch毫秒格式，读取时兼容两种格式<br>
  *
  * <p>典型场景：
  * - 数据库Timestamp类型字段展示<br>
@@ -20,10 +24,13 @@ import java.text.SimpleDateFormat;
  * - 空值时间字段容错处理<br>
  * - 系统日志时间标准化输出<br>
  *
+ * <p>实现说明：基于线程安全的DateTimeFormatter单例，不再为每次调用创建SimpleDateFormat
+ *
  * @author Mike
  * @since 2025/2/28
  */
 public class DateUtils {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
      * 时间戳转标准格式字符串
@@ -32,19 +39,53 @@ public class DateUtils {
      */
     public static String TimeStampToString(Timestamp timestamp) {
         if (timestamp == null) return "null";
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        return simpleDateFormat.format(timestamp);
+        return FORMATTER.format(timestamp.toLocalDateTime());
     }
 
     /**
-     * 标准格式字符串转时间戳
-     * @param time 符合格式的字符串
+     * 时间戳转缓存存储格式字符串
+     * @param timestamp 数据库时间戳对象
+     * @return 开启RedisConstants.CACHE_TIMESTAMP_EPOCH_MILLIS时为epoch毫秒，否则为标准格式，空值返回"null"
+     */
+    public static String TimeStampToCacheString(Timestamp timestamp) {
+        if (timestamp == null) return "null";
+        if (RedisConstants.CACHE_TIMESTAMP_EPOCH_MILLIS) {
+            return Long.toString(timestamp.getTime());
+        }
+        return FORMATTER.format(timestamp.toLocalDateTime());
+    }
+
+    /**
+     * 字符串转时间戳，兼容标准格式与epoch毫秒
+     * @param time "yyyy-MM-dd HH:mm:ss"格式（允许尾随毫秒等内容）或epoch毫秒字符串
      * @return java.sql.Timestamp对象，无效输入返回null
      * @throws ParseException 时间格式解析异常
      */
     public static Timestamp StringToTimeStamp(String time) throws ParseException {
         if (time == null || time.equals("null")) return null;
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        return new Timestamp(simpleDateFormat.parse(time).getTime());
+        if (isEpochMillis(time)) {
+            return new Timestamp(Long.parseLong(time));
+        }
+        try {
+            return Timestamp.valueOf(LocalDateTime.from(FORMATTER.parse(time, new ParsePosition(0))));
+        } catch (DateTimeParseException e) {
+            throw new ParseException(e.getMessage(), e.getErrorIndex());
+        } catch (RuntimeException e) {
+            throw new ParseException("Unparseable date: \"" + time + "\"", 0);
+        }
+    }
+
+    private static boolean isEpochMillis(String time) {
+        int start = time.startsWith("-") ? 1 : 0;
+        if (start == time.length()) {
+            return false;
+        }
+        for (int i = start; i < time.length(); i++) {
+            char c = time.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 }
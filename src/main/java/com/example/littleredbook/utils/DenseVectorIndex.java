@@ -0,0 +1,245 @@
+package com.example.littleredbook.utils;
+
+import java.util.Arrays;
+
+/**
+ * 稠密向量暴力检索索引（只读快照）
+ *
+ * <p>功能说明：
+ * 1. 全部文档向量按行连续存放在一个扁平float数组中，按文档ID二分定位行号<br>
+ * 2. 查询对每一行计算点积，以定长小顶堆保留得分最高的topK<br>
+ * 3. 内置构建器：逐篇追加文本，结束时统计文档频率生成TF-IDF向量化器并就地加权归一化<br>
+ *
+ * <p>关键特性：
+ * - 点积内层循环按4路独立累加展开，连续访存无分支，便于JIT生成SIMD指令<br>
+ * - 单次查询为O(文档数×维度)的顺序扫描，适用于十万量级语料<br>
+ *
+ * <p>使用约束：
+ * - 构建完成后不可变，更新时整体重建并替换引用，读路径无需加锁<br>
+ * - 构建时文档ID须严格递增追加<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class DenseVectorIndex {
+    private final TfIdfVectorizer vectorizer;
+    private final int dimension;
+    private final int[] ids;
+    private final float[] vectors;
+
+    private DenseVectorIndex(TfIdfVectorizer vectorizer, int[] ids, float[] vectors) {
+        this.vectorizer = vectorizer;
+        this.dimension = vectorizer.dimension();
+        this.ids = ids;
+        this.vectors = vectors;
+    }
+
+    /**
+     * @param dimension 向量维度（4的正整数倍）
+     * @return 索引构建器
+     */
+    public static Builder builder(int dimension) {
+        return new Builder(dimension);
+    }
+
+    /**
+     * @return 文档数
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 计算文本的查询向量（使用构建时的IDF）
+     * @param text 文本
+     * @return L2归一化向量
+     */
+    public float[] transform(String text) {
+        return vectorizer.transform(text);
+    }
+
+    /**
+     * 获取已收录文档的向量副本
+     * @param id 文档ID
+     * @return 向量，未收录时返回null
+     */
+    public float[] vector(int id) {
+        int row = Arrays.binarySearch(ids, id);
+        if (row < 0) {
+            return null;
+        }
+        return Arrays.copyOfRange(vectors, row * dimension, (row + 1) * dimension);
+    }
+
+    /**
+     * 检索与查询向量点积最高的文档
+     * @param query 查询向量
+     * @param k 返回条数上限
+     * @param excludeId 排除的文档ID（通常为查询文档自身）
+     * @return 按得分降序的命中结果
+     */
+    public Hits topK(float[] query, int k, int excludeId) {
+        int[] heapRows = new int[k];
+        float[] heapScores = new float[k];
+        int heapSize = 0;
+        for (int row = 0, base = 0; row < ids.length; row++, base += dimension) {
+            float score = dot(query, vectors, base, dimension);
+            if (score <= 0 || ids[row] == excludeId) {
+                continue;
+            }
+            if (heapSize < k) {
+                heapRows[heapSize] = row;
+                heapScores[heapSize] = score;
+                siftUp(heapRows, heapScores, heapSize++);
+            } else if (k > 0 && score > heapScores[0]) {
+                heapRows[0] = row;
+                heapScores[0] = score;
+                siftDown(heapRows, heapScores, heapSize);
+            }
+        }
+        int[] hitIds = new int[heapSize];
+        float[] hitScores = new float[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            hitIds[i] = ids[heapRows[0]];
+            hitScores[i] = heapScores[0];
+            heapRows[0] = heapRows[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapRows, heapScores, i);
+        }
+        return new Hits(hitIds, hitScores);
+    }
+
+    /**
+     * 点积（4路独立累加，打破浮点加法依赖链，便于自动向量化）
+     */
+    private static float dot(float[] query, float[] vectors, int base, int dimension) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        for (int d = 0; d < dimension; d += 4) {
+            s0 += query[d] * vectors[base + d];
+            s1 += query[d + 1] * vectors[base + d + 1];
+            s2 += query[d + 2] * vectors[base + d + 2];
+            s3 += query[d + 3] * vectors[base + d + 3];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static void siftUp(int[] rows, float[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(rows, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] rows, float[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(rows, scores, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] rows, float[] scores, int i, int j) {
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    /**
+     * 检索结果：ids[i]的得分为scores[i]（降序）
+     */
+    public static final class Hits {
+        private final int[] ids;
+        private final float[] scores;
+
+        private Hits(int[] ids, float[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public int id(int index) {
+            return ids[index];
+        }
+
+        public float score(int index) {
+            return scores[index];
+        }
+    }
+
+    /**
+     * 索引构建器：追加时写入词频，build时统计文档频率并加权归一化
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+        private final int dimension;
+        private final int[] documentFrequencies;
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private float[] vectors;
+        private int size;
+
+        private Builder(int dimension) {
+            this.dimension = dimension;
+            this.documentFrequencies = new int[dimension];
+            this.vectors = new float[INITIAL_CAPACITY * dimension];
+        }
+
+        /**
+         * 追加文档
+         * @param id 文档ID（须大于已追加的ID）
+         * @param text 文本
+         * @return 当前构建器
+         */
+        public Builder add(int id, String text) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("文档ID须严格递增追加");
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                vectors = Arrays.copyOf(vectors, size * 2 * dimension);
+            }
+            int offset = size * dimension;
+            TfIdfVectorizer.termFrequencies(text, vectors, offset, dimension);
+            for (int d = 0; d < dimension; d++) {
+                if (vectors[offset + d] != 0) {
+                    documentFrequencies[d]++;
+                }
+            }
+            ids[size++] = id;
+            return this;
+        }
+
+        /**
+         * @return 索引快照
+         */
+        public DenseVectorIndex build() {
+            TfIdfVectorizer vectorizer = new TfIdfVectorizer(dimension, documentFrequencies, size);
+            float[] weighted = Arrays.copyOf(vectors, size * dimension);
+            for (int offset = 0; offset < weighted.length; offset += dimension) {
+                vectorizer.weigh(weighted, offset);
+            }
+            return new DenseVectorIndex(vectorizer, Arrays.copyOf(ids, size), weighted);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.littleredbook.utils;
+
+import cn.hutool.json.JSONUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis哈希与Java对象互转的预编译编解码器
+ *
+ * <p>功能说明：
+ * 1. 每个类型仅在首次使用时解析一次字段结构并缓存<br>
+ * 2. 基于MethodHandle直接读写字段，避免每次调用反射与BeanUtil中间Map<br>
+ * 3. 按字段类型预先绑定解析器（基础类型/Timestamp/List/嵌套对象）<br>
+ * 4. Timestamp字段写入格式由DateUtils.TimeStampToCacheString决定，读取兼容epoch毫秒与标准格式<br>
+ *
+ * <p>使用约束：
+ * - 目标类型需为提供无参构造器的自定义类，基础类型、数组、枚举、接口及JDK类型直接拒绝<br>
+ * - 静态字段与合成字段不参与编解码<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class HashCodec<T> {
+    private static final Map<Class<?>, HashCodec<?>> REGISTRY = new ConcurrentHashMap<>();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final FieldCodec[] fieldCodecs;
+    private final List<String> fieldNames;
+
+    /**
+     * 获取指定类型的编解码器（线程安全，按类型缓存）
+     * @param type 目标类型
+     * @return 编解码器
+     * @throws IllegalArgumentException 类型不是可映射为哈希的自定义类时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> HashCodec<T> of(Class<T> type) {
+        if (!isMappable(type)) {
+            throw new IllegalArgumentException("类型不支持哈希映射（仅支持自定义实体类）: " + type.getName());
+        }
+        return (HashCodec<T>) REGISTRY.computeIfAbsent(type, HashCodec::new);
+    }
+
+    /**
+     * 判断类型能否按字段映射为Redis哈希
+     * @param type 目标类型
+     * @return false-基础类型、数组、枚举、接口、抽象类或JDK类型（如Integer、String、Map）
+     */
+    public static boolean isMappable(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface()
+                || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        String name = type.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.") && !name.startsWith("jdk.");
+    }
+
+    private HashCodec(Class<T> type) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            List<FieldCodec> codecs = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                codecs.add(new FieldCodec(
+                        field.getName(),
+                        lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                        lookup.unreflectSetter(field).asType(SETTER_TYPE),
+                        field.getGenericType()));
+            }
+            this.fieldCodecs = codecs.toArray(new FieldCodec[0]);
+            List<String> names = new ArrayList<>(fieldCodecs.length);
+            for (FieldCodec codec : fieldCodecs) {
+                names.add(codec.name);
+            }
+            this.fieldNames = Collections.unmodifiableList(names);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("无法为类型构建哈希编解码器: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 参与编解码的字段名（顺序与decode入参一致）
+     * @return 不可变字段名列表
+     */
+    public List<String> fieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * 将HMGET结果还原为对象
+     * @param values 与fieldNames()顺序一致的字段值
+     * @return 转换后的对象，所有字段均不存在时返回null（视为键不存在）
+     */
+    public T decode(List<String> values) throws ParseException {
+        if (values == null || values.size() != fieldCodecs.length) {
+            return null;
+        }
+        boolean present = false;
+        for (String value : values) {
+            if (value != null) {
+                present = true;
+                break;
+            }
+        }
+        if (!present) {
+            return null;
+        }
+        try {
+            Object bean = constructor.invokeExact();
+            for (int i = 0; i < fieldCodecs.length; i++) {
+                Object value = fieldCodecs[i].parse(values.get(i));
+                if (value != null) {
+                    fieldCodecs[i].setter.invokeExact(bean, value);
+                }
+            }
+            return type.cast(bean);
+        } catch (ParseException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("哈希解码失败: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 将对象展开为哈希字段映射
+     * @param bean 对象
+     * @return 字段名-字符串值映射
+     */
+    public Map<String, String> encode(Object bean) {
+        Map<String, String> map = new HashMap<>((int) (fieldCodecs.length / 0.75f) + 1);
+        try {
+            for (FieldCodec codec : fieldCodecs) {
+                Object value = codec.getter.invokeExact(bean);
+                map.put(codec.name, codec.format(value));
+            }
+        } catch (Throwable e) {
+            throw new IllegalStateException("哈希编码失败: " + type.getName(), e);
+        }
+        return map;
+    }
+
+    /**
+     * 单字段编解码器，解析策略在构建时确定
+     */
+    private static final class FieldCodec {
+        private static final int SIMPLE = 0;
+        private static final int TIMESTAMP = 1;
+        private static final int LIST = 2;
+        private static final int BEAN = 3;
+
+        private final String name;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final Class<?> rawType;
+        private final Class<?> elementType;
+        private final int kind;
+
+        private FieldCodec(String name, MethodHandle getter, MethodHandle setter, Type genericType) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.rawType = rawType(genericType);
+            if (rawType == Timestamp.class) {
+                this.kind = TIMESTAMP;
+                this.elementType = null;
+            } else if (isSimpleType(rawType)) {
+                this.kind = SIMPLE;
+                this.elementType = null;
+            } else if (rawType == List.class) {
+                this.kind = LIST;
+                Class<?> element = Object.class;
+                if (genericType instanceof ParameterizedType) {
+                    Type[] actualTypes = ((ParameterizedType) genericType).getActualTypeArguments();
+                    if (actualTypes.length > 0 && actualTypes[0] instanceof Class) {
+                        element = (Class<?>) actualTypes[0];
+                    }
+                }
+                this.elementType = element;
+            } else {
+                this.kind = BEAN;
+                this.elementType = null;
+            }
+        }
+
+        private Object parse(String value) throws ParseException {
+            if (value == null || value.equals("null")) {
+                return null;
+            }
+            switch (kind) {
+                case SIMPLE:
+                    return parseSimple(value);
+                case TIMESTAMP:
+                    return DateUtils.StringToTimeStamp(value);
+                case LIST:
+                    return JSONUtil.toList(value, elementType);
+                default:
+                    return JSONUtil.toBean(value, rawType);
+            }
+        }
+
+        private String format(Object value) {
+            if (value == null) {
+                return "null";
+            }
+            switch (kind) {
+                case TIMESTAMP:
+                    return DateUtils.TimeStampToCacheString((Timestamp) value);
+                case SIMPLE:
+                    return value.toString();
+                default:
+                    return JSONUtil.toJsonStr(value);
+            }
+        }
+
+        private Object parseSimple(String value) {
+            if (rawType == String.class) {
+                return value;
+            } else if (rawType == Integer.class || rawType == int.class) {
+                return Integer.valueOf(value);
+            } else if (rawType == Long.class || rawType == long.class) {
+                return Long.valueOf(value);
+            } else if (rawType == Boolean.class || rawType == boolean.class) {
+                return Boolean.valueOf(value);
+            } else if (rawType == Double.class || rawType == double.class) {
+                return Double.valueOf(value);
+            } else if (rawType == Float.class || rawType == float.class) {
+                return Float.valueOf(value);
+            }
+            return null;
+        }
+
+        private static boolean isSimpleType(Class<?> type) {
+            return type == String.class
+                    || type == Integer.class || type == int.class
+                    || type == Long.class || type == long.class
+                    || type == Boolean.class || type == boolean.class
+                    || type == Double.class || type == double.class
+                    || type == Float.class || type == float.class;
+        }
+
+        private static Class<?> rawType(Type type) {
+            if (type instanceof Class) {
+                return (Class<?>) type;
+            } else if (type instanceof ParameterizedType) {
+                Type rawType = ((ParameterizedType) type).getRawType();
+                if (rawType instanceof Class) {
+                    return (Class<?>) rawType;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+}
@@ -1,20 +1,20 @@
 package com.example.littleredbook.utils;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.bean.copier.CopyOptions;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
+import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.sql.Timestamp;
 import java.text.ParseException;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -22,7 +22,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Redis哈希结构操作增强客户端
@@ -33,6 +32,9 @@ import java.util.stream.Collectors;
  * 3. 集成分布式锁保障缓存重建原子性<br>
  * 4. 支持逻辑过期时间维护热点数据<br>
  * 5. 内置缓存穿透保护机制<br>
+ * 6. 集成进程内一级缓存（Caffeine），写操作经发布订阅跨节点失效<br>
+ * 7. 对象与哈希互转由按类型预编译的HashCodec完成<br>
+ * 8. 缓存重建经SingleFlight合并并通过发布订阅唤醒等待方<br>
  *
  * <p>典型场景：
  * - 对象属性级缓存读写操作<br>
@@ -50,11 +52,52 @@ public class HashRedisClient {
     private final RedissonClient redissonClient;
     private static final ExecutorService CACHE_REBUILD_EXECUTOR = Executors.newFixedThreadPool(10);
     private final HashOperations<String, String, String> hashOperations;
+    private final LocalHashCache localCache = new LocalHashCache();
+    private final CacheRebuildCoordinator rebuildCoordinator;
+    private RTopic invalidateTopic;
 
     public HashRedisClient(StringRedisTemplate stringRedisTemplate, RedissonClient redissonClient) {
         this.stringRedisTemplate = stringRedisTemplate;
         this.redissonClient = redissonClient;
         this.hashOperations = stringRedisTemplate.opsForHash();
+        this.rebuildCoordinator = new CacheRebuildCoordinator(redissonClient);
+        localCache.register(RedisConstants.CACHE_NOTE_KEY, RedisConstants.LOCAL_CACHE_NOTE_MAXIMUM_SIZE,
+                RedisConstants.LOCAL_CACHE_NOTE_TTL, TimeUnit.SECONDS);
+        localCache.register(RedisConstants.CACHE_COMMENT_KEY, RedisConstants.LOCAL_CACHE_COMMENT_MAXIMUM_SIZE,
+                RedisConstants.LOCAL_CACHE_COMMENT_TTL, TimeUnit.SECONDS);
+        localCache.register(RedisConstants.CACHE_REPLYCOMMENT_KEY, RedisConstants.LOCAL_CACHE_REPLYCOMMENT_MAXIMUM_SIZE,
+                RedisConstants.LOCAL_CACHE_REPLYCOMMENT_TTL, TimeUnit.SECONDS);
+        localCache.register(RedisConstants.CACHE_LIKENOTE_KEY, RedisConstants.LOCAL_CACHE_LIKENOTE_MAXIMUM_SIZE,
+                RedisConstants.LOCAL_CACHE_LIKENOTE_TTL, TimeUnit.SECONDS);
+        localCache.register(RedisConstants.CACHE_MESSAGE_KEY, RedisConstants.LOCAL_CACHE_MESSAGE_MAXIMUM_SIZE,
+                RedisConstants.LOCAL_CACHE_MESSAGE_TTL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 订阅一级缓存失效广播
+     *
+     * <p>任一节点通过本客户端修改或删除哈希键（包括各模块的*.cache.delete监听器），
+     * 都会广播该键，所有节点收到后清除本地副本
+     */
+    @PostConstruct
+    public void subscribeLocalCacheInvalidation() {
+        invalidateTopic = redissonClient.getTopic(RedisConstants.LOCAL_CACHE_INVALIDATE_TOPIC, StringCodec.INSTANCE);
+        invalidateTopic.addListener(String.class, (channel, key) -> localCache.invalidate(key));
+        rebuildCoordinator.subscribe();
+    }
+
+    /**
+     * 失效一级缓存并通知其他节点
+     * @param key 键
+     */
+    private void evictLocal(String key) {
+        if (!localCache.isCached(key)) {
+            return;
+        }
+        localCache.invalidate(key);
+        if (invalidateTopic != null) {
+            invalidateTopic.publish(key);
+        }
     }
 
     /**
@@ -92,64 +135,21 @@ public class HashRedisClient {
     /**
      * 批量获取并转换为指定类型
      * @param key 键
-     * @param type 目标类型
+     * @param type 目标类型（自定义实体类，单字段读取请使用{@link #hGet(String, String)}）
      * @return 转换后的对象，不存在或空值返回null
+     * @throws IllegalArgumentException type为基础类型或JDK类型时抛出
      */
     public <T> T hMultiGet(String key, Class<T> type) throws ParseException {
-        if (!hasKey(key)) {
-            return null;
-        }
-        Field[] fields = type.getDeclaredFields();
-        List<String> fieldNames = Arrays.stream(fields).map(Field::getName).collect(Collectors.toList());
-        List<Type> fieldTypes = Arrays.stream(fields).map(Field::getGenericType).collect(Collectors.toList());
-        List<String> values = this.hMultiGet(key, fieldNames);
-        if (values == null || values.isEmpty()) {
-            return null;
-        }
-        if (fieldNames.size() != values.size()) {
-            throw new IllegalStateException("字段和值数量不匹配");
-        }
-        Map<String, Object> fieldValueMap = new HashMap<>();
-        for (int i = 0; i < fieldNames.size(); i++) {
-            String field = fieldNames.get(i);
-            String value = values.get(i);
-            Type fieldType = fieldTypes.get(i);
-            Class<?> types = getRawType(fieldType);
-            Object obj = null;
-            if (types == Timestamp.class) {
-                obj = DateUtils.StringToTimeStamp(value);
-            } else if (isSimpleType(types)) {
-                obj = toSimpleType(value, types);
-            }else if (types == List.class) {
-                Type genericType  = fields[i].getGenericType();
-                ParameterizedType pType = (ParameterizedType) genericType;
-                Type[] actualTypes = pType.getActualTypeArguments();
-                if (actualTypes.length > 0) {
-                    Type actualType = actualTypes[0];
-                    if (actualType instanceof Class) {
-                        types = (Class<?>) actualType;
-                    }
-                }
-                obj = JSONUtil.toList(value, types);
-            } else if (value != null && !value.equals("null")){
-                obj = JSONUtil.toBean(value, types);
-            }
-            fieldValueMap.put(field, obj);
+        T cached = localCache.get(key, type);
+        if (cached != null) {
+            return cached;
         }
-        return BeanUtil.mapToBean(fieldValueMap, type, CopyOptions.create().setIgnoreError(true));
-    }
-
-    private Class<?> getRawType(Type type) {
-        if (type instanceof Class) {
-            return (Class<?>) type;
-        } else if (type instanceof ParameterizedType) {
-            ParameterizedType pType = (ParameterizedType) type;
-            Type rawType = pType.getRawType();
-            if (rawType instanceof Class) {
-                return (Class<?>) rawType;
-            }
+        HashCodec<T> codec = HashCodec.of(type);
+        T result = codec.decode(this.hMultiGet(key, codec.fieldNames()));
+        if (result != null) {
+            localCache.put(key, result);
         }
-        throw new IllegalArgumentException("Unsupported type: " + type);
+        return result;
     }
 
     /**
@@ -164,10 +164,12 @@ public class HashRedisClient {
         if (isSimpleType(value)) {
             hashOperations.put(key, field, String.valueOf(value));
             stringRedisTemplate.expire(key, time, unit);
+            evictLocal(key);
             return;
         }
         hashOperations.put(key, field, JSONUtil.toJsonStr(value));
         stringRedisTemplate.expire(key, time, unit);
+        evictLocal(key);
     }
 
     /**
@@ -178,7 +180,11 @@ public class HashRedisClient {
      * @return true-设置成功
      */
     public Boolean hSetIfAbsent(String key, String field, Object value) {
-        return hashOperations.putIfAbsent(key, field, value.toString());
+        Boolean success = hashOperations.putIfAbsent(key, field, value.toString());
+        if (Boolean.TRUE.equals(success)) {
+            evictLocal(key);
+        }
+        return success;
     }
 
     /**
@@ -187,26 +193,8 @@ public class HashRedisClient {
      * @param bean 类对象
      */
     public void hMultiSet(String key, Object bean) {
-        Map<String, String> map = new HashMap<>();
-        Field[] fields = bean.getClass().getDeclaredFields();
-        for (Field field : fields) {
-            field.setAccessible(true);
-            try {
-                Object obj = field.get(bean);
-                String str = "";
-                if (isSimpleType(obj)) {
-                    str = String.valueOf(obj);
-                } else  if (obj.getClass() == Timestamp.class){
-                    str = DateUtils.TimeStampToString((Timestamp) obj);
-                } else {
-                    str = JSONUtil.toJsonStr(obj);
-                }
-                map.put(field.getName(), str);
-            } catch (IllegalAccessException e) {
-                log.error("字段访问异常", e);
-            }
-        }
-        hashOperations.putAll(key, map);
+        hashOperations.putAll(key, HashCodec.of(bean.getClass()).encode(bean));
+        evictLocal(key);
     }
 
     private boolean isSimpleType(Object type) {
@@ -218,31 +206,6 @@ public class HashRedisClient {
                 type.getClass().isPrimitive();
     }
 
-    private boolean isSimpleType(Class type) {
-        return type == null || type == Integer.class || type == String.class
-                || type == Long.class || type == Boolean.class || type == Float.class
-                || type == Double.class;
-    }
-
-    private Object toSimpleType(String str, Class type) {
-        Object obj = null;
-        if (str == null || str.equals("null")) return null;
-        if (type == Integer.class) {
-            obj = Integer.parseInt(str);
-        } else if (type == String.class) {
-            obj = str;
-        } else if (type == Long.class) {
-            obj = Long.parseLong(str);
-        } else if (type == Boolean.class) {
-            obj = Boolean.parseBoolean(str);
-        } else if (type == Float.class) {
-            obj = Float.parseFloat(str);
-        } else if (type == Double.class) {
-            obj = Double.parseDouble(str);
-        }
-        return obj;
-    }
-
     /**
      * 删除一个或多个字段
      * @param key 键
@@ -250,7 +213,9 @@ public class HashRedisClient {
      * @return 删除的字段数量
      */
     public Long hDelete(String key, String... fields) {
-        return hashOperations.delete(key, Arrays.stream(fields).toArray());
+        Long count = hashOperations.delete(key, Arrays.stream(fields).toArray());
+        evictLocal(key);
+        return count;
     }
 
     /**
@@ -289,7 +254,9 @@ public class HashRedisClient {
      * @return 递增后的值
      */
     public Long hIncrement(String key, String field, long delta) {
-        return hashOperations.increment(key, field, delta);
+        Long value = hashOperations.increment(key, field, delta);
+        evictLocal(key);
+        return value;
     }
 
     /**
@@ -300,7 +267,9 @@ public class HashRedisClient {
      * @return 递减后的值
      */
     public Long hDecrement(String key, String field, long delta) {
-        return hashOperations.increment(key, field, -delta);
+        Long value = hashOperations.increment(key, field, -delta);
+        evictLocal(key);
+        return value;
     }
 
 
@@ -340,7 +309,9 @@ public class HashRedisClient {
      * @return true-删除成功
      */
     public Boolean delete(String key) {
-        return stringRedisTemplate.delete(key);
+        Boolean deleted = stringRedisTemplate.delete(key);
+        evictLocal(key);
+        return deleted;
     }
 
     /**
@@ -365,6 +336,7 @@ public class HashRedisClient {
         redisData.setData(value);
         redisData.setExpireTime(LocalDateTime.now().plusSeconds(unit.toSeconds(time)));
         hashOperations.put(key, field, JSONUtil.toJsonStr(redisData));
+        evictLocal(key);
     }
 
 //    /**
@@ -462,33 +434,212 @@ public class HashRedisClient {
     public <R, ID> R queryWithMutex(
             String keyPrefix, ID id, Class<R> type, Function<ID, R> dbFallback, Long time, TimeUnit unit) throws ParseException {
         String key = keyPrefix + id;
-        R result = this.hMultiGet(key, type);
-        boolean isLock = false;
+        Object cached = this.readCached(key, type);
+        if (cached != CacheRebuildCoordinator.MISS) {
+            return type.cast(cached);
+        }
+        return rebuildCoordinator.rebuild(key, RedisConstants.LOCK_HASH_PREFIX + key,
+                () -> this.readCached(key, type),
+                () -> {
+                    R loaded = dbFallback.apply(id);
+                    if (loaded == null) {
+                        this.cacheNullPlaceholder(key);
+                        return null;
+                    }
+                    this.hMultiSet(key, loaded);
+                    this.expire(key, time, unit);
+                    localCache.put(key, loaded);
+                    return loaded;
+                });
+    }
+
+    /**
+     * 读取哈希缓存并识别空值占位
+     *
+     * <p>业务字段与占位字段在同一次HMGET中读取；业务字段存在时以业务数据为准，
+     * 避免占位过期前被*.cache.add监听器写入的数据被误判为不存在
+     * @param key 键
+     * @param type 目标类型
+     * @return 命中返回对象，空值占位返回null，未命中返回MISS
+     */
+    private <R> Object readCached(String key, Class<R> type) throws ParseException {
+        R cached = localCache.get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+        HashCodec<R> codec = HashCodec.of(type);
+        List<String> values = this.hMultiGet(key, this.fieldsWithPlaceholder(codec));
+        R result = codec.decode(values.subList(0, values.size() - 1));
         if (result != null) {
+            localCache.put(key, result);
             return result;
         }
-        String lockKey = RedisConstants.LOCK_HASH_PREFIX + id;
-        RLock lock = redissonClient.getLock(lockKey);
+        return values.get(values.size() - 1) != null ? null : CacheRebuildCoordinator.MISS;
+    }
+
+    /**
+     * 业务字段列表追加空值占位字段
+     */
+    private List<String> fieldsWithPlaceholder(HashCodec<?> codec) {
+        List<String> fields = new ArrayList<>(codec.fieldNames().size() + 1);
+        fields.addAll(codec.fieldNames());
+        fields.add(RedisConstants.CACHE_NULL_PLACEHOLDER_FIELD);
+        return fields;
+    }
+
+    /**
+     * 写入空值占位：仅包含占位字段的哈希，短期过期
+     * @param key 键
+     */
+    private void cacheNullPlaceholder(String key) {
+        hashOperations.put(key, RedisConstants.CACHE_NULL_PLACEHOLDER_FIELD, "");
+        stringRedisTemplate.expire(key, RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 批量互斥锁缓存查询：一次管道读取全部键，未命中部分合并为一次数据库查询并管道回写
+     *
+     * <p>执行流程：
+     * 1. 一级缓存命中的直接返回，其余键通过单次管道HMGET读取<br>
+     * 2. 对未命中的ID尝试非阻塞加锁，抢到锁的ID合并调用batchDbFallback<br>
+     * 3. 回源结果通过单次管道写回（HMSET + EXPIRE），数据库不存在的ID写入空值占位<br>
+     * 4. 未抢到锁的ID说明其他线程正在重建，退化为单键queryWithMutex等待<br>
+     *
+     * @param keyPrefix 键前缀
+     * @param ids 业务ID列表
+     * @param type 返回对象类型
+     * @param batchDbFallback 批量数据库查询函数（返回ID-对象映射，不存在的ID不放入）
+     * @param time 缓存时间数值
+     * @param unit 时间单位
+     * @return 按ids顺序排列的结果列表（不存在的ID被跳过）
+     */
+    public <R, ID> List<R> queryManyWithMutex(
+            String keyPrefix, List<ID> ids, Class<R> type, Function<List<ID>, Map<ID, R>> batchDbFallback,
+            Long time, TimeUnit unit) throws ParseException {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<ID, R> found = new HashMap<>();
+        List<ID> remoteIds = new ArrayList<>();
+        for (ID id : ids) {
+            R cached = localCache.get(keyPrefix + id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                remoteIds.add(id);
+            }
+        }
+        List<ID> missIds = new ArrayList<>();
+        if (!remoteIds.isEmpty()) {
+            HashCodec<R> codec = HashCodec.of(type);
+            List<String> fieldNames = this.fieldsWithPlaceholder(codec);
+            List<Object> rows = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    HashOperations<String, String, String> ops =
+                            ((RedisOperations<String, String>) operations).opsForHash();
+                    for (ID id : remoteIds) {
+                        ops.multiGet(keyPrefix + id, fieldNames);
+                    }
+                    return null;
+                }
+            });
+            for (int i = 0; i < remoteIds.size(); i++) {
+                ID id = remoteIds.get(i);
+                List<String> values = (List<String>) rows.get(i);
+                R result = codec.decode(values.subList(0, values.size() - 1));
+                if (result == null) {
+                    if (values.get(values.size() - 1) == null) {
+                        missIds.add(id);
+                    }
+                    continue;
+                }
+                localCache.put(keyPrefix + id, result);
+                found.put(id, result);
+            }
+        }
+        if (!missIds.isEmpty()) {
+            found.putAll(this.rebuildMany(keyPrefix, missIds, type, batchDbFallback, time, unit));
+        }
+        List<R> results = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            R result = found.get(id);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 批量重建缓存：加锁成功的ID合并回源，其余ID逐个走单键互斥查询
+     */
+    private <R, ID> Map<ID, R> rebuildMany(
+            String keyPrefix, List<ID> missIds, Class<R> type, Function<List<ID>, Map<ID, R>> batchDbFallback,
+            Long time, TimeUnit unit) throws ParseException {
+        Map<ID, R> rebuilt = new HashMap<>();
+        List<ID> lockedIds = new ArrayList<>();
+        List<ID> contendedIds = new ArrayList<>();
+        List<RLock> locks = new ArrayList<>();
         try {
-            isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
-            if (!isLock) {
-                Thread.sleep(50);
-                return queryWithMutex(keyPrefix, id, type, dbFallback, time, unit);
+            for (ID id : missIds) {
+                RLock lock = redissonClient.getLock(RedisConstants.LOCK_HASH_PREFIX + keyPrefix + id);
+                if (lock.tryLock(0, 5, TimeUnit.SECONDS)) {
+                    locks.add(lock);
+                    lockedIds.add(id);
+                } else {
+                    contendedIds.add(id);
+                }
             }
-            result = dbFallback.apply(id);
-            if (result == null) {
-                this.hMultiSet(key, "");
-                return null;
+            if (!lockedIds.isEmpty()) {
+                Map<ID, R> dbResults = batchDbFallback.apply(lockedIds);
+                Map<String, Map<String, String>> hashes = new LinkedHashMap<>();
+                List<String> nullKeys = new ArrayList<>();
+                for (ID id : lockedIds) {
+                    R value = dbResults != null ? dbResults.get(id) : null;
+                    if (value == null) {
+                        nullKeys.add(keyPrefix + id);
+                        continue;
+                    }
+                    hashes.put(keyPrefix + id, HashCodec.of(value.getClass()).encode(value));
+                    rebuilt.put(id, value);
+                }
+                stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                        hashes.forEach((key, hash) -> {
+                            ops.opsForHash().putAll(key, hash);
+                            ops.expire(key, time, unit);
+                        });
+                        for (String key : nullKeys) {
+                            ops.opsForHash().put(key, RedisConstants.CACHE_NULL_PLACEHOLDER_FIELD, "");
+                            ops.expire(key, RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
+                        }
+                        return null;
+                    }
+                });
+                rebuilt.forEach((id, value) -> localCache.put(keyPrefix + id, value));
+                lockedIds.forEach(id -> rebuildCoordinator.notifyRebuilt(keyPrefix + id));
             }
-            this.hMultiSet(key, result);
-            this.expire(key, time, unit);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         } finally {
-            if (isLock && lock.isHeldByCurrentThread()) {
-                lock.unlock();
+            for (RLock lock : locks) {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
             }
         }
-        return result;
+        for (ID id : contendedIds) {
+            R result = this.queryWithMutex(keyPrefix, id, type,
+                    single -> batchDbFallback.apply(Collections.singletonList(single)).get(single), time, unit);
+            if (result != null) {
+                rebuilt.put(id, result);
+            }
+        }
+        return rebuilt;
     }
 }
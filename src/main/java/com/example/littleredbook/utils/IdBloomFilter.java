@@ -0,0 +1,188 @@
+package com.example.littleredbook.utils;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 实体ID布隆过滤器
+ *
+ * <p>功能说明：
+ * 1. 基于Redisson RBloomFilter为每类实体维护一份已存在ID集合<br>
+ * 2. 按ID查询前先行判定，确定不存在的ID直接拒绝，不再访问Redis哈希与数据库<br>
+ * 3. 启动时按主键游标分页流式扫描全表重建，多节点间经分布式锁只执行一次；已就绪的过滤器不再扫描<br>
+ * 4. 新增实体时由业务写入与*.cache.add监听器同步追加<br>
+ *
+ * <p>使用约束：
+ * - 过滤器未完成首次重建前一律放行，避免误拒已有数据<br>
+ * - 删除的ID不会从过滤器移除，仅会产生少量误判放行，由空值缓存兜底<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class IdBloomFilter {
+    private static final String READY = "1";
+    private final RedissonClient redissonClient;
+    private final Map<String, Boolean> readyFilters = new ConcurrentHashMap<>();
+
+    public IdBloomFilter(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 判断ID是否可能存在
+     * @param filterKey 过滤器键
+     * @param id 实体ID
+     * @return false-确定不存在；true-可能存在（或过滤器尚未就绪）
+     */
+    public boolean mightContain(String filterKey, Object id) {
+        if (id == null) {
+            return false;
+        }
+        if (!this.isReady(filterKey)) {
+            return true;
+        }
+        return this.getFilter(filterKey).contains(id.toString());
+    }
+
+    /**
+     * 追加ID
+     * @param filterKey 过滤器键
+     * @param id 实体ID
+     */
+    public void add(String filterKey, Object id) {
+        if (id == null) {
+            return;
+        }
+        RBloomFilter<String> filter = this.getFilter(filterKey);
+        filter.tryInit(RedisConstants.BLOOM_EXPECTED_INSERTIONS, RedisConstants.BLOOM_FALSE_PROBABILITY);
+        filter.add(id.toString());
+    }
+
+    /**
+     * 按主键游标分页扫描并重建过滤器
+     *
+     * <p>仅由抢到锁的节点执行；过滤器已存在且已标记就绪时跳过扫描，否则每页ID以一次管道写入位图
+     * @param filterKey 过滤器键
+     * @param pageLoader 分页函数：入参为上一页最大ID（首页为0），返回按ID升序、不超过批大小的ID列表
+     */
+    public void rebuild(String filterKey, Function<Integer, List<Integer>> pageLoader) {
+        if (this.isBuilt(filterKey)) {
+            log.info("布隆过滤器已就绪，跳过重建: {}", filterKey);
+            return;
+        }
+        RLock lock = redissonClient.getLock(RedisConstants.LOCK_BLOOM_PREFIX + filterKey);
+        if (!lock.tryLock()) {
+            log.info("布隆过滤器正由其他节点重建: {}", filterKey);
+            return;
+        }
+        try {
+            if (this.isBuilt(filterKey)) {
+                return;
+            }
+            // 过滤器丢失但就绪标记残留时先撤销标记，重建期间一律放行
+            this.getReadyFlag(filterKey).delete();
+            readyFilters.remove(filterKey);
+            RBloomFilter<String> filter = this.getFilter(filterKey);
+            filter.tryInit(RedisConstants.BLOOM_EXPECTED_INSERTIONS, RedisConstants.BLOOM_FALSE_PROBABILITY);
+            int hashIterations = filter.getHashIterations();
+            long size = filter.getSize();
+            long total = 0;
+            Integer lastId = 0;
+            while (true) {
+                List<Integer> ids = pageLoader.apply(lastId);
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                this.addAll(filterKey, ids, hashIterations, size);
+                total += ids.size();
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < RedisConstants.BLOOM_REBUILD_BATCH_SIZE) {
+                    break;
+                }
+            }
+            this.getReadyFlag(filterKey).set(READY);
+            readyFilters.put(filterKey, Boolean.TRUE);
+            log.info("布隆过滤器重建完成: {}, 共{}条", filterKey, total);
+        } catch (Exception e) {
+            log.error("布隆过滤器重建失败: {}", filterKey, e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 以一次管道写入一页ID对应的全部位
+     *
+     * <p>位下标与RBloomFilter.add一致：对编码后的值取Hash.hash128，再按双重哈希生成hashIterations个下标
+     */
+    private void addAll(String filterKey, List<Integer> ids, int hashIterations, long size) throws IOException {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RBitSetAsync bits = batch.getBitSet(filterKey);
+        for (Integer id : ids) {
+            for (long index : indexes(id.toString(), hashIterations, size)) {
+                bits.setAsync(index);
+            }
+        }
+        batch.execute();
+    }
+
+    private static long[] indexes(String value, int hashIterations, long size) throws IOException {
+        ByteBuf state = StringCodec.INSTANCE.getValueEncoder().encode(value);
+        long[] hashes;
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        long[] indexes = new long[hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            hash += i % 2 == 0 ? hashes[1] : hashes[0];
+        }
+        return indexes;
+    }
+
+    private boolean isBuilt(String filterKey) {
+        return READY.equals(this.getReadyFlag(filterKey).get()) && this.getFilter(filterKey).isExists();
+    }
+
+    private boolean isReady(String filterKey) {
+        if (readyFilters.containsKey(filterKey)) {
+            return true;
+        }
+        if (READY.equals(this.getReadyFlag(filterKey).get())) {
+            readyFilters.put(filterKey, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    private RBloomFilter<String> getFilter(String filterKey) {
+        return redissonClient.getBloomFilter(filterKey, StringCodec.INSTANCE);
+    }
+
+    private RBucket<String> getReadyFlag(String filterKey) {
+        return redissonClient.getBucket(filterKey + RedisConstants.BLOOM_READY_SUFFIX, StringCodec.INSTANCE);
+    }
+}
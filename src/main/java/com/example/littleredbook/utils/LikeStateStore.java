@@ -0,0 +1,122 @@
+package com.example.littleredbook.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 点赞状态存储
+ *
+ * <p>功能说明：
+ * 1. 每个用户每类实体一个Redis Set，成员为已点赞的实体ID<br>
+ * 2. 点赞/取消由Lua脚本原子完成“判断-翻转-续期”，无需再远程查询点赞记录<br>
+ * 3. 批量判定以SMISMEMBER单次往返返回多个实体的点赞状态<br>
+ * 4. Set首次访问时经回源函数整体载入并写入已载入标记，载入与翻转互斥于同一脚本原子性<br>
+ *
+ * <p>使用约束：
+ * - 点赞记录表仍由消息服务异步落库，Set为点赞状态的权威读取来源<br>
+ * - 回源失败时抛出异常而不写入空集合，避免误判为未点赞<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class LikeStateStore {
+    private static final DefaultRedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 0 then return -1 end " +
+            "local liked = 1 " +
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[2]) == 1 then " +
+            "  redis.call('SREM', KEYS[1], ARGV[2]) liked = 0 " +
+            "else " +
+            "  redis.call('SADD', KEYS[1], ARGV[2]) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return liked", Long.class);
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 0 end " +
+            "redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "for i = 3, #ARGV, 1000 do " +
+            "  redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public LikeStateStore(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 原子翻转点赞状态
+     * @param key 用户点赞状态键
+     * @param targetId 实体ID
+     * @param loader 回源函数（用户已点赞的全部实体ID）
+     * @return true-翻转后为已点赞，false-翻转后为未点赞
+     */
+    public boolean toggle(String key, Integer targetId, Supplier<Collection<Integer>> loader) {
+        String ttl = String.valueOf(TimeUnit.MINUTES.toSeconds(RedisConstants.LIKE_STATE_TTL));
+        List<String> keys = Collections.singletonList(key);
+        Long liked = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys,
+                RedisConstants.LIKE_STATE_LOADED_MEMBER, targetId.toString(), ttl);
+        if (liked == null || liked < 0) {
+            this.load(key, loader);
+            liked = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys,
+                    RedisConstants.LIKE_STATE_LOADED_MEMBER, targetId.toString(), ttl);
+        }
+        if (liked == null || liked < 0) {
+            throw new RuntimeException("更新点赞状态失败");
+        }
+        return liked == 1;
+    }
+
+    /**
+     * 批量判定点赞状态
+     * @param key 用户点赞状态键
+     * @param targetIds 实体ID集合
+     * @param loader 回源函数（用户已点赞的全部实体ID）
+     * @return 实体ID-是否已点赞映射
+     */
+    public Map<Integer, Boolean> isLiked(String key, Collection<Integer> targetIds, Supplier<Collection<Integer>> loader) {
+        if (targetIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Object, Boolean> members = this.isMembers(key, targetIds);
+        if (!Boolean.TRUE.equals(members.get(RedisConstants.LIKE_STATE_LOADED_MEMBER))) {
+            this.load(key, loader);
+            members = this.isMembers(key, targetIds);
+        }
+        Map<Integer, Boolean> liked = new LinkedHashMap<>();
+        for (Integer targetId : targetIds) {
+            liked.put(targetId, Boolean.TRUE.equals(members.get(targetId.toString())));
+        }
+        return liked;
+    }
+
+    private Map<Object, Boolean> isMembers(String key, Collection<Integer> targetIds) {
+        Object[] members = new Object[targetIds.size() + 1];
+        members[0] = RedisConstants.LIKE_STATE_LOADED_MEMBER;
+        int i = 1;
+        for (Integer targetId : targetIds) {
+            members[i++] = targetId.toString();
+        }
+        Map<Object, Boolean> result = stringRedisTemplate.opsForSet().isMember(key, members);
+        return result != null ? result : Collections.emptyMap();
+    }
+
+    private void load(String key, Supplier<Collection<Integer>> loader) {
+        Collection<Integer> likedIds = loader.get();
+        List<String> args = new ArrayList<>(likedIds.size() + 2);
+        args.add(RedisConstants.LIKE_STATE_LOADED_MEMBER);
+        args.add(String.valueOf(TimeUnit.MINUTES.toSeconds(RedisConstants.LIKE_STATE_TTL)));
+        for (Integer likedId : likedIds) {
+            args.add(likedId.toString());
+        }
+        stringRedisTemplate.execute(LOAD_SCRIPT, Collections.singletonList(key), args.toArray());
+    }
+}
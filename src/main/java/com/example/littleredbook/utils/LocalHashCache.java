@@ -0,0 +1,106 @@
+package com.example.littleredbook.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis哈希缓存的进程内一级缓存（L1）
+ *
+ * <p>功能说明：
+ * 1. 基于Caffeine为Redis哈希缓存提供进程内近端缓存<br>
+ * 2. 按缓存键前缀分别配置容量上限与过期时间<br>
+ * 3. 仅缓存“前缀 + 业务ID”形式的单实体键<br>
+ * 4. 配合Redis发布订阅实现跨节点失效<br>
+ *
+ * <p>使用约束：
+ * - 返回的对象在多个调用方之间共享，调用方不应修改<br>
+ * - 失效消息与回源写入存在竞争窗口，过期时间应保持在秒级<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public class LocalHashCache {
+    private final Map<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 为指定键前缀注册一级缓存
+     * @param keyPrefix 缓存键前缀
+     * @param maximumSize 最大缓存条目数
+     * @param ttl 写入后过期时间
+     * @param unit 时间单位
+     */
+    public void register(String keyPrefix, long maximumSize, long ttl, TimeUnit unit) {
+        caches.put(keyPrefix, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl, unit)
+                .build());
+    }
+
+    /**
+     * 读取一级缓存
+     * @param key 完整缓存键
+     * @param type 目标类型
+     * @return 命中且类型匹配时返回缓存对象，否则返回null
+     */
+    public <T> T get(String key, Class<T> type) {
+        Cache<String, Object> cache = cacheFor(key);
+        if (cache == null) {
+            return null;
+        }
+        Object value = cache.getIfPresent(key);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    /**
+     * 写入一级缓存（未注册前缀的键直接忽略）
+     * @param key 完整缓存键
+     * @param value 缓存对象
+     */
+    public void put(String key, Object value) {
+        Cache<String, Object> cache = cacheFor(key);
+        if (cache != null && value != null) {
+            cache.put(key, value);
+        }
+    }
+
+    /**
+     * 失效一级缓存中的指定键
+     * @param key 完整缓存键
+     */
+    public void invalidate(String key) {
+        Cache<String, Object> cache = cacheFor(key);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 判断键是否由一级缓存托管
+     * @param key 完整缓存键
+     * @return true-键前缀已注册
+     */
+    public boolean isCached(String key) {
+        return cacheFor(key) != null;
+    }
+
+    /**
+     * 按前缀定位缓存分区，要求前缀之后不再包含层级分隔符，
+     * 避免“note:”与“note:user:”等前缀互相覆盖
+     */
+    private Cache<String, Object> cacheFor(String key) {
+        if (key == null) {
+            return null;
+        }
+        for (Map.Entry<String, Cache<String, Object>> entry : caches.entrySet()) {
+            String prefix = entry.getKey();
+            if (key.startsWith(prefix) && key.indexOf(':', prefix.length()) < 0) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
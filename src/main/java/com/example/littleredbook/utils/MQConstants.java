@@ -11,20 +11,26 @@ public interface MQConstants {
     String ERROR_QUEUE = "error.queue";
     String DIRECT_ERROR_EXCHANGE_WITH_ERROR_QUEUE_ROUTING_KEY = "error";
     /** 消息模块 */
+    /** 旧格式点赞消息队列，仅排空存量消息，不再绑定路由键 */
     String MESSAGES_LIKECOMMENT_LIKE_QUEUE = "likeComment.like.queue";
-    String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_QUEUE_ROUTING_KEY = "messages.likecomment.like";
+    String MESSAGES_LIKECOMMENT_LIKE_STATE_QUEUE = "likeComment.like.state.queue";
+    String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_LIKE_STATE_QUEUE_ROUTING_KEY = "messages.likecomment.like.state";
     String MESSAGES_LIKECOMMENT_CACHE_ADD_QUEUE = "likeComment.cache.add.queue";
     String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_CACHE_ADD_QUEUE_ROUTING_KEY = "messages.likecomment.cache.add";
     String MESSAGES_LIKECOMMENT_CACHE_DELETE_QUEUE = "likeComment.cache.delete.queue";
     String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKECOMMENT_CACHE_DELETE_QUEUE_ROUTING_KEY = "messages.likecomment.cache.delete";
+    /** 旧格式点赞消息队列，仅排空存量消息，不再绑定路由键 */
     String MESSAGES_LIKENOTE_LIKE_QUEUE = "likeNote.like.queue";
-    String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_QUEUE_ROUTING_KEY = "messages.likenote.like";
+    String MESSAGES_LIKENOTE_LIKE_STATE_QUEUE = "likeNote.like.state.queue";
+    String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_LIKE_STATE_QUEUE_ROUTING_KEY = "messages.likenote.like.state";
     String MESSAGES_LIKENOTE_CACHE_ADD_QUEUE = "likeNote.cache.add.queue";
     String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_CACHE_ADD_QUEUE_ROUTING_KEY = "messages.likenote.cache.add";
     String MESSAGES_LIKENOTE_CACHE_DELETE_QUEUE = "likeNote.cache.delete.queue";
     String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKENOTE_CACHE_DELETE_QUEUE_ROUTING_KEY = "messages.likenote.cache.delete";
+    /** 旧格式点赞消息队列，仅排空存量消息，不再绑定路由键 */
     String MESSAGES_LIKEREPLY_LIKE_QUEUE = "likeReply.like.queue";
-    String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_QUEUE_ROUTING_KEY = "messages.likereply.like";
+    String MESSAGES_LIKEREPLY_LIKE_STATE_QUEUE = "likeReply.like.state.queue";
+    String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_LIKE_STATE_QUEUE_ROUTING_KEY = "messages.likereply.like.state";
     String MESSAGES_LIKEREPLY_CACHE_ADD_QUEUE = "likeReply.cache.add.queue";
     String TOPIC_MESSAGES_EXCHANGE_WITH_MESSAGES_LIKEREPLY_CACHE_ADD_QUEUE_ROUTING_KEY = "messages.likereply.cache.add";
     String MESSAGES_LIKEREPLY_CACHE_DELETE_QUEUE = "likeReply.cache.delete.queue";
@@ -48,6 +54,7 @@ public interface MQConstants {
     String TOPIC_NOTES_EXCHANGE_WITH_NOTES_NOTE_CACHE_ADD_QUEUE_ROUTING_KEY = "notes.note.cache.add";
     String NOTES_NOTE_CACHE_DELETE_QUEUE = "note.cache.delete.queue";
     String TOPIC_NOTES_EXCHANGE_WITH_NOTES_NOTE_CACHE_DELETE_QUEUE_ROUTING_KEY = "notes.note.cache.delete";
+    String NOTES_NOTE_LSH_UPSERT_QUEUE = "note.lsh.upsert.queue";
     String NOTES_REPLY_CACHE_LIKE_QUEUE = "reply.cache.like.queue";
     String TOPIC_NOTES_EXCHANGE_WITH_NOTES_REPLY_CACHE_LIKE_QUEUE_ROUTING_KEY = "notes.reply.cache.like";
     String NOTES_REPLY_CACHE_ADD_QUEUE = "reply.cache.add.queue";
@@ -76,6 +83,10 @@ public interface MQConstants {
     String TOPIC_SEARCH_EXCHANGE_WITH_SEARCH_SEARCHRECORD_CACHE_ADD_QUEUE_ROUTING_KEY = "search.searchrecord.cache.add";
     String SEARCH_SEARCHRECORD_CACHE_DELETE_QUEUE = "searchrecord.cache.delete.queue";
     String TOPIC_SEARCH_EXCHANGE_WITH_SEARCH_SEARCHRECORD_CACHE_DELETE_QUEUE_ROUTING_KEY = "search.searchrecord.cache.delete";
+    /** 热门搜索统计队列，绑定搜索记录新增路由键 */
+    String SEARCH_SEARCHRECORD_TRENDING_QUEUE = "searchrecord.cache.add.trending.queue";
+    String SEARCH_NOTE_INDEX_UPSERT_QUEUE = "note.index.upsert.queue";
+    String TOPIC_NOTES_EXCHANGE_WITH_SEARCH_NOTE_INDEX_UPSERT_QUEUE_ROUTING_KEY = "notes.note.index.upsert";
     /** 社区模块 */
     String COMMUNITY_CONRERN_CACHE_ADD_QUEUE = "conrern.cache.add.queue";
     String TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_CONRERN_CACHE_ADD_QUEUE_ROUTING_KEY = "community.conrern.cache.add";
@@ -83,4 +94,6 @@ public interface MQConstants {
     String TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_CONRERN_CACHE_DELETE_QUEUE_ROUTING_KEY = "community.conrern.cache.delete";
     String COMMUNITY_CONCERN_LIKE_QUEUE = "concern.like.queue";
     String TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_CONCERN_LIKE_QUEUE_ROUTING_KEY = "community.concern.like";
+    String COMMUNITY_FEED_PUSH_QUEUE = "feed.push.queue";
+    String TOPIC_COMMUNITY_EXCHANGE_WITH_COMMUNITY_FEED_PUSH_QUEUE_ROUTING_KEY = "community.feed.push";
 }
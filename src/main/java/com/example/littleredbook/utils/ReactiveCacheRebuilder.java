@@ -0,0 +1,100 @@
+package com.example.littleredbook.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 响应式缓存重建协调器
+ *
+ * <p>功能说明：
+ * 1. 与CacheRebuildCoordinator语义一致的非阻塞实现<br>
+ * 2. 同键并发重建在进程内共享同一个Mono（single-flight）<br>
+ * 3. 使用Redisson响应式锁，与阻塞客户端的重建锁互斥<br>
+ * 4. 争锁失败时以Mono.delay定时复查缓存，不占用事件循环线程<br>
+ *
+ * <p>约定：
+ * - cacheReader：未命中时完成为空，命中空值占位时发出Optional.empty()<br>
+ * - dbLoader：回源并写缓存，总是发出一个Optional<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+public class ReactiveCacheRebuilder {
+    private final RedissonReactiveClient redissonReactiveClient;
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    public ReactiveCacheRebuilder(RedissonReactiveClient redissonReactiveClient) {
+        this.redissonReactiveClient = redissonReactiveClient;
+    }
+
+    /**
+     * 在互斥锁保护下重建缓存
+     * @param key 缓存键（进程内合并键）
+     * @param lockKey 分布式锁键
+     * @param cacheReader 缓存复查（须为惰性Mono）
+     * @param dbLoader 回源并写缓存（须为惰性Mono）
+     * @return 缓存或回源结果，不存在时为空
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> rebuild(String key, String lockKey,
+                               Mono<Optional<T>> cacheReader, Mono<Optional<T>> dbLoader) {
+        AtomicReference<Mono<Optional<T>>> self = new AtomicReference<>();
+        Mono<Optional<T>> created = Mono.defer(() -> this.attempt(lockKey, cacheReader, dbLoader, 0))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(created);
+        Mono<Optional<T>> existing = (Mono<Optional<T>>) inFlight.putIfAbsent(key, created);
+        Mono<Optional<T>> call = existing != null ? existing : created;
+        return call.flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * 抢锁成功才执行刷新，争锁失败直接放弃（用于逻辑过期的后台重建）
+     * @param lockKey 分布式锁键
+     * @param refresher 刷新操作（须为惰性Mono）
+     * @return 刷新完成信号，未抢到锁时直接完成
+     */
+    public Mono<Void> tryRefresh(String lockKey, Mono<?> refresher) {
+        RLockReactive lock = redissonReactiveClient.getLock(lockKey);
+        long ownerId = ThreadLocalRandom.current().nextLong();
+        return lock.tryLock(0, RedisConstants.CACHE_REBUILD_LOCK_TTL, TimeUnit.SECONDS, ownerId)
+                .filter(Boolean::booleanValue)
+                .flatMap(locked -> Mono.usingWhen(
+                        Mono.just(lock),
+                        held -> refresher.then(),
+                        held -> held.unlock(ownerId)));
+    }
+
+    private <T> Mono<Optional<T>> attempt(String lockKey, Mono<Optional<T>> cacheReader,
+                                          Mono<Optional<T>> dbLoader, int attempt) {
+        if (attempt >= RedisConstants.CACHE_REBUILD_MAX_ATTEMPTS) {
+            log.warn("缓存重建等待超过上限，直接回源: lockKey={}", lockKey);
+            return dbLoader;
+        }
+        RLockReactive lock = redissonReactiveClient.getLock(lockKey);
+        long ownerId = ThreadLocalRandom.current().nextLong();
+        return lock.tryLock(0, RedisConstants.CACHE_REBUILD_LOCK_TTL, TimeUnit.SECONDS, ownerId)
+                .flatMap(locked -> {
+                    if (!locked) {
+                        return Mono.delay(Duration.ofMillis(RedisConstants.CACHE_REBUILD_WAIT_MILLIS))
+                                .then(cacheReader)
+                                .switchIfEmpty(Mono.defer(() -> this.attempt(lockKey, cacheReader, dbLoader, attempt + 1)));
+                    }
+                    return Mono.usingWhen(
+                            Mono.just(lock),
+                            held -> cacheReader.switchIfEmpty(dbLoader),
+                            held -> held.unlock(ownerId));
+                });
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.littleredbook.utils;
+
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis哈希结构操作响应式客户端
+ *
+ * <p>功能说明：
+ * 1. 基于ReactiveStringRedisTemplate的非阻塞哈希操作<br>
+ * 2. 对象与哈希互转复用HashCodec，存储格式与HashRedisClient一致<br>
+ * 3. 写操作广播一级缓存失效消息，阻塞客户端所在节点同步清除本地副本<br>
+ * 4. 互斥锁查询与阻塞客户端共用同一重建锁键与空值占位字段<br>
+ *
+ * <p>使用约束：
+ * - 回源函数须返回Mono，阻塞的数据库调用应自行subscribeOn(Schedulers.boundedElastic())<br>
+ * - 需要CompletableFuture时可直接调用Mono.toFuture()<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class ReactiveHashRedisClient {
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final ReactiveHashOperations<String, String, String> hashOperations;
+    private final ReactiveCacheRebuilder cacheRebuilder;
+
+    public ReactiveHashRedisClient(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                   RedissonReactiveClient redissonReactiveClient) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.hashOperations = reactiveStringRedisTemplate.opsForHash();
+        this.cacheRebuilder = new ReactiveCacheRebuilder(redissonReactiveClient);
+    }
+
+    /**
+     * 广播一级缓存失效消息
+     * @param key 键
+     */
+    private Mono<Void> evictLocal(String key) {
+        return reactiveStringRedisTemplate.convertAndSend(RedisConstants.LOCAL_CACHE_INVALIDATE_TOPIC, key).then();
+    }
+
+    /**
+     * 获取Hash中指定字段的值
+     * @param key 键
+     * @param field 字段
+     * @return 字段对应的值，不存在时为空
+     */
+    public Mono<String> hGet(String key, String field) {
+        return hashOperations.get(key, field);
+    }
+
+    /**
+     * 批量获取Hash中多个字段的值
+     * @param key 键
+     * @param fields 字段列表
+     * @return 字段值列表，按输入顺序返回
+     */
+    public Mono<List<String>> hMultiGet(String key, List<String> fields) {
+        return hashOperations.multiGet(key, fields);
+    }
+
+    /**
+     * 批量获取并转换为指定类型
+     * @param key 键
+     * @param type 目标类型
+     * @return 转换后的对象，不存在时为空
+     */
+    public <T> Mono<T> hMultiGet(String key, Class<T> type) {
+        HashCodec<T> codec = HashCodec.of(type);
+        return hashOperations.multiGet(key, codec.fieldNames())
+                .flatMap(values -> Mono.fromCallable(() -> codec.decode(values)));
+    }
+
+    /**
+     * 设置Hash字段值
+     * @param key 键
+     * @param field 字段
+     * @param value 值（简单类型直接存储，其余JSON序列化）
+     * @param time 过期时间
+     * @param unit 时间单位
+     * @return 完成信号
+     */
+    public Mono<Void> hSet(String key, String field, Object value, Long time, TimeUnit unit) {
+        String stored = value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                ? String.valueOf(value) : JSONUtil.toJsonStr(value);
+        return hashOperations.put(key, field, stored)
+                .then(this.expire(key, time, unit))
+                .then(this.evictLocal(key));
+    }
+
+    /**
+     * 批量设置多个字段值
+     * @param key 键
+     * @param bean 类对象
+     * @return 完成信号
+     */
+    public Mono<Void> hMultiSet(String key, Object bean) {
+        Map<String, String> fields = HashCodec.of(bean.getClass()).encode(bean);
+        return hashOperations.putAll(key, fields).then(this.evictLocal(key));
+    }
+
+    /**
+     * 删除Hash中的字段
+     * @param key 键
+     * @param fields 字段
+     * @return 删除的字段数量
+     */
+    public Mono<Long> hDelete(String key, String... fields) {
+        return hashOperations.remove(key, (Object[]) fields)
+                .flatMap(count -> this.evictLocal(key).thenReturn(count));
+    }
+
+    /**
+     * 检查Hash字段是否存在
+     * @param key 键
+     * @param field 字段
+     * @return true-存在
+     */
+    public Mono<Boolean> hExists(String key, String field) {
+        return hashOperations.hasKey(key, field);
+    }
+
+    /**
+     * 获取Hash所有字段
+     * @param key 键
+     * @return 字段流
+     */
+    public Flux<String> hKeys(String key) {
+        return hashOperations.keys(key);
+    }
+
+    /**
+     * 递增Hash字段值
+     * @param key 键
+     * @param field 字段
+     * @param delta 增量
+     * @return 递增后的值
+     */
+    public Mono<Long> hIncrement(String key, String field, long delta) {
+        return hashOperations.increment(key, field, delta)
+                .flatMap(value -> this.evictLocal(key).thenReturn(value));
+    }
+
+    /**
+     * 设置过期时间
+     * @param key 键
+     * @param time 过期时间
+     * @param unit 时间单位
+     * @return true-设置成功
+     */
+    public Mono<Boolean> expire(String key, long time, TimeUnit unit) {
+        return reactiveStringRedisTemplate.expire(key, Duration.ofMillis(unit.toMillis(time)));
+    }
+
+    /**
+     * 删除键
+     * @param key 键
+     * @return true-删除成功
+     */
+    public Mono<Boolean> delete(String key) {
+        return reactiveStringRedisTemplate.delete(key)
+                .flatMap(count -> this.evictLocal(key).thenReturn(count > 0));
+    }
+
+    /**
+     * 检查键是否存在
+     * @param key 键
+     * @return true-存在
+     */
+    public Mono<Boolean> hasKey(String key) {
+        return reactiveStringRedisTemplate.hasKey(key);
+    }
+
+    /**
+     * 互斥锁缓存查询：未命中时经single-flight与分布式锁保证单一回源
+     * @param keyPrefix 缓存键前缀
+     * @param id 业务ID
+     * @param type 返回对象类型
+     * @param dbFallback 响应式回源函数（不存在时完成为空）
+     * @param time 缓存时间
+     * @param unit 时间单位
+     * @return 查询结果，不存在时为空
+     */
+    public <R, ID> Mono<R> queryWithMutex(
+            String keyPrefix, ID id, Class<R> type, Function<ID, Mono<R>> dbFallback, Long time, TimeUnit unit) {
+        String key = keyPrefix + id;
+        return this.readCached(key, type)
+                .switchIfEmpty(Mono.defer(() -> cacheRebuilder.rebuild(key, RedisConstants.LOCK_HASH_PREFIX + key,
+                        this.readCached(key, type),
+                        Mono.defer(() -> this.loadAndCache(key, id, dbFallback, time, unit)))
+                        .map(Optional::of)))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * 读取哈希缓存并识别空值占位（与HashRedisClient共用占位字段）
+     *
+     * <p>业务字段与占位字段在同一次HMGET中读取，业务字段存在时以业务数据为准
+     * @return 命中发出对象，空值占位发出Optional.empty()，未命中为空
+     */
+    private <R> Mono<Optional<R>> readCached(String key, Class<R> type) {
+        HashCodec<R> codec = HashCodec.of(type);
+        List<String> fields = new ArrayList<>(codec.fieldNames().size() + 1);
+        fields.addAll(codec.fieldNames());
+        fields.add(RedisConstants.CACHE_NULL_PLACEHOLDER_FIELD);
+        return hashOperations.multiGet(key, fields)
+                .flatMap(values -> Mono.fromCallable(() -> {
+                    R result = codec.decode(values.subList(0, values.size() - 1));
+                    if (result != null) {
+                        return Optional.of(result);
+                    }
+                    return values.get(values.size() - 1) != null ? Optional.<R>empty() : null;
+                }));
+    }
+
+    /**
+     * 回源并写入缓存，数据库不存在时写入仅含占位字段的哈希并短期过期
+     */
+    private <R, ID> Mono<Optional<R>> loadAndCache(
+            String key, ID id, Function<ID, Mono<R>> dbFallback, Long time, TimeUnit unit) {
+        return dbFallback.apply(id)
+                .flatMap(loaded -> this.hMultiSet(key, loaded)
+                        .then(this.expire(key, time, unit))
+                        .thenReturn(Optional.of(loaded)))
+                .switchIfEmpty(Mono.defer(() -> hashOperations
+                        .put(key, RedisConstants.CACHE_NULL_PLACEHOLDER_FIELD, "")
+                        .then(this.expire(key, RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES))
+                        .thenReturn(Optional.<R>empty())));
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.littleredbook.utils;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis有序集合操作响应式客户端
+ *
+ * <p>功能说明：
+ * 1. 基于ReactiveStringRedisTemplate的非阻塞ZSet操作<br>
+ * 2. 成员序列化格式与SortedSetRedisClient一致，两者可混用<br>
+ * 3. 互斥锁查询与阻塞客户端共用同一重建锁键与空值占位约定<br>
+ *
+ * <p>使用约束：
+ * - 回源函数须返回Mono，阻塞的数据库调用应自行subscribeOn(Schedulers.boundedElastic())<br>
+ * - 需要CompletableFuture时可直接调用Mono.toFuture()<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class ReactiveSortedSetRedisClient {
+    private static final String EMPTY_PLACEHOLDER = "EMPTY_PLACEHOLDER";
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final ReactiveZSetOperations<String, String> zSetOperations;
+    private final ReactiveCacheRebuilder cacheRebuilder;
+
+    public ReactiveSortedSetRedisClient(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                        RedissonReactiveClient redissonReactiveClient) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.zSetOperations = reactiveStringRedisTemplate.opsForZSet();
+        this.cacheRebuilder = new ReactiveCacheRebuilder(redissonReactiveClient);
+    }
+
+    /**
+     * 添加元素到有序集合
+     * @param key 键
+     * @param value 值对象
+     * @param score 分数
+     * @return 是否成功添加新元素
+     */
+    public Mono<Boolean> add(String key, Object value, double score) {
+        return zSetOperations.add(key, StrUtil.toString(value), score);
+    }
+
+    /**
+     * 批量添加元素（相同key）
+     * @param key 键
+     * @param values 值-分数对集合
+     * @return 添加成功的元素数量
+     */
+    public Mono<Long> multiAdd(String key, Collection<ZSetOperations.TypedTuple<String>> values) {
+        return zSetOperations.addAll(key, values);
+    }
+
+    /**
+     * 获取集合元素数量
+     * @param key 键
+     * @return 元素数量
+     */
+    public Mono<Long> zCard(String key) {
+        return zSetOperations.size(key);
+    }
+
+    /**
+     * 增加元素分数
+     * @param key 键
+     * @param value 值对象
+     * @param delta 增量
+     * @return 新分数
+     */
+    public Mono<Double> incrementScore(String key, Object value, double delta) {
+        return zSetOperations.incrementScore(key, StrUtil.toString(value), delta);
+    }
+
+    /**
+     * 获取元素分数
+     * @param key 键
+     * @param value 值对象
+     * @return 分数，不存在时为空
+     */
+    public Mono<Double> score(String key, Object value) {
+        return zSetOperations.score(key, StrUtil.toString(value));
+    }
+
+    /**
+     * 获取元素升序排名
+     * @param key 键
+     * @param value 值对象
+     * @return 排名（从0开始），不存在时为空
+     */
+    public Mono<Long> rank(String key, Object value) {
+        return zSetOperations.rank(key, StrUtil.toString(value));
+    }
+
+    /**
+     * 获取元素降序排名
+     * @param key 键
+     * @param value 值对象
+     * @return 排名（从0开始），不存在时为空
+     */
+    public Mono<Long> reverseRank(String key, Object value) {
+        return zSetOperations.reverseRank(key, StrUtil.toString(value));
+    }
+
+    /**
+     * 移除元素
+     * @param key 键
+     * @param values 值对象列表
+     * @return 成功移除的数量
+     */
+    public Mono<Long> remove(String key, Object... values) {
+        Object[] members = Arrays.stream(values).map(StrUtil::toString).toArray();
+        return zSetOperations.remove(key, members);
+    }
+
+    /**
+     * 按分数范围获取元素（升序）
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @param type 目标类型
+     * @return 反序列化后的对象流
+     */
+    public <T> Flux<T> rangeByScore(String key, double min, double max, Class<T> type) {
+        return zSetOperations.rangeByScore(key, Range.closed(min, max))
+                .map(value -> this.deserialize(value, type));
+    }
+
+    /**
+     * 按排名范围获取元素（升序）
+     * @param key 键
+     * @param start 开始索引
+     * @param end 结束索引
+     * @param type 目标类型
+     * @return 反序列化后的对象流
+     */
+    public <T> Flux<T> range(String key, long start, long end, Class<T> type) {
+        return zSetOperations.range(key, Range.closed(start, end))
+                .map(value -> this.deserialize(value, type));
+    }
+
+    /**
+     * 按分数范围获取元素（带分数）
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @param type 目标类型
+     * @return 包含分数值的对象流
+     */
+    public <T> Flux<SortedSetRedisClient.ScoredValue<T>> rangeByScoreWithScores(
+            String key, double min, double max, Class<T> type) {
+        return zSetOperations.rangeByScoreWithScores(key, Range.closed(min, max))
+                .map(tuple -> new SortedSetRedisClient.ScoredValue<>(
+                        this.deserialize(tuple.getValue(), type), tuple.getScore()));
+    }
+
+    /**
+     * 删除指定键
+     * @param key 键
+     * @return true-删除成功
+     */
+    public Mono<Boolean> delete(String key) {
+        return reactiveStringRedisTemplate.delete(key).map(count -> count > 0);
+    }
+
+    /**
+     * 设置键的过期时间
+     * @param key 键
+     * @param time 过期时间数值
+     * @param unit 过期时间单位
+     * @return true-设置成功
+     */
+    public Mono<Boolean> expire(String key, long time, TimeUnit unit) {
+        return reactiveStringRedisTemplate.expire(key, Duration.ofMillis(unit.toMillis(time)));
+    }
+
+    /**
+     * 互斥锁缓存查询：未命中时经single-flight与分布式锁保证单一回源
+     * @param key 缓存键
+     * @param queryParams 回源参数
+     * @param type 返回对象类型
+     * @param dbFallback 响应式回源函数，返回成员-分数映射
+     * @param time 缓存时间数值
+     * @param unit 时间单位
+     * @return 按分数升序的查询结果，不存在时为空列表
+     */
+    public <R> Mono<List<R>> queryWithMutex(
+            String key, Object queryParams, Class<R> type, Function<Object, Mono<Map<R, Double>>> dbFallback,
+            Long time, TimeUnit unit) {
+        return this.readCachedMembers(key, type)
+                .switchIfEmpty(Mono.defer(() -> cacheRebuilder.rebuild(key, RedisConstants.LOCK_PREFIX + key,
+                        this.readCachedMembers(key, type).map(Optional::of),
+                        Mono.defer(() -> dbFallback.apply(queryParams))
+                                .defaultIfEmpty(Collections.emptyMap())
+                                .flatMap(dbResult -> this.cacheMembers(key, dbResult, time, unit)))))
+                .defaultIfEmpty(Collections.emptyList());
+    }
+
+    /**
+     * 读取整个集合：未命中为空，空值占位发出空列表
+     */
+    private <R> Mono<List<R>> readCachedMembers(String key, Class<R> type) {
+        return zSetOperations.range(key, Range.closed(0L, -1L))
+                .collectList()
+                .filter(values -> !values.isEmpty())
+                .map(values -> {
+                    List<R> results = new ArrayList<>(values.size());
+                    for (String value : values) {
+                        if (!EMPTY_PLACEHOLDER.equals(value)) {
+                            results.add(this.deserialize(value, type));
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * 写入回源结果，结果为空时写入空值占位
+     */
+    private <R> Mono<Optional<List<R>>> cacheMembers(String key, Map<R, Double> dbResult, Long time, TimeUnit unit) {
+        if (dbResult.isEmpty()) {
+            return this.add(key, EMPTY_PLACEHOLDER, -Double.MAX_VALUE)
+                    .then(this.expire(key, RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES))
+                    .thenReturn(Optional.empty());
+        }
+        List<ZSetOperations.TypedTuple<String>> tuples = new ArrayList<>(dbResult.size());
+        List<Map.Entry<R, Double>> entries = new ArrayList<>(dbResult.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+        List<R> results = new ArrayList<>(entries.size());
+        for (Map.Entry<R, Double> entry : entries) {
+            tuples.add(new DefaultTypedTuple<>(JSONUtil.toJsonStr(entry.getKey()), entry.getValue()));
+            results.add(entry.getKey());
+        }
+        return this.multiAdd(key, tuples)
+                .then(this.expire(key, time, unit))
+                .thenReturn(Optional.of(results));
+    }
+
+    private <T> T deserialize(String value, Class<T> type) {
+        if (JSONUtil.isTypeJSONObject(value)) {
+            return JSONUtil.toBean(value, type);
+        }
+        return Convert.convert(type, value);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.littleredbook.utils;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis字符串操作响应式客户端
+ *
+ * <p>功能说明：
+ * 1. 基于ReactiveStringRedisTemplate（Lettuce响应式连接）的非阻塞String操作<br>
+ * 2. 与StringRedisClient保持一致的序列化格式与缓存键约定，两者可混用<br>
+ * 3. 提供缓存穿透、逻辑过期、互斥锁三种查询策略的Mono版本<br>
+ *
+ * <p>使用约束：
+ * - 回源函数须返回Mono，阻塞的数据库调用应自行subscribeOn(Schedulers.boundedElastic())<br>
+ * - 需要CompletableFuture时可直接调用Mono.toFuture()<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class ReactiveStringRedisClient {
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final ReactiveValueOperations<String, String> valueOperations;
+    private final ReactiveCacheRebuilder cacheRebuilder;
+
+    public ReactiveStringRedisClient(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                     RedissonReactiveClient redissonReactiveClient) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.valueOperations = reactiveStringRedisTemplate.opsForValue();
+        this.cacheRebuilder = new ReactiveCacheRebuilder(redissonReactiveClient);
+    }
+
+    /**
+     * 根据键获取字符串值
+     * @param key 键
+     * @return 字符串值，不存在时为空
+     */
+    public Mono<String> get(String key) {
+        return valueOperations.get(key);
+    }
+
+    /**
+     * 获取并转换为指定类型
+     * @param key 键
+     * @param type 目标类型
+     * @return 转换后的对象，不存在或空值时为空
+     */
+    public <T> Mono<T> get(String key, Class<T> type) {
+        return valueOperations.get(key)
+                .filter(StrUtil::isNotBlank)
+                .map(json -> JSONUtil.toBean(json, type));
+    }
+
+    /**
+     * 批量获取并转换为指定类型
+     * @param keys 键列表
+     * @param type 目标类型
+     * @return 按输入顺序排列的对象列表（不存在的键对应null）
+     */
+    public <T> Mono<List<T>> multiGet(List<String> keys, Class<T> type) {
+        return valueOperations.multiGet(keys).map(values -> {
+            List<T> results = new ArrayList<>(values.size());
+            for (String json : values) {
+                results.add(StrUtil.isNotBlank(json) ? JSONUtil.toBean(json, type) : null);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * 设置值（自动JSON序列化）并指定过期时间
+     * @param key 键
+     * @param value 值
+     * @param time 过期时间
+     * @param unit 时间单位
+     * @return true-设置成功
+     */
+    public Mono<Boolean> set(String key, Object value, Long time, TimeUnit unit) {
+        return valueOperations.set(key, JSONUtil.toJsonStr(value), Duration.ofMillis(unit.toMillis(time)));
+    }
+
+    /**
+     * 键不存在时设置值
+     * @param key 键
+     * @param value 值
+     * @param time 过期时间
+     * @param unit 时间单位
+     * @return true-设置成功
+     */
+    public Mono<Boolean> setIfAbsent(String key, Object value, long time, TimeUnit unit) {
+        return valueOperations.setIfAbsent(key, JSONUtil.toJsonStr(value), Duration.ofMillis(unit.toMillis(time)));
+    }
+
+    /**
+     * 删除键
+     * @param key 键
+     * @return true-删除成功
+     */
+    public Mono<Boolean> delete(String key) {
+        return reactiveStringRedisTemplate.delete(key).map(count -> count > 0);
+    }
+
+    /**
+     * 检查键是否存在
+     * @param key 键
+     * @return true-存在
+     */
+    public Mono<Boolean> hasKey(String key) {
+        return reactiveStringRedisTemplate.hasKey(key);
+    }
+
+    /**
+     * 设置过期时间
+     * @param key 键
+     * @param time 过期时间
+     * @param unit 时间单位
+     * @return true-设置成功
+     */
+    public Mono<Boolean> expire(String key, long time, TimeUnit unit) {
+        return reactiveStringRedisTemplate.expire(key, Duration.ofMillis(unit.toMillis(time)));
+    }
+
+    /**
+     * 递增数值
+     * @param key 键
+     * @param delta 增量
+     * @return 递增后的值
+     */
+    public Mono<Long> increment(String key, long delta) {
+        return valueOperations.increment(key, delta);
+    }
+
+    /**
+     * 递减数值
+     * @param key 键
+     * @param delta 减量
+     * @return 递减后的值
+     */
+    public Mono<Long> decrement(String key, long delta) {
+        return valueOperations.decrement(key, delta);
+    }
+
+    /**
+     * 设置带逻辑过期时间的值
+     * @param key 键
+     * @param value 值
+     * @param time 逻辑过期时间
+     * @param unit 时间单位
+     * @return true-设置成功
+     */
+    public Mono<Boolean> setWithLogicalExpire(String key, Object value, Long time, TimeUnit unit) {
+        RedisData redisData = new RedisData();
+        redisData.setData(value);
+        redisData.setExpireTime(LocalDateTime.now().plusSeconds(unit.toSeconds(time)));
+        return valueOperations.set(key, JSONUtil.toJsonStr(redisData));
+    }
+
+    /**
+     * 缓存穿透保护查询：未命中时回源，数据库不存在时缓存空值
+     * @param keyPrefix 缓存键前缀
+     * @param id 业务ID
+     * @param type 返回对象类型
+     * @param dbFallback 响应式回源函数（不存在时完成为空）
+     * @param time 缓存时间
+     * @param unit 时间单位
+     * @return 查询结果，不存在时为空
+     */
+    public <R, ID> Mono<R> queryWithPassThrough(
+            String keyPrefix, ID id, Class<R> type, Function<ID, Mono<R>> dbFallback, Long time, TimeUnit unit) {
+        String key = keyPrefix + id;
+        return this.readCachedBean(key, type)
+                .switchIfEmpty(Mono.defer(() -> this.loadAndCache(key, id, dbFallback, time, unit)))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * 逻辑过期缓存查询：过期时由抢到锁的一方在后台重建，本次返回旧值
+     * @param keyPrefix 缓存键前缀
+     * @param id 业务ID
+     * @param type 返回对象类型
+     * @param dbFallback 响应式回源函数
+     * @param time 逻辑过期时间
+     * @param unit 时间单位
+     * @return 查询结果（可能为过期数据），缓存不存在时为空
+     */
+    public <R, ID> Mono<R> queryWithLogicalExpire(
+            String keyPrefix, ID id, Class<R> type, Function<ID, Mono<R>> dbFallback, Long time, TimeUnit unit) {
+        String key = keyPrefix + id;
+        return valueOperations.get(key)
+                .filter(StrUtil::isNotBlank)
+                .map(json -> JSONUtil.toBean(json, RedisData.class))
+                .map(redisData -> {
+                    R result = JSONUtil.toBean((JSONObject) redisData.getData(), type);
+                    if (redisData.getExpireTime().isBefore(LocalDateTime.now())) {
+                        this.refreshInBackground(key, RedisConstants.LOCK_PREFIX + id,
+                                dbFallback.apply(id), time, unit);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * 互斥锁缓存查询：未命中时经single-flight与分布式锁保证单一回源
+     * @param keyPrefix 缓存键前缀
+     * @param id 业务ID
+     * @param type 返回对象类型
+     * @param dbFallback 响应式回源函数（不存在时完成为空）
+     * @param time 缓存时间
+     * @param unit 时间单位
+     * @return 查询结果，不存在时为空
+     */
+    public <R, ID> Mono<R> queryWithMutex(
+            String keyPrefix, ID id, Class<R> type, Function<ID, Mono<R>> dbFallback, Long time, TimeUnit unit) {
+        String key = keyPrefix + id;
+        return this.readCachedBean(key, type)
+                .switchIfEmpty(Mono.defer(() -> cacheRebuilder.rebuild(key, RedisConstants.LOCK_PREFIX + key,
+                        this.readCachedBean(key, type),
+                        Mono.defer(() -> this.loadAndCache(key, id, dbFallback, time, unit)))
+                        .map(Optional::of)))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * 读取对象缓存：未命中为空，空值占位发出Optional.empty()
+     */
+    private <R> Mono<Optional<R>> readCachedBean(String key, Class<R> type) {
+        return valueOperations.get(key)
+                .map(json -> StrUtil.isNotBlank(json) ? Optional.of(JSONUtil.toBean(json, type)) : Optional.empty());
+    }
+
+    /**
+     * 回源并写入缓存，数据库不存在时写入空值占位
+     */
+    private <R, ID> Mono<Optional<R>> loadAndCache(
+            String key, ID id, Function<ID, Mono<R>> dbFallback, Long time, TimeUnit unit) {
+        return dbFallback.apply(id)
+                .flatMap(result -> this.set(key, result, time, unit).thenReturn(Optional.of(result)))
+                .switchIfEmpty(Mono.defer(() -> valueOperations
+                        .set(key, "", Duration.ofMinutes(RedisConstants.CACHE_NULL_TTL))
+                        .thenReturn(Optional.<R>empty())));
+    }
+
+    /**
+     * 后台重建逻辑过期缓存（抢锁失败则放弃）
+     */
+    private <R> void refreshInBackground(String key, String lockKey, Mono<R> loader, Long time, TimeUnit unit) {
+        cacheRebuilder.tryRefresh(lockKey, loader.flatMap(result -> this.setWithLogicalExpire(key, result, time, unit)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(ignored -> { }, e -> log.error("逻辑过期缓存重建失败: key={}", key, e));
+    }
+}
@@ -29,6 +29,10 @@ public class RedisConstants {
     public static final Long CACHE_NULL_TTL = 2L;
     public static final String LOCK_PREFIX = "little_red_book:lock:string:";
     public static final String LOCK_HASH_PREFIX = "little_red_book:lock:hash:";
+    public static final String CACHE_REBUILT_TOPIC = "little_red_book:cache:rebuilt";
+    public static final Long CACHE_REBUILD_LOCK_TTL = 5L;
+    public static final Long CACHE_REBUILD_WAIT_MILLIS = 200L;
+    public static final Integer CACHE_REBUILD_MAX_ATTEMPTS = 10;
     public static final String USER_NAME = "user_";
     public static final String CACHE_TAG_KEY = "little_red_book:cache:tag:";
     public static final String CACHE_NOTE_KEY = "little_red_book:cache:note:";
@@ -77,6 +81,71 @@ public class RedisConstants {
     public static final Long CACHE_COMMENT_TTL = 10L;
     public static final String CACHE_COMMENT_NOTE_KEY = "little_red_book:cache:comment:note:";
     public static final Long CACHE_COMMENT_NOTE_TTL = 30L;
+    public static final Integer COMMENT_SCROLL_PAGE_SIZE = 10;
+    public static final Integer INDEX_REBUILD_BATCH_SIZE = 1000;
+    public static final String RANK_NOTE_LIKE_KEY = "little_red_book:rank:note:like";
+    public static final Long RANK_NOTE_LIKE_TTL = 1440L;
+    public static final Integer RANK_NOTE_LIKE_PAGE_SIZE = 20;
+    public static final long RANK_NOTE_LIKE_RECONCILE_INTERVAL = 600000L;
+    public static final String TIMELINE_NOTE_KEY = "little_red_book:timeline:note";
+    public static final Long TIMELINE_NOTE_TTL = 1440L;
+    public static final Integer TIMELINE_NOTE_MAX_SIZE = 1000;
+    public static final Integer NOTE_SCROLL_PAGE_SIZE = 10;
+    public static final String FEED_KEY = "little_red_book:feed:inbox:";
+    public static final String FEED_OUTBOX_KEY = "little_red_book:feed:outbox:";
+    public static final String FEED_BIG_AUTHOR_KEY = "little_red_book:feed:big_author";
+    public static final Integer FEED_INBOX_MAX_SIZE = 500;
+    public static final Integer FEED_OUTBOX_MAX_SIZE = 200;
+    public static final Long FEED_FANOUT_THRESHOLD = 5000L;
+    public static final Integer FEED_FANOUT_BATCH_SIZE = 500;
+    public static final Integer FEED_SCROLL_PAGE_SIZE = 10;
+    public static final Long FEED_INBOX_TTL = 10080L;
+    public static final Long FEED_OUTBOX_TTL = 10080L;
+    public static final String COUNTER_NOTE_LIKE_KEY = "little_red_book:counter:note:like";
+    public static final String COUNTER_NOTE_COLLECTION_KEY = "little_red_book:counter:note:collection";
+    public static final String COUNTER_COMMENT_LIKE_KEY = "little_red_book:counter:comment:like";
+    public static final String COUNTER_REPLYCOMMENT_LIKE_KEY = "little_red_book:counter:replycomment:like";
+    public static final String COUNTER_PROCESSING_SUFFIX = ":processing";
+    public static final String COUNTER_FLUSH_ID_SUFFIX = ":flush_id";
+    public static final String LOCK_COUNTER_PREFIX = "little_red_book:lock:counter:";
+    public static final Integer COUNTER_FLUSH_BATCH_SIZE = 500;
+    public static final long COUNTER_FLUSH_INTERVAL = 5000L;
+    public static final long COUNTER_BATCH_PURGE_INTERVAL = 3600000L;
+    public static final long COUNTER_BATCH_RETENTION = 86400000L;
+    public static final String LIKE_STATE_NOTE_KEY = "little_red_book:like_state:note:";
+    public static final String LIKE_STATE_COMMENT_KEY = "little_red_book:like_state:comment:";
+    public static final String LIKE_STATE_REPLYCOMMENT_KEY = "little_red_book:like_state:replycomment:";
+    public static final Long LIKE_STATE_TTL = 1440L;
+    public static final String LIKE_STATE_LOADED_MEMBER = "__loaded__";
+    public static final Integer LIKE_STATE_BATCH_MAX_SIZE = 100;
+    public static final String ITEM_CF_NEIGHBORS_KEY = "little_red_book:recommend:item_cf:neighbors";
+    public static final String ITEM_CF_BUILT_AT_KEY = "little_red_book:recommend:item_cf:built_at";
+    public static final String LOCK_ITEM_CF_KEY = "little_red_book:lock:recommend:item_cf";
+    public static final Long ITEM_CF_NEIGHBORS_TTL = 2880L;
+    public static final long ITEM_CF_BUILD_INTERVAL = 21600000L;
+    public static final Integer ITEM_CF_TOP_K = 20;
+    public static final Integer ITEM_CF_MAX_USER_LIKES = 500;
+    public static final Integer ITEM_CF_SCAN_BATCH_SIZE = 5000;
+    public static final Integer ITEM_CF_RECENT_LIKES = 50;
+    public static final Double ITEM_CF_RECENCY_DECAY = 0.95;
+    public static final Integer ITEM_CF_RECOMMEND_SIZE = 20;
+    public static final Integer LIKE_HISTORY_BATCH_MAX_USERS = 200;
+    public static final Integer LIKE_HISTORY_BATCH_MAX_SIZE = 5000;
+    public static final Long LIKE_HISTORY_WINDOW_DAYS = 180L;
+    public static final String CONTENT_LSH_SIGNATURE_KEY = "little_red_book:recommend:content_lsh:b32:signatures";
+    public static final String CONTENT_LSH_BUCKET_KEY = "little_red_book:recommend:content_lsh:b32:bucket:";
+    public static final String CONTENT_LSH_BUILT_KEY = "little_red_book:recommend:content_lsh:b32:built_at";
+    public static final String LOCK_CONTENT_LSH_KEY = "little_red_book:lock:recommend:content_lsh";
+    public static final Integer CONTENT_LSH_HASHES = 128;
+    public static final Integer CONTENT_LSH_BANDS = 32;
+    public static final Integer CONTENT_LSH_SCAN_BATCH_SIZE = 500;
+    public static final Integer CONTENT_LSH_QUERY_LIKED_NOTES = 10;
+    public static final Integer CONTENT_LSH_MAX_CANDIDATES = 200;
+    public static final Integer CONTENT_LSH_BUCKET_SAMPLE_SIZE = 200;
+    public static final Integer NOTE_VECTOR_DIMENSION = 256;
+    public static final Integer NOTE_VECTOR_SCAN_BATCH_SIZE = 500;
+    public static final Integer NOTE_VECTOR_SIMILAR_SIZE = 20;
+    public static final long NOTE_VECTOR_REBUILD_INTERVAL = 1800000L;
     public static final String CACHE_REPLYCOMMENT_KEY = "little_red_book:cache:replycomment:";
     public static final Long CACHE_REPLYCOMMENT_TTL = 10L;
     public static final String CACHE_REPLYCOMMENT_COMMENT_KEY = "little_red_book:cache:replycomment:note:";
@@ -85,7 +154,52 @@ public class RedisConstants {
     public static final Long CACHE_SEARCH_TTL = 10L;
     public static final String CACHE_SEARCH_USER_KEY = "little_red_book:cache:search:user:";
     public static final Long CACHE_SEARCH_USER_TTL = 30L;
+    public static final String TRENDING_SEARCH_BUCKET_KEY = "little_red_book:trending:search:bucket:";
+    public static final String TRENDING_SEARCH_WINDOW_KEY = "little_red_book:trending:search:window:";
+    public static final Long TRENDING_SEARCH_BUCKET_MINUTES = 5L;
+    public static final Long TRENDING_SEARCH_BUCKET_TTL = 1500L;
+    public static final Long TRENDING_SEARCH_WINDOW_TTL = 1L;
+    public static final Integer TRENDING_SEARCH_MAX_SIZE = 50;
+    public static final long TRENDING_SEARCH_FLUSH_INTERVAL = 10000L;
+    public static final Boolean CACHE_TIMESTAMP_EPOCH_MILLIS = false;
+    public static final String LOCAL_CACHE_INVALIDATE_TOPIC = "little_red_book:local_cache:invalidate";
+    public static final Long LOCAL_CACHE_NOTE_MAXIMUM_SIZE = 10000L;
+    public static final Long LOCAL_CACHE_NOTE_TTL = 30L;
+    public static final Long LOCAL_CACHE_COMMENT_MAXIMUM_SIZE = 20000L;
+    public static final Long LOCAL_CACHE_COMMENT_TTL = 30L;
+    public static final Long LOCAL_CACHE_REPLYCOMMENT_MAXIMUM_SIZE = 20000L;
+    public static final Long LOCAL_CACHE_REPLYCOMMENT_TTL = 30L;
+    public static final Long LOCAL_CACHE_LIKENOTE_MAXIMUM_SIZE = 20000L;
+    public static final Long LOCAL_CACHE_LIKENOTE_TTL = 10L;
+    public static final Long LOCAL_CACHE_MESSAGE_MAXIMUM_SIZE = 10000L;
+    public static final Long LOCAL_CACHE_MESSAGE_TTL = 10L;
+    public static final Long LOCAL_CACHE_USER_MAXIMUM_SIZE = 10000L;
+    public static final Long LOCAL_CACHE_USER_TTL = 60L;
+    public static final Integer USER_BATCH_MAX_SIZE = 200;
+    public static final String CACHE_NULL_PLACEHOLDER_FIELD = "__null__";
+    public static final String BLOOM_NOTE_KEY = "little_red_book:bloom:note";
+    public static final String BLOOM_COMMENT_KEY = "little_red_book:bloom:comment";
+    public static final String BLOOM_REPLYCOMMENT_KEY = "little_red_book:bloom:replycomment";
+    public static final String BLOOM_MESSAGE_KEY = "little_red_book:bloom:message";
+    public static final String BLOOM_LIKENOTE_KEY = "little_red_book:bloom:likenote";
+    public static final String BLOOM_READY_SUFFIX = ":ready";
+    public static final String LOCK_BLOOM_PREFIX = "little_red_book:lock:bloom:";
+    public static final Long BLOOM_EXPECTED_INSERTIONS = 1000000L;
+    public static final Double BLOOM_FALSE_PROBABILITY = 0.01;
+    public static final Integer BLOOM_REBUILD_BATCH_SIZE = 1000;
     public static final Long CACHE_TAG_TTL = 60L;
+    public static final String TAG_BITMAP_KEY = "little_red_book:tag:bitmap";
+    public static final String TAG_BITMAP_TOPIC = "little_red_book:tag:bitmap:add";
+    public static final String TAG_BITMAP_PENDING_KEY = "little_red_book:tag:bitmap:pending:";
+    public static final String LOCK_TAG_BITMAP_KEY = "little_red_book:lock:tag:bitmap";
+    public static final Integer TAG_BITMAP_COMPACT_THRESHOLD = 1024;
+    public static final Integer TAG_NOTE_PAGE_SIZE = 20;
+    public static final Integer TAG_QUERY_MAX_TAGS = 10;
+    public static final Integer TAG_QUERY_SCORE_THRESHOLD = 2000;
+    public static final Integer TAG_QUERY_RANK_SCAN_BATCH = 500;
+    public static final Integer TAG_BATCH_MAX_SIZE = 200;
+    public static final Long LOCAL_TAG_DICTIONARY_TTL = 300L;
+    public static final Long LOCAL_TAG_DICTIONARY_MIN_RELOAD_INTERVAL = 10L;
     public static final Long CACHE_SHOP_TTL = 30L;
     public static final String CACHE_SHOP_KEY = "cache:shop:";
     public static final String CACHE_SHOPTYPE_KEY = "cache:shopType";
@@ -93,7 +207,6 @@ public class RedisConstants {
     public static final Long LOCK_SHOP_TTL = 10L;
     public static final String SECKILL_STOCK_KEY = "seckill:stock:";
     public static final String BLOG_LIKED_KEY = "blog:liked:";
-    public static final String FEED_KEY = "feed:";
     public static final String SHOP_GEO_KEY = "shop:geo:";
     public static final String USER_SIGN_KEY = "sign:";
 }
@@ -0,0 +1,86 @@
+package com.example.littleredbook.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 进程内请求合并（single-flight）
+ *
+ * <p>功能说明：
+ * 1. 同一键的并发调用只有首个线程真正执行加载<br>
+ * 2. 其余线程共享同一个CompletableFuture等待结果<br>
+ * 3. 加载结束后立即移除，不缓存结果<br>
+ *
+ * <p>典型场景：
+ * - 热点键缓存失效时，避免本机大量线程同时争抢分布式锁<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public class SingleFlight {
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 可抛出受检异常的加载函数
+     * @param <T> 结果类型
+     * @param <E> 受检异常类型
+     */
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        T load() throws E;
+    }
+
+    /**
+     * 执行或加入同键的加载
+     * @param key 合并键
+     * @param loader 加载函数
+     * @return 加载结果（可能为null）
+     * @throws E 加载函数抛出的受检异常（等待方同样收到该异常）
+     */
+    public <T, E extends Exception> T execute(String key, Loader<T, E> loader) throws E {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return this.await(existing);
+        }
+        try {
+            T result = loader.load();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * 当前正在加载的键数量
+     * @return 键数量
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T await(CompletableFuture<Object> call) throws E {
+        try {
+            return (T) call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待缓存加载被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        }
+    }
+}
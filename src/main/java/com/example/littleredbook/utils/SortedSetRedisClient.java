@@ -8,8 +8,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -17,6 +20,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +32,9 @@ import java.util.stream.Collectors;
  * 3. 集成分布式锁保障缓存重建安全<br>
  * 4. 支持对象自动序列化与反序列化<br>
  * 5. 提供缓存穿透保护机制<br>
+ * 6. 支持带哨兵标记的完整索引构建、对账重建、定长裁剪与倒序分页读取<br>
+ * 7. 支持多索引脚本批量写入与多键管道读取（关注流收件箱扇出与合并）<br>
+ * 8. 支持管道批量累加分数与多键并集合并（分桶计数按窗口汇总）<br>
  *
  * <p>典型场景：
  * - 实时排行榜数据维护<br>
@@ -55,6 +62,18 @@ public class SortedSetRedisClient {
     private final RedissonClient redissonClient;
     private final ZSetOperations<String, String> zSetOperations;
     private static final ExecutorService CACHE_REBUILD_EXECUTOR = Executors.newFixedThreadPool(10);
+    private static final String INDEX_SENTINEL = "INDEX_SENTINEL";
+    private static final String INDEX_REBUILD_SUFFIX = ":rebuilding";
+    private static final DefaultRedisScript<Long> ADD_TO_INDEXES_SCRIPT = new DefaultRedisScript<>(
+            "local written = 0 " +
+            "for _, key in ipairs(KEYS) do " +
+            "  if redis.call('ZSCORE', key, ARGV[1]) then " +
+            "    redis.call('ZADD', key, ARGV[3], ARGV[2]) " +
+            "    redis.call('ZREMRANGEBYRANK', key, 1, -(tonumber(ARGV[4]) + 1)) " +
+            "    written = written + 1 " +
+            "  end " +
+            "end " +
+            "return written", Long.class);
 
     public SortedSetRedisClient(StringRedisTemplate stringRedisTemplate, RedissonClient redissonClient) {
         this.stringRedisTemplate = stringRedisTemplate;
@@ -195,6 +214,237 @@ public class SortedSetRedisClient {
                 zSetOperations.rangeByScoreWithScores(key, min, max), type);
     }
 
+    /**
+     * 按分数范围倒序分页获取原始成员（带分数）
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @param offset 跳过的元素数量
+     * @param count 返回的最大元素数量
+     * @return 按分数从高到低排列的成员-分数集合
+     */
+    public Set<ZSetOperations.TypedTuple<String>> reverseRangeByScoreWithScores(
+            String key, double min, double max, long offset, long count) {
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                zSetOperations.reverseRangeByScoreWithScores(key, min, max, offset, count);
+        return tuples != null ? tuples : Collections.emptySet();
+    }
+
+    /**
+     * 管道批量按分数范围倒序分页获取多个键的原始成员（带分数）
+     * @param keys 键集合
+     * @param min 最小分数
+     * @param max 最大分数
+     * @param offset 每个键跳过的元素数量
+     * @param count 每个键返回的最大元素数量
+     * @return 与keys顺序对应的成员-分数集合列表
+     */
+    @SuppressWarnings("unchecked")
+    public List<Set<ZSetOperations.TypedTuple<String>>> reverseRangeByScoreWithScores(
+            List<String> keys, double min, double max, long offset, long count) {
+        List<Object> rows = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ZSetOperations<String, String> ops = ((RedisOperations<String, String>) operations).opsForZSet();
+                for (String key : keys) {
+                    ops.reverseRangeByScoreWithScores(key, min, max, offset, count);
+                }
+                return null;
+            }
+        });
+        List<Set<ZSetOperations.TypedTuple<String>>> results = new ArrayList<>(keys.size());
+        for (Object row : rows) {
+            results.add(row != null ? (Set<ZSetOperations.TypedTuple<String>>) row : Collections.emptySet());
+        }
+        return results;
+    }
+
+    /**
+     * 批量获取多个元素的分数（ZMSCORE）
+     * @param key 键
+     * @param values 值对象集合
+     * @return 与values顺序对应的分数列表（不存在的元素为null）
+     */
+    public List<Double> scores(String key, Collection<?> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Object[] members = values.stream().map(StrUtil::toString).toArray();
+        List<Double> scores = zSetOperations.score(key, members);
+        return scores != null ? scores : Collections.emptyList();
+    }
+
+    /**
+     * 将同一元素写入多个已构建完成的索引并按容量裁剪（哨兵保留）
+     *
+     * <p>单次Lua脚本执行，仅写入含哨兵的键；已过期或尚未构建的键不写入，
+     * 避免产生不完整且无过期时间的索引，由读取方经{@link #ensureIndex}完整构建
+     * @param keys 键集合
+     * @param value 值对象
+     * @param score 分数（须不小于0）
+     * @param maxSize 每个键保留的成员数量上限（保留分数最高者）
+     * @return 实际写入的键数量
+     */
+    public Long addToIndexes(Collection<String> keys, Object value, double score, long maxSize) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        return stringRedisTemplate.execute(ADD_TO_INDEXES_SCRIPT, new ArrayList<>(keys),
+                INDEX_SENTINEL, StrUtil.toString(value), String.valueOf(score), String.valueOf(maxSize));
+    }
+
+    /**
+     * 管道批量累加成员分数并设置过期时间
+     * @param key 键
+     * @param deltas 成员-增量映射
+     * @param time 过期时间
+     * @param unit 时间单位
+     */
+    @SuppressWarnings("unchecked")
+    public void incrementScores(String key, Map<String, Double> deltas, long time, TimeUnit unit) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Map.Entry<String, Double> entry : deltas.entrySet()) {
+                    ops.opsForZSet().incrementScore(key, entry.getKey(), entry.getValue());
+                }
+                ops.expire(key, time, unit);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 合并多个有序集合（同名成员分数相加）写入目标键并设置过期时间
+     * @param keys 源键集合
+     * @param destKey 目标键
+     * @param time 过期时间
+     * @param unit 时间单位
+     * @return 目标键成员数量
+     */
+    public Long unionAndStore(List<String> keys, String destKey, long time, TimeUnit unit) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long size = zSetOperations.unionAndStore(keys.get(0), keys.subList(1, keys.size()), destKey);
+        stringRedisTemplate.expire(destKey, time, unit);
+        return size;
+    }
+
+    /**
+     * 按分数范围倒序获取全部原始成员
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 按分数从高到低排列的成员集合
+     */
+    public Set<String> reverseRangeByScore(String key, double min, double max) {
+        Set<String> values = zSetOperations.reverseRangeByScore(key, min, max);
+        return values != null ? values : Collections.emptySet();
+    }
+
+    /**
+     * 确保完整索引存在
+     *
+     * <p>索引构建完成时写入分数为-1的哨兵成员；监听器增量写入的键不含哨兵，
+     * 读取方据此判断索引是否完整，不完整时在分布式锁内回源并与已有成员合并，
+     * 不会丢失构建期间增量写入的成员
+     * @param key 键
+     * @param loader 全量回源函数（成员-分数映射，分数须不小于0）
+     * @param time 过期时间数值
+     * @param unit 过期时间单位
+     * @return true-索引可用，false-等待其他节点构建超时
+     */
+    public boolean ensureIndex(String key, Supplier<Map<String, Double>> loader, long time, TimeUnit unit) {
+        if (zSetOperations.score(key, INDEX_SENTINEL) != null) {
+            return true;
+        }
+        RLock lock = redissonClient.getLock(RedisConstants.LOCK_PREFIX + key);
+        try {
+            if (!lock.tryLock(RedisConstants.CACHE_REBUILD_LOCK_TTL, TimeUnit.SECONDS)) {
+                return false;
+            }
+            if (zSetOperations.score(key, INDEX_SENTINEL) != null) {
+                return true;
+            }
+            this.writeIndex(key, loader.get());
+            stringRedisTemplate.expire(key, time, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Lock acquisition interrupted", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 全量重建已有索引（对账使用）
+     *
+     * <p>在临时键上写入完整成员与哨兵后RENAME覆盖原键，读取方始终看到完整索引，
+     * 数据源中已不存在的成员随旧键一并清除；键不存在时不做处理，交由读取方按需构建
+     * @param key 键
+     * @param loader 全量回源函数（成员-分数映射，分数须不小于0）
+     * @param time 过期时间数值
+     * @param unit 过期时间单位
+     * @return true-重建完成，false-键不存在或其他节点正在构建
+     */
+    public boolean rebuildIndex(String key, Supplier<Map<String, Double>> loader, long time, TimeUnit unit) {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            return false;
+        }
+        RLock lock = redissonClient.getLock(RedisConstants.LOCK_PREFIX + key);
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            String tmpKey = key + INDEX_REBUILD_SUFFIX;
+            stringRedisTemplate.delete(tmpKey);
+            this.writeIndex(tmpKey, loader.get());
+            stringRedisTemplate.rename(tmpKey, key);
+            stringRedisTemplate.expire(key, time, unit);
+            return true;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 裁剪索引，仅保留分数最高的maxSize个成员（哨兵保留）
+     * @param key 键
+     * @param maxSize 保留的成员数量上限
+     * @return 被移除的成员数量
+     */
+    public Long trimIndex(String key, long maxSize) {
+        return zSetOperations.removeRange(key, 1, -(maxSize + 1));
+    }
+
+    /**
+     * 按批写入索引成员并追加哨兵
+     * @param key 键
+     * @param members 成员-分数映射
+     */
+    private void writeIndex(String key, Map<String, Double> members) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (Map.Entry<String, Double> entry : members.entrySet()) {
+            tuples.add(new DefaultTypedTuple<>(entry.getKey(), entry.getValue()));
+            if (tuples.size() >= RedisConstants.INDEX_REBUILD_BATCH_SIZE) {
+                zSetOperations.add(key, tuples);
+                tuples.clear();
+            }
+        }
+        tuples.add(new DefaultTypedTuple<>(INDEX_SENTINEL, -1D));
+        zSetOperations.add(key, tuples);
+    }
+
     /**
      * 删除指定键
      * @param key 键
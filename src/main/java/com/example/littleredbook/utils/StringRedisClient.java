@@ -3,6 +3,7 @@ package com.example.littleredbook.utils;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
@@ -30,7 +31,7 @@ import java.util.stream.Collectors;
  * 2. 实现对象自动序列化与反序列化<br>
  * 3. 集成缓存穿透/雪崩/击穿防护策略<br>
  * 4. 支持逻辑过期时间维护热点数据<br>
- * 5. 提供分布式环境下的互斥锁机制<br>
+ * 5. 提供分布式环境下的互斥锁机制（进程内请求合并 + 重建完成广播）<br>
  *
  * <p>典型场景：
  * - 用户会话状态管理<br>
@@ -48,12 +49,22 @@ public class StringRedisClient {
     private final StringRedisTemplate stringRedisTemplate;
     private final RedissonClient redissonClient;
     private final ValueOperations<String, String> valueOperations;
+    private final CacheRebuildCoordinator rebuildCoordinator;
     private static final ExecutorService CACHE_REBUILD_EXECUTOR = Executors.newFixedThreadPool(10);
 
     public StringRedisClient(StringRedisTemplate stringRedisTemplate, RedissonClient redissonClient) {
         this.stringRedisTemplate = stringRedisTemplate;
         this.redissonClient = redissonClient;
         this.valueOperations = stringRedisTemplate.opsForValue();
+        this.rebuildCoordinator = new CacheRebuildCoordinator(redissonClient);
+    }
+
+    /**
+     * 订阅缓存重建完成广播
+     */
+    @PostConstruct
+    public void subscribeCacheRebuilt() {
+        rebuildCoordinator.subscribe();
     }
 
     /**
@@ -337,36 +348,23 @@ public class StringRedisClient {
             String keyPrefix, ID id, Class<R> type, Function<ID, R> dbFallback, Long time, TimeUnit unit) {
         String key = keyPrefix + id;
         String json = this.get(key);
-        boolean isLock = false;
         if (StrUtil.isNotBlank(json)) {
             return JSONUtil.toBean(json, type);
         }
         if (json != null) {
             return null;
         }
-        String lockKey = RedisConstants.LOCK_PREFIX + id;
-        RLock lock = redissonClient.getLock(lockKey);
-        R result;
-        try {
-            isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
-            if (!isLock) {
-                Thread.sleep(50);
-                return queryWithMutex(keyPrefix, id, type, dbFallback, time, unit);
-            }
-            result = dbFallback.apply(id);
-            if (result == null) {
-                this.set(key, "", RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
-                return null;
-            }
-            this.set(key, result, time, unit);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } finally {
-            if (isLock && lock.isHeldByCurrentThread()) {
-                lock.unlock();
-            }
-        }
-        return result;
+        return rebuildCoordinator.rebuild(key, RedisConstants.LOCK_PREFIX + key,
+                () -> this.readCachedBean(key, type),
+                () -> {
+                    R result = dbFallback.apply(id);
+                    if (result == null) {
+                        this.set(key, "", RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
+                        return null;
+                    }
+                    this.set(key, result, time, unit);
+                    return result;
+                });
     }
 
     /**
@@ -384,43 +382,15 @@ public class StringRedisClient {
     public <R, ID> List<R> queryListWithMutex(String keyPrefix, ID id, Class<R> type, Function<ID, List<R>> dbFallback, Long time, TimeUnit unit) {
         String key = keyPrefix + id;
         String json = this.get(key);
-        boolean isLock = false;
         if (StrUtil.isNotBlank(json)) {
             return JSONUtil.toList(json, type);
         }
         if (json != null) {
             return Collections.emptyList();
         }
-        String lockKey = RedisConstants.LOCK_PREFIX + key;
-        RLock lock = redissonClient.getLock(lockKey);
-        List<R> result;
-        try {
-            isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
-            if (!isLock) {
-                Thread.sleep(50);
-                return this.queryListWithMutex(keyPrefix, id, type, dbFallback, time, unit);
-            }
-            json = valueOperations.get(key);
-            if (StrUtil.isNotBlank(json)) {
-                return JSONUtil.toList(json, type);
-            }
-            if (json != null) {
-                return Collections.emptyList();
-            }
-            result = dbFallback.apply(id);
-            if (result == null || result.isEmpty()) {
-                this.set(key, "[]", RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
-                return Collections.emptyList();
-            }
-            this.set(key, result, time, unit);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } finally {
-            if (isLock && lock.isHeldByCurrentThread()) {
-                lock.unlock();
-            }
-        }
-        return result;
+        return rebuildCoordinator.rebuild(key, RedisConstants.LOCK_PREFIX + key,
+                () -> this.readCachedList(key, type),
+                () -> this.cacheList(key, dbFallback.apply(id), time, unit));
     }
 
     /**
@@ -439,42 +409,50 @@ public class StringRedisClient {
                                           Integer param1, Integer param2) {
         String key = String.format(keyPattern, param1, param2);
         String json = this.get(key);
-        boolean isLock = false;
         if (StrUtil.isNotBlank(json)) {
             return JSONUtil.toList(json, type);
         }
         if (json != null) {
             return Collections.emptyList();
         }
-        String lockKey = RedisConstants.LOCK_PREFIX + key;
-        RLock lock = redissonClient.getLock(lockKey);
-        List<R> result;
-        try {
-            isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
-            if (!isLock) {
-                Thread.sleep(50);
-                return queryListWithMutex(keyPattern, type, dbFallback, time, unit, param1, param2);
-            }
-            json = valueOperations.get(key);
-            if (StrUtil.isNotBlank(json)) {
-                return JSONUtil.toList(json, type);
-            }
-            if (json != null) {
-                return Collections.emptyList();
-            }
-            result = dbFallback.apply(param1, param2);
-            if (result == null || result.isEmpty()) {
-                this.set(key, "[]", RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
-                return Collections.emptyList();
-            }
-            this.set(key, result, time, unit);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } finally {
-            if (isLock && lock.isHeldByCurrentThread()) {
-                lock.unlock();
-            }
+        return rebuildCoordinator.rebuild(key, RedisConstants.LOCK_PREFIX + key,
+                () -> this.readCachedList(key, type),
+                () -> this.cacheList(key, dbFallback.apply(param1, param2), time, unit));
+    }
+
+    /**
+     * 重建期间复查对象缓存
+     * @return 命中返回对象，空值占位返回null，未命中返回MISS
+     */
+    private Object readCachedBean(String key, Class<?> type) {
+        String json = valueOperations.get(key);
+        if (json == null) {
+            return CacheRebuildCoordinator.MISS;
+        }
+        return StrUtil.isNotBlank(json) ? JSONUtil.toBean(json, type) : null;
+    }
+
+    /**
+     * 重建期间复查列表缓存
+     * @return 命中返回列表，空值占位返回空列表，未命中返回MISS
+     */
+    private Object readCachedList(String key, Class<?> type) {
+        String json = valueOperations.get(key);
+        if (json == null) {
+            return CacheRebuildCoordinator.MISS;
         }
+        return StrUtil.isNotBlank(json) ? JSONUtil.toList(json, type) : Collections.emptyList();
+    }
+
+    /**
+     * 写入列表缓存，空结果写入"[]"占位
+     */
+    private <R> List<R> cacheList(String key, List<R> result, Long time, TimeUnit unit) {
+        if (result == null || result.isEmpty()) {
+            this.set(key, "[]", RedisConstants.CACHE_NULL_TTL, TimeUnit.MINUTES);
+            return Collections.emptyList();
+        }
+        this.set(key, result, time, unit);
         return result;
     }
 }
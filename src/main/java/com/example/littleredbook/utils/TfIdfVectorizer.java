@@ -0,0 +1,122 @@
+package com.example.littleredbook.utils;
+
+/**
+ * 哈希TF-IDF文本向量化工具类
+ *
+ * <p>功能说明：
+ * 1. 文本归一化（仅保留字母数字、转小写）后切分为字符2-gram，适配中文无空格分词<br>
+ * 2. 2-gram经哈希映射到固定维度并带符号累加（哈希技巧），无需维护词表<br>
+ * 3. 词频取1+ln(tf)，乘以按文档频率计算的平滑IDF后做L2归一化，点积即余弦相似度<br>
+ *
+ * <p>设计要点：
+ * - 纯函数实现，不依赖远程服务，便于复用与基准测试<br>
+ * - 向量直接写入调用方提供的扁平数组，批量构建时不产生逐篇对象<br>
+ * - 维度须为4的倍数，便于打分循环按4路展开<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+public final class TfIdfVectorizer {
+    private final int dimension;
+    private final float[] idf;
+
+    /**
+     * @param dimension 向量维度
+     * @param documentFrequencies 各维度的文档频率
+     * @param documentCount 文档总数
+     */
+    public TfIdfVectorizer(int dimension, int[] documentFrequencies, int documentCount) {
+        if (dimension <= 0 || dimension % 4 != 0) {
+            throw new IllegalArgumentException("向量维度须为4的正整数倍");
+        }
+        this.dimension = dimension;
+        this.idf = new float[dimension];
+        for (int d = 0; d < dimension; d++) {
+            idf[d] = (float) (Math.log((1.0 + documentCount) / (1.0 + documentFrequencies[d])) + 1.0);
+        }
+    }
+
+    /**
+     * @return 向量维度
+     */
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * 计算文本的TF-IDF向量
+     * @param text 文本
+     * @return L2归一化向量，无有效字符时为零向量
+     */
+    public float[] transform(String text) {
+        float[] vector = new float[dimension];
+        termFrequencies(text, vector, 0, dimension);
+        this.weigh(vector, 0);
+        return vector;
+    }
+
+    /**
+     * 对扁平数组中一段词频向量原地乘以IDF并L2归一化
+     * @param vectors 扁平向量数组
+     * @param offset 向量起始下标
+     */
+    public void weigh(float[] vectors, int offset) {
+        double norm = 0;
+        for (int d = 0; d < dimension; d++) {
+            float weight = vectors[offset + d] * idf[d];
+            vectors[offset + d] = weight;
+            norm += weight * weight;
+        }
+        if (norm == 0) {
+            return;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int d = 0; d < dimension; d++) {
+            vectors[offset + d] *= scale;
+        }
+    }
+
+    /**
+     * 计算文本的带符号哈希词频向量（1+ln(tf)），写入扁平数组
+     * @param text 文本
+     * @param vectors 扁平向量数组（目标区间需为0）
+     * @param offset 向量起始下标
+     * @param dimension 向量维度
+     */
+    public static void termFrequencies(String text, float[] vectors, int offset, int dimension) {
+        if (text == null) {
+            return;
+        }
+        char previous = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            if (previous != 0) {
+                int hash = mix(previous << 16 | c);
+                vectors[offset + Math.floorMod(hash, dimension)] += (hash & 0x40000000) == 0 ? 1 : -1;
+            }
+            previous = c;
+        }
+        for (int d = offset; d < offset + dimension; d++) {
+            float tf = vectors[d];
+            if (tf != 0) {
+                vectors[d] = (float) Math.copySign(1.0 + Math.log(Math.abs(tf)), tf);
+            }
+        }
+    }
+
+    /**
+     * 32位整数混洗（MurmurHash3 fmix32）
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.littleredbook.utils;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.example.littleredbook.dto.Result;
+import com.example.littleredbook.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 用户信息批量加载器
+ *
+ * <p>功能说明：
+ * 1. 调用方先收集本次请求涉及的全部用户ID，再经loadMany一次性解析<br>
+ * 2. 未命中的ID去重后合并为一次getUsersByIds远程调用（超出批大小时分段）<br>
+ * 3. 内置有界进程内用户缓存（Caffeine），同一请求及短时间内的重复ID不再远程调用<br>
+ * 4. 各模块以自身的UserCenterClient批量接口构造实例<br>
+ *
+ * <p>使用约束：
+ * - 返回的User对象在调用方之间共享，调用方不应修改<br>
+ * - 用户资料变更存在秒级可见延迟，由缓存过期时间控制<br>
+ *
+ * @author Mike
+ * @since 2026/10/18
+ */
+@Slf4j
+public class UserBatchLoader {
+    private final Function<List<Integer>, Result> batchCall;
+    private final Cache<Integer, User> cache = Caffeine.newBuilder()
+            .maximumSize(RedisConstants.LOCAL_CACHE_USER_MAXIMUM_SIZE)
+            .expireAfterWrite(RedisConstants.LOCAL_CACHE_USER_TTL, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * @param batchCall 批量查询远程调用（通常为UserCenterClient::getUsersByIds）
+     */
+    public UserBatchLoader(Function<List<Integer>, Result> batchCall) {
+        this.batchCall = batchCall;
+    }
+
+    /**
+     * 加载单个用户
+     * @param id 用户ID
+     * @return 用户信息，不存在或服务调用失败时返回null
+     */
+    public User load(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        return this.loadMany(Collections.singletonList(id)).get(id);
+    }
+
+    /**
+     * 批量加载用户
+     * @param ids 用户ID集合（允许重复与null）
+     * @return 用户ID-用户信息映射，不存在或服务调用失败的ID不放入
+     */
+    public Map<Integer, User> loadMany(Collection<Integer> ids) {
+        Map<Integer, User> users = new HashMap<>();
+        List<Integer> missIds = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            User cached = cache.getIfPresent(id);
+            if (cached != null) {
+                users.put(id, cached);
+            } else {
+                missIds.add(id);
+            }
+        }
+        for (int from = 0; from < missIds.size(); from += RedisConstants.USER_BATCH_MAX_SIZE) {
+            List<Integer> batch = missIds.subList(from,
+                    Math.min(from + RedisConstants.USER_BATCH_MAX_SIZE, missIds.size()));
+            for (User user : this.fetch(batch)) {
+                cache.put(user.getId(), user);
+                users.put(user.getId(), user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 失效指定用户的本地缓存
+     * @param id 用户ID
+     */
+    public void invalidate(Integer id) {
+        cache.invalidate(id);
+    }
+
+    private List<User> fetch(List<Integer> ids) {
+        Result result;
+        try {
+            result = batchCall.apply(new ArrayList<>(ids));
+        } catch (Exception e) {
+            log.error("用户服务批量调用失败: ids={}", ids, e);
+            return Collections.emptyList();
+        }
+        if (result == null || !(result.getData() instanceof List)) {
+            log.error("用户服务批量调用失败: ids={}, errorMsg={}", ids, result != null ? result.getErrorMsg() : null);
+            return Collections.emptyList();
+        }
+        List<User> users = new ArrayList<>(ids.size());
+        for (Object item : (List<?>) result.getData()) {
+            User user = item instanceof User ? (User) item
+                    : BeanUtil.mapToBean((Map<?, ?>) item, User.class, true);
+            if (user != null && user.getId() != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.littleredbook.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrollResultTest {
+
+    /**
+     * 按参数顺序组装ID-时间戳页：id1, time1, id2, time2...
+     */
+    private static Map<Integer, Long> page(long... idTimes) {
+        Map<Integer, Long> page = new LinkedHashMap<>();
+        for (int i = 0; i < idTimes.length; i += 2) {
+            page.put((int) idTimes[i], idTimes[i + 1]);
+        }
+        return page;
+    }
+
+    @Test
+    void emptyPageKeepsQueryCursor() {
+        List<List<Integer>> calls = new ArrayList<>();
+        ScrollResult result = ScrollResult.of(page(), 500L, 3, ids -> {
+            calls.add(ids);
+            return ids;
+        });
+        assertTrue(result.getList().isEmpty());
+        assertEquals(500L, result.getMinTime());
+        assertEquals(3, result.getOffset());
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void loadsIdsInPageOrder() {
+        ScrollResult result = ScrollResult.of(page(7, 300, 3, 200, 9, 100), 300L, 0, ids -> ids);
+        assertEquals(List.of(7, 3, 9), result.getList());
+    }
+
+    @Test
+    void distinctTimesGiveOffsetOne() {
+        ScrollResult result = ScrollResult.of(page(1, 300, 2, 200, 3, 100), 300L, 0, ids -> ids);
+        assertEquals(100L, result.getMinTime());
+        assertEquals(1, result.getOffset());
+    }
+
+    @Test
+    void countsTiesAtMinTime() {
+        ScrollResult result = ScrollResult.of(page(1, 300, 2, 100, 3, 100), 300L, 0, ids -> ids);
+        assertEquals(100L, result.getMinTime());
+        assertEquals(2, result.getOffset());
+    }
+
+    @Test
+    void ignoresTiesAboveMinTime() {
+        ScrollResult result = ScrollResult.of(page(1, 300, 2, 300, 3, 100), 300L, 0, ids -> ids);
+        assertEquals(100L, result.getMinTime());
+        assertEquals(1, result.getOffset());
+    }
+
+    @Test
+    void previousOffsetDroppedWhenMinTimeMoves() {
+        ScrollResult result = ScrollResult.of(page(1, 300, 2, 250, 3, 250), 300L, 4, ids -> ids);
+        assertEquals(250L, result.getMinTime());
+        assertEquals(2, result.getOffset());
+    }
+
+    @Test
+    void accumulatesOffsetWhenWholePageSharesMax() {
+        // 整页时间戳都等于本次max时下一页仍从同一max开始，需累加已跳过的记录数
+        ScrollResult result = ScrollResult.of(page(1, 300, 2, 300, 3, 300), 300L, 2, ids -> ids);
+        assertEquals(300L, result.getMinTime());
+        assertEquals(5, result.getOffset());
+    }
+
+    @Test
+    void wholePageSameTimeBelowMaxStartsFresh() {
+        ScrollResult result = ScrollResult.of(page(1, 200, 2, 200), 300L, 2, ids -> ids);
+        assertEquals(200L, result.getMinTime());
+        assertEquals(2, result.getOffset());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.littleredbook.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateUtilsTest {
+    private static final Timestamp TIME = Timestamp.valueOf("2026-10-18 12:34:56");
+
+    @Test
+    void formatsStandardPattern() {
+        assertEquals("2026-10-18 12:34:56", DateUtils.TimeStampToString(TIME));
+        assertEquals("null", DateUtils.TimeStampToString(null));
+    }
+
+    @Test
+    void parsesStandardPattern() throws Exception {
+        assertEquals(TIME, DateUtils.StringToTimeStamp("2026-10-18 12:34:56"));
+    }
+
+    @Test
+    void ignoresTrailingContentAfterSeconds() throws Exception {
+        // ParsePosition解析只读取到秒，尾随的毫秒等内容被忽略
+        assertEquals(TIME, DateUtils.StringToTimeStamp("2026-10-18 12:34:56.789"));
+        assertEquals(TIME, DateUtils.StringToTimeStamp("2026-10-18 12:34:56 +0800"));
+    }
+
+    @Test
+    void parsesEpochMillis() throws Exception {
+        assertEquals(new Timestamp(1760762096789L), DateUtils.StringToTimeStamp("1760762096789"));
+        assertEquals(new Timestamp(0L), DateUtils.StringToTimeStamp("0"));
+        assertEquals(new Timestamp(-1000L), DateUtils.StringToTimeStamp("-1000"));
+    }
+
+    @Test
+    void returnsNullForNullInput() throws Exception {
+        assertNull(DateUtils.StringToTimeStamp(null));
+        assertNull(DateUtils.StringToTimeStamp("null"));
+    }
+
+    @Test
+    void cacheStringFollowsEpochFlag() throws Exception {
+        Timestamp time = new Timestamp(TIME.getTime() + 789);
+        String cached = DateUtils.TimeStampToCacheString(time);
+        if (RedisConstants.CACHE_TIMESTAMP_EPOCH_MILLIS) {
+            assertEquals(Long.toString(time.getTime()), cached);
+            assertEquals(time, DateUtils.StringToTimeStamp(cached));
+        } else {
+            assertEquals("2026-10-18 12:34:56", cached);
+            assertEquals(TIME, DateUtils.StringToTimeStamp(cached));
+        }
+        assertEquals("null", DateUtils.TimeStampToCacheString(null));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp(""));
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("-"));
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("abc"));
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("2026-10-18"));
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("2026/10/18 12:34:56"));
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("12a4"));
+    }
+
+    @Test
+    void rejectsOutOfRangeFields() {
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("2026-13-01 12:34:56"));
+        assertThrows(ParseException.class, () -> DateUtils.StringToTimeStamp("2026-10-18 25:00:00"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.littleredbook.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DenseVectorIndexTest {
+    private static final int DIMENSION = 64;
+    private static final String[] WORDS = {"咖啡", "探店", "旅行", "穿搭", "护肤", "美食", "露营", "健身", "读书", "摄影"};
+
+    @Test
+    void rejectsDimensionNotMultipleOfFour() {
+        assertThrows(IllegalArgumentException.class, () -> new TfIdfVectorizer(10, new int[10], 1));
+    }
+
+    @Test
+    void rejectsNonIncreasingIds() {
+        DenseVectorIndex.Builder builder = DenseVectorIndex.builder(DIMENSION).add(5, "咖啡探店");
+        assertThrows(IllegalArgumentException.class, () -> builder.add(5, "旅行穿搭"));
+    }
+
+    @Test
+    void storesNormalizedVectors() {
+        DenseVectorIndex index = DenseVectorIndex.builder(DIMENSION)
+                .add(1, "周末咖啡探店")
+                .add(2, "露营装备清单")
+                .build();
+        assertEquals(2, index.size());
+        assertEquals(1.0, norm(index.vector(1)), 1e-5);
+        assertEquals(1.0, norm(index.vector(2)), 1e-5);
+        assertNull(index.vector(3));
+    }
+
+    @Test
+    void blankTextYieldsZeroVector() {
+        DenseVectorIndex index = DenseVectorIndex.builder(DIMENSION).add(1, "咖啡探店").build();
+        assertEquals(0.0, norm(index.transform("!!! ...")), 0.0);
+        assertEquals(0, index.topK(index.transform(null), 5, -1).size());
+    }
+
+    @Test
+    void identicalTextScoresOne() {
+        DenseVectorIndex index = DenseVectorIndex.builder(DIMENSION)
+                .add(1, "周末咖啡探店")
+                .add(2, "露营装备清单")
+                .add(3, "秋季穿搭分享")
+                .build();
+        DenseVectorIndex.Hits hits = index.topK(index.transform("周末咖啡探店"), 1, -1);
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.id(0));
+        assertEquals(1.0, hits.score(0), 1e-5);
+    }
+
+    @Test
+    void excludesQueryDocument() {
+        DenseVectorIndex index = DenseVectorIndex.builder(DIMENSION)
+                .add(1, "周末咖啡探店")
+                .add(2, "周末咖啡探店合集")
+                .build();
+        DenseVectorIndex.Hits hits = index.topK(index.vector(1), 5, 1);
+        assertEquals(1, hits.size());
+        assertEquals(2, hits.id(0));
+    }
+
+    @Test
+    void matchesBruteForceRanking() {
+        Random random = new Random(42);
+        DenseVectorIndex.Builder builder = DenseVectorIndex.builder(DIMENSION);
+        for (int id = 1; id <= 300; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 4; w++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            builder.add(id, text.toString());
+        }
+        DenseVectorIndex index = builder.build();
+        float[] query = index.vector(7);
+
+        List<float[]> expected = new ArrayList<>();
+        for (int id = 1; id <= 300; id++) {
+            float score = dot(query, index.vector(id));
+            if (id != 7 && score > 0) {
+                expected.add(new float[]{id, score});
+            }
+        }
+        expected.sort(Comparator.comparingDouble((float[] hit) -> hit[1]).reversed());
+
+        DenseVectorIndex.Hits hits = index.topK(query, 20, 7);
+        assertEquals(Math.min(20, expected.size()), hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            assertEquals(expected.get(i)[1], hits.score(i), 1e-5);
+            assertEquals(hits.score(i), dot(query, index.vector(hits.id(i))), 1e-5);
+            if (i > 0) {
+                assertTrue(hits.score(i - 1) >= hits.score(i));
+            }
+        }
+    }
+
+    private static double norm(float[] vector) {
+        return Math.sqrt(dot(vector, vector));
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int d = 0; d < a.length; d++) {
+            sum += a[d] * b[d];
+        }
+        return sum;
+    }
+}
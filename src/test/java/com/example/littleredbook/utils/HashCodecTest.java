@@ -0,0 +1,51 @@
+package com.example.littleredbook.utils;
+
+import com.example.littleredbook.entity.LikeNote;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashCodecTest {
+
+    @Test
+    void roundTripsEntity() throws Exception {
+        HashCodec<LikeNote> codec = HashCodec.of(LikeNote.class);
+        LikeNote likeNote = new LikeNote(7, 42, 9, Timestamp.valueOf("2026-10-18 12:34:56"));
+        Map<String, String> hash = codec.encode(likeNote);
+        List<String> values = new ArrayList<>();
+        codec.fieldNames().forEach(name -> values.add(hash.get(name)));
+        assertEquals(likeNote, codec.decode(values));
+    }
+
+    @Test
+    void keepsNullFieldsNull() throws Exception {
+        HashCodec<LikeNote> codec = HashCodec.of(LikeNote.class);
+        Map<String, String> hash = codec.encode(new LikeNote(7, null, 9, null));
+        List<String> values = new ArrayList<>();
+        codec.fieldNames().forEach(name -> values.add(hash.get(name)));
+        assertEquals(new LikeNote(7, null, 9, null), codec.decode(values));
+    }
+
+    @Test
+    void decodesMissingKeyAsNull() throws Exception {
+        HashCodec<LikeNote> codec = HashCodec.of(LikeNote.class);
+        assertNull(codec.decode(Arrays.asList(new String[codec.fieldNames().size()])));
+        assertNull(codec.decode(null));
+    }
+
+    @Test
+    void rejectsJdkAndSimpleTypes() {
+        assertThrows(IllegalArgumentException.class, () -> HashCodec.of(Integer.class));
+        assertThrows(IllegalArgumentException.class, () -> HashCodec.of(String.class));
+        assertThrows(IllegalArgumentException.class, () -> HashCodec.of(int.class));
+        assertThrows(IllegalArgumentException.class, () -> HashCodec.of(Map.class));
+        assertThrows(IllegalArgumentException.class, () -> HashCodec.of(int[].class));
+        assertTrue(HashCodec.isMappable(LikeNote.class));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.littleredbook.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final int WAITERS = 8;
+
+    /**
+     * 首个线程进入加载函数后阻塞，其余线程全部挂起等待后再放行，结果或异常按线程顺序返回
+     */
+    private static List<Object> runConcurrently(SingleFlight singleFlight, AtomicInteger loads,
+                                                SingleFlight.Loader<Object, Exception> loader) throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Loader<Object, Exception> blocking = () -> {
+            loads.incrementAndGet();
+            entered.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return loader.load();
+        };
+        List<Object> outcomes = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i <= WAITERS; i++) {
+            outcomes.add(null);
+            int slot = i;
+            threads.add(new Thread(() -> {
+                try {
+                    outcomes.set(slot, singleFlight.execute("key", blocking));
+                } catch (Throwable e) {
+                    outcomes.set(slot, e);
+                }
+            }));
+        }
+        threads.get(0).start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= WAITERS; i++) {
+            threads.get(i).start();
+        }
+        for (int i = 1; i <= WAITERS; i++) {
+            awaitParked(threads.get(i));
+        }
+        assertEquals(1, singleFlight.inFlightCount());
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        return outcomes;
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "waiter never parked");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        Object value = new Object();
+        List<Object> outcomes = runConcurrently(singleFlight, loads, () -> value);
+        assertEquals(1, loads.get());
+        for (Object outcome : outcomes) {
+            assertSame(value, outcome);
+        }
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void checkedExceptionReachesAllCallers() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        IOException failure = new IOException("db down");
+        List<Object> outcomes = runConcurrently(singleFlight, loads, () -> {
+            throw failure;
+        });
+        assertEquals(1, loads.get());
+        for (Object outcome : outcomes) {
+            assertSame(failure, outcome);
+        }
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void runtimeExceptionReachesAllCallers() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("boom");
+        List<Object> outcomes = runConcurrently(singleFlight, loads, () -> {
+            throw failure;
+        });
+        assertEquals(1, loads.get());
+        for (Object outcome : outcomes) {
+            assertSame(failure, outcome);
+        }
+    }
+
+    @Test
+    void doesNotCacheCompletedLoads() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(1, (int) singleFlight.execute("key", loads::incrementAndGet));
+        assertEquals(2, (int) singleFlight.execute("key", loads::incrementAndGet));
+        assertThrows(IOException.class, () -> singleFlight.execute("key", () -> {
+            throw new IOException("db down");
+        }));
+        assertEquals(3, (int) singleFlight.execute("key", loads::incrementAndGet));
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+}